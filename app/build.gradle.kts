@@ -29,6 +29,24 @@ android {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
+    testOptions {
+        unitTests {
+            // Robolectric necesita los recursos para inflar layouts en los benchmarks
+            isIncludeAndroidResources = true
+            all {
+                // Los benchmarks solo se ejecutan con -Pbenchmark y escriben sus resultados en JSON
+                if (project.hasProperty("benchmark")) {
+                    it.include("**/*Benchmark.class")
+                    it.systemProperty("benchmark.directorio",
+                        layout.buildDirectory.dir("benchmark").get().asFile.absolutePath)
+                    it.maxHeapSize = "2g"
+                    it.outputs.upToDateWhen { false }
+                } else {
+                    it.exclude("**/*Benchmark.class")
+                }
+            }
+        }
+    }
 }
 
 dependencies {
@@ -46,8 +64,12 @@ dependencies {
     implementation(libs.lifecycle.common)
 
     implementation(libs.glide)
+    implementation(libs.glide.recyclerview)
 
     testImplementation(libs.junit)
+    testImplementation(libs.robolectric)
+    testImplementation(libs.test.core)
+    testImplementation(libs.arch.core.testing)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.manager.kdramas.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.manager.kdramas.model.Kdrama;
+import com.manager.kdramas.repositories.KdramaRepository;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Benchmark instrumentado de la latencia por operación del repositorio.
+
+ * Compara el patrón anterior (un SQLiteOpenHelper sin WAL cuya base de datos se abre y se cierra
+ * en cada operación) con la conexión compartida en modo WAL que mantiene {@link DBHelper}.
+ * El patrón anterior usa su propio archivo con el esquema de la versión 2, porque el modo de diario
+ * WAL queda guardado en el archivo de {@link DBHelper} y no puede desactivarse mientras esté abierto.
+ * La conexión compartida se abre sobre la base de datos de pruebas, no sobre la de la aplicación.
+ * Los resultados (p50/p95 en microsegundos) se escriben en Logcat con la etiqueta "ConexionBenchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class ConexionBenchmark {
+
+    private static final String TAG = "ConexionBenchmark";
+    private static final int ITERACIONES = 200;
+    private static final String DB_ANTERIOR = "ConexionBenchmarkAnterior.db";
+
+    private Context context;
+    private KdramaRepository repository;
+    private HelperAnterior helperAnterior;
+    private long idReferencia;
+    private long idAnterior;
+
+    /**
+     * Réplica del helper original: esquema de la versión 2, sin WAL ni ajustes de la conexión.
+     */
+    private static final class HelperAnterior extends SQLiteOpenHelper {
+
+        HelperAnterior(Context context) {
+            super(context, DB_ANTERIOR, null, 2);
+        }
+
+        @Override
+        public void onCreate(SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE kdrama (id INTEGER PRIMARY KEY AUTOINCREMENT, titulo TEXT NOT NULL, " +
+                    "genero TEXT NOT NULL, anio INTEGER NOT NULL, capitulos INTEGER NOT NULL, " +
+                    "calificacion REAL NOT NULL, finalizado INTEGER DEFAULT 0, imagen_url TEXT)");
+        }
+
+        @Override
+        public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        }
+    }
+
+    @Before
+    public void prepararDatos() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        DBHelper.usarBaseDePruebas(context);
+        repository = new KdramaRepository(context);
+        idReferencia = repository.insertarKdrama(new Kdrama("Benchmark", "Drama", 2024, 16, 4.0f));
+
+        context.deleteDatabase(DB_ANTERIOR);
+        helperAnterior = new HelperAnterior(context);
+        SQLiteDatabase db = helperAnterior.getWritableDatabase();
+        try {
+            db.execSQL("INSERT INTO kdrama (titulo, genero, anio, capitulos, calificacion) " +
+                    "VALUES ('Benchmark', 'Drama', 2024, 16, 4.0)");
+            try (Cursor cursor = db.rawQuery("SELECT MAX(id) FROM kdrama", null)) {
+                cursor.moveToFirst();
+                idAnterior = cursor.getLong(0);
+            }
+        } finally {
+            db.close();
+        }
+    }
+
+    @After
+    public void limpiarDatos() {
+        DBHelper.usarBaseDeAplicacion(context);
+        helperAnterior.close();
+        context.deleteDatabase(DB_ANTERIOR);
+    }
+
+    @Test
+    public void latenciaLecturaPorId() {
+        long[] antes = new long[ITERACIONES];
+        for (int i = 0; i < ITERACIONES; i++) {
+            long inicio = System.nanoTime();
+            SQLiteDatabase db = helperAnterior.getReadableDatabase();
+            try (Cursor cursor = db.rawQuery("SELECT * FROM kdrama WHERE id = ?", new String[]{String.valueOf(idAnterior)})) {
+                cursor.moveToFirst();
+            } finally {
+                db.close();
+            }
+            antes[i] = System.nanoTime() - inicio;
+        }
+
+        long[] despues = new long[ITERACIONES];
+        for (int i = 0; i < ITERACIONES; i++) {
+            long inicio = System.nanoTime();
+            repository.obtenerKdramaPorId(idReferencia);
+            despues[i] = System.nanoTime() - inicio;
+        }
+
+        reportar("obtenerKdramaPorId", antes, despues);
+        assertTrue(percentil(despues, 50) > 0);
+    }
+
+    @Test
+    public void latenciaActualizacion() {
+        long[] antes = new long[ITERACIONES];
+        for (int i = 0; i < ITERACIONES; i++) {
+            long inicio = System.nanoTime();
+            SQLiteDatabase db = helperAnterior.getWritableDatabase();
+            try {
+                db.execSQL("UPDATE kdrama SET calificacion=? WHERE id=?", new Object[]{i % 5, idAnterior});
+            } finally {
+                db.close();
+            }
+            antes[i] = System.nanoTime() - inicio;
+        }
+
+        Kdrama kdrama = repository.obtenerKdramaPorId(idReferencia);
+        long[] despues = new long[ITERACIONES];
+        for (int i = 0; i < ITERACIONES; i++) {
+            kdrama.setCalificacion(i % 5);
+            long inicio = System.nanoTime();
+            repository.actualizarKdrama(kdrama);
+            despues[i] = System.nanoTime() - inicio;
+        }
+
+        reportar("actualizarKdrama", antes, despues);
+        assertTrue(percentil(despues, 50) > 0);
+    }
+
+    private void reportar(String operacion, long[] antes, long[] despues) {
+        Log.i(TAG, String.format("%s antes: p50=%dus p95=%dus | después: p50=%dus p95=%dus",
+                operacion,
+                percentil(antes, 50) / 1000, percentil(antes, 95) / 1000,
+                percentil(despues, 50) / 1000, percentil(despues, 95) / 1000));
+    }
+
+    private static long percentil(long[] muestras, int p) {
+        long[] copia = muestras.clone();
+        Arrays.sort(copia);
+        int indice = Math.min(copia.length - 1, (copia.length * p) / 100);
+        return copia[indice];
+    }
+}
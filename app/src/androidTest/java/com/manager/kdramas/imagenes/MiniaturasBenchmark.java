@@ -0,0 +1,158 @@
+package com.manager.kdramas.imagenes;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.request.FutureTarget;
+import com.bumptech.glide.request.RequestOptions;
+import com.manager.kdramas.R;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Benchmark instrumentado de la memoria de mapas de bits y el tiempo de carga al recorrer una lista de 1.000 portadas.
+ * Ambos brazos cargan con Glide al tamaño de la tarjeta y con recorte centrado, como las filas de la lista:
+ * antes, la portada completa con el formato por defecto (ARGB_8888); ahora, su miniatura en RGB_565.
+ * Cada carga se decodifica de nuevo, sin caché de memoria ni mapas de bits reutilizados, de modo que el
+ * tiempo medido incluye la decodificación y el reescalado completos.
+ * Los resultados (bytes y microsegundos por fila, y totales) se escriben en Logcat con la etiqueta "MiniaturasBenchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class MiniaturasBenchmark {
+
+    private static final String TAG = "MiniaturasBenchmark";
+    private static final int FILAS = 1000;
+    private static final int PORTADAS_DISTINTAS = 20;
+    private static final int ANCHO_PORTADA = 600;
+    private static final int ALTO_PORTADA = 900;
+
+    // Opciones de las tarjetas antes de las miniaturas
+    private static final RequestOptions OPCIONES_ANTERIORES = new RequestOptions()
+            .centerCrop()
+            .diskCacheStrategy(DiskCacheStrategy.NONE)
+            .skipMemoryCache(true);
+
+    // Opciones actuales de las tarjetas para los archivos locales
+    private static final RequestOptions OPCIONES_ACTUALES = new RequestOptions()
+            .format(DecodeFormat.PREFER_RGB_565)
+            .centerCrop()
+            .diskCacheStrategy(DiskCacheStrategy.NONE)
+            .skipMemoryCache(true);
+
+    private Context context;
+    private RequestManager glide;
+    private int anchoTarjeta;
+    private int altoTarjeta;
+    private File directorio;
+    private AlmacenPortadas portadas;
+    private AlmacenPortadas miniaturas;
+    private final String[] claves = new String[PORTADAS_DISTINTAS];
+
+    @Before
+    public void prepararPortadas() throws IOException {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        glide = Glide.with(context);
+        anchoTarjeta = context.getResources().getDimensionPixelSize(R.dimen.portada_miniatura_ancho);
+        altoTarjeta = context.getResources().getDimensionPixelSize(R.dimen.portada_miniatura_alto);
+        directorio = new File(context.getCacheDir(), "benchmark-miniaturas");
+        portadas = new AlmacenPortadas(new File(directorio, "portadas"), 64L * 1024 * 1024);
+        miniaturas = new AlmacenPortadas(new File(directorio, "miniaturas"), 16L * 1024 * 1024);
+        GeneradorMiniaturas generador = new GeneradorMiniaturas(anchoTarjeta, altoTarjeta);
+
+        for (int i = 0; i < PORTADAS_DISTINTAS; i++) {
+            claves[i] = AlmacenPortadas.claveDe("https://example.com/portadas/" + i + ".jpg");
+            File portada = portadas.guardar(claves[i], new ByteArrayInputStream(crearPortada(i)));
+            generador.generar(portada, miniaturas, claves[i]);
+        }
+    }
+
+    @After
+    public void limpiarPortadas() {
+        eliminar(directorio);
+    }
+
+    @Test
+    public void memoriaAlRecorrerLaLista() throws Exception {
+        long[] antes = new long[2];
+        long[] despues = new long[2];
+        for (int fila = 0; fila < FILAS; fila++) {
+            String clave = claves[fila % PORTADAS_DISTINTAS];
+            cargarYMedir(portadas.archivoDe(clave), OPCIONES_ANTERIORES, antes);
+            cargarYMedir(miniaturas.archivoDe(clave), OPCIONES_ACTUALES, despues);
+        }
+
+        Log.i(TAG, String.format("%d filas de %dx%d px: portada completa ARGB_8888=%d KB (%d B/fila, %d µs/fila), "
+                        + "miniatura RGB_565=%d KB (%d B/fila, %d µs/fila), reducción de memoria x%.1f",
+                FILAS, anchoTarjeta, altoTarjeta,
+                antes[0] / 1024, antes[0] / FILAS, antes[1] / 1000 / FILAS,
+                despues[0] / 1024, despues[0] / FILAS, despues[1] / 1000 / FILAS,
+                (double) antes[0] / despues[0]));
+        assertTrue(despues[0] < antes[0]);
+    }
+
+    /**
+     * Carga un archivo con Glide al tamaño de la tarjeta y acumula los bytes del mapa de bits resultante
+     * y el tiempo de carga.
+     *
+     * @param acumulado Bytes en la posición 0 y nanosegundos en la posición 1.
+     */
+    private void cargarYMedir(File archivo, RequestOptions opciones, long[] acumulado)
+            throws ExecutionException, InterruptedException {
+        // Vacía el grupo de mapas de bits para que cada carga reserve uno nuevo de su tamaño exacto
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> Glide.get(context).clearMemory());
+        long inicio = System.nanoTime();
+        FutureTarget<Drawable> carga = glide.load(archivo).apply(opciones).submit(anchoTarjeta, altoTarjeta);
+        Bitmap bitmap = ((BitmapDrawable) carga.get()).getBitmap();
+        acumulado[1] += System.nanoTime() - inicio;
+        acumulado[0] += bitmap.getAllocationByteCount();
+        glide.clear(carga);
+    }
+
+    private static byte[] crearPortada(int semilla) {
+        Bitmap bitmap = Bitmap.createBitmap(ANCHO_PORTADA, ALTO_PORTADA, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        canvas.drawColor(Color.rgb(40 + semilla * 10, 80, 160));
+        Paint pincel = new Paint();
+        pincel.setColor(Color.WHITE);
+        pincel.setTextSize(120);
+        canvas.drawText("#" + semilla, 60, ALTO_PORTADA / 2f, pincel);
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        bitmap.compress(Bitmap.CompressFormat.JPEG, 90, jpeg);
+        bitmap.recycle();
+        return jpeg.toByteArray();
+    }
+
+    private static void eliminar(File archivo) {
+        File[] hijos = archivo.listFiles();
+        if (hijos != null) {
+            for (File hijo : hijos) {
+                eliminar(hijo);
+            }
+        }
+        archivo.delete();
+    }
+}
@@ -0,0 +1,94 @@
+package com.manager.kdramas.io;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.manager.kdramas.database.DBHelper;
+import com.manager.kdramas.model.Kdrama;
+import com.manager.kdramas.repositories.KdramaRepository;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Benchmark instrumentado de la exportación del catálogo con 100.000 filas de prueba.
+ * Los resultados (filas/s, MB/s y memoria usada) se escriben en Logcat con la etiqueta "ExportacionBenchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class ExportacionBenchmark {
+
+    private static final String TAG = "ExportacionBenchmark";
+    private static final String GENERO_PRUEBA = "BenchmarkExportacion";
+    private static final int FILAS = 100_000;
+
+    private Context context;
+    private KdramaRepository repository;
+    private File archivo;
+
+    @Before
+    public void prepararCatalogo() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        DBHelper.usarBaseDePruebas(context);
+        repository = new KdramaRepository(context);
+        archivo = new File(context.getCacheDir(), "exportacion_benchmark");
+
+        List<Kdrama> lote = new ArrayList<>(1000);
+        try (KdramaRepository.InsercionMasiva insercion = repository.abrirInsercionMasiva()) {
+            for (int i = 0; i < FILAS; i++) {
+                lote.add(new Kdrama("Título, \"de prueba\" " + i, GENERO_PRUEBA, 2000 + i % 25, 16, i % 6));
+                if (lote.size() == 1000) {
+                    insercion.insertarLote(lote);
+                    lote.clear();
+                }
+            }
+            insercion.insertarLote(lote);
+        }
+    }
+
+    @After
+    public void limpiarCatalogo() {
+        DBHelper.usarBaseDeAplicacion(context);
+        archivo.delete();
+    }
+
+    @Test
+    public void rendimientoExportacionCsvYJson() throws IOException {
+        for (ImportadorKdramas.Formato formato : ImportadorKdramas.Formato.values()) {
+            Runtime runtime = Runtime.getRuntime();
+            runtime.gc();
+            long memoriaInicial = runtime.totalMemory() - runtime.freeMemory();
+            long[] memoriaMaxima = {memoriaInicial};
+
+            ExportadorKdramas.ResultadoExportacion resultado;
+            try (FileOutputStream salida = new FileOutputStream(archivo);
+                 FileChannel canal = salida.getChannel()) {
+                resultado = new ExportadorKdramas(repository).exportar(canal, formato, null, exportadas ->
+                        memoriaMaxima[0] = Math.max(memoriaMaxima[0], runtime.totalMemory() - runtime.freeMemory()));
+            }
+
+            double segundos = resultado.getDuracionNanos() / 1e9;
+            Log.i(TAG, String.format("%s: %d filas, %.0f filas/s, %.1f MB/s, memoria +%d KB",
+                    formato, resultado.getExportadas(), resultado.getFilasPorSegundo(),
+                    resultado.getBytes() / 1_048_576.0 / segundos, (memoriaMaxima[0] - memoriaInicial) / 1024));
+
+            assertFalse(resultado.fueCancelada());
+            assertEquals(FILAS, resultado.getExportadas());
+            assertEquals(archivo.length(), resultado.getBytes());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.manager.kdramas.repositories;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.manager.kdramas.database.DBHelper;
+import com.manager.kdramas.model.FiltroKdramas;
+import com.manager.kdramas.model.Kdrama;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Benchmark instrumentado de la búsqueda por texto completo sobre un catálogo de 100.000 filas.
+ * Los resultados (p50/p95 en microsegundos por prefijo) se escriben en Logcat con la etiqueta "BusquedaBenchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class BusquedaBenchmark {
+
+    private static final String TAG = "BusquedaBenchmark";
+    private static final String GENERO_PRUEBA = "BenchmarkBusqueda";
+    private static final int FILAS = 100_000;
+    private static final int ITERACIONES = 50;
+    private static final String[] PALABRAS = {
+            "amor", "ciudad", "secreto", "reina", "doctor", "luna", "sol", "destino", "palacio", "verano",
+            "invierno", "hotel", "abogado", "fantasma", "cocina", "estrella", "camino", "jardín", "mar", "noche"
+    };
+    private static final String[] CONSULTAS = {"a", "sol", "amor ciu", "palacio luna", "zzz"};
+
+    private Context context;
+    private KdramaRepository repository;
+
+    @Before
+    public void prepararCatalogo() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        DBHelper.usarBaseDePruebas(context);
+        repository = new KdramaRepository(context);
+
+        List<Kdrama> lote = new ArrayList<>(1000);
+        try (KdramaRepository.InsercionMasiva insercion = repository.abrirInsercionMasiva()) {
+            for (int i = 0; i < FILAS; i++) {
+                String titulo = PALABRAS[i % PALABRAS.length] + " " + PALABRAS[(i / 7) % PALABRAS.length] + " " + i;
+                lote.add(new Kdrama(titulo, GENERO_PRUEBA, 2000 + i % 25, 16, i % 6));
+                if (lote.size() == 1000) {
+                    insercion.insertarLote(lote);
+                    lote.clear();
+                }
+            }
+            insercion.insertarLote(lote);
+        }
+    }
+
+    @After
+    public void cerrarBaseDePruebas() {
+        DBHelper.usarBaseDeAplicacion(context);
+    }
+
+    @Test
+    public void latenciaBusquedaPorPrefijo() {
+        for (String consulta : CONSULTAS) {
+            long[] muestras = new long[ITERACIONES];
+            List<Kdrama> resultados = null;
+            for (int i = 0; i < ITERACIONES; i++) {
+                long inicio = System.nanoTime();
+                resultados = repository.buscarKdramas(consulta, FiltroKdramas.SIN_FILTRO, 100, null);
+                muestras[i] = System.nanoTime() - inicio;
+            }
+            Log.i(TAG, String.format("\"%s\": %d resultados, p50=%dus p95=%dus",
+                    consulta, resultados.size(), percentil(muestras, 50) / 1000, percentil(muestras, 95) / 1000));
+        }
+
+        assertFalse(repository.buscarKdramas("sol", FiltroKdramas.SIN_FILTRO, 100, null).isEmpty());
+    }
+
+    private static long percentil(long[] muestras, int p) {
+        long[] copia = muestras.clone();
+        Arrays.sort(copia);
+        int indice = Math.min(copia.length - 1, (copia.length * p) / 100);
+        return copia[indice];
+    }
+}
@@ -0,0 +1,101 @@
+package com.manager.kdramas.repositories;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.manager.kdramas.database.DBHelper;
+import com.manager.kdramas.metricas.MetricasDatos;
+import com.manager.kdramas.model.EstadoVisionado;
+import com.manager.kdramas.model.FiltroKdramas;
+import com.manager.kdramas.model.Kdrama;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifica que las operaciones sobre varios K-Dramas se aplican en una sola transacción,
+ * modifican solo las filas con un valor distinto y mantienen las tablas de resumen, y que
+ * las eliminaciones pueden deshacerse hasta que se purgan.
+ * Trabaja sobre la base de datos de pruebas, no sobre la de la aplicación.
+ */
+@RunWith(AndroidJUnit4.class)
+public class OperacionesLoteTest {
+
+    private static final String GENERO_PRUEBA = "LotePrueba";
+
+    private Context context;
+    private KdramaRepository repository;
+
+    @Before
+    public void prepararRepositorio() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        DBHelper.usarBaseDePruebas(context);
+        repository = new KdramaRepository(context);
+    }
+
+    @After
+    public void cerrarBaseDePruebas() {
+        DBHelper.usarBaseDeAplicacion(context);
+    }
+
+    @Test
+    public void cambiosEnLoteUsanUnaTransaccion() {
+        long a = repository.insertarKdrama(new Kdrama("Lote A", GENERO_PRUEBA, 2020, 12, 3.0f));
+        long b = repository.insertarKdrama(new Kdrama("Lote B", GENERO_PRUEBA, 2021, 16, 5.0f));
+        List<Long> ids = Arrays.asList(a, b);
+        MetricasDatos metricas = MetricasDatos.getInstance();
+
+        long confirmadas = metricas.getTransaccionesConfirmadas();
+        List<Kdrama> calificados = repository.calificarKdramas(ids, 5.0f);
+        assertEquals(confirmadas + 1, metricas.getTransaccionesConfirmadas());
+        // B ya tenía 5 estrellas: solo A se modifica
+        assertEquals(1, calificados.size());
+        assertEquals(a, calificados.get(0).getId());
+        assertEquals(5.0f, calificados.get(0).getCalificacion(), 0f);
+
+        List<Kdrama> completados = repository.cambiarEstadoKdramas(ids, EstadoVisionado.COMPLETADO);
+        assertEquals(2, completados.size());
+        for (Kdrama kdrama : completados) {
+            assertEquals(EstadoVisionado.COMPLETADO, kdrama.getEstado());
+        }
+        assertTrue(repository.resumenesConsistentes());
+
+        assertEquals(2, repository.eliminarKdramas(ids));
+        assertNull(repository.obtenerKdramaPorId(a));
+        assertTrue(repository.resumenesConsistentes());
+    }
+
+    @Test
+    public void eliminacionReversibleHastaLaPurga() {
+        long a = repository.insertarKdrama(new Kdrama("Restaurable", GENERO_PRUEBA, 2022, 10, 4.0f));
+        List<Long> ids = Arrays.asList(a);
+
+        assertEquals(1, repository.eliminarKdramas(ids));
+        assertNull(repository.obtenerKdramaPorId(a));
+        assertTrue(repository.buscarKdramas("Restaurable", FiltroKdramas.SIN_FILTRO, 10, null).isEmpty());
+        assertTrue(repository.resumenesConsistentes());
+
+        List<Kdrama> restaurados = repository.restaurarKdramas(ids);
+        assertEquals(1, restaurados.size());
+        assertNotNull(repository.obtenerKdramaPorId(a));
+        assertEquals(1, repository.buscarKdramas("Restaurable", FiltroKdramas.SIN_FILTRO, 10, null).size());
+        assertTrue(repository.resumenesConsistentes());
+
+        assertEquals(1, repository.eliminarKdrama(a));
+        assertEquals(1, repository.purgarEliminados(Long.MAX_VALUE, 1000));
+        assertTrue(repository.restaurarKdramas(ids).isEmpty());
+        assertTrue(repository.resumenesConsistentes());
+    }
+}
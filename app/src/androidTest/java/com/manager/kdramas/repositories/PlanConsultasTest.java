@@ -0,0 +1,137 @@
+package com.manager.kdramas.repositories;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.manager.kdramas.database.ClaveOrden;
+import com.manager.kdramas.database.DBHelper;
+import com.manager.kdramas.model.EstadoVisionado;
+import com.manager.kdramas.model.FiltroKdramas;
+import com.manager.kdramas.model.Kdrama;
+import com.manager.kdramas.model.OrdenKdramas;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifica con EXPLAIN QUERY PLAN que las consultas filtradas y ordenadas del listado usan los índices
+ * secundarios en lugar de recorrer la tabla completa y ordenar en un B-tree temporal.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PlanConsultasTest {
+
+    private Context context;
+    private SQLiteDatabase db;
+
+    @Before
+    public void abrirBaseDatos() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        DBHelper.usarBaseDePruebas(context);
+        db = DBHelper.getInstance(context).getReadableDatabase();
+    }
+
+    @After
+    public void cerrarBaseDePruebas() {
+        DBHelper.usarBaseDeAplicacion(context);
+    }
+
+    @Test
+    public void filtroPorGeneroUsaIndiceGenero() {
+        FiltroKdramas filtro = new FiltroKdramas("Romance", null, null, null, null);
+
+        List<String> plan = obtenerPlan(filtro, OrdenKdramas.TITULO, clave("Goblin", 7));
+
+        assertUsaIndice(plan, "idx_kdrama_genero_clave");
+        assertSinOrdenTemporal(plan);
+    }
+
+    @Test
+    public void filtroPorEstadoUsaIndiceEstado() {
+        FiltroKdramas filtro = new FiltroKdramas(null, EstadoVisionado.COMPLETADO, null, null, null);
+
+        List<String> plan = obtenerPlan(filtro, OrdenKdramas.TITULO, null);
+
+        assertUsaIndice(plan, "idx_kdrama_finalizado_clave");
+        assertSinOrdenTemporal(plan);
+    }
+
+    @Test
+    public void filtrosCombinadosNoRecorrenLaTabla() {
+        FiltroKdramas filtro = new FiltroKdramas("Drama", EstadoVisionado.VIENDO, 2015, 2024, 3.5f);
+
+        assertSinRecorridoCompleto(obtenerPlan(filtro, OrdenKdramas.TITULO, null));
+        assertSinRecorridoCompleto(obtenerPlan(FiltroKdramas.SIN_FILTRO, OrdenKdramas.TITULO, clave("Goblin", 7)));
+    }
+
+    @Test
+    public void cadaOrdenRecorreSuIndice() {
+        String[] indices = {
+                "idx_kdrama_clave_titulo", "idx_kdrama_calificacion", "idx_kdrama_anio",
+                "idx_kdrama_actualizado", "idx_kdrama_finalizado_clave"
+        };
+        for (OrdenKdramas orden : OrdenKdramas.values()) {
+            for (Kdrama despuesDe : new Kdrama[]{null, clave("Goblin", 7)}) {
+                List<String> plan = obtenerPlan(FiltroKdramas.SIN_FILTRO, orden, despuesDe);
+
+                assertUsaIndice(plan, indices[orden.ordinal()]);
+                assertSinOrdenTemporal(plan);
+            }
+        }
+    }
+
+    private static Kdrama clave(String titulo, long id) {
+        Kdrama kdrama = new Kdrama(titulo, "Drama", 2016, 16, 4.5f);
+        kdrama.setId(id);
+        kdrama.setClaveTitulo(ClaveOrden.calcular(titulo));
+        kdrama.setActualizadoEn(1_700_000_000_000L);
+        return kdrama;
+    }
+
+    private List<String> obtenerPlan(FiltroKdramas filtro, OrdenKdramas orden, Kdrama despuesDe) {
+        KdramaRepository.ConsultaSql consulta =
+                KdramaRepository.construirConsultaPagina(filtro, orden, despuesDe, 51);
+        List<String> plan = new ArrayList<>();
+        try (Cursor cursor = db.rawQuery("EXPLAIN QUERY PLAN " + consulta.sql, consulta.argumentos)) {
+            int columnaDetalle = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.add(cursor.getString(columnaDetalle));
+            }
+        }
+        return plan;
+    }
+
+    private static void assertUsaIndice(List<String> plan, String indice) {
+        for (String detalle : plan) {
+            if (detalle.contains(indice)) {
+                return;
+            }
+        }
+        throw new AssertionError("El plan no usa " + indice + ": " + plan);
+    }
+
+    private static void assertSinOrdenTemporal(List<String> plan) {
+        for (String detalle : plan) {
+            assertFalse("El plan ordena en un B-tree temporal: " + plan, detalle.contains("TEMP B-TREE"));
+        }
+    }
+
+    private static void assertSinRecorridoCompleto(List<String> plan) {
+        assertFalse("Plan vacío", plan.isEmpty());
+        for (String detalle : plan) {
+            boolean recorridoCompleto = detalle.matches("SCAN (TABLE )?kdrama\\s*");
+            assertTrue("El plan recorre la tabla completa: " + plan, !recorridoCompleto);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.manager.kdramas.repositories;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.manager.kdramas.database.DBHelper;
+import com.manager.kdramas.model.EstadoVisionado;
+import com.manager.kdramas.model.Kdrama;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifica que los disparadores mantienen las tablas de resumen consistentes con la tabla kdrama
+ * y que la reconstrucción corrige un resumen alterado.
+ * Trabaja sobre la base de datos de pruebas, no sobre la de la aplicación.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ResumenesTest {
+
+    private static final String GENERO_PRUEBA = "ResumenPrueba";
+    private static final String GENERO_PRUEBA_CAMBIADO = "ResumenPrueba2";
+
+    private Context context;
+    private KdramaRepository repository;
+
+    @Before
+    public void prepararRepositorio() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        DBHelper.usarBaseDePruebas(context);
+        repository = new KdramaRepository(context);
+    }
+
+    @After
+    public void cerrarBaseDePruebas() {
+        DBHelper.usarBaseDeAplicacion(context);
+    }
+
+    @Test
+    public void disparadoresMantienenResumenes() {
+        Kdrama kdrama = new Kdrama("Resumen", GENERO_PRUEBA, 2021, 16, 4.0f);
+        kdrama.setId(repository.insertarKdrama(kdrama));
+        assertTrue(repository.resumenesConsistentes());
+
+        kdrama.setEstado(EstadoVisionado.COMPLETADO);
+        kdrama.setGenero(GENERO_PRUEBA_CAMBIADO);
+        kdrama.setCalificacion(2.5f);
+        repository.actualizarKdrama(kdrama);
+        assertTrue(repository.resumenesConsistentes());
+
+        repository.eliminarKdrama(kdrama.getId());
+        assertTrue(repository.resumenesConsistentes());
+    }
+
+    @Test
+    public void reconstruccionCorrigeResumenAlterado() {
+        repository.insertarKdrama(new Kdrama("Resumen", GENERO_PRUEBA, 2021, 16, 4.0f));
+        DBHelper.getInstance(context).getWritableDatabase().execSQL(
+                "UPDATE resumen_genero SET cantidad = cantidad + 3 WHERE genero = ?", new Object[]{GENERO_PRUEBA});
+        assertFalse(repository.resumenesConsistentes());
+
+        repository.reconstruirResumenes();
+        assertTrue(repository.resumenesConsistentes());
+    }
+}
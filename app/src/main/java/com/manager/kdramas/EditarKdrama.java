@@ -13,6 +13,7 @@ import android.widget.EditText;
 import android.widget.RatingBar;
 import android.widget.Spinner;
 import android.widget.Toast;
+import com.manager.kdramas.model.EstadoVisionado;
 import com.manager.kdramas.model.Kdrama;
 import com.manager.kdramas.viewmodel.KdramaViewModel;
 import androidx.activity.OnBackPressedCallback;
@@ -21,14 +22,19 @@ import androidx.activity.OnBackPressedCallback;
  * EditarKdrama - Actividad que permite modificar los datos de un K-Drama existente.
 
  * Responsabilidades:
+ * - Recibir solo el ID del K-Drama y resolver sus datos de forma asíncrona mediante el ViewModel.
  * - Capturar y validar datos desde la interfaz de usuario.
  * - Observar el ViewModel para recibir actualizaciones y errores.
  * - Delegar operaciones CRUD al ViewModel.
- * - Reaccionar a cambios de estado mediante LiveData.
+ * - Reaccionar a cambios de estado mediante LiveData, incluida la eliminación o actualización
+ *   del K-Drama abierto desde otro punto de la aplicación.
  * - Navegar entre pantallas según el resultado de las operaciones.
  */
 public class EditarKdrama extends AppCompatActivity {
 
+    // Extra del Intent con el ID del K-Drama a editar
+    public static final String EXTRA_ID = "id";
+
     // Componentes de la interfaz de usuario
     private EditText edTitulo, edAnio, edCapitulos, edImagenUrl, edId;
     private Spinner spnGenero, spnEstado;
@@ -38,9 +44,16 @@ public class EditarKdrama extends AppCompatActivity {
     // ViewModel que gestiona la lógica de presentación
     private KdramaViewModel kdramaViewModel;
 
-    // Instancia del K-Drama que se está editando
+    // Instancia del K-Drama que se está editando (null hasta que se resuelve)
     private Kdrama kdramaActual;
 
+    // true cuando los campos ya muestran datos (restaurados tras recrearse o poblados una vez):
+    // las actualizaciones posteriores del K-Drama no sobrescriben lo que el usuario escribe
+    private boolean vistasPobladas;
+
+    // true desde que se pide eliminar el K-Drama, para ofrecer deshacerlo al volver a la lista
+    private boolean eliminando;
+
     /**
      * Método invocado al crear la actividad.
      * Configura el ViewModel, la interfaz de usuario, los observadores y los eventos.
@@ -55,9 +68,10 @@ public class EditarKdrama extends AppCompatActivity {
         vincularComponentes();
         configurarSpinners();
         configurarBotonRetroceso();
-        cargarDatosIntent();
         configurarEventos();
         configurarObservadores();
+        vistasPobladas = savedInstanceState != null;
+        cargarDatosIntent();
     }
 
     /**
@@ -79,8 +93,27 @@ public class EditarKdrama extends AppCompatActivity {
             }
         });
 
+        kdramaViewModel.kdramaSeleccionado.observe(this, kdrama -> {
+            if (isFinishing()) {
+                // Cambio provocado por la propia actualización o eliminación que cerró la pantalla
+                return;
+            }
+            if (kdrama == null) {
+                Toast.makeText(this, "El K-Drama ya no existe", Toast.LENGTH_LONG).show();
+                volverALista();
+                return;
+            }
+            kdramaActual = kdrama;
+            if (!vistasPobladas) {
+                poblarUIConDatos();
+                vistasPobladas = true;
+            }
+            habilitarAcciones(true);
+        });
+
         kdramaViewModel.errorMessage.observe(this, mensajeError -> {
             if (mensajeError != null && !mensajeError.isEmpty()) {
+                eliminando = false;
                 Toast.makeText(this, mensajeError, Toast.LENGTH_LONG).show();
             }
         });
@@ -131,22 +164,32 @@ public class EditarKdrama extends AppCompatActivity {
     }
 
     /**
-     * Extrae los datos del K-Drama desde el Intent recibido y actualiza la interfaz.
+     * Lee el ID recibido en el Intent y solicita el K-Drama al ViewModel.
+     * Las acciones quedan deshabilitadas hasta que los datos llegan; si el ViewModel ya los tiene
+     * (p. ej. tras rotar la pantalla), no se vuelven a pedir.
      */
     private void cargarDatosIntent() {
-        Intent intent = getIntent();
-
-        kdramaActual = new Kdrama();
-        kdramaActual.setId(intent.getStringExtra("id"));
-        kdramaActual.setTitulo(intent.getStringExtra("titulo"));
-        kdramaActual.setGenero(intent.getStringExtra("genero"));
-        kdramaActual.setAnio(intent.getStringExtra("anio"));
-        kdramaActual.setCapitulos(intent.getStringExtra("capitulos"));
-        kdramaActual.setCalificacion(intent.getStringExtra("calificacion"));
-        kdramaActual.setFinalizado(intent.getStringExtra("finalizado"));
-        kdramaActual.setImagenUrl(intent.getStringExtra("imagen_url"));
-
-        poblarUIConDatos();
+        long id = getIntent().getLongExtra(EXTRA_ID, Kdrama.ID_NUEVO);
+        if (id == Kdrama.ID_NUEVO) {
+            Toast.makeText(this, "Error: K-Drama no válido", Toast.LENGTH_SHORT).show();
+            volverALista();
+            return;
+        }
+
+        if (kdramaViewModel.kdramaSeleccionado.getValue() == null) {
+            habilitarAcciones(false);
+            kdramaViewModel.cargarKdrama(id);
+        }
+    }
+
+    /**
+     * Habilita o deshabilita los botones que operan sobre el K-Drama cargado.
+     *
+     * @param habilitar true cuando los datos del K-Drama ya están disponibles.
+     */
+    private void habilitarAcciones(boolean habilitar) {
+        btnActualizar.setEnabled(habilitar);
+        btnEliminar.setEnabled(habilitar);
     }
 
     /**
@@ -155,21 +198,15 @@ public class EditarKdrama extends AppCompatActivity {
     private void poblarUIConDatos() {
         if (kdramaActual == null) return;
 
-        edId.setText(kdramaActual.getId());
+        edId.setText(String.valueOf(kdramaActual.getId()));
         edTitulo.setText(kdramaActual.getTitulo());
-        edAnio.setText(kdramaActual.getAnio());
-        edCapitulos.setText(kdramaActual.getCapitulos());
+        edAnio.setText(String.valueOf(kdramaActual.getAnio()));
+        edCapitulos.setText(String.valueOf(kdramaActual.getCapitulos()));
         edImagenUrl.setText(kdramaActual.getImagenUrl());
-
-        try {
-            float calificacion = Float.parseFloat(kdramaActual.getCalificacion());
-            ratingCalificacion.setRating(calificacion);
-        } catch (NumberFormatException e) {
-            ratingCalificacion.setRating(3);
-        }
+        ratingCalificacion.setRating(kdramaActual.getCalificacion());
 
         establecerSeleccionSpinner(spnGenero, kdramaActual.getGenero());
-        establecerSeleccionEstado(kdramaActual.getFinalizado());
+        establecerSeleccionEstado(kdramaActual.getEstado());
     }
 
     /**
@@ -188,20 +225,16 @@ public class EditarKdrama extends AppCompatActivity {
     }
 
     /**
-     * Establece la selección del spinner de estado según el índice recibido.
-     * El índice debe corresponder al orden definido en strings.xml.
+     * Establece la selección del spinner de estado.
+     * El código del estado coincide con el orden definido en strings.xml.
      *
-     * @param estado Índice del estado como String.
+     * @param estado Estado de visionado del K-Drama.
      */
-    private void establecerSeleccionEstado(String estado) {
-        try {
-            int index = Integer.parseInt(estado);
-            if (index >= 0 && index < spnEstado.getCount()) {
-                spnEstado.setSelection(index);
-            } else {
-                spnEstado.setSelection(0);
-            }
-        } catch (NumberFormatException e) {
+    private void establecerSeleccionEstado(EstadoVisionado estado) {
+        int index = estado.getCodigo();
+        if (index >= 0 && index < spnEstado.getCount()) {
+            spnEstado.setSelection(index);
+        } else {
             spnEstado.setSelection(0);
         }
     }
@@ -217,10 +250,10 @@ public class EditarKdrama extends AppCompatActivity {
 
     /**
      * Actualiza el K-Drama actual con los datos ingresados en la interfaz.
-     * Valida los campos obligatorios y delega la operación al ViewModel.
+     * Valida los campos obligatorios sobre una copia y delega la operación al ViewModel.
      */
     private void actualizarKdrama() {
-        if (kdramaActual == null || kdramaActual.getId() == null) {
+        if (kdramaActual == null || !kdramaActual.tieneId()) {
             Toast.makeText(this, "Error: K-Drama no válido", Toast.LENGTH_SHORT).show();
             return;
         }
@@ -231,26 +264,33 @@ public class EditarKdrama extends AppCompatActivity {
         String capitulos = edCapitulos.getText().toString().trim();
         String imagenUrl = edImagenUrl.getText().toString().trim();
         float calificacion = ratingCalificacion.getRating();
-        String finalizado = String.valueOf(spnEstado.getSelectedItemPosition());
+        EstadoVisionado estado = EstadoVisionado.desdeCodigo(spnEstado.getSelectedItemPosition());
 
         if (titulo.isEmpty() || anio.isEmpty() || capitulos.isEmpty()) {
             Toast.makeText(this, "Complete los campos obligatorios", Toast.LENGTH_SHORT).show();
             return;
         }
 
-        kdramaActual.setTitulo(titulo);
-        kdramaActual.setGenero(genero);
-        kdramaActual.setAnio(anio);
-        kdramaActual.setCapitulos(capitulos);
-        kdramaActual.setImagenUrl(imagenUrl);
-        kdramaActual.setCalificacion(String.valueOf(calificacion));
-        kdramaActual.setFinalizado(finalizado);
+        // Se edita una copia: si la validación o la escritura fallan, el K-Drama mostrado queda intacto
+        Kdrama editado = new Kdrama(kdramaActual);
+        try {
+            editado.setAnio(Integer.parseInt(anio));
+            editado.setCapitulos(Integer.parseInt(capitulos));
+        } catch (NumberFormatException e) {
+            Toast.makeText(this, "Datos del K-Drama no válidos", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        editado.setTitulo(titulo);
+        editado.setGenero(genero);
+        editado.setImagenUrl(imagenUrl);
+        editado.setCalificacion(calificacion);
+        editado.setEstado(estado);
 
-        if (!kdramaActual.esValido()) {
+        if (!editado.esValido()) {
             Toast.makeText(this, "Datos del K-Drama no válidos", Toast.LENGTH_SHORT).show();
             return;
         }
-        kdramaViewModel.actualizarKdrama(kdramaActual);
+        kdramaViewModel.actualizarKdrama(editado);
     }
 
     /**
@@ -259,20 +299,26 @@ public class EditarKdrama extends AppCompatActivity {
      * Si la validación falla, se muestra un mensaje de error al usuario.
      */
     private void eliminarKdrama() {
-        if (kdramaActual == null || kdramaActual.getId() == null) {
+        if (kdramaActual == null || !kdramaActual.tieneId()) {
             Toast.makeText(this, "Error: K-Drama no válido", Toast.LENGTH_SHORT).show();
             return;
         }
 
+        eliminando = true;
         kdramaViewModel.eliminarKdrama(kdramaActual.getId());
     }
 
     /**
      * Navega de regreso a la actividad que lista los K-Dramas.
+     * Si se eliminó el K-Drama, le pasa su ID para que ofrezca deshacer la eliminación.
      * Finaliza la actividad actual para evitar duplicación en el back stack.
      */
     private void volverALista() {
         Intent intent = new Intent(this, ListarKdramas.class);
+        if (eliminando && kdramaActual != null) {
+            // La lista ofrece deshacer la eliminación
+            intent.putExtra(ListarKdramas.EXTRA_ELIMINADOS, new long[]{kdramaActual.getId()});
+        }
         startActivity(intent);
         finish();
     }
@@ -1,7 +1,10 @@
 package com.manager.kdramas;
 
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.view.ActionMode;
 import androidx.appcompat.widget.Toolbar;
 import androidx.lifecycle.Observer;
 import androidx.lifecycle.ViewModelProvider;
@@ -9,13 +12,36 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import android.content.Intent;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.Menu;
+import android.view.MenuItem;
+import android.view.SubMenu;
 import android.view.View;
+import android.widget.ArrayAdapter;
+import android.widget.Button;
+import android.widget.EditText;
 import android.widget.LinearLayout;
+import android.widget.RatingBar;
+import android.widget.Spinner;
+import android.widget.TextView;
 import android.widget.Toast;
+import com.bumptech.glide.Glide;
+import com.google.android.material.snackbar.Snackbar;
+import com.manager.kdramas.imagenes.SincronizadorPortadas;
+import com.manager.kdramas.io.ImportadorKdramas;
+import com.manager.kdramas.metricas.MetricasFotogramas;
+import com.manager.kdramas.model.EstadoVisionado;
+import com.manager.kdramas.model.FiltroKdramas;
 import com.manager.kdramas.model.Kdrama;
+import com.manager.kdramas.model.OrdenKdramas;
 import com.manager.kdramas.adapters.KdramaAdapter;
 import com.manager.kdramas.viewmodel.KdramaViewModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * ListarKdramas - Actividad que muestra la lista de K-Dramas registrados.
@@ -25,12 +51,63 @@ import java.util.List;
  * - Configurar y gestionar el RecyclerView y su adaptador.
  * - Navegar a la pantalla de edición al seleccionar un item.
  * - Mostrar estado vacío cuando no hay datos disponibles.
+ * - Buscar por título o género mientras el usuario escribe.
+ * - Permitir filtrar la lista por género, estado, rango de años y calificación mínima.
+ * - Permitir ordenar la lista por título, calificación, año, fecha de modificación o estado.
+ * - Permitir importar un catálogo desde un archivo y mostrar su progreso.
+ * - Seleccionar varios K-Dramas con una pulsación larga para eliminarlos, cambiar su estado
+ *   o calificarlos de una vez.
  */
 public class ListarKdramas extends AppCompatActivity {
 
+    // Número de filas restantes a partir del cual se solicita la página siguiente
+    private static final int UMBRAL_PRECARGA = 10;
+
+    // Número de filas por delante de las visibles cuya portada se precarga
+    private static final int PORTADAS_PRECARGA = 10;
+
+    // Tipos MIME ofrecidos en el selector de archivos para importar
+    private static final String[] TIPOS_IMPORTACION = {
+            "text/csv", "text/comma-separated-values", "text/plain", "application/json"
+    };
+
+    // Nombre sugerido para el archivo exportado, sin extensión
+    private static final String NOMBRE_EXPORTACION = "kdramas";
+
+    // Opciones del submenú de ordenación, en el orden de declaración de OrdenKdramas
+    private static final int[] OPCIONES_ORDEN = {
+            R.id.orden_titulo, R.id.orden_calificacion, R.id.orden_anio, R.id.orden_recientes, R.id.orden_estado
+    };
+
+    // Calificación más alta ofrecida en la selección múltiple, igual al número de estrellas de los formularios
+    private static final int CALIFICACION_MAXIMA = 5;
+
+    // Tiempo durante el que se ofrece deshacer una eliminación
+    private static final int DURACION_DESHACER_MS = 6000;
+
+    // IDs eliminados desde otra pantalla cuya eliminación se ofrece deshacer al volver a la lista
+    public static final String EXTRA_ELIMINADOS = "eliminados";
+
     // Componentes visuales del layout
     private RecyclerView recyclerKdramas;
     private LinearLayout layoutEmpty;
+    private TextView txtProgresoImportacion;
+    private TextView txtProgresoExportacion;
+    private EditText edBuscar;
+
+    // Controles del panel de filtros
+    private LinearLayout layoutFiltros;
+    private Spinner spnFiltroGenero, spnFiltroEstado;
+    private EditText edFiltroAnioDesde, edFiltroAnioHasta;
+    private RatingBar ratingFiltroMinima;
+    private Button btnAplicarFiltro, btnLimpiarFiltro;
+
+    // Selector de documentos para la importación
+    private ActivityResultLauncher<String[]> selectorImportacion;
+
+    // Selectores de destino para la exportación, uno por formato
+    private ActivityResultLauncher<String> selectorExportacionCsv;
+    private ActivityResultLauncher<String> selectorExportacionJson;
 
     // Adaptador para mostrar los K-Dramas en el RecyclerView
     private KdramaAdapter adapter;
@@ -38,6 +115,9 @@ public class ListarKdramas extends AppCompatActivity {
     // ViewModel que gestiona la lógica de presentación y acceso a datos
     private KdramaViewModel kdramaViewModel;
 
+    // Barra de acciones de la selección múltiple; null cuando no hay selección
+    private ActionMode modoSeleccion;
+
     /**
      * Método invocado al crear la actividad.
      * Configura el ViewModel, la interfaz de usuario, los observadores y carga los datos iniciales.
@@ -53,8 +133,20 @@ public class ListarKdramas extends AppCompatActivity {
         configurarToolbar();
         vincularComponentes();
         configurarRecyclerView();
+        configurarBusqueda();
+        configurarFiltros();
+        configurarImportacion();
+        configurarExportacion();
         configurarObservadores();
-        cargarDatosIniciales();
+
+        long[] eliminados = getIntent().getLongArrayExtra(EXTRA_ELIMINADOS);
+        if (savedInstanceState == null && eliminados != null) {
+            Set<Long> ids = new HashSet<>();
+            for (long id : eliminados) {
+                ids.add(id);
+            }
+            ofrecerDeshacerEliminacion(ids);
+        }
     }
 
     /**
@@ -82,26 +174,284 @@ public class ListarKdramas extends AppCompatActivity {
     private void vincularComponentes() {
         recyclerKdramas = findViewById(R.id.recyclerKdramas);
         layoutEmpty = findViewById(R.id.layoutEmpty);
+        txtProgresoImportacion = findViewById(R.id.txtProgresoImportacion);
+        txtProgresoExportacion = findViewById(R.id.txtProgresoExportacion);
+        edBuscar = findViewById(R.id.edBuscar);
+        layoutFiltros = findViewById(R.id.layoutFiltros);
+        spnFiltroGenero = findViewById(R.id.spnFiltroGenero);
+        spnFiltroEstado = findViewById(R.id.spnFiltroEstado);
+        edFiltroAnioDesde = findViewById(R.id.edFiltroAnioDesde);
+        edFiltroAnioHasta = findViewById(R.id.edFiltroAnioHasta);
+        ratingFiltroMinima = findViewById(R.id.ratingFiltroMinima);
+        btnAplicarFiltro = findViewById(R.id.btnAplicarFiltro);
+        btnLimpiarFiltro = findViewById(R.id.btnLimpiarFiltro);
+    }
+
+    /**
+     * Envía al ViewModel cada cambio del cuadro de búsqueda.
+     * El ViewModel espera a que el usuario deje de escribir antes de consultar.
+     */
+    private void configurarBusqueda() {
+        edBuscar.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                kdramaViewModel.buscar(s.toString());
+            }
+        });
+    }
+
+    /**
+     * Configura los controles del panel de filtros.
+     * Los spinners incluyen una primera opción "Todos" que equivale a no filtrar por ese criterio.
+     * Los controles se inicializan con el filtro vigente, que se conserva entre pantallas.
+     */
+    private void configurarFiltros() {
+        spnFiltroGenero.setAdapter(crearAdapterConOpcionTodos(R.string.filtro_todos_generos, R.array.generos_kdrama));
+        spnFiltroEstado.setAdapter(crearAdapterConOpcionTodos(R.string.filtro_todos_estados, R.array.estados_visionado));
+
+        FiltroKdramas filtro = kdramaViewModel.getFiltro();
+        mostrarFiltro(filtro);
+        if (!filtro.estaVacio()) {
+            layoutFiltros.setVisibility(View.VISIBLE);
+        }
+
+        btnAplicarFiltro.setOnClickListener(v -> aplicarFiltro());
+        btnLimpiarFiltro.setOnClickListener(v -> {
+            mostrarFiltro(FiltroKdramas.SIN_FILTRO);
+            kdramaViewModel.aplicarFiltro(FiltroKdramas.SIN_FILTRO);
+        });
+    }
+
+    /**
+     * Crea un adaptador de spinner con una opción inicial "Todos" seguida de los valores del arreglo.
+     *
+     * @param textoTodos Recurso del texto de la opción inicial.
+     * @param arreglo    Recurso del arreglo de valores.
+     * @return Adaptador listo para asignar al spinner.
+     */
+    private ArrayAdapter<CharSequence> crearAdapterConOpcionTodos(int textoTodos, int arreglo) {
+        List<CharSequence> opciones = new ArrayList<>();
+        opciones.add(getString(textoTodos));
+        opciones.addAll(Arrays.asList(getResources().getTextArray(arreglo)));
+        ArrayAdapter<CharSequence> adapterOpciones =
+                new ArrayAdapter<>(this, android.R.layout.simple_spinner_item, opciones);
+        adapterOpciones.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        return adapterOpciones;
+    }
+
+    /**
+     * Refleja un filtro en los controles del panel.
+     *
+     * @param filtro Filtro a mostrar.
+     */
+    private void mostrarFiltro(FiltroKdramas filtro) {
+        spnFiltroGenero.setSelection(0);
+        if (filtro.getGenero() != null) {
+            for (int i = 1; i < spnFiltroGenero.getCount(); i++) {
+                if (spnFiltroGenero.getItemAtPosition(i).toString().equals(filtro.getGenero())) {
+                    spnFiltroGenero.setSelection(i);
+                    break;
+                }
+            }
+        }
+        spnFiltroEstado.setSelection(filtro.getEstado() == null ? 0 : filtro.getEstado().getCodigo() + 1);
+        edFiltroAnioDesde.setText(filtro.getAnioDesde() == null ? "" : String.valueOf(filtro.getAnioDesde()));
+        edFiltroAnioHasta.setText(filtro.getAnioHasta() == null ? "" : String.valueOf(filtro.getAnioHasta()));
+        ratingFiltroMinima.setRating(filtro.getCalificacionMinima() == null ? 0 : filtro.getCalificacionMinima());
+    }
+
+    /**
+     * Construye el filtro a partir de los controles del panel y lo envía al ViewModel.
+     */
+    private void aplicarFiltro() {
+        Integer anioDesde;
+        Integer anioHasta;
+        try {
+            anioDesde = leerAnio(edFiltroAnioDesde);
+            anioHasta = leerAnio(edFiltroAnioHasta);
+        } catch (NumberFormatException e) {
+            Toast.makeText(this, "Año no válido", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        int posicionGenero = spnFiltroGenero.getSelectedItemPosition();
+        int posicionEstado = spnFiltroEstado.getSelectedItemPosition();
+        float calificacionMinima = ratingFiltroMinima.getRating();
+
+        FiltroKdramas filtro = new FiltroKdramas(
+                posicionGenero > 0 ? spnFiltroGenero.getSelectedItem().toString() : null,
+                posicionEstado > 0 ? EstadoVisionado.desdeCodigo(posicionEstado - 1) : null,
+                anioDesde,
+                anioHasta,
+                calificacionMinima > 0 ? calificacionMinima : null);
+        kdramaViewModel.aplicarFiltro(filtro);
+    }
+
+    /**
+     * Lee un año opcional desde un campo de texto.
+     *
+     * @param campo Campo de texto con el año.
+     * @return Año ingresado, o null si el campo está vacío.
+     * @throws NumberFormatException si el texto no es un número válido.
+     */
+    private Integer leerAnio(EditText campo) {
+        String texto = campo.getText().toString().trim();
+        return texto.isEmpty() ? null : Integer.valueOf(texto);
+    }
+
+    /**
+     * Registra los selectores de destino de la exportación y permite cancelarla tocando su indicador.
+     */
+    private void configurarExportacion() {
+        selectorExportacionCsv = registerForActivityResult(new ActivityResultContracts.CreateDocument("text/csv"),
+                uri -> {
+                    if (uri != null) {
+                        kdramaViewModel.exportarCatalogo(uri, ImportadorKdramas.Formato.CSV);
+                    }
+                });
+        selectorExportacionJson = registerForActivityResult(
+                new ActivityResultContracts.CreateDocument("application/json"), uri -> {
+                    if (uri != null) {
+                        kdramaViewModel.exportarCatalogo(uri, ImportadorKdramas.Formato.JSON);
+                    }
+                });
+        txtProgresoExportacion.setOnClickListener(v -> kdramaViewModel.cancelarExportacion());
+    }
+
+    /**
+     * Registra el selector de documentos y permite cancelar la importación tocando su indicador.
+     */
+    private void configurarImportacion() {
+        selectorImportacion = registerForActivityResult(new ActivityResultContracts.OpenDocument(), uri -> {
+            if (uri != null) {
+                kdramaViewModel.importarCatalogo(uri);
+            }
+        });
+        txtProgresoImportacion.setOnClickListener(v -> kdramaViewModel.cancelarImportacion());
     }
 
     /**
      * Configura el RecyclerView con su adaptador y layout manager.
-     * Define el comportamiento al hacer clic en un item.
+     * Define el comportamiento al hacer clic en un item, la carga de páginas durante el scroll
+     * y la precarga de las portadas de las filas siguientes.
      */
     private void configurarRecyclerView() {
-        adapter = new KdramaAdapter(kdrama -> navegarAEditarKdrama(kdrama));
+        SincronizadorPortadas sincronizador = SincronizadorPortadas.getInstance(this);
+        adapter = new KdramaAdapter(this, Glide.with(this), sincronizador.getMiniaturas(),
+                sincronizador.getAlmacen(), kdrama -> navegarAEditarKdrama(kdrama));
 
         LinearLayoutManager layoutManager = new LinearLayoutManager(this);
         recyclerKdramas.setLayoutManager(layoutManager);
         recyclerKdramas.setAdapter(adapter);
+        recyclerKdramas.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (dy <= 0 || hayBusquedaActiva()) return;
+                int ultimaVisible = layoutManager.findLastVisibleItemPosition();
+                if (ultimaVisible >= adapter.getItemCount() - UMBRAL_PRECARGA) {
+                    kdramaViewModel.cargarSiguientePagina();
+                }
+            }
+        });
+        recyclerKdramas.addOnScrollListener(adapter.crearPrecargador(PORTADAS_PRECARGA));
+        adapter.setOnSeleccionListener(this::actualizarModoSeleccion);
+    }
+
+    /**
+     * Inicia, actualiza o termina la barra de acciones de la selección múltiple.
+     *
+     * @param seleccionados Número de filas seleccionadas.
+     */
+    private void actualizarModoSeleccion(int seleccionados) {
+        if (seleccionados == 0) {
+            if (modoSeleccion != null) {
+                modoSeleccion.finish();
+            }
+            return;
+        }
+        if (modoSeleccion == null) {
+            modoSeleccion = startSupportActionMode(callbackSeleccion);
+        }
+        if (modoSeleccion != null) {
+            modoSeleccion.setTitle(getString(R.string.seleccionados, seleccionados));
+        }
     }
 
+    /**
+     * Acciones de la selección múltiple. Cada una es una sola llamada al ViewModel con todos los IDs
+     * seleccionados, y termina la selección.
+     */
+    private final ActionMode.Callback callbackSeleccion = new ActionMode.Callback() {
+        @Override
+        public boolean onCreateActionMode(ActionMode mode, Menu menu) {
+            mode.getMenuInflater().inflate(R.menu.menu_seleccion_kdramas, menu);
+            SubMenu estados = menu.findItem(R.id.action_cambiar_estado).getSubMenu();
+            String[] etiquetas = getResources().getStringArray(R.array.estados_visionado);
+            for (EstadoVisionado estado : EstadoVisionado.values()) {
+                estados.add(R.id.grupo_estados, Menu.FIRST + estado.getCodigo(), estado.getCodigo(),
+                        etiquetas[estado.ordinal()]);
+            }
+            SubMenu calificaciones = menu.findItem(R.id.action_calificar).getSubMenu();
+            for (int estrellas = CALIFICACION_MAXIMA; estrellas >= 1; estrellas--) {
+                calificaciones.add(R.id.grupo_calificaciones, Menu.FIRST + estrellas,
+                        CALIFICACION_MAXIMA - estrellas, getString(R.string.calificacion_estrellas, estrellas));
+            }
+            return true;
+        }
+
+        @Override
+        public boolean onPrepareActionMode(ActionMode mode, Menu menu) {
+            return false;
+        }
+
+        @Override
+        public boolean onActionItemClicked(ActionMode mode, MenuItem item) {
+            if (item.getItemId() == R.id.action_eliminar_seleccion) {
+                Set<Long> ids = adapter.getSeleccionados();
+                kdramaViewModel.eliminarKdramas(ids);
+                ofrecerDeshacerEliminacion(ids);
+            } else if (item.getGroupId() == R.id.grupo_estados) {
+                kdramaViewModel.cambiarEstadoKdramas(adapter.getSeleccionados(),
+                        EstadoVisionado.desdeCodigo(item.getItemId() - Menu.FIRST));
+            } else if (item.getGroupId() == R.id.grupo_calificaciones) {
+                kdramaViewModel.calificarKdramas(adapter.getSeleccionados(), item.getItemId() - Menu.FIRST);
+            } else {
+                // Abre los submenús de estado y calificación
+                return false;
+            }
+            mode.finish();
+            return true;
+        }
+
+        @Override
+        public void onDestroyActionMode(ActionMode mode) {
+            modoSeleccion = null;
+            adapter.terminarSeleccion();
+        }
+    };
+
     /**
      * Configura los observadores para los LiveData expuestos por el ViewModel.
      * Actualiza la interfaz según los cambios en los datos o el estado de las operaciones.
      */
     private void configurarObservadores() {
-        kdramaViewModel.kdramas.observe(this, this::actualizarUIConDatos);
+        kdramaViewModel.kdramas.observe(this, kdramas -> {
+            if (!hayBusquedaActiva()) {
+                actualizarUIConDatos(kdramas);
+            }
+        });
+
+        // Mientras hay una búsqueda activa se muestran sus resultados en lugar del catálogo
+        kdramaViewModel.resultadosBusqueda.observe(this, resultados ->
+                actualizarUIConDatos(resultados != null ? resultados : kdramaViewModel.kdramas.getValue()));
 
         kdramaViewModel.errorMessage.observe(this, mensajeError -> {
             if (mensajeError != null && !mensajeError.isEmpty()) {
@@ -109,18 +459,44 @@ public class ListarKdramas extends AppCompatActivity {
             }
         });
 
-        kdramaViewModel.operationSuccess.observe(this, exito -> {
-            if (exito != null && exito) {
-                kdramaViewModel.cargarKdramas();
+        kdramaViewModel.progresoImportacion.observe(this, procesadas -> {
+            if (procesadas == null) {
+                txtProgresoImportacion.setVisibility(View.GONE);
+            } else {
+                txtProgresoImportacion.setVisibility(View.VISIBLE);
+                txtProgresoImportacion.setText(getString(R.string.importando_filas, procesadas));
+            }
+        });
+
+        kdramaViewModel.resultadoImportacion.observe(this, resultado -> {
+            if (resultado != null) {
+                Toast.makeText(this, getString(R.string.importacion_finalizada, resultado.toString()),
+                        Toast.LENGTH_LONG).show();
+            }
+        });
+
+        kdramaViewModel.progresoExportacion.observe(this, exportadas -> {
+            if (exportadas == null) {
+                txtProgresoExportacion.setVisibility(View.GONE);
+            } else {
+                txtProgresoExportacion.setVisibility(View.VISIBLE);
+                txtProgresoExportacion.setText(getString(R.string.exportando_filas, exportadas));
+            }
+        });
+
+        kdramaViewModel.resultadoExportacion.observe(this, resultado -> {
+            if (resultado != null) {
+                Toast.makeText(this, getString(R.string.exportacion_finalizada, resultado.toString()),
+                        Toast.LENGTH_LONG).show();
             }
         });
     }
 
     /**
-     * Solicita al ViewModel la carga inicial de datos.
+     * @return true si la lista muestra resultados de búsqueda en lugar del catálogo paginado.
      */
-    private void cargarDatosIniciales() {
-        kdramaViewModel.cargarKdramas();
+    private boolean hayBusquedaActiva() {
+        return kdramaViewModel.resultadosBusqueda.getValue() != null;
     }
 
     /**
@@ -166,23 +542,101 @@ public class ListarKdramas extends AppCompatActivity {
     }
 
     /**
-     * Navega a la actividad de edición, pasando los datos del K-Drama seleccionado.
+     * Muestra durante unos segundos la opción de deshacer una eliminación. Los K-Dramas eliminados
+     * se conservan ocultos en la base de datos hasta que el compactador los purga, por lo que
+     * restaurarlos no depende de que la eliminación haya terminado de escribirse: ambas operaciones
+     * pasan en orden por el carril de escritura.
+     *
+     * @param ids IDs eliminados. No debe modificarse después.
+     */
+    private void ofrecerDeshacerEliminacion(Set<Long> ids) {
+        Snackbar.make(recyclerKdramas, getString(R.string.kdramas_eliminados, ids.size()), DURACION_DESHACER_MS)
+                .setAction(getString(R.string.deshacer), v -> kdramaViewModel.restaurarKdramas(ids))
+                .show();
+    }
+
+    /**
+     * Navega a la actividad de edición, pasando solo el ID del K-Drama seleccionado.
      *
      * @param kdrama Instancia del K-Drama que se desea editar.
      */
     private void navegarAEditarKdrama(Kdrama kdrama) {
         Intent intent = new Intent(this, EditarKdrama.class);
-        intent.putExtra("id", kdrama.getId());
-        intent.putExtra("titulo", kdrama.getTitulo());
-        intent.putExtra("genero", kdrama.getGenero());
-        intent.putExtra("anio", kdrama.getAnio());
-        intent.putExtra("capitulos", kdrama.getCapitulos());
-        intent.putExtra("calificacion", kdrama.getCalificacion());
-        intent.putExtra("finalizado", kdrama.getFinalizado());
-        intent.putExtra("imagen_url", kdrama.getImagenUrl());
+        intent.putExtra(EditarKdrama.EXTRA_ID, kdrama.getId());
         startActivity(intent);
     }
 
+    /**
+     * Infla el menú de acciones de la toolbar.
+     *
+     * @param menu Menú donde se agregan las acciones.
+     * @return true para mostrar el menú.
+     */
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.menu_listar_kdramas, menu);
+        return true;
+    }
+
+    /**
+     * Marca en el submenú de ordenación el criterio vigente.
+     *
+     * @param menu Menú de la toolbar.
+     * @return true para mostrar el menú.
+     */
+    @Override
+    public boolean onPrepareOptionsMenu(Menu menu) {
+        MenuItem opcion = menu.findItem(OPCIONES_ORDEN[kdramaViewModel.getOrden().ordinal()]);
+        if (opcion != null) {
+            opcion.setChecked(true);
+        }
+        return super.onPrepareOptionsMenu(menu);
+    }
+
+    /**
+     * Gestiona la selección de acciones del menú.
+     *
+     * @param item Elemento del menú seleccionado.
+     * @return true si se manejó el evento.
+     */
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+        if (item.getItemId() == R.id.action_filtrar) {
+            boolean visible = layoutFiltros.getVisibility() == View.VISIBLE;
+            layoutFiltros.setVisibility(visible ? View.GONE : View.VISIBLE);
+            return true;
+        }
+        for (int i = 0; i < OPCIONES_ORDEN.length; i++) {
+            if (item.getItemId() == OPCIONES_ORDEN[i]) {
+                item.setChecked(true);
+                kdramaViewModel.aplicarOrden(OrdenKdramas.values()[i]);
+                recyclerKdramas.scrollToPosition(0);
+                return true;
+            }
+        }
+        if (item.getItemId() == R.id.action_estadisticas) {
+            startActivity(new Intent(this, VerEstadisticas.class));
+            return true;
+        }
+        if (item.getItemId() == R.id.action_exportar_csv) {
+            selectorExportacionCsv.launch(NOMBRE_EXPORTACION + ".csv");
+            return true;
+        }
+        if (item.getItemId() == R.id.action_exportar_json) {
+            selectorExportacionJson.launch(NOMBRE_EXPORTACION + ".json");
+            return true;
+        }
+        if (item.getItemId() == R.id.action_diagnostico) {
+            startActivity(new Intent(this, VerDiagnostico.class));
+            return true;
+        }
+        if (item.getItemId() == R.id.action_importar) {
+            selectorImportacion.launch(TIPOS_IMPORTACION);
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+
     /**
      * Maneja el botón de retroceso de la toolbar.
      * Navega hacia atrás en la pila de actividades.
@@ -196,12 +650,21 @@ public class ListarKdramas extends AppCompatActivity {
     }
 
     /**
-     * Recarga los datos al reanudar la actividad.
-     * Útil para reflejar cambios realizados en la actividad de edición.
+     * Solicita la carga inicial al reanudar la actividad si el catálogo aún no está en memoria.
+     * Los cambios realizados en otras pantallas ya se reflejan en el catálogo compartido,
+     * por lo que no es necesario volver a consultar la base de datos.
+     * Mientras la lista está en primer plano se miden sus fotogramas.
      */
     @Override
     protected void onResume() {
         super.onResume();
+        MetricasFotogramas.getInstance().observar(getWindow());
         kdramaViewModel.cargarKdramas();
     }
+
+    @Override
+    protected void onPause() {
+        MetricasFotogramas.getInstance().dejarDeObservar(getWindow());
+        super.onPause();
+    }
 }
@@ -141,7 +141,13 @@ public class MainActivity extends AppCompatActivity {
             return;
         }
 
-        Kdrama nuevoKdrama = new Kdrama(titulo, genero, anio, capitulos, String.valueOf(calificacion));
+        Kdrama nuevoKdrama;
+        try {
+            nuevoKdrama = new Kdrama(titulo, genero, Integer.parseInt(anio), Integer.parseInt(capitulos), calificacion);
+        } catch (NumberFormatException e) {
+            Toast.makeText(this, "Datos del K-Drama no válidos", Toast.LENGTH_SHORT).show();
+            return;
+        }
         nuevoKdrama.setImagenUrl(imagenUrl);
 
         kdramaViewModel.guardarKdrama(nuevoKdrama);
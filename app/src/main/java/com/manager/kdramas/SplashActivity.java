@@ -4,24 +4,33 @@ package com.manager.kdramas;
 import android.content.Intent;
 import android.os.Bundle;
 import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import androidx.appcompat.app.AppCompatActivity;
+import com.manager.kdramas.arranque.ArranqueAplicacion;
 
 /**
  * SplashActivity - Pantalla de bienvenida que se muestra al iniciar la aplicación.
 
  * Responsabilidades:
  * - No requiere ViewModel ni lógica de negocio.
- * - Muestra una pantalla temporal antes de navegar a MainActivity.
- * - Puede utilizarse para inicializaciones básicas si se requiere.
+ * - Iniciar la secuencia de arranque y mostrarse solo mientras esta no haya terminado.
+ * - Navegar a MainActivity en cuanto la aplicación está lista, tras un tiempo mínimo de visualización.
  */
 public class SplashActivity extends AppCompatActivity {
 
-    // Duración del splash en milisegundos antes de iniciar la navegación
-    private static final int SPLASH_DELAY = 2000;
+    // Tiempo mínimo de visualización del splash, para que no parpadee en arranques rápidos
+    private static final long TIEMPO_MINIMO_MS = 400;
+
+    private final Handler manejador = new Handler(Looper.getMainLooper());
+
+    // Momento en que se mostró el splash
+    private long inicioMs;
+    private boolean transicionProgramada;
 
     /**
      * Método invocado al crear la actividad.
-     * Establece el layout y programa la transición automática a la actividad principal.
+     * Establece el layout, inicia el arranque y espera a que termine para navegar.
      *
      * @param savedInstanceState Estado guardado de la instancia, si existe.
      */
@@ -29,21 +38,43 @@ public class SplashActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_splash);
-        programarTransicion();
+        inicioMs = SystemClock.uptimeMillis();
+
+        ArranqueAplicacion arranque = ArranqueAplicacion.getInstance(this);
+        arranque.iniciar();
+        arranque.listo.observe(this, listo -> {
+            if (Boolean.TRUE.equals(listo)) {
+                programarTransicion();
+            }
+        });
     }
 
     /**
-     * Programa la transición automática hacia MainActivity después de un retraso definido.
-     * Utiliza un Handler para ejecutar la navegación en segundo plano.
+     * Programa la transición hacia MainActivity cuando se cumpla el tiempo mínimo de visualización.
+     * Si ya se cumplió, la transición es inmediata.
      */
     private void programarTransicion() {
-        new Handler().postDelayed(() -> navegarAMainActivity(), SPLASH_DELAY);
+        if (transicionProgramada) return;
+        transicionProgramada = true;
+        long restante = Math.max(0, TIEMPO_MINIMO_MS - (SystemClock.uptimeMillis() - inicioMs));
+        manejador.postDelayed(this::navegarAMainActivity, restante);
+    }
+
+    /**
+     * Cancela la transición pendiente si la actividad se destruye antes (p. ej. al rotar).
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        manejador.removeCallbacksAndMessages(null);
     }
 
     /**
      * Inicia la actividad principal y finaliza la actual para evitar que el usuario regrese al splash.
+     * Informa al sistema de que el arranque terminó, para que el tiempo aparezca en Logcat ("Fully drawn").
      */
     private void navegarAMainActivity() {
+        reportFullyDrawn();
         Intent intent = new Intent(this, MainActivity.class);
         startActivity(intent);
         finish();
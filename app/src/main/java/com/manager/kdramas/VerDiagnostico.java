@@ -0,0 +1,154 @@
+package com.manager.kdramas;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.view.Menu;
+import android.view.MenuItem;
+import android.widget.TextView;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.Toolbar;
+import com.manager.kdramas.arranque.ArranqueAplicacion;
+import com.manager.kdramas.executors.DataExecutor;
+import com.manager.kdramas.metricas.MetricasDatos;
+import com.manager.kdramas.metricas.MetricasFotogramas;
+import com.manager.kdramas.repositories.NotificadorCambios;
+import java.io.FileDescriptor;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * VerDiagnostico - Actividad que muestra las métricas de rendimiento de la aplicación.
+
+ * Responsabilidades:
+ * - Mostrar las latencias, filas y errores por operación del repositorio, y las transacciones.
+ * - Mostrar la duración de los fotogramas de la lista, los lentos y el coste de enlazar y preparar filas.
+ * - Mostrar el estado de las colas del ejecutor de datos, las notificaciones de cambios emitidas
+ *   y la duración de las fases del arranque.
+ * - Compartir el informe como texto y volcarlo con
+ *   {@code adb shell dumpsys activity com.manager.kdramas/.VerDiagnostico} mientras está abierta.
+ */
+public class VerDiagnostico extends AppCompatActivity {
+
+    private TextView txtInforme;
+
+    /**
+     * Método invocado al crear la actividad.
+     * Configura la toolbar y muestra el informe actual.
+     *
+     * @param savedInstanceState Estado guardado de la instancia, si existe.
+     */
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_ver_diagnostico);
+
+        Toolbar toolbar = findViewById(R.id.toolbar);
+        setSupportActionBar(toolbar);
+        if (getSupportActionBar() != null) {
+            getSupportActionBar().setDisplayHomeAsUpEnabled(true);
+            getSupportActionBar().setDisplayShowTitleEnabled(false);
+        }
+        txtInforme = findViewById(R.id.txtInforme);
+    }
+
+    /**
+     * Actualiza el informe cada vez que la pantalla vuelve a primer plano.
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+        txtInforme.setText(generarInforme());
+    }
+
+    /**
+     * Genera el informe completo: métricas de datos, fotogramas, ejecutor y arranque.
+     *
+     * @return Informe de texto.
+     */
+    private String generarInforme() {
+        StringBuilder informe = new StringBuilder(MetricasDatos.getInstance().generarInforme());
+
+        informe.append(String.format(Locale.ROOT, "%n"))
+                .append(MetricasFotogramas.getInstance().generarInforme());
+
+        informe.append(String.format(Locale.ROOT, "%nEjecutor de datos%n"))
+                .append(DataExecutor.getInstance().obtenerDiagnostico())
+                .append(String.format(Locale.ROOT, "%n"));
+
+        NotificadorCambios notificador = NotificadorCambios.getInstance();
+        informe.append(String.format(Locale.ROOT, "%nNotificaciones de cambios%nids=%d, notificaciones=%d%n",
+                notificador.getCambiosRecibidos(), notificador.getNotificacionesEmitidas()));
+
+        ArranqueAplicacion arranque = ArranqueAplicacion.getInstance(this);
+        informe.append(String.format(Locale.ROOT, "%nArranque%n"));
+        for (Map.Entry<String, Long> fase : arranque.getDuracionesNs().entrySet()) {
+            informe.append(String.format(Locale.ROOT, "%-16s %8.1f ms%n", fase.getKey(), fase.getValue() / 1e6));
+        }
+        if (arranque.getTiempoDesdeProcesoMs() >= 0) {
+            informe.append(String.format(Locale.ROOT, "%-16s %8d ms%n", "listo", arranque.getTiempoDesdeProcesoMs()));
+        }
+        return informe.toString();
+    }
+
+    /**
+     * Infla el menú de acciones de la toolbar.
+     *
+     * @param menu Menú donde se agregan las acciones.
+     * @return true para mostrar el menú.
+     */
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.menu_ver_diagnostico, menu);
+        return true;
+    }
+
+    /**
+     * Maneja las acciones del menú: actualizar, compartir o reiniciar las métricas.
+     *
+     * @param item Elemento del menú seleccionado.
+     * @return true si se manejó el evento.
+     */
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+        if (item.getItemId() == R.id.action_actualizar) {
+            txtInforme.setText(generarInforme());
+            return true;
+        }
+        if (item.getItemId() == R.id.action_compartir) {
+            Intent intent = new Intent(Intent.ACTION_SEND);
+            intent.setType("text/plain");
+            intent.putExtra(Intent.EXTRA_SUBJECT, getString(R.string.diagnostico));
+            intent.putExtra(Intent.EXTRA_TEXT, generarInforme());
+            startActivity(Intent.createChooser(intent, getString(R.string.diagnostico_compartir)));
+            return true;
+        }
+        if (item.getItemId() == R.id.action_reiniciar) {
+            MetricasDatos.getInstance().reiniciar();
+            MetricasFotogramas.getInstance().reiniciar();
+            txtInforme.setText(generarInforme());
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+
+    /**
+     * Incluye el informe en la salida de dumpsys.
+     */
+    @Override
+    public void dump(String prefix, FileDescriptor fd, PrintWriter writer, String[] args) {
+        super.dump(prefix, fd, writer, args);
+        writer.println(generarInforme());
+    }
+
+    /**
+     * Maneja la navegación hacia atrás desde la toolbar.
+     *
+     * @return true si la navegación fue manejada.
+     */
+    @Override
+    public boolean onSupportNavigateUp() {
+        finish();
+        return true;
+    }
+}
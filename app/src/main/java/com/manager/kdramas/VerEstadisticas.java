@@ -0,0 +1,127 @@
+package com.manager.kdramas;
+
+import android.os.Bundle;
+import android.widget.TextView;
+import android.widget.Toast;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.Toolbar;
+import androidx.lifecycle.ViewModelProvider;
+import com.manager.kdramas.model.EstadisticasCatalogo;
+import com.manager.kdramas.model.EstadoVisionado;
+import com.manager.kdramas.viewmodel.KdramaViewModel;
+import java.util.Map;
+
+/**
+ * VerEstadisticas - Actividad que muestra el resumen estadístico del catálogo.
+
+ * Responsabilidades:
+ * - Solicitar las estadísticas al ViewModel y observarlas.
+ * - Mostrar los conteos por estado, por género (con su calificación promedio) y por año.
+ * - Navegar de regreso a la lista.
+ */
+public class VerEstadisticas extends AppCompatActivity {
+
+    // Componentes visuales del layout
+    private TextView txtTotal, txtPorEstado, txtPorGenero, txtPorAnio;
+
+    // ViewModel que gestiona el acceso a datos
+    private KdramaViewModel kdramaViewModel;
+
+    /**
+     * Método invocado al crear la actividad.
+     * Configura la interfaz, los observadores y solicita las estadísticas.
+     *
+     * @param savedInstanceState Estado guardado de la instancia, si existe.
+     */
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_ver_estadisticas);
+
+        kdramaViewModel = new ViewModelProvider(this).get(KdramaViewModel.class);
+        configurarToolbar();
+        vincularVistas();
+
+        kdramaViewModel.estadisticas.observe(this, this::mostrarEstadisticas);
+        kdramaViewModel.errorMessage.observe(this, mensajeError -> {
+            if (mensajeError != null && !mensajeError.isEmpty()) {
+                Toast.makeText(this, mensajeError, Toast.LENGTH_LONG).show();
+            }
+        });
+
+        kdramaViewModel.cargarEstadisticas();
+    }
+
+    /**
+     * Configura la toolbar superior con botón de navegación hacia atrás.
+     */
+    private void configurarToolbar() {
+        Toolbar toolbar = findViewById(R.id.toolbar);
+        setSupportActionBar(toolbar);
+        if (getSupportActionBar() != null) {
+            getSupportActionBar().setDisplayHomeAsUpEnabled(true);
+            getSupportActionBar().setDisplayShowTitleEnabled(false);
+        }
+    }
+
+    /**
+     * Vincula las vistas del layout con sus variables.
+     */
+    private void vincularVistas() {
+        txtTotal = findViewById(R.id.txtTotal);
+        txtPorEstado = findViewById(R.id.txtPorEstado);
+        txtPorGenero = findViewById(R.id.txtPorGenero);
+        txtPorAnio = findViewById(R.id.txtPorAnio);
+    }
+
+    /**
+     * Muestra las estadísticas recibidas del ViewModel.
+     *
+     * @param estadisticas Estadísticas del catálogo.
+     */
+    private void mostrarEstadisticas(EstadisticasCatalogo estadisticas) {
+        if (estadisticas == null) {
+            return;
+        }
+        txtTotal.setText(getString(R.string.estadisticas_total, estadisticas.getTotal()));
+
+        StringBuilder porEstado = new StringBuilder();
+        for (Map.Entry<EstadoVisionado, Integer> entrada : estadisticas.getCantidadPorEstado().entrySet()) {
+            agregarLinea(porEstado, getString(R.string.estadistica_estado,
+                    entrada.getKey().getEtiqueta(), entrada.getValue()));
+        }
+        txtPorEstado.setText(porEstado);
+
+        StringBuilder porGenero = new StringBuilder();
+        for (EstadisticasCatalogo.ResumenGenero genero : estadisticas.getGeneros()) {
+            agregarLinea(porGenero, getString(R.string.estadistica_genero,
+                    genero.getGenero(), genero.getCantidad(), genero.getCalificacionPromedio()));
+        }
+        txtPorGenero.setText(porGenero);
+
+        StringBuilder porAnio = new StringBuilder();
+        for (EstadisticasCatalogo.ResumenAnio anio : estadisticas.getAnios()) {
+            agregarLinea(porAnio, getString(R.string.estadistica_anio,
+                    anio.getAnio(), anio.getCantidad(), anio.getCapitulosVistos()));
+        }
+        txtPorAnio.setText(porAnio);
+    }
+
+    private static void agregarLinea(StringBuilder texto, String linea) {
+        if (texto.length() > 0) {
+            texto.append('\n');
+        }
+        texto.append(linea);
+    }
+
+    /**
+     * Maneja la navegación hacia atrás desde la toolbar.
+     *
+     * @return true si la navegación fue manejada.
+     */
+    @Override
+    public boolean onSupportNavigateUp() {
+        finish();
+        return true;
+    }
+}
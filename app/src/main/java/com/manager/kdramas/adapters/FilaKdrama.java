@@ -0,0 +1,53 @@
+package com.manager.kdramas.adapters;
+
+import androidx.core.text.PrecomputedTextCompat;
+import com.manager.kdramas.model.Kdrama;
+
+/**
+ * FilaKdrama - Modelo de presentación inmutable de una fila de la lista de K-Dramas.
+
+ * Responsabilidades:
+ * - Guardar los textos ya formateados, la etiqueta y el color del estado y la calificación numérica,
+ *   de modo que enlazar la fila solo asigne valores a las vistas.
+ * - Guardar el título con su disposición de texto precalculada cuando se conocen los parámetros
+ *   de la vista del título.
+ * - Conservar el K-Drama de origen para la portada, la precarga y los clics.
+ * - Se construye en un hilo secundario con {@link PreparadorFilas}.
+ */
+public final class FilaKdrama {
+
+    final Kdrama kdrama;
+    final CharSequence titulo;
+    final String genero;
+    final String anio;
+    final String capitulos;
+    final String estado;
+    final int colorEstado;
+    final float calificacion;
+
+    FilaKdrama(Kdrama kdrama, CharSequence titulo, String genero, String anio, String capitulos,
+               String estado, int colorEstado, float calificacion) {
+        this.kdrama = kdrama;
+        this.titulo = titulo;
+        this.genero = genero;
+        this.anio = anio;
+        this.capitulos = capitulos;
+        this.estado = estado;
+        this.colorEstado = colorEstado;
+        this.calificacion = calificacion;
+    }
+
+    /**
+     * @return K-Drama del que se construyó la fila.
+     */
+    public Kdrama getKdrama() {
+        return kdrama;
+    }
+
+    /**
+     * @return true si el título lleva su disposición de texto precalculada.
+     */
+    boolean tieneTituloPrecalculado() {
+        return titulo instanceof PrecomputedTextCompat;
+    }
+}
@@ -1,6 +1,9 @@
 package com.manager.kdramas.adapters;
 
 
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -8,29 +11,109 @@ import android.widget.ImageView;
 import android.widget.RatingBar;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
-import com.bumptech.glide.Glide;
+import android.graphics.drawable.Drawable;
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.request.RequestOptions;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.bumptech.glide.util.ViewPreloadSizeProvider;
 import com.manager.kdramas.R;
+import com.manager.kdramas.executors.DataExecutor;
+import com.manager.kdramas.imagenes.AlmacenPortadas;
+import com.manager.kdramas.metricas.MetricasFotogramas;
 import com.manager.kdramas.model.Kdrama;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Adaptador para mostrar una lista de K-Dramas en un RecyclerView.
 
  * Responsabilidades:
  * - Renderizar datos del ViewModel en la interfaz.
+ * - Preparar en segundo plano el modelo de presentación de cada fila ({@link FilaKdrama}), de modo
+ *   que enlazar una fila en el hilo principal solo asigne valores ya formateados y medidos.
  * - Delegar eventos de interacción al componente que lo contiene (Activity o Fragment).
+ * - Gestionar la selección múltiple: una pulsación larga la inicia y, mientras dura, cada pulsación
+ *   marca o desmarca la fila; la marca se redibuja sin volver a enlazar la fila completa.
+ * - Cargar las portadas con un único RequestManager, precargar las de las filas siguientes
+ *   y cancelar las solicitudes de las filas recicladas.
+ * - Preferir la miniatura local de cada portada, después la portada local y por último la URL.
+ * - Decodificar las portadas en RGB_565 para reducir la memoria de cada fila.
  * - No contiene lógica de negocio.
  */
-public class KdramaAdapter extends RecyclerView.Adapter<KdramaAdapter.ViewHolder> {
+public class KdramaAdapter extends RecyclerView.Adapter<KdramaAdapter.ViewHolder>
+        implements ListPreloader.PreloadModelProvider<Kdrama> {
 
-    // Lista de K-Dramas a mostrar, proporcionada por la capa ViewModel
-    private List<Kdrama> listaKdramas;
+    /**
+     * Criterio de comparación entre listas: identidad por ID de base de datos
+     * y contenido mediante {@link Kdrama#equals(Object)} del K-Drama de cada fila.
+     */
+    private static final DiffUtil.ItemCallback<FilaKdrama> DIFF_CALLBACK = new DiffUtil.ItemCallback<FilaKdrama>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull FilaKdrama anterior, @NonNull FilaKdrama nuevo) {
+            return anterior.kdrama.getId() == nuevo.kdrama.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull FilaKdrama anterior, @NonNull FilaKdrama nuevo) {
+            return anterior.kdrama.equals(nuevo.kdrama);
+        }
+    };
+
+    // Carga útil de notifyItemChanged cuando solo cambia la marca de selección de la fila
+    private static final Object CAMBIO_SELECCION = new Object();
+
+    // Filas a mostrar; las diferencias se calculan en un hilo secundario
+    private final AsyncListDiffer<FilaKdrama> differ;
+
+    // Construye las filas fuera del hilo principal
+    private final PreparadorFilas preparador;
+    private final Handler hiloPrincipal = new Handler(Looper.getMainLooper());
+    private final MetricasFotogramas metricas = MetricasFotogramas.getInstance();
+
+    // Última lista recibida y su número de entrega; una preparación que termina tarde se descarta
+    private List<Kdrama> ultimaLista = Collections.emptyList();
+    private int generacionFilas;
 
     // Listener para notificar eventos de clic al componente contenedor
     private OnItemClickListener listener;
 
+    // IDs seleccionados y receptor de los cambios de la selección
+    private final Set<Long> seleccionados = new HashSet<>();
+    private boolean seleccionando;
+    private OnSeleccionListener oyenteSeleccion;
+
+    // Gestor de solicitudes de imagen ligado al ciclo de vida del contenedor
+    private final RequestManager glide;
+
+    // Tamaño real de la portada, tomado de la primera vista creada; la precarga decodifica a ese tamaño
+    private final ViewPreloadSizeProvider<Kdrama> tamanioPortada = new ViewPreloadSizeProvider<>();
+
+    // Almacenes locales de miniaturas y portadas completas
+    private final AlmacenPortadas miniaturas;
+    private final AlmacenPortadas portadas;
+
+    // Opciones comunes a todas las solicitudes de portada de las tarjetas
+    private static final RequestOptions OPCIONES_TARJETA = new RequestOptions()
+            .placeholder(R.drawable.ic_kdrama_default)
+            .error(R.drawable.ic_kdrama_default)
+            .format(DecodeFormat.PREFER_RGB_565)
+            .centerCrop();
+
+    // Los archivos locales ya están en disco: no se copian otra vez a la caché de Glide
+    private static final RequestOptions OPCIONES_LOCALES = new RequestOptions()
+            .diskCacheStrategy(DiskCacheStrategy.NONE);
+
     /**
      * Interface para comunicar eventos de clic desde el Adapter hacia la Activity o Fragment.
      */
@@ -43,19 +126,52 @@ public class KdramaAdapter extends RecyclerView.Adapter<KdramaAdapter.ViewHolder
         void onItemClick(Kdrama kdrama);
     }
 
+    /**
+     * Interface para comunicar los cambios de la selección múltiple.
+     */
+    public interface OnSeleccionListener {
+        /**
+         * Notifica cada vez que el usuario marca o desmarca una fila.
+         *
+         * @param seleccionados Número de filas seleccionadas; 0 si se desmarcó la última.
+         */
+        void onSeleccionCambiada(int seleccionados);
+    }
+
     /**
      * Constructor del adaptador.
      *
-     * @param listener Listener que gestiona los eventos de clic sobre los items.
+     * @param context  Contexto de la lista, del que se resuelven los textos y colores de las filas.
+     * @param glide    RequestManager del contenedor (p. ej. Glide.with(activity)), compartido por todas las filas.
+     * @param miniaturas Almacén local de miniaturas del tamaño de la tarjeta.
+     * @param portadas   Almacén local de portadas completas.
+     * @param listener   Listener que gestiona los eventos de clic sobre los items.
      */
-    public KdramaAdapter(OnItemClickListener listener) {
-        this.listaKdramas = new ArrayList<>();
+    public KdramaAdapter(Context context, RequestManager glide, AlmacenPortadas miniaturas,
+                         AlmacenPortadas portadas, OnItemClickListener listener) {
+        this.differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+        this.preparador = new PreparadorFilas(context);
+        this.glide = glide;
+        this.miniaturas = miniaturas;
+        this.portadas = portadas;
         this.listener = listener;
     }
 
+    /**
+     * Crea el listener de scroll que precarga las portadas de las filas que están por aparecer.
+     * Debe agregarse al RecyclerView con addOnScrollListener.
+     *
+     * @param filasPrecarga Número de filas por delante de las visibles cuya portada se precarga.
+     * @return Precargador asociado a este adaptador.
+     */
+    public RecyclerViewPreloader<Kdrama> crearPrecargador(int filasPrecarga) {
+        return new RecyclerViewPreloader<>(glide, this, tamanioPortada, filasPrecarga);
+    }
+
     /**
      * Infla el layout XML correspondiente a un item de K-Drama.
-     * Invocado por el RecyclerView para crear nuevos ViewHolders.
+     * Invocado por el RecyclerView para crear nuevos ViewHolders. La primera vista aporta los
+     * parámetros de medida del título; las filas ya preparadas sin ellos se vuelven a preparar.
 
      * @param parent ViewGroup padre donde se insertará el nuevo item.
      * @param viewType Tipo de vista (no utilizado en este caso).
@@ -66,19 +182,204 @@ public class KdramaAdapter extends RecyclerView.Adapter<KdramaAdapter.ViewHolder
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_kdrama, parent, false);
-        return new ViewHolder(view);
+        ViewHolder holder = new ViewHolder(view);
+        holder.itemView.setOnClickListener(v -> alPulsarFila(holder));
+        holder.itemView.setOnLongClickListener(v -> alMantenerPulsadaFila(holder));
+        tamanioPortada.setView(holder.imgKdrama);
+        if (!preparador.tieneParametrosTitulo()) {
+            preparador.setParametrosTitulo(TextViewCompat.getTextMetricsParams(holder.txtTitulo));
+            if (!ultimaLista.isEmpty()) {
+                // Fuera de la pasada de layout en curso, que no admite cambios en el adaptador
+                List<Kdrama> mostrada = ultimaLista;
+                hiloPrincipal.post(() -> {
+                    if (ultimaLista == mostrada) {
+                        actualizarLista(mostrada);
+                    }
+                });
+            }
+        }
+        return holder;
     }
 
     /**
-     * Asocia los datos del modelo con el ViewHolder correspondiente.
+     * Asocia la fila preparada con el ViewHolder correspondiente y registra el tiempo de enlace.
      *
      * @param holder ViewHolder que representa el item.
      * @param position Posición del item en la lista.
      */
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Kdrama kdrama = listaKdramas.get(position);
-        holder.enlazarDatos(kdrama, listener);
+        long inicio = System.nanoTime();
+        FilaKdrama fila = differ.getCurrentList().get(position);
+        holder.enlazarDatos(fila);
+        holder.itemView.setActivated(seleccionados.contains(fila.kdrama.getId()));
+        cargarImagen(holder, fila.kdrama);
+        metricas.registrarEnlace(inicio);
+    }
+
+    /**
+     * Si solo cambió la marca de selección, la actualiza sin volver a enlazar la fila.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (!payloads.isEmpty() && payloads.stream().allMatch(carga -> carga == CAMBIO_SELECCION)) {
+            FilaKdrama fila = differ.getCurrentList().get(position);
+            holder.itemView.setActivated(seleccionados.contains(fila.kdrama.getId()));
+            return;
+        }
+        onBindViewHolder(holder, position);
+    }
+
+    /**
+     * Abre la fila pulsada o, durante la selección múltiple, la marca o desmarca.
+     */
+    private void alPulsarFila(ViewHolder holder) {
+        if (holder.fila == null) {
+            return;
+        }
+        if (seleccionando) {
+            alternarSeleccion(holder);
+        } else if (listener != null) {
+            listener.onItemClick(holder.fila.kdrama);
+        }
+    }
+
+    /**
+     * Inicia la selección múltiple con la fila pulsada, o la marca o desmarca si ya había empezado.
+     */
+    private boolean alMantenerPulsadaFila(ViewHolder holder) {
+        if (holder.fila == null) {
+            return false;
+        }
+        seleccionando = true;
+        alternarSeleccion(holder);
+        return true;
+    }
+
+    private void alternarSeleccion(ViewHolder holder) {
+        long id = holder.fila.kdrama.getId();
+        if (!seleccionados.remove(id)) {
+            seleccionados.add(id);
+        }
+        int posicion = holder.getBindingAdapterPosition();
+        if (posicion != RecyclerView.NO_POSITION) {
+            notifyItemChanged(posicion, CAMBIO_SELECCION);
+        }
+        if (oyenteSeleccion != null) {
+            oyenteSeleccion.onSeleccionCambiada(seleccionados.size());
+        }
+    }
+
+    /**
+     * @param oyente Receptor de los cambios de la selección múltiple.
+     */
+    public void setOnSeleccionListener(OnSeleccionListener oyente) {
+        this.oyenteSeleccion = oyente;
+    }
+
+    /**
+     * @return Copia de los IDs seleccionados.
+     */
+    public Set<Long> getSeleccionados() {
+        return new HashSet<>(seleccionados);
+    }
+
+    /**
+     * Termina la selección múltiple y quita la marca de las filas seleccionadas.
+     * No se notifica al receptor de la selección.
+     */
+    public void terminarSeleccion() {
+        seleccionando = false;
+        if (seleccionados.isEmpty()) {
+            return;
+        }
+        List<FilaKdrama> actual = differ.getCurrentList();
+        for (int i = 0; i < actual.size(); i++) {
+            if (seleccionados.contains(actual.get(i).kdrama.getId())) {
+                notifyItemChanged(i, CAMBIO_SELECCION);
+            }
+        }
+        seleccionados.clear();
+    }
+
+    /**
+     * Cancela la carga de la portada de una fila que sale de pantalla, para no decodificar
+     * imágenes que ya no se verán, y libera su bitmap para reutilizarlo.
+     *
+     * @param holder ViewHolder reciclado.
+     */
+    @Override
+    public void onViewRecycled(@NonNull ViewHolder holder) {
+        super.onViewRecycled(holder);
+        glide.clear(holder.imgKdrama);
+    }
+
+    /**
+     * Carga la portada de la fila. Si no hay URL, se muestra una imagen por defecto.
+     *
+     * @param holder ViewHolder de la fila.
+     * @param kdrama K-Drama de la fila.
+     */
+    private void cargarImagen(ViewHolder holder, Kdrama kdrama) {
+        if (tieneImagen(kdrama.getImagenUrl())) {
+            construirSolicitud(kdrama).into(holder.imgKdrama);
+        } else {
+            glide.clear(holder.imgKdrama);
+            holder.imgKdrama.setImageResource(R.drawable.ic_kdrama_default);
+        }
+    }
+
+    /**
+     * Construye la solicitud de una portada. Si la portada está descargada se usa su miniatura;
+     * si la miniatura no existe, la portada local, y la URL solo si tampoco existe la copia local
+     * (p. ej. porque el almacén la desalojó). La precarga y la carga en pantalla usan las mismas
+     * opciones, de modo que la imagen precargada se encuentra en la caché de memoria al enlazar la fila.
+     *
+     * @param kdrama K-Drama con URL de portada.
+     * @return Solicitud configurada.
+     */
+    private RequestBuilder<Drawable> construirSolicitud(Kdrama kdrama) {
+        RequestBuilder<Drawable> remota = glide.load(kdrama.getImagenUrl()).apply(OPCIONES_TARJETA);
+        if (kdrama.getImagenLocal() == null) {
+            return remota;
+        }
+        RequestBuilder<Drawable> completa = glide.load(portadas.archivoDe(kdrama.getImagenLocal()))
+                .apply(OPCIONES_TARJETA)
+                .apply(OPCIONES_LOCALES)
+                .error(remota);
+        return glide.load(miniaturas.archivoDe(kdrama.getImagenLocal()))
+                .apply(OPCIONES_TARJETA)
+                .apply(OPCIONES_LOCALES)
+                .error(completa);
+    }
+
+    private static boolean tieneImagen(String imagenUrl) {
+        return imagenUrl != null && !imagenUrl.trim().isEmpty();
+    }
+
+    /**
+     * Indica qué portada precargar para una posición de la lista.
+     *
+     * @param position Posición que está por aparecer.
+     * @return K-Drama de la posición, o lista vacía si la fila no tiene imagen.
+     */
+    @NonNull
+    @Override
+    public List<Kdrama> getPreloadItems(int position) {
+        List<FilaKdrama> actual = differ.getCurrentList();
+        if (position >= actual.size() || !tieneImagen(actual.get(position).kdrama.getImagenUrl())) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(actual.get(position).kdrama);
+    }
+
+    /**
+     * @param kdrama K-Drama devuelto por {@link #getPreloadItems(int)}.
+     * @return Solicitud de precarga, idéntica a la usada al enlazar la fila.
+     */
+    @Override
+    public RequestBuilder<?> getPreloadRequestBuilder(@NonNull Kdrama kdrama) {
+        return construirSolicitud(kdrama);
     }
 
     /**
@@ -89,18 +390,50 @@ public class KdramaAdapter extends RecyclerView.Adapter<KdramaAdapter.ViewHolder
      */
     @Override
     public int getItemCount() {
-        return listaKdramas.size();
+        return differ.getCurrentList().size();
     }
 
     /**
-     * Reemplaza la lista actual de K-Dramas por una nueva y actualiza la vista.
+     * Reemplaza la lista actual de K-Dramas por una nueva.
+     * Las filas se preparan en el pool de lectura, reutilizando las de los K-Dramas que no cambiaron;
+     * después las diferencias se calculan en segundo plano y solo se notifican las filas
+     * insertadas, eliminadas, movidas o modificadas, conservando las animaciones.
+     * Si llega otra lista antes de terminar, la preparación anterior se descarta.
+     * La lista recibida no debe modificarse después de entregarla.
      *
      * @param nuevaLista Nueva lista de K-Dramas a mostrar.
      */
     public void actualizarLista(List<Kdrama> nuevaLista) {
-        this.listaKdramas.clear();
-        this.listaKdramas.addAll(nuevaLista);
-        notifyDataSetChanged();
+        ultimaLista = nuevaLista;
+        int generacion = ++generacionFilas;
+        List<FilaKdrama> anteriores = differ.getCurrentList();
+        DataExecutor.getInstance().ejecutarLectura(DataExecutor.Prioridad.VISIBLE, () -> {
+            List<FilaKdrama> filas = preparador.preparar(nuevaLista, anteriores);
+            hiloPrincipal.post(() -> {
+                if (generacion == generacionFilas) {
+                    mostrarFilas(filas);
+                }
+            });
+        });
+    }
+
+    /**
+     * Entrega filas ya preparadas al calculador de diferencias. Debe invocarse en el hilo principal.
+     *
+     * @param filas Filas a mostrar.
+     */
+    void mostrarFilas(List<FilaKdrama> filas) {
+        differ.submitList(filas);
+    }
+
+    /**
+     * Prepara las filas de una lista en el hilo actual, sin reutilizar las mostradas.
+     *
+     * @param kdramas Lista a preparar.
+     * @return Filas listas para {@link #mostrarFilas(List)}.
+     */
+    List<FilaKdrama> prepararFilas(List<Kdrama> kdramas) {
+        return preparador.preparar(kdramas, Collections.emptyList());
     }
 
     /**
@@ -114,6 +447,9 @@ public class KdramaAdapter extends RecyclerView.Adapter<KdramaAdapter.ViewHolder
         private TextView txtTitulo, txtGenero, txtAnio, txtCapitulos, txtEstado;
         private RatingBar ratingCalificacion;
 
+        // Fila enlazada actualmente, a la que se refieren los clics que asigna el adaptador
+        private FilaKdrama fila;
+
         /**
          * Constructor del ViewHolder.
          *
@@ -138,82 +474,24 @@ public class KdramaAdapter extends RecyclerView.Adapter<KdramaAdapter.ViewHolder
         }
 
         /**
-         * Asocia los datos del modelo Kdrama con las vistas del item.
-         * También configura el evento de clic para notificar al listener.
-         *
-         * @param kdrama Instancia del modelo Kdrama a mostrar.
-         * @param listener Listener que maneja el clic sobre el item.
-         */
-        public void enlazarDatos(Kdrama kdrama, OnItemClickListener listener) {
-            establecerTextos(kdrama);
-            cargarImagen(kdrama.getImagenUrl());
-            configurarCalificacion(kdrama.getCalificacion());
-            configurarClick(kdrama, listener);
-        }
-
-        /**
-         * Establece los textos en las vistas del item.
-         *
-         * @param kdrama K-Drama con los datos a mostrar.
-         */
-        private void establecerTextos(Kdrama kdrama) {
-            txtTitulo.setText(kdrama.getTitulo());
-            txtGenero.setText(kdrama.getGenero());
-            txtAnio.setText(String.format("Año: %s", kdrama.getAnio()));
-            txtCapitulos.setText(String.format("%s capítulos", kdrama.getCapitulos()));
-            txtEstado.setText(kdrama.getEstadoLegible());
-        }
-
-        /**
-         * Carga la imagen del K-Drama usando Glide.
-         * Si la URL es inválida, se muestra una imagen por defecto.
+         * Asigna a las vistas los valores ya preparados de la fila.
+         * La portada la carga el adaptador con su RequestManager compartido.
          *
-         * @param imagenUrl URL de la imagen a cargar.
+         * @param fila Fila a mostrar.
          */
-        private void cargarImagen(String imagenUrl) {
-            if (imagenUrl != null && !imagenUrl.trim().isEmpty()) {
-                Glide.with(itemView.getContext())
-                        .load(imagenUrl)
-                        .placeholder(R.drawable.ic_kdrama_default)
-                        .error(R.drawable.ic_kdrama_default)
-                        .centerCrop()
-                        .into(imgKdrama);
+        public void enlazarDatos(FilaKdrama fila) {
+            this.fila = fila;
+            if (fila.tieneTituloPrecalculado()) {
+                TextViewCompat.setPrecomputedText(txtTitulo, (PrecomputedTextCompat) fila.titulo);
             } else {
-                imgKdrama.setImageResource(R.drawable.ic_kdrama_default);
-            }
-        }
-
-        /**
-         * Establece la calificación en el RatingBar.
-         * Si el valor no es numérico, se asigna 0 por defecto.
-         *
-         * @param calificacion Calificación en formato String.
-         */
-        private void configurarCalificacion(String calificacion) {
-            try {
-                float rating = Float.parseFloat(calificacion);
-                ratingCalificacion.setRating(rating);
-            } catch (NumberFormatException e) {
-                ratingCalificacion.setRating(0);
+                txtTitulo.setText(fila.titulo);
             }
-        }
-
-        /**
-         * Configura el evento de clic sobre el item.
-         * Notifica al listener con el K-Drama asociado.
-         *
-         * @param kdrama Instancia del modelo Kdrama.
-         * @param listener Listener que gestiona el evento de clic.
-         */
-        private void configurarClick(Kdrama kdrama, OnItemClickListener listener) {
-            itemView.setOnClickListener(new View.OnClickListener() {
-                @Override
-                public void onClick(View v) {
-                    if (listener != null) {
-                        listener.onItemClick(kdrama);
-                    }
-                }
-            });
+            txtGenero.setText(fila.genero);
+            txtAnio.setText(fila.anio);
+            txtCapitulos.setText(fila.capitulos);
+            txtEstado.setText(fila.estado);
+            txtEstado.setTextColor(fila.colorEstado);
+            ratingCalificacion.setRating(fila.calificacion);
         }
     }
 }
@@ -0,0 +1,127 @@
+package com.manager.kdramas.adapters;
+
+import android.content.Context;
+import android.content.res.Resources;
+import androidx.annotation.WorkerThread;
+import androidx.core.content.ContextCompat;
+import androidx.core.text.PrecomputedTextCompat;
+import com.manager.kdramas.R;
+import com.manager.kdramas.metricas.MetricasFotogramas;
+import com.manager.kdramas.model.Kdrama;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * PreparadorFilas - Construye en segundo plano los modelos de presentación de las filas de la lista.
+
+ * Responsabilidades:
+ * - Resolver una sola vez los formatos de texto, las etiquetas y los colores de los estados.
+ * - Formatear año y capítulos y precalcular la disposición del título fuera del hilo principal.
+ * - Registrar la duración de cada preparación y cuántas filas se construyeron o reutilizaron.
+ * - Reutilizar la fila ya preparada de cada K-Drama que no cambió desde la lista anterior: el
+ *   catálogo sustituye las instancias modificadas, nunca las altera.
+ */
+final class PreparadorFilas {
+
+    // Colores de cada estado, en el orden de declaración de EstadoVisionado
+    private static final int[] COLORES_ESTADO = {
+            R.color.estado_viendo,
+            R.color.estado_completado,
+            R.color.estado_pendiente,
+            R.color.estado_en_pausa,
+            R.color.estado_abandonado,
+            R.color.estado_reviendo
+    };
+
+    private final Locale locale;
+    private final String formatoAnio;
+    private final String formatoCapitulos;
+    private final String[] etiquetasEstado;
+    private final int[] coloresEstado = new int[COLORES_ESTADO.length];
+
+    // Parámetros de medida de la vista del título; null hasta que se crea la primera fila
+    private volatile PrecomputedTextCompat.Params parametrosTitulo;
+
+    /**
+     * @param context Contexto con el tema de la lista, del que se resuelven textos y colores.
+     */
+    PreparadorFilas(Context context) {
+        Resources recursos = context.getResources();
+        locale = recursos.getConfiguration().getLocales().get(0);
+        formatoAnio = recursos.getString(R.string.fila_anio);
+        formatoCapitulos = recursos.getString(R.string.fila_capitulos);
+        etiquetasEstado = recursos.getStringArray(R.array.estados_visionado);
+        for (int i = 0; i < COLORES_ESTADO.length; i++) {
+            coloresEstado[i] = ContextCompat.getColor(context, COLORES_ESTADO[i]);
+        }
+    }
+
+    /**
+     * Fija los parámetros con los que se precalcula el título. Las filas preparadas antes sin
+     * precalcular se reconstruyen en la siguiente preparación.
+     *
+     * @param parametros Parámetros de medida obtenidos de la vista del título.
+     */
+    void setParametrosTitulo(PrecomputedTextCompat.Params parametros) {
+        parametrosTitulo = parametros;
+    }
+
+    boolean tieneParametrosTitulo() {
+        return parametrosTitulo != null;
+    }
+
+    /**
+     * Prepara las filas de una lista de K-Dramas.
+     *
+     * @param kdramas    Lista a mostrar.
+     * @param anteriores Filas mostradas hasta ahora, cuyas entradas se reutilizan si su K-Drama no cambió.
+     * @return Filas en el mismo orden que la lista recibida.
+     */
+    @WorkerThread
+    List<FilaKdrama> preparar(List<Kdrama> kdramas, List<FilaKdrama> anteriores) {
+        long inicio = System.nanoTime();
+        Map<Kdrama, FilaKdrama> reutilizables = new IdentityHashMap<>(anteriores.size());
+        for (FilaKdrama fila : anteriores) {
+            reutilizables.put(fila.kdrama, fila);
+        }
+
+        PrecomputedTextCompat.Params parametros = parametrosTitulo;
+        List<FilaKdrama> filas = new ArrayList<>(kdramas.size());
+        int construidas = 0;
+        for (Kdrama kdrama : kdramas) {
+            FilaKdrama previa = reutilizables.get(kdrama);
+            if (previa != null && (parametros == null || previa.tieneTituloPrecalculado())) {
+                filas.add(previa);
+            } else {
+                filas.add(crearFila(kdrama, parametros));
+                construidas++;
+            }
+        }
+        MetricasFotogramas.getInstance().registrarPreparacion(inicio, construidas, filas.size() - construidas);
+        return filas;
+    }
+
+    /**
+     * Construye la fila de un K-Drama.
+     *
+     * @param kdrama     K-Drama de la fila.
+     * @param parametros Parámetros del título, o null para no precalcularlo.
+     * @return Fila lista para enlazar.
+     */
+    @WorkerThread
+    private FilaKdrama crearFila(Kdrama kdrama, PrecomputedTextCompat.Params parametros) {
+        String titulo = kdrama.getTitulo() != null ? kdrama.getTitulo() : "";
+        int estado = kdrama.getEstado().ordinal();
+        return new FilaKdrama(kdrama,
+                parametros != null ? PrecomputedTextCompat.create(titulo, parametros) : titulo,
+                kdrama.getGenero(),
+                String.format(locale, formatoAnio, kdrama.getAnio()),
+                String.format(locale, formatoCapitulos, kdrama.getCapitulos()),
+                etiquetasEstado[estado],
+                coloresEstado[estado],
+                kdrama.getCalificacion());
+    }
+}
@@ -0,0 +1,219 @@
+package com.manager.kdramas.arranque;
+
+import android.content.Context;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import com.manager.kdramas.database.DBHelper;
+import com.manager.kdramas.executors.DataExecutor;
+import com.manager.kdramas.imagenes.SincronizadorPortadas;
+import com.manager.kdramas.model.PaginaKdramas;
+import com.manager.kdramas.repositories.CatalogoEnMemoria;
+import com.manager.kdramas.repositories.CompactadorEliminados;
+import com.manager.kdramas.repositories.InstantaneaCatalogo;
+import com.manager.kdramas.repositories.KdramaRepository;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ArranqueAplicacion - Secuencia de arranque que prepara los datos mientras se muestra la pantalla de bienvenida.
+
+ * Responsabilidades:
+ * - Mostrar la instantánea guardada de la lista en paralelo con la apertura de la base de datos.
+ * - Abrir la base de datos y aplicar las migraciones pendientes en el carril de escritura.
+ * - A continuación, en paralelo, precompilar las sentencias frecuentes y leer la primera página del catálogo.
+ * - Medir cada fase y el tiempo desde el inicio del proceso, y registrarlos en Logcat y en las trazas del sistema.
+ * - Publicar mediante LiveData cuándo la aplicación está lista. Se ejecuta una sola vez por proceso.
+ * - Una vez lista, programar la purga de los K-Dramas eliminados caducados.
+ */
+public final class ArranqueAplicacion {
+
+    private static final String TAG = "Arranque";
+
+    // Nombres de las fases, en el orden en que comienzan
+    public static final String FASE_INSTANTANEA = "instantanea";
+    public static final String FASE_APERTURA = "apertura_bd";
+    public static final String FASE_MIGRACIONES = "migraciones";
+    public static final String FASE_SENTENCIAS = "sentencias";
+    public static final String FASE_PRIMERA_PAGINA = "primera_pagina";
+
+    private static volatile ArranqueAplicacion instancia;
+
+    private final Context context;
+    private final KdramaRepository repository;
+    private final DataExecutor dataExecutor = DataExecutor.getInstance();
+    private final CatalogoEnMemoria catalogo = CatalogoEnMemoria.getInstance();
+    private final InstantaneaCatalogo instantanea;
+
+    private final AtomicBoolean iniciado = new AtomicBoolean();
+    private final AtomicInteger fasesPendientes = new AtomicInteger();
+    private volatile long inicioNs;
+
+    // Duración de cada fase en nanosegundos, en el orden en que terminaron
+    private final Map<String, Long> duraciones = new LinkedHashMap<>();
+
+    // Milisegundos desde el inicio del proceso hasta que el arranque terminó (-1 mientras no termina)
+    private volatile long tiempoDesdeProcesoMs = -1;
+
+    // LiveData que pasa a true cuando todas las fases han terminado, con o sin error
+    private final MutableLiveData<Boolean> _listo = new MutableLiveData<>(false);
+    public final LiveData<Boolean> listo = _listo;
+
+    private ArranqueAplicacion(Context context) {
+        this.context = context;
+        this.repository = new KdramaRepository(context);
+        this.instantanea = InstantaneaCatalogo.getInstance(context);
+    }
+
+    /**
+     * Devuelve la secuencia de arranque compartida, creándola la primera vez.
+     *
+     * @param context Cualquier contexto; se conserva solo el de aplicación.
+     * @return Instancia única.
+     */
+    public static ArranqueAplicacion getInstance(Context context) {
+        ArranqueAplicacion local = instancia;
+        if (local == null) {
+            synchronized (ArranqueAplicacion.class) {
+                local = instancia;
+                if (local == null) {
+                    local = new ArranqueAplicacion(context.getApplicationContext());
+                    instancia = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Inicia el arranque en segundo plano. Las llamadas posteriores no tienen efecto;
+     * el resultado se observa mediante {@link #listo}.
+     */
+    public void iniciar() {
+        if (!iniciado.compareAndSet(false, true)) {
+            return;
+        }
+        inicioNs = System.nanoTime();
+        // No depende de la base de datos ni la espera el arranque: solo adelanta el contenido de la lista
+        dataExecutor.ejecutarLectura(DataExecutor.Prioridad.VISIBLE, this::mostrarInstantanea);
+        dataExecutor.ejecutarEscritura(this::abrirBaseDatos);
+    }
+
+    /**
+     * Mapea la instantánea de la lista y la publica en el catálogo en memoria.
+     */
+    private void mostrarInstantanea() {
+        long inicio = System.nanoTime();
+        Trace.beginSection("Arranque:" + FASE_INSTANTANEA);
+        try {
+            instantanea.cargar();
+        } finally {
+            Trace.endSection();
+        }
+        registrarFase(FASE_INSTANTANEA, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Abre la base de datos, que crea o migra el esquema si hace falta, y lanza las fases
+     * que dependen de ella. Se ejecuta en el carril de escritura.
+     */
+    private void abrirBaseDatos() {
+        DBHelper dbHelper = DBHelper.getInstance(context);
+        long inicio = System.nanoTime();
+        Trace.beginSection("Arranque:" + FASE_APERTURA);
+        try {
+            dbHelper.getWritableDatabase();
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Error al abrir la base de datos: " + e.getMessage());
+            terminar();
+            return;
+        } finally {
+            Trace.endSection();
+        }
+        long migracion = dbHelper.getDuracionMigracionNs();
+        registrarFase(FASE_APERTURA, System.nanoTime() - inicio - migracion);
+        registrarFase(FASE_MIGRACIONES, migracion);
+
+        fasesPendientes.set(2);
+        dataExecutor.ejecutarLectura(DataExecutor.Prioridad.VISIBLE,
+                () -> ejecutarFase(FASE_PRIMERA_PAGINA, this::precargarPrimeraPagina));
+        // Ya en el carril de escritura: las sentencias de escritura se preparan en la conexión principal
+        ejecutarFase(FASE_SENTENCIAS, repository::precompilarSentencias);
+    }
+
+    /**
+     * Lee la primera página del catálogo y la deja en el catálogo en memoria, de modo que
+     * la lista se muestre sin esperar a la base de datos.
+     */
+    private void precargarPrimeraPagina() {
+        if (catalogo.estaCargado()) {
+            return;
+        }
+        long versionLectura = catalogo.getVersion();
+        PaginaKdramas pagina = repository.obtenerPaginaKdramas(
+                catalogo.getFiltro(), catalogo.getOrden(), null, PaginaKdramas.TAMANIO, null);
+        if (catalogo.reemplazarConPrimeraPagina(pagina, versionLectura)) {
+            SincronizadorPortadas.getInstance(context).programar(pagina.getElementos());
+        }
+    }
+
+    /**
+     * Ejecuta y mide una fase. Un error en la fase se registra pero no detiene el arranque:
+     * la pantalla correspondiente repetirá el trabajo cuando lo necesite.
+     */
+    private void ejecutarFase(String nombre, Runnable fase) {
+        long inicio = System.nanoTime();
+        Trace.beginSection("Arranque:" + nombre);
+        try {
+            fase.run();
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Fase " + nombre + " fallida: " + e.getMessage());
+        } finally {
+            Trace.endSection();
+            registrarFase(nombre, System.nanoTime() - inicio);
+            if (fasesPendientes.decrementAndGet() == 0) {
+                terminar();
+                // Tras el arranque, para no competir con la primera página por el carril de escritura
+                CompactadorEliminados.getInstance(context).programar();
+            }
+        }
+    }
+
+    private void registrarFase(String nombre, long duracionNs) {
+        synchronized (duraciones) {
+            duraciones.put(nombre, duracionNs);
+        }
+        Log.i(TAG, String.format(Locale.US, "%s: %.1f ms", nombre, duracionNs / 1_000_000.0));
+    }
+
+    private void terminar() {
+        long totalNs = System.nanoTime() - inicioNs;
+        tiempoDesdeProcesoMs = SystemClock.elapsedRealtime() - Process.getStartElapsedRealtime();
+        Log.i(TAG, String.format(Locale.US, "listo: %.1f ms de arranque, %d ms desde el inicio del proceso",
+                totalNs / 1_000_000.0, tiempoDesdeProcesoMs));
+        _listo.postValue(true);
+    }
+
+    /**
+     * @return Duración de cada fase terminada, en nanosegundos.
+     */
+    public Map<String, Long> getDuracionesNs() {
+        synchronized (duraciones) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(duraciones));
+        }
+    }
+
+    /**
+     * @return Milisegundos desde el inicio del proceso hasta el fin del arranque, o -1 si aún no terminó.
+     */
+    public long getTiempoDesdeProcesoMs() {
+        return tiempoDesdeProcesoMs;
+    }
+}
@@ -0,0 +1,62 @@
+package com.manager.kdramas.database;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Locale;
+
+/**
+ * ClaveOrden - Calcula la clave de ordenación por título que se guarda en la columna clave_titulo.
+
+ * Responsabilidades:
+ * - Convertir un título en la clave de intercalación del idioma del dispositivo, de modo que
+ *   mayúsculas, acentos y letras como la ñ se ordenen como espera el usuario.
+ * - Codificar la clave en hexadecimal: comparar dos claves como texto binario (el orden por defecto
+ *   de SQLite y de {@link String#compareTo}) da el mismo resultado que comparar los títulos con el Collator.
+ * - Fijar el idioma al cargarse la clase, para que todas las claves de un mismo proceso sean comparables.
+ */
+public final class ClaveOrden {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final Locale LOCALE = Locale.getDefault();
+
+    // Collator no es seguro entre hilos; los accesos se sincronizan en la clase
+    private static final Collator COLLATOR = crearCollator();
+
+    private ClaveOrden() {
+    }
+
+    private static Collator crearCollator() {
+        Collator collator = Collator.getInstance(LOCALE);
+        // Las formas compuestas y descompuestas de una misma letra acentuada producen la misma clave
+        collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+        return collator;
+    }
+
+    /**
+     * @return Etiqueta BCP 47 del idioma con el que se calculan las claves.
+     */
+    public static String getEtiquetaIdioma() {
+        return LOCALE.toLanguageTag();
+    }
+
+    /**
+     * Calcula la clave de un título.
+     *
+     * @param titulo Título del K-Drama; null se trata como cadena vacía.
+     * @return Clave en hexadecimal, comparable como texto binario.
+     */
+    public static String calcular(String titulo) {
+        byte[] bytes;
+        synchronized (ClaveOrden.class) {
+            CollationKey clave = COLLATOR.getCollationKey(titulo == null ? "" : titulo);
+            bytes = clave.toByteArray();
+        }
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX[(bytes[i] >> 4) & 0x0F];
+            hex[i * 2 + 1] = HEX[bytes[i] & 0x0F];
+        }
+        return new String(hex);
+    }
+}
@@ -1,8 +1,12 @@
 package com.manager.kdramas.database;
 
 import android.content.Context;
+import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import androidx.annotation.VisibleForTesting;
+import com.manager.kdramas.metricas.MetricasDatos;
 
 /**
  * DBHelper - Clase auxiliar para la gestión de la base de datos SQLite.
@@ -10,13 +14,29 @@ import android.database.sqlite.SQLiteOpenHelper;
  * Responsabilidades:
  * - Crear y actualizar el esquema de la base de datos.
  * - Proporcionar instancias de SQLiteDatabase para operaciones CRUD.
+ * - Gestionar el ciclo de vida de la conexión: una única instancia por proceso,
+ *   abierta en modo WAL para que las lecturas no esperen a la escritura en curso.
+ * - Definir el borrado lógico: las filas con eliminado_en quedan fuera de los índices parciales,
+ *   del índice de texto completo y de los resúmenes hasta que el compactador las purga.
  * - No contiene lógica de negocio, solo operaciones estructurales sobre la base de datos.
  */
 public class DBHelper extends SQLiteOpenHelper {
 
     // Nombre y versión de la base de datos
     private static final String DB_NAME = "KDramas.db";
-    private static final int DB_VERSION = 2;
+    private static final int DB_VERSION = 9;
+
+    // Base de datos desechable de las pruebas instrumentadas, que comparten proceso con la aplicación
+    private static final String DB_NAME_PRUEBAS = "KDramasPruebas.db";
+
+    // Tamaño de la caché de páginas de la conexión principal (valor negativo = KiB)
+    private static final int CACHE_SIZE_KIB = 8192;
+
+    // Instancia única compartida por todos los repositorios del proceso
+    private static volatile DBHelper instancia;
+
+    // Archivo que abre la próxima instancia; solo las pruebas lo cambian (acceso con el bloqueo de la clase)
+    private static String nombreActual = DB_NAME;
 
     // Sentencia SQL para crear la tabla principal de K-Dramas
     private static final String CREATE_TABLE_KDrama =
@@ -28,19 +48,368 @@ public class DBHelper extends SQLiteOpenHelper {
                     "capitulos INTEGER NOT NULL, " +
                     "calificacion REAL NOT NULL, " +
                     "finalizado INTEGER DEFAULT 0, " +
-                    "imagen_url TEXT)";
+                    "imagen_url TEXT, " +
+                    "imagen_local TEXT, " +
+                    "clave_titulo TEXT NOT NULL DEFAULT '', " +
+                    "actualizado_en INTEGER NOT NULL DEFAULT 0, " +
+                    "eliminado_en INTEGER)";
+
+    /**
+     * Condición de las filas no eliminadas. Las consultas deben incluirla tal cual para que SQLite
+     * pueda usar los índices parciales, que solo contienen esas filas.
+     */
+    public static final String CONDICION_VIGENTE = "eliminado_en IS NULL";
 
     // Sentencia SQL para agregar columna nueva en versión 2
     private static final String ALTER_TABLE_ADD_IMAGEN_URL =
             "ALTER TABLE kdrama ADD COLUMN imagen_url TEXT";
 
+    // Sentencia SQL para agregar la referencia a la portada descargada en versión 7
+    private static final String ALTER_TABLE_ADD_IMAGEN_LOCAL =
+            "ALTER TABLE kdrama ADD COLUMN imagen_local TEXT";
+
+    // Sentencias para agregar la clave de ordenación del título y la fecha de modificación en versión 8
+    private static final String[] ALTER_TABLE_ADD_ORDEN = {
+            "ALTER TABLE kdrama ADD COLUMN clave_titulo TEXT NOT NULL DEFAULT ''",
+            "ALTER TABLE kdrama ADD COLUMN actualizado_en INTEGER NOT NULL DEFAULT 0",
+            // El orden y la paginación por estado no admiten NULL en la columna
+            "UPDATE kdrama SET finalizado = 0 WHERE finalizado IS NULL"
+    };
+
+    // Índice por título de la versión 3, sustituido en la versión 8 por el de clave_titulo
+    private static final String CREATE_INDEX_TITULO =
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_titulo ON kdrama(titulo)";
+
+    // Índices de filtros de la versión 4; los de género y estado se sustituyen en la versión 8
+    private static final String[] CREATE_INDICES_FILTROS = {
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_genero ON kdrama(genero, titulo)",
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_finalizado ON kdrama(finalizado, titulo)",
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_anio ON kdrama(anio)"
+    };
+
+    // Índices ordenados por título binario que dejan de usarse en la versión 8
+    private static final String[] DROP_INDICES_TITULO = {
+            "DROP INDEX IF EXISTS idx_kdrama_titulo",
+            "DROP INDEX IF EXISTS idx_kdrama_genero",
+            "DROP INDEX IF EXISTS idx_kdrama_finalizado"
+    };
+
+    // Índices de ordenación de la versión 8, sustituidos en la versión 9 por los parciales
+    // Un índice por criterio de ordenación de la lista; el rowid al final de cada entrada sirve de desempate,
+    // de modo que la paginación por clave recorre el índice (hacia atrás en los criterios descendentes)
+    // sin ordenar en un árbol temporal. Género y estado incluyen la clave del título para que la lista
+    // filtrada por ellos se devuelva ya ordenada; el de estado sirve también para ordenar por estado.
+    private static final String[] CREATE_INDICES_ORDEN = {
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_clave_titulo ON kdrama(clave_titulo)",
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_genero_clave ON kdrama(genero, clave_titulo)",
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_finalizado_clave ON kdrama(finalizado, clave_titulo)",
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_calificacion ON kdrama(calificacion)",
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_actualizado ON kdrama(actualizado_en)"
+    };
+
+    // Índice para el filtro por rango de años, que también sirve para ordenar por año (versión 8)
+    private static final String CREATE_INDEX_ANIO =
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_anio ON kdrama(anio)";
+
+    // Columna del borrado lógico de la versión 9: momento de la eliminación, NULL si la fila está vigente
+    private static final String ALTER_TABLE_ADD_ELIMINADO_EN =
+            "ALTER TABLE kdrama ADD COLUMN eliminado_en INTEGER";
+
+    // Índices de la versión 8 que se recrean como parciales en la versión 9
+    private static final String[] DROP_INDICES_ORDEN = {
+            "DROP INDEX IF EXISTS idx_kdrama_clave_titulo",
+            "DROP INDEX IF EXISTS idx_kdrama_genero_clave",
+            "DROP INDEX IF EXISTS idx_kdrama_finalizado_clave",
+            "DROP INDEX IF EXISTS idx_kdrama_calificacion",
+            "DROP INDEX IF EXISTS idx_kdrama_actualizado",
+            "DROP INDEX IF EXISTS idx_kdrama_anio"
+    };
+
+    // Los mismos índices de ordenación y de año, restringidos a las filas vigentes: las eliminadas no
+    // ocupan espacio en ellos ni se recorren al paginar. El último índice contiene solo las eliminadas
+    // y permite al compactador encontrar las caducadas sin recorrer la tabla.
+    private static final String[] CREATE_INDICES_VIGENTES = {
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_clave_titulo ON kdrama(clave_titulo) WHERE " + CONDICION_VIGENTE,
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_genero_clave ON kdrama(genero, clave_titulo) WHERE " +
+                    CONDICION_VIGENTE,
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_finalizado_clave ON kdrama(finalizado, clave_titulo) WHERE " +
+                    CONDICION_VIGENTE,
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_calificacion ON kdrama(calificacion) WHERE " + CONDICION_VIGENTE,
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_actualizado ON kdrama(actualizado_en) WHERE " + CONDICION_VIGENTE,
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_anio ON kdrama(anio) WHERE " + CONDICION_VIGENTE,
+            "CREATE INDEX IF NOT EXISTS idx_kdrama_eliminado ON kdrama(eliminado_en) WHERE eliminado_en IS NOT NULL"
+    };
+
+    // Valores propios de la instalación que no pertenecen a ningún K-Drama
+    private static final String CREATE_TABLE_METADATOS =
+            "CREATE TABLE IF NOT EXISTS metadatos (" +
+                    "clave TEXT PRIMARY KEY, " +
+                    "valor TEXT)";
+
+    // Idioma con el que se calcularon las claves de clave_titulo
+    private static final String METADATO_IDIOMA_ORDEN = "idioma_orden";
+
+    // Índice de texto completo sobre título y género. Usa la tabla kdrama como contenido externo:
+    // solo guarda el índice invertido y el docid coincide con el id del K-Drama.
+    private static final String CREATE_TABLE_FTS =
+            "CREATE VIRTUAL TABLE IF NOT EXISTS kdrama_fts USING fts4(" +
+                    "content=\"kdrama\", titulo, genero, tokenize=unicode61 \"remove_diacritics=1\")";
+
+    // Disparadores de la versión 5, sustituidos en la versión 9.
+    // Disparadores que mantienen el índice sincronizado. Con contenido externo, las entradas antiguas
+    // deben borrarse antes de modificar la fila, mientras kdrama aún contiene los valores indexados.
+    private static final String[] CREATE_TRIGGERS_FTS = {
+            "CREATE TRIGGER IF NOT EXISTS kdrama_fts_antes_actualizar BEFORE UPDATE OF titulo, genero ON kdrama BEGIN " +
+                    "DELETE FROM kdrama_fts WHERE docid = old.id; END",
+            "CREATE TRIGGER IF NOT EXISTS kdrama_fts_antes_eliminar BEFORE DELETE ON kdrama BEGIN " +
+                    "DELETE FROM kdrama_fts WHERE docid = old.id; END",
+            "CREATE TRIGGER IF NOT EXISTS kdrama_fts_despues_actualizar AFTER UPDATE OF titulo, genero ON kdrama BEGIN " +
+                    "INSERT INTO kdrama_fts(docid, titulo, genero) VALUES (new.id, new.titulo, new.genero); END",
+            "CREATE TRIGGER IF NOT EXISTS kdrama_fts_despues_insertar AFTER INSERT ON kdrama BEGIN " +
+                    "INSERT INTO kdrama_fts(docid, titulo, genero) VALUES (new.id, new.titulo, new.genero); END"
+    };
+
+    // Disparadores del índice de texto completo desde la versión 9: solo indexan filas vigentes.
+    // Una fila se quita del índice al eliminarse y vuelve a él al restaurarse; la purga de una fila
+    // ya eliminada no toca el índice, que no la contiene.
+    private static final String[] CREATE_TRIGGERS_FTS_VIGENTES = {
+            "CREATE TRIGGER IF NOT EXISTS kdrama_fts_antes_actualizar BEFORE UPDATE OF titulo, genero ON kdrama " +
+                    "WHEN old.eliminado_en IS NULL BEGIN " +
+                    "DELETE FROM kdrama_fts WHERE docid = old.id; END",
+            "CREATE TRIGGER IF NOT EXISTS kdrama_fts_antes_eliminar BEFORE DELETE ON kdrama " +
+                    "WHEN old.eliminado_en IS NULL BEGIN " +
+                    "DELETE FROM kdrama_fts WHERE docid = old.id; END",
+            "CREATE TRIGGER IF NOT EXISTS kdrama_fts_despues_actualizar AFTER UPDATE OF titulo, genero ON kdrama " +
+                    "WHEN new.eliminado_en IS NULL BEGIN " +
+                    "INSERT INTO kdrama_fts(docid, titulo, genero) VALUES (new.id, new.titulo, new.genero); END",
+            "CREATE TRIGGER IF NOT EXISTS kdrama_fts_despues_insertar AFTER INSERT ON kdrama " +
+                    "WHEN new.eliminado_en IS NULL BEGIN " +
+                    "INSERT INTO kdrama_fts(docid, titulo, genero) VALUES (new.id, new.titulo, new.genero); END",
+            "CREATE TRIGGER IF NOT EXISTS kdrama_fts_antes_marcar_eliminado BEFORE UPDATE OF eliminado_en ON kdrama " +
+                    "WHEN old.eliminado_en IS NULL AND new.eliminado_en IS NOT NULL BEGIN " +
+                    "DELETE FROM kdrama_fts WHERE docid = old.id; END",
+            "CREATE TRIGGER IF NOT EXISTS kdrama_fts_despues_restaurar AFTER UPDATE OF eliminado_en ON kdrama " +
+                    "WHEN old.eliminado_en IS NOT NULL AND new.eliminado_en IS NULL BEGIN " +
+                    "INSERT INTO kdrama_fts(docid, titulo, genero) VALUES (new.id, new.titulo, new.genero); END"
+    };
+
+    // Reconstruye el índice de texto completo a partir de las filas existentes
+    private static final String REBUILD_FTS =
+            "INSERT INTO kdrama_fts(kdrama_fts) VALUES ('rebuild')";
+
+    // Tablas de resumen para las estadísticas. Se mantienen con disparadores para que leerlas
+    // no requiera recorrer kdrama. Las filas cuyo contador llega a cero se eliminan.
+    private static final String[] CREATE_TABLAS_RESUMEN = {
+            "CREATE TABLE IF NOT EXISTS resumen_estado (" +
+                    "estado INTEGER PRIMARY KEY, " +
+                    "cantidad INTEGER NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS resumen_genero (" +
+                    "genero TEXT PRIMARY KEY, " +
+                    "cantidad INTEGER NOT NULL, " +
+                    "suma_calificacion REAL NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS resumen_anio (" +
+                    "anio INTEGER PRIMARY KEY, " +
+                    "cantidad INTEGER NOT NULL, " +
+                    "capitulos_vistos INTEGER NOT NULL)"
+    };
+
+    // Capítulos que cuentan como vistos: los de K-Dramas completados o que se están reviendo
+    private static final String CAPITULOS_VISTOS_NEW =
+            "CASE WHEN new.finalizado IN (1, 5) THEN new.capitulos ELSE 0 END";
+    private static final String CAPITULOS_VISTOS_OLD =
+            "CASE WHEN old.finalizado IN (1, 5) THEN old.capitulos ELSE 0 END";
+
+    // Sentencias que suman la fila nueva a los resúmenes
+    private static final String SUMAR_RESUMENES =
+            "INSERT OR IGNORE INTO resumen_estado (estado, cantidad) VALUES (IFNULL(new.finalizado, 0), 0); " +
+                    "UPDATE resumen_estado SET cantidad = cantidad + 1 WHERE estado = IFNULL(new.finalizado, 0); " +
+                    "INSERT OR IGNORE INTO resumen_genero (genero, cantidad, suma_calificacion) VALUES (new.genero, 0, 0); " +
+                    "UPDATE resumen_genero SET cantidad = cantidad + 1, suma_calificacion = suma_calificacion + new.calificacion " +
+                    "WHERE genero = new.genero; " +
+                    "INSERT OR IGNORE INTO resumen_anio (anio, cantidad, capitulos_vistos) VALUES (new.anio, 0, 0); " +
+                    "UPDATE resumen_anio SET cantidad = cantidad + 1, capitulos_vistos = capitulos_vistos + " +
+                    CAPITULOS_VISTOS_NEW + " WHERE anio = new.anio; ";
+
+    // Sentencias que restan la fila anterior de los resúmenes
+    private static final String RESTAR_RESUMENES =
+            "UPDATE resumen_estado SET cantidad = cantidad - 1 WHERE estado = IFNULL(old.finalizado, 0); " +
+                    "DELETE FROM resumen_estado WHERE estado = IFNULL(old.finalizado, 0) AND cantidad <= 0; " +
+                    "UPDATE resumen_genero SET cantidad = cantidad - 1, suma_calificacion = suma_calificacion - old.calificacion " +
+                    "WHERE genero = old.genero; " +
+                    "DELETE FROM resumen_genero WHERE genero = old.genero AND cantidad <= 0; " +
+                    "UPDATE resumen_anio SET cantidad = cantidad - 1, capitulos_vistos = capitulos_vistos - " +
+                    CAPITULOS_VISTOS_OLD + " WHERE anio = old.anio; " +
+                    "DELETE FROM resumen_anio WHERE anio = old.anio AND cantidad <= 0; ";
+
+    // Disparadores que mantienen las tablas de resumen (versión 6, sustituidos en la versión 9)
+    private static final String[] CREATE_TRIGGERS_RESUMEN = {
+            "CREATE TRIGGER IF NOT EXISTS kdrama_resumen_insertar AFTER INSERT ON kdrama BEGIN " +
+                    SUMAR_RESUMENES + "END",
+            "CREATE TRIGGER IF NOT EXISTS kdrama_resumen_eliminar AFTER DELETE ON kdrama BEGIN " +
+                    RESTAR_RESUMENES + "END",
+            "CREATE TRIGGER IF NOT EXISTS kdrama_resumen_actualizar " +
+                    "AFTER UPDATE OF finalizado, genero, anio, capitulos, calificacion ON kdrama " +
+                    "WHEN old.finalizado IS NOT new.finalizado OR old.genero IS NOT new.genero " +
+                    "OR old.anio IS NOT new.anio OR old.capitulos IS NOT new.capitulos " +
+                    "OR old.calificacion IS NOT new.calificacion BEGIN " +
+                    RESTAR_RESUMENES + SUMAR_RESUMENES + "END"
+    };
+
+    // Disparadores de los resúmenes desde la versión 9: solo cuentan las filas vigentes. Eliminar una fila
+    // la resta, restaurarla la vuelve a sumar y purgarla ya eliminada no cambia nada.
+    private static final String[] CREATE_TRIGGERS_RESUMEN_VIGENTES = {
+            "CREATE TRIGGER IF NOT EXISTS kdrama_resumen_insertar AFTER INSERT ON kdrama " +
+                    "WHEN new.eliminado_en IS NULL BEGIN " +
+                    SUMAR_RESUMENES + "END",
+            "CREATE TRIGGER IF NOT EXISTS kdrama_resumen_eliminar AFTER DELETE ON kdrama " +
+                    "WHEN old.eliminado_en IS NULL BEGIN " +
+                    RESTAR_RESUMENES + "END",
+            "CREATE TRIGGER IF NOT EXISTS kdrama_resumen_actualizar " +
+                    "AFTER UPDATE OF finalizado, genero, anio, capitulos, calificacion ON kdrama " +
+                    "WHEN old.eliminado_en IS NULL AND new.eliminado_en IS NULL " +
+                    "AND (old.finalizado IS NOT new.finalizado OR old.genero IS NOT new.genero " +
+                    "OR old.anio IS NOT new.anio OR old.capitulos IS NOT new.capitulos " +
+                    "OR old.calificacion IS NOT new.calificacion) BEGIN " +
+                    RESTAR_RESUMENES + SUMAR_RESUMENES + "END",
+            "CREATE TRIGGER IF NOT EXISTS kdrama_resumen_marcar_eliminado AFTER UPDATE OF eliminado_en ON kdrama " +
+                    "WHEN old.eliminado_en IS NULL AND new.eliminado_en IS NOT NULL BEGIN " +
+                    RESTAR_RESUMENES + "END",
+            "CREATE TRIGGER IF NOT EXISTS kdrama_resumen_restaurar AFTER UPDATE OF eliminado_en ON kdrama " +
+                    "WHEN old.eliminado_en IS NOT NULL AND new.eliminado_en IS NULL BEGIN " +
+                    SUMAR_RESUMENES + "END"
+    };
+
+    // Disparadores de las versiones 5 y 6 que se recrean en la versión 9
+    private static final String[] DROP_TRIGGERS_V8 = {
+            "DROP TRIGGER IF EXISTS kdrama_fts_antes_actualizar",
+            "DROP TRIGGER IF EXISTS kdrama_fts_antes_eliminar",
+            "DROP TRIGGER IF EXISTS kdrama_fts_despues_actualizar",
+            "DROP TRIGGER IF EXISTS kdrama_fts_despues_insertar",
+            "DROP TRIGGER IF EXISTS kdrama_resumen_insertar",
+            "DROP TRIGGER IF EXISTS kdrama_resumen_eliminar",
+            "DROP TRIGGER IF EXISTS kdrama_resumen_actualizar"
+    };
+
+    // Sentencias que recalculan los resúmenes desde cero a partir de las filas vigentes de kdrama
+    private static final String[] RECONSTRUIR_RESUMENES = {
+            "DELETE FROM resumen_estado",
+            "DELETE FROM resumen_genero",
+            "DELETE FROM resumen_anio",
+            "INSERT INTO resumen_estado (estado, cantidad) " +
+                    "SELECT IFNULL(finalizado, 0), COUNT(*) FROM kdrama WHERE " + CONDICION_VIGENTE +
+                    " GROUP BY IFNULL(finalizado, 0)",
+            "INSERT INTO resumen_genero (genero, cantidad, suma_calificacion) " +
+                    "SELECT genero, COUNT(*), SUM(calificacion) FROM kdrama WHERE " + CONDICION_VIGENTE +
+                    " GROUP BY genero",
+            "INSERT INTO resumen_anio (anio, cantidad, capitulos_vistos) " +
+                    "SELECT anio, COUNT(*), SUM(CASE WHEN finalizado IN (1, 5) THEN capitulos ELSE 0 END) " +
+                    "FROM kdrama WHERE " + CONDICION_VIGENTE + " GROUP BY anio"
+    };
+
+    // Duración de la creación o migración del esquema en este proceso (0 si la versión ya estaba al día)
+    private volatile long duracionMigracionNs;
+
     /**
      * Constructor del helper.
+     * Es privado: la conexión se obtiene siempre mediante {@link #getInstance(Context)}
+     * para que todo el proceso comparta el mismo pool de conexiones.
      *
      * @param context Contexto de la aplicación, utilizado para acceder a recursos.
+     * @param nombre  Nombre del archivo de la base de datos.
+     */
+    private DBHelper(Context context, String nombre) {
+        super(context, nombre, null, DB_VERSION);
+    }
+
+    /**
+     * Devuelve la instancia única del helper, creándola la primera vez.
+     * La base de datos permanece abierta durante toda la vida del proceso; los
+     * llamadores no deben cerrar las instancias de SQLiteDatabase que obtienen.
+     *
+     * @param context Cualquier contexto; se conserva solo el de aplicación.
+     * @return Helper compartido.
      */
-    public DBHelper(Context context) {
-        super(context, DB_NAME, null, DB_VERSION);
+    public static DBHelper getInstance(Context context) {
+        DBHelper local = instancia;
+        if (local == null) {
+            synchronized (DBHelper.class) {
+                local = instancia;
+                if (local == null) {
+                    local = new DBHelper(context.getApplicationContext(), nombreActual);
+                    instancia = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Cierra y descarta la instancia compartida.
+     * Solo para pruebas en la JVM, donde cada prueba recibe un contexto y un directorio de datos nuevos.
+     */
+    @VisibleForTesting
+    public static void reiniciarInstancia() {
+        synchronized (DBHelper.class) {
+            if (instancia != null) {
+                instancia.close();
+                instancia = null;
+            }
+        }
+    }
+
+    /**
+     * Cierra la instancia compartida y hace que la siguiente se abra sobre una base de datos de pruebas vacía.
+     * Solo para pruebas instrumentadas: se ejecutan en el proceso de la aplicación instalada y, sin esto,
+     * escribirían en su catálogo. Debe emparejarse con {@link #usarBaseDeAplicacion(Context)}.
+     *
+     * @param context Cualquier contexto de la aplicación.
+     */
+    @VisibleForTesting
+    public static void usarBaseDePruebas(Context context) {
+        synchronized (DBHelper.class) {
+            reiniciarInstancia();
+            context.getApplicationContext().deleteDatabase(DB_NAME_PRUEBAS);
+            nombreActual = DB_NAME_PRUEBAS;
+        }
+    }
+
+    /**
+     * Cierra y borra la base de datos de pruebas; la siguiente instancia vuelve a abrir la de la aplicación.
+     *
+     * @param context Cualquier contexto de la aplicación.
+     */
+    @VisibleForTesting
+    public static void usarBaseDeAplicacion(Context context) {
+        synchronized (DBHelper.class) {
+            reiniciarInstancia();
+            context.getApplicationContext().deleteDatabase(DB_NAME_PRUEBAS);
+            nombreActual = DB_NAME;
+        }
+    }
+
+    /**
+     * Invocado antes de crear, migrar o abrir la base de datos.
+     * Activa el registro de escritura anticipada (WAL), que permite varias conexiones
+     * de lectura en paralelo con la de escritura, y ajusta los PRAGMAs de la conexión principal.
+     * Los PRAGMAs ejecutados aquí solo llegan a esa conexión, que es la que usan todas las escrituras
+     * y transacciones; las conexiones de lectura que el pool abre después conservan los valores de
+     * Android (caché de SQLite por defecto y tablas temporales en memoria, fijadas al compilar SQLite).
+     * El modo de autovacío incremental solo tiene efecto al crear la base de datos; las creadas antes
+     * se convierten con {@link #convertirAVacioIncremental(SQLiteDatabase)}.
+     *
+     * @param db Instancia de SQLiteDatabase en configuración.
+     */
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        super.onConfigure(db);
+        db.enableWriteAheadLogging();
+        // Después de activar WAL, que vuelve a fijar el modo de sincronización de la conexión.
+        // Con WAL, NORMAL mantiene la durabilidad ante cierres de la app y evita un fsync por commit;
+        // solo afecta a los commits, y solo la conexión principal escribe
+        db.execSQL("PRAGMA synchronous = NORMAL");
+        // Caché mayor para las lecturas dentro de transacciones de escritura (fila anterior, relectura de lotes)
+        db.execSQL("PRAGMA cache_size = -" + CACHE_SIZE_KIB);
+        db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
     }
 
     /**
@@ -51,7 +420,18 @@ public class DBHelper extends SQLiteOpenHelper {
      */
     @Override
     public void onCreate(SQLiteDatabase db) {
+        long inicio = System.nanoTime();
         db.execSQL(CREATE_TABLE_KDrama);
+        crearIndicesVigentes(db);
+        db.execSQL(CREATE_TABLE_FTS);
+        for (String sentencia : CREATE_TABLAS_RESUMEN) {
+            db.execSQL(sentencia);
+        }
+        crearDisparadoresVigentes(db);
+        db.execSQL(CREATE_TABLE_METADATOS);
+        guardarIdiomaOrden(db);
+        duracionMigracionNs = System.nanoTime() - inicio;
+        MetricasDatos.getInstance().registrarEscritura(MetricasDatos.Operacion.MIGRACION, inicio, 0);
     }
 
     /**
@@ -64,20 +444,236 @@ public class DBHelper extends SQLiteOpenHelper {
      */
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        long inicio = System.nanoTime();
         if (oldVersion < 2) {
             // En la versión 2 se agregó la columna imagen_url
             db.execSQL(ALTER_TABLE_ADD_IMAGEN_URL);
         }
+        if (oldVersion < 3) {
+            // En la versión 3 se agregó el índice por título para la paginación
+            db.execSQL(CREATE_INDEX_TITULO);
+        }
+        if (oldVersion < 4) {
+            // En la versión 4 se agregaron los índices para filtrar por género, estado y año
+            crearIndicesFiltros(db);
+        }
+        if (oldVersion < 5) {
+            // En la versión 5 se agregó el índice de texto completo; se llena con las filas existentes
+            crearIndiceBusqueda(db);
+            db.execSQL(REBUILD_FTS);
+        }
+        if (oldVersion < 6) {
+            // En la versión 6 se agregaron las tablas de resumen para las estadísticas;
+            // se llenan en el paso de la versión 9, cuando ya existe la columna eliminado_en
+            crearResumenes(db);
+        }
+        if (oldVersion < 7) {
+            // En la versión 7 se agregó la clave de la portada guardada en el almacén local
+            db.execSQL(ALTER_TABLE_ADD_IMAGEN_LOCAL);
+        }
+        if (oldVersion < 8) {
+            // En la versión 8 se agregaron la clave de ordenación del título, la fecha de modificación
+            // y un índice por cada criterio de ordenación, que sustituyen a los índices por título binario
+            for (String sentencia : ALTER_TABLE_ADD_ORDEN) {
+                db.execSQL(sentencia);
+            }
+            for (String sentencia : DROP_INDICES_TITULO) {
+                db.execSQL(sentencia);
+            }
+            db.execSQL(CREATE_TABLE_METADATOS);
+            recalcularClavesOrden(db);
+            crearIndicesOrden(db);
+        }
+        if (oldVersion < 9) {
+            // En la versión 9 se agregó el borrado lógico: los índices pasan a ser parciales sobre las filas
+            // vigentes y los disparadores de búsqueda y resúmenes ignoran las eliminadas
+            db.execSQL(ALTER_TABLE_ADD_ELIMINADO_EN);
+            for (String sentencia : DROP_INDICES_ORDEN) {
+                db.execSQL(sentencia);
+            }
+            crearIndicesVigentes(db);
+            for (String sentencia : DROP_TRIGGERS_V8) {
+                db.execSQL(sentencia);
+            }
+            crearDisparadoresVigentes(db);
+            reconstruirResumenes(db);
+        }
+        duracionMigracionNs = System.nanoTime() - inicio;
+        MetricasDatos.getInstance().registrarEscritura(MetricasDatos.Operacion.MIGRACION, inicio, 0);
+    }
+
+    /**
+     * @return Nanosegundos empleados en crear o migrar el esquema al abrir la base de datos
+     *         en este proceso; 0 si no fue necesario.
+     */
+    public long getDuracionMigracionNs() {
+        return duracionMigracionNs;
+    }
+
+    /**
+     * Versión del esquema que crea esta compilación. Los datos derivados guardados fuera de la base de datos
+     * (como la instantánea de la lista) la registran para descartarse cuando el esquema cambia.
+     *
+     * @return Versión actual del esquema.
+     */
+    public static int getVersionEsquema() {
+        return DB_VERSION;
+    }
+
+    /**
+     * Crea los índices utilizados por las consultas filtradas de la versión 4.
+     *
+     * @param db Instancia de SQLiteDatabase.
+     */
+    private void crearIndicesFiltros(SQLiteDatabase db) {
+        for (String sentencia : CREATE_INDICES_FILTROS) {
+            db.execSQL(sentencia);
+        }
+    }
+
+    /**
+     * Crea los índices de los criterios de ordenación y del filtro por año.
+     *
+     * @param db Instancia de SQLiteDatabase.
+     */
+    private void crearIndicesOrden(SQLiteDatabase db) {
+        for (String sentencia : CREATE_INDICES_ORDEN) {
+            db.execSQL(sentencia);
+        }
+        db.execSQL(CREATE_INDEX_ANIO);
+    }
+
+    /**
+     * Crea los índices parciales de las filas vigentes y el de las filas eliminadas.
+     *
+     * @param db Instancia de SQLiteDatabase.
+     */
+    private void crearIndicesVigentes(SQLiteDatabase db) {
+        for (String sentencia : CREATE_INDICES_VIGENTES) {
+            db.execSQL(sentencia);
+        }
+    }
+
+    /**
+     * Crea los disparadores del índice de texto completo y de los resúmenes que ignoran las filas eliminadas.
+     *
+     * @param db Instancia de SQLiteDatabase.
+     */
+    private void crearDisparadoresVigentes(SQLiteDatabase db) {
+        for (String sentencia : CREATE_TRIGGERS_FTS_VIGENTES) {
+            db.execSQL(sentencia);
+        }
+        for (String sentencia : CREATE_TRIGGERS_RESUMEN_VIGENTES) {
+            db.execSQL(sentencia);
+        }
+    }
+
+    /**
+     * Calcula de nuevo la clave de ordenación de todos los títulos con el idioma actual
+     * y registra ese idioma. Debe ejecutarse dentro de una transacción.
+     *
+     * @param db Instancia de SQLiteDatabase con permiso de escritura.
+     */
+    private static void recalcularClavesOrden(SQLiteDatabase db) {
+        try (SQLiteStatement sentencia = db.compileStatement("UPDATE kdrama SET clave_titulo = ? WHERE id = ?");
+             Cursor cursor = db.rawQuery("SELECT id, titulo FROM kdrama", null)) {
+            while (cursor.moveToNext()) {
+                sentencia.bindString(1, ClaveOrden.calcular(cursor.getString(1)));
+                sentencia.bindLong(2, cursor.getLong(0));
+                sentencia.executeUpdateDelete();
+            }
+        }
+        guardarIdiomaOrden(db);
+    }
+
+    private static void guardarIdiomaOrden(SQLiteDatabase db) {
+        db.execSQL("INSERT OR REPLACE INTO metadatos (clave, valor) VALUES (?, ?)",
+                new Object[]{METADATO_IDIOMA_ORDEN, ClaveOrden.getEtiquetaIdioma()});
+    }
+
+    /**
+     * Indica si las claves guardadas se calcularon con un idioma distinto del actual.
+     */
+    private static boolean idiomaOrdenCambiado(SQLiteDatabase db) {
+        try (Cursor cursor = db.rawQuery("SELECT valor FROM metadatos WHERE clave = ?",
+                new String[]{METADATO_IDIOMA_ORDEN})) {
+            return !cursor.moveToFirst() || !ClaveOrden.getEtiquetaIdioma().equals(cursor.getString(0));
+        }
+    }
+
+    /**
+     * Crea la tabla FTS de búsqueda y los disparadores de la versión 5 que la mantienen sincronizada con kdrama.
+     *
+     * @param db Instancia de SQLiteDatabase.
+     */
+    private void crearIndiceBusqueda(SQLiteDatabase db) {
+        db.execSQL(CREATE_TABLE_FTS);
+        for (String sentencia : CREATE_TRIGGERS_FTS) {
+            db.execSQL(sentencia);
+        }
+    }
+
+    /**
+     * Crea las tablas de resumen y los disparadores de la versión 6 que las mantienen.
+     *
+     * @param db Instancia de SQLiteDatabase.
+     */
+    private void crearResumenes(SQLiteDatabase db) {
+        for (String sentencia : CREATE_TABLAS_RESUMEN) {
+            db.execSQL(sentencia);
+        }
+        for (String sentencia : CREATE_TRIGGERS_RESUMEN) {
+            db.execSQL(sentencia);
+        }
+    }
+
+    /**
+     * Recalcula las tablas de resumen desde cero a partir de la tabla kdrama.
+     * Debe ejecutarse dentro de una transacción para que los lectores no vean resúmenes a medio llenar.
+     *
+     * @param db Instancia de SQLiteDatabase con permiso de escritura.
+     */
+    public static void reconstruirResumenes(SQLiteDatabase db) {
+        for (String sentencia : RECONSTRUIR_RESUMENES) {
+            db.execSQL(sentencia);
+        }
+    }
+
+    /**
+     * Convierte una base de datos creada sin autovacío incremental, para que el espacio liberado al purgar
+     * filas pueda devolverse al sistema por partes. Requiere reescribir el archivo con un VACUUM completo,
+     * que no puede ejecutarse dentro de una transacción; basta con hacerlo una vez.
+     *
+     * @param db Instancia de SQLiteDatabase con permiso de escritura, fuera de una transacción.
+     */
+    public static void convertirAVacioIncremental(SQLiteDatabase db) {
+        db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+        db.execSQL("VACUUM");
     }
 
     /**
      * Invocado automáticamente al abrir la base de datos.
-     * Puede utilizarse para configurar restricciones o activar PRAGMAs si se requiere.
+     * La configuración de la conexión (WAL y PRAGMAs) se aplica en {@link #onConfigure}.
+     * Si el idioma del dispositivo cambió desde la última apertura, las claves de ordenación del título
+     * se calculan de nuevo; el tiempo empleado se suma al de la migración.
 
      * @param db Instancia de SQLiteDatabase abierta.
      */
     @Override
     public void onOpen(SQLiteDatabase db) {
         super.onOpen(db);
+        if (db.isReadOnly() || !idiomaOrdenCambiado(db)) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        db.beginTransaction();
+        try {
+            recalcularClavesOrden(db);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        duracionMigracionNs += System.nanoTime() - inicio;
+        MetricasDatos.getInstance().registrarEscritura(MetricasDatos.Operacion.MIGRACION, inicio, 0);
     }
 }
@@ -0,0 +1,141 @@
+package com.manager.kdramas.executors;
+
+import android.os.CancellationSignal;
+import androidx.annotation.VisibleForTesting;
+import java.util.function.Function;
+
+/**
+ * CoordinadorCargas - Versiona las cargas de datos para que solo la más reciente publique su resultado.
+
+ * Responsabilidades:
+ * - Asignar una generación creciente a cada carga solicitada.
+ * - Cancelar la carga anterior (en cola o en curso) cuando llega una nueva con distinta consulta.
+ * - Fusionar en una sola carga las solicitudes repetidas de la misma consulta que aún no han comenzado.
+ * - Permitir a la carga comprobar si su resultado sigue vigente antes de publicarlo.
+ */
+public final class CoordinadorCargas {
+
+    /**
+     * Trabajo de carga ejecutado en el pool de lectura.
+     */
+    public interface Carga {
+        /**
+         * @param generacion Generación asignada; debe comprobarse con {@link #esVigente(long)} antes de publicar.
+         * @param senal      Señal que se activa si la carga es reemplazada; puede pasarse a la consulta SQLite.
+         */
+        void ejecutar(long generacion, CancellationSignal senal);
+    }
+
+    // Encola una carga en el pool de lectura y devuelve su tarea
+    private final Function<Runnable, DataExecutor.TareaDatos> encolar;
+
+    // Estado de la carga más reciente, protegido por el monitor de esta instancia
+    private long generacion;
+    private String claveActual;
+    private DataExecutor.TareaDatos tareaActual;
+    private CancellationSignal senalActual;
+    private boolean iniciada;
+    private boolean terminada = true;
+
+    /**
+     * Constructor del coordinador.
+     *
+     * @param dataExecutor Ejecutor donde se encolan las cargas.
+     * @param prioridad    Prioridad de lectura con que se encolan.
+     */
+    public CoordinadorCargas(DataExecutor dataExecutor, DataExecutor.Prioridad prioridad) {
+        this(accion -> dataExecutor.ejecutarLectura(prioridad, accion));
+    }
+
+    /**
+     * Constructor con un encolado propio, para que las pruebas decidan cuándo comienza cada carga.
+     *
+     * @param encolar Encola una carga y devuelve su tarea.
+     */
+    @VisibleForTesting
+    CoordinadorCargas(Function<Runnable, DataExecutor.TareaDatos> encolar) {
+        this.encolar = encolar;
+    }
+
+    /**
+     * Solicita una carga para la consulta identificada por la clave.
+     * Si la carga vigente tiene la misma clave y todavía no ha comenzado, se reutiliza;
+     * en otro caso se cancela y se encola una nueva generación.
+     *
+     * @param clave Identificador de la consulta (p. ej. "primera-pagina").
+     * @param carga Trabajo a ejecutar.
+     * @return Generación asignada a la carga que atenderá la solicitud.
+     */
+    public synchronized long solicitar(String clave, Carga carga) {
+        if (!terminada && !iniciada && clave.equals(claveActual)) {
+            return generacion;
+        }
+
+        cancelarActual();
+
+        final long nuevaGeneracion = ++generacion;
+        final CancellationSignal senal = new CancellationSignal();
+        claveActual = clave;
+        senalActual = senal;
+        iniciada = false;
+        terminada = false;
+        tareaActual = encolar.apply(() -> {
+            if (!marcarIniciada(nuevaGeneracion)) {
+                return;
+            }
+            try {
+                carga.ejecutar(nuevaGeneracion, senal);
+            } finally {
+                marcarTerminada(nuevaGeneracion);
+            }
+        });
+        return nuevaGeneracion;
+    }
+
+    /**
+     * Indica si el resultado de una generación puede publicarse.
+     *
+     * @param generacionCarga Generación recibida por la carga.
+     * @return true si no ha sido reemplazada por una solicitud posterior.
+     */
+    public synchronized boolean esVigente(long generacionCarga) {
+        return generacionCarga == generacion;
+    }
+
+    /**
+     * @return true si hay una carga encolada o en ejecución.
+     */
+    public synchronized boolean hayCargaActiva() {
+        return !terminada;
+    }
+
+    /**
+     * Cancela la carga vigente, si existe, e invalida su resultado.
+     */
+    public synchronized void cancelar() {
+        cancelarActual();
+        generacion++;
+    }
+
+    private void cancelarActual() {
+        if (!terminada) {
+            tareaActual.cancelar();
+            senalActual.cancel();
+            terminada = true;
+        }
+    }
+
+    private synchronized boolean marcarIniciada(long generacionCarga) {
+        if (generacionCarga != generacion) {
+            return false;
+        }
+        iniciada = true;
+        return true;
+    }
+
+    private synchronized void marcarTerminada(long generacionCarga) {
+        if (generacionCarga == generacion) {
+            terminada = true;
+        }
+    }
+}
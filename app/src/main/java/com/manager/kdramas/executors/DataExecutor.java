@@ -0,0 +1,260 @@
+package com.manager.kdramas.executors;
+
+import java.util.Locale;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DataExecutor - Ejecutor compartido por toda la aplicación para el trabajo de acceso a datos.
+
+ * Responsabilidades:
+ * - Serializar las escrituras en un único hilo para que no compitan entre sí por SQLite.
+ * - Ejecutar las lecturas en un pool acotado, dando preferencia a las que el usuario está esperando.
+ * - Exponer profundidad de cola y latencias de espera/ejecución para diagnóstico.
+ */
+public final class DataExecutor {
+
+    /**
+     * Prioridad de una lectura. Las tareas VISIBLE se atienden antes que las de FONDO.
+     */
+    public enum Prioridad {
+        VISIBLE,
+        FONDO
+    }
+
+    // Número de hilos de lectura: suficiente para solapar consultas sin saturar la CPU
+    private static final int HILOS_LECTURA =
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    private static volatile DataExecutor instancia;
+
+    private final ThreadPoolExecutor escritor;
+    private final ThreadPoolExecutor lectores;
+
+    // Orden de llegada, usado para mantener FIFO entre tareas de la misma prioridad
+    private final AtomicLong secuencia = new AtomicLong();
+
+    private final EstadisticasCarril estadisticasEscritura = new EstadisticasCarril();
+    private final EstadisticasCarril estadisticasLectura = new EstadisticasCarril();
+
+    private DataExecutor() {
+        escritor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), crearFabricaHilos("kdramas-escritura"));
+        lectores = new ThreadPoolExecutor(HILOS_LECTURA, HILOS_LECTURA, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), crearFabricaHilos("kdramas-lectura"));
+    }
+
+    /**
+     * Devuelve el ejecutor compartido, creándolo la primera vez.
+     *
+     * @return Instancia única del ejecutor.
+     */
+    public static DataExecutor getInstance() {
+        DataExecutor local = instancia;
+        if (local == null) {
+            synchronized (DataExecutor.class) {
+                local = instancia;
+                if (local == null) {
+                    local = new DataExecutor();
+                    instancia = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Encola una escritura en el carril serializado.
+     * Las escrituras se ejecutan de una en una y en el orden en que se enviaron.
+     *
+     * @param accion Operación de escritura.
+     * @return Tarea encolada, que puede cancelarse mientras no haya comenzado.
+     */
+    public TareaDatos ejecutarEscritura(Runnable accion) {
+        TareaDatos tarea = new TareaDatos(accion, Prioridad.VISIBLE, secuencia.getAndIncrement(), estadisticasEscritura);
+        escritor.execute(tarea);
+        return tarea;
+    }
+
+    /**
+     * Encola una lectura en el pool de lectura con la prioridad indicada.
+     *
+     * @param prioridad Prioridad de la lectura.
+     * @param accion    Operación de lectura.
+     * @return Tarea encolada, que puede cancelarse mientras no haya comenzado.
+     */
+    public TareaDatos ejecutarLectura(Prioridad prioridad, Runnable accion) {
+        TareaDatos tarea = new TareaDatos(accion, prioridad, secuencia.getAndIncrement(), estadisticasLectura);
+        lectores.execute(tarea);
+        return tarea;
+    }
+
+    /**
+     * Genera una instantánea del estado de las colas y las latencias acumuladas.
+     *
+     * @return Diagnóstico inmutable del ejecutor.
+     */
+    public Diagnostico obtenerDiagnostico() {
+        return new Diagnostico(
+                escritor.getQueue().size(),
+                lectores.getQueue().size(),
+                lectores.getActiveCount(),
+                estadisticasEscritura.instantanea(),
+                estadisticasLectura.instantanea());
+    }
+
+    private static ThreadFactory crearFabricaHilos(String prefijo) {
+        AtomicInteger contador = new AtomicInteger();
+        return runnable -> {
+            Thread hilo = new Thread(runnable, prefijo + "-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+    }
+
+    /**
+     * Tarea de acceso a datos con prioridad, orden de llegada y cancelación cooperativa.
+     */
+    public static final class TareaDatos implements Runnable, Comparable<TareaDatos> {
+
+        private final Runnable accion;
+        private final Prioridad prioridad;
+        private final long orden;
+        private final EstadisticasCarril estadisticas;
+        private final long encoladaEnNanos;
+        private volatile boolean cancelada;
+
+        TareaDatos(Runnable accion, Prioridad prioridad, long orden, EstadisticasCarril estadisticas) {
+            this.accion = accion;
+            this.prioridad = prioridad;
+            this.orden = orden;
+            this.estadisticas = estadisticas;
+            this.encoladaEnNanos = System.nanoTime();
+        }
+
+        /**
+         * Marca la tarea como cancelada. Si aún no ha comenzado, no llegará a ejecutarse.
+         */
+        public void cancelar() {
+            cancelada = true;
+        }
+
+        public boolean estaCancelada() {
+            return cancelada;
+        }
+
+        @Override
+        public void run() {
+            long inicio = System.nanoTime();
+            if (cancelada) {
+                estadisticas.registrarCancelada();
+                return;
+            }
+            try {
+                accion.run();
+            } finally {
+                estadisticas.registrar(inicio - encoladaEnNanos, System.nanoTime() - inicio);
+            }
+        }
+
+        @Override
+        public int compareTo(TareaDatos otra) {
+            int porPrioridad = prioridad.compareTo(otra.prioridad);
+            return porPrioridad != 0 ? porPrioridad : Long.compare(orden, otra.orden);
+        }
+    }
+
+    /**
+     * Contadores acumulados de un carril (escritura o lectura).
+     */
+    static final class EstadisticasCarril {
+
+        private final AtomicLong completadas = new AtomicLong();
+        private final AtomicLong canceladas = new AtomicLong();
+        private final AtomicLong nanosEsperaTotal = new AtomicLong();
+        private final AtomicLong nanosEjecucionTotal = new AtomicLong();
+        private final AtomicLong nanosEsperaMaxima = new AtomicLong();
+
+        void registrar(long nanosEspera, long nanosEjecucion) {
+            completadas.incrementAndGet();
+            nanosEsperaTotal.addAndGet(nanosEspera);
+            nanosEjecucionTotal.addAndGet(nanosEjecucion);
+            nanosEsperaMaxima.accumulateAndGet(nanosEspera, Math::max);
+        }
+
+        void registrarCancelada() {
+            canceladas.incrementAndGet();
+        }
+
+        Diagnostico.Carril instantanea() {
+            long total = completadas.get();
+            return new Diagnostico.Carril(
+                    total,
+                    canceladas.get(),
+                    total == 0 ? 0 : nanosEsperaTotal.get() / total,
+                    total == 0 ? 0 : nanosEjecucionTotal.get() / total,
+                    nanosEsperaMaxima.get());
+        }
+    }
+
+    /**
+     * Instantánea inmutable del estado del ejecutor.
+     */
+    public static final class Diagnostico {
+
+        public final int colaEscritura;
+        public final int colaLectura;
+        public final int lecturasActivas;
+        public final Carril escritura;
+        public final Carril lectura;
+
+        Diagnostico(int colaEscritura, int colaLectura, int lecturasActivas, Carril escritura, Carril lectura) {
+            this.colaEscritura = colaEscritura;
+            this.colaLectura = colaLectura;
+            this.lecturasActivas = lecturasActivas;
+            this.escritura = escritura;
+            this.lectura = lectura;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "cola escritura=%d, cola lectura=%d, lecturas activas=%d%nescritura: %s%nlectura: %s",
+                    colaEscritura, colaLectura, lecturasActivas, escritura, lectura);
+        }
+
+        /**
+         * Latencias medias de un carril, en nanosegundos.
+         */
+        public static final class Carril {
+
+            public final long completadas;
+            public final long canceladas;
+            public final long esperaMediaNanos;
+            public final long ejecucionMediaNanos;
+            public final long esperaMaximaNanos;
+
+            Carril(long completadas, long canceladas, long esperaMediaNanos,
+                   long ejecucionMediaNanos, long esperaMaximaNanos) {
+                this.completadas = completadas;
+                this.canceladas = canceladas;
+                this.esperaMediaNanos = esperaMediaNanos;
+                this.ejecucionMediaNanos = ejecucionMediaNanos;
+                this.esperaMaximaNanos = esperaMaximaNanos;
+            }
+
+            @Override
+            public String toString() {
+                return String.format(Locale.ROOT,
+                        "completadas=%d, canceladas=%d, espera media=%.2fms, ejecución media=%.2fms, espera máx=%.2fms",
+                        completadas, canceladas, esperaMediaNanos / 1e6, ejecucionMediaNanos / 1e6,
+                        esperaMaximaNanos / 1e6);
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.manager.kdramas.imagenes;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * AlmacenPortadas - Almacén en disco de portadas direccionado por el hash de su URL.
+
+ * Responsabilidades:
+ * - Guardar cada portada en un archivo cuyo nombre es el SHA-256 de su URL.
+ * - Escribir de forma atómica: el archivo definitivo solo aparece cuando está completo.
+ * - Mantener el tamaño total por debajo de un presupuesto de bytes, eliminando primero
+ *   las portadas usadas hace más tiempo (LRU).
+ * - No depende de Android, para poder probarse en la JVM.
+ */
+public final class AlmacenPortadas {
+
+    private static final String SUFIJO_TEMPORAL = ".tmp";
+    private static final int TAMANIO_BUFFER = 16 * 1024;
+
+    private final File directorio;
+    private final long presupuestoBytes;
+
+    // Portadas guardadas y su tamaño, en orden de uso (la primera es la usada hace más tiempo)
+    private final LinkedHashMap<String, Long> indice = new LinkedHashMap<>(64, 0.75f, true);
+    private long tamanioTotal;
+    private boolean indiceCargado;
+
+    /**
+     * Constructor del almacén. El directorio se recorre la primera vez que se necesita el índice,
+     * no al construir, para no hacer E/S en el hilo que crea el almacén.
+     *
+     * @param directorio       Directorio exclusivo del almacén; se crea si no existe.
+     * @param presupuestoBytes Tamaño total máximo de las portadas guardadas.
+     */
+    public AlmacenPortadas(File directorio, long presupuestoBytes) {
+        if (presupuestoBytes <= 0) {
+            throw new IllegalArgumentException("Presupuesto no válido: " + presupuestoBytes);
+        }
+        this.directorio = directorio;
+        this.presupuestoBytes = presupuestoBytes;
+    }
+
+    /**
+     * Calcula la clave de una URL: su SHA-256 en hexadecimal.
+     *
+     * @param url URL de la portada.
+     * @return Clave de 64 caracteres.
+     */
+    public static String claveDe(String url) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                hex[i * 2] = Character.forDigit((hash[i] >> 4) & 0xF, 16);
+                hex[i * 2 + 1] = Character.forDigit(hash[i] & 0xF, 16);
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Devuelve la ruta de una portada sin comprobar que exista, para usarla desde el hilo principal.
+     * Si la portada está en el índice, cuenta como uso reciente.
+     *
+     * @param clave Clave de la portada.
+     * @return Archivo donde está (o estaría) guardada.
+     */
+    public File archivoDe(String clave) {
+        synchronized (this) {
+            if (indiceCargado) {
+                indice.get(clave);
+            }
+        }
+        return new File(directorio, clave);
+    }
+
+    /**
+     * Busca una portada guardada y la marca como usada recientemente.
+     *
+     * @param clave Clave de la portada.
+     * @return Archivo de la portada, o null si no está guardada.
+     */
+    public synchronized File obtener(String clave) {
+        cargarIndice();
+        if (indice.get(clave) == null) {
+            return null;
+        }
+        File archivo = new File(directorio, clave);
+        if (!archivo.isFile()) {
+            // Borrada desde fuera del almacén
+            Long tamanio = indice.remove(clave);
+            tamanioTotal -= tamanio != null ? tamanio : 0;
+            return null;
+        }
+        return archivo;
+    }
+
+    /**
+     * Guarda una portada leyendo todo el flujo. Los datos se escriben en un archivo temporal que
+     * se renombra al terminar; después se eliminan portadas antiguas hasta cumplir el presupuesto.
+     *
+     * @param clave Clave de la portada.
+     * @param datos Contenido de la imagen; no se cierra.
+     * @return Archivo de la portada guardada.
+     * @throws IOException si no se puede escribir.
+     */
+    public File guardar(String clave, InputStream datos) throws IOException {
+        synchronized (this) {
+            cargarIndice();
+        }
+        if (!directorio.isDirectory() && !directorio.mkdirs()) {
+            throw new IOException("No se pudo crear " + directorio);
+        }
+
+        // La escritura se hace fuera del monitor para no bloquear las consultas del índice
+        File temporal = File.createTempFile(clave, SUFIJO_TEMPORAL, directorio);
+        try {
+            try (OutputStream salida = new FileOutputStream(temporal)) {
+                byte[] buffer = new byte[TAMANIO_BUFFER];
+                int leidos;
+                while ((leidos = datos.read(buffer)) != -1) {
+                    salida.write(buffer, 0, leidos);
+                }
+            }
+
+            synchronized (this) {
+                File destino = new File(directorio, clave);
+                if (!temporal.renameTo(destino)) {
+                    throw new IOException("No se pudo guardar la portada " + clave);
+                }
+                Long anterior = indice.put(clave, destino.length());
+                tamanioTotal += destino.length() - (anterior != null ? anterior : 0);
+                liberarEspacio(clave);
+                return destino;
+            }
+        } finally {
+            if (temporal.exists()) {
+                temporal.delete();
+            }
+        }
+    }
+
+    /**
+     * @return Tamaño total en bytes de las portadas guardadas.
+     */
+    public synchronized long getTamanioTotal() {
+        cargarIndice();
+        return tamanioTotal;
+    }
+
+    /**
+     * @return Número de portadas guardadas.
+     */
+    public synchronized int getCantidad() {
+        cargarIndice();
+        return indice.size();
+    }
+
+    /**
+     * Elimina las portadas usadas hace más tiempo hasta cumplir el presupuesto.
+     * La portada recién guardada se conserva aunque por sí sola lo supere.
+     *
+     * @param protegida Clave que no debe eliminarse.
+     */
+    private void liberarEspacio(String protegida) {
+        Iterator<Map.Entry<String, Long>> entradas = indice.entrySet().iterator();
+        while (tamanioTotal > presupuestoBytes && entradas.hasNext()) {
+            Map.Entry<String, Long> entrada = entradas.next();
+            if (entrada.getKey().equals(protegida)) {
+                continue;
+            }
+            new File(directorio, entrada.getKey()).delete();
+            tamanioTotal -= entrada.getValue();
+            entradas.remove();
+        }
+    }
+
+    /**
+     * Construye el índice a partir del directorio la primera vez que se necesita.
+     * Entre sesiones, el orden de uso se aproxima por la fecha de modificación de cada archivo.
+     * Los temporales que quedaron de una escritura interrumpida se eliminan.
+     */
+    private void cargarIndice() {
+        if (indiceCargado) {
+            return;
+        }
+        indiceCargado = true;
+        File[] archivos = directorio.listFiles();
+        if (archivos == null) {
+            return;
+        }
+        Arrays.sort(archivos, Comparator.comparingLong(File::lastModified));
+        for (File archivo : archivos) {
+            if (archivo.getName().endsWith(SUFIJO_TEMPORAL)) {
+                archivo.delete();
+            } else if (archivo.isFile()) {
+                indice.put(archivo.getName(), archivo.length());
+                tamanioTotal += archivo.length();
+            }
+        }
+        liberarEspacio(null);
+    }
+}
@@ -0,0 +1,62 @@
+package com.manager.kdramas.imagenes;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * DescargadorPortadas - Descarga portadas por HTTP y las guarda en el {@link AlmacenPortadas}.
+
+ * Responsabilidades:
+ * - Devolver la copia local si la portada ya está guardada, sin usar la red.
+ * - Descargar y guardar la portada en caso contrario.
+ * - No depende de Android, para poder probarse en la JVM con un servidor local.
+ */
+public final class DescargadorPortadas {
+
+    private static final int TIEMPO_CONEXION_MS = 10_000;
+    private static final int TIEMPO_LECTURA_MS = 20_000;
+
+    private final AlmacenPortadas almacen;
+
+    /**
+     * @param almacen Almacén donde se guardan las portadas.
+     */
+    public DescargadorPortadas(AlmacenPortadas almacen) {
+        this.almacen = almacen;
+    }
+
+    /**
+     * Obtiene la portada de una URL, descargándola solo si no está en el almacén.
+     * Realiza E/S de red y disco: no debe llamarse desde el hilo principal.
+     *
+     * @param url URL HTTP(S) de la portada.
+     * @return Archivo local de la portada.
+     * @throws IOException si la descarga falla o el servidor no responde 200.
+     */
+    public File obtener(String url) throws IOException {
+        String clave = AlmacenPortadas.claveDe(url);
+        File guardada = almacen.obtener(clave);
+        if (guardada != null) {
+            return guardada;
+        }
+
+        HttpURLConnection conexion = (HttpURLConnection) new URL(url).openConnection();
+        conexion.setConnectTimeout(TIEMPO_CONEXION_MS);
+        conexion.setReadTimeout(TIEMPO_LECTURA_MS);
+        conexion.setInstanceFollowRedirects(true);
+        try {
+            int codigo = conexion.getResponseCode();
+            if (codigo != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Respuesta " + codigo + " al descargar " + url);
+            }
+            try (InputStream entrada = conexion.getInputStream()) {
+                return almacen.guardar(clave, entrada);
+            }
+        } finally {
+            conexion.disconnect();
+        }
+    }
+}
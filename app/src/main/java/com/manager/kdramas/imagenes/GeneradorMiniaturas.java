@@ -0,0 +1,114 @@
+package com.manager.kdramas.imagenes;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * GeneradorMiniaturas - Crea miniaturas del tamaño exacto de la tarjeta a partir de las portadas descargadas.
+
+ * Responsabilidades:
+ * - Decodificar la portada submuestreada (inSampleSize) en lugar de a resolución completa.
+ * - Usar RGB_565, que ocupa la mitad de memoria que ARGB_8888; las portadas no tienen transparencia.
+ * - Recortar al centro y escalar al tamaño de la tarjeta, y guardar el resultado como JPEG.
+ */
+public final class GeneradorMiniaturas {
+
+    private static final int CALIDAD_JPEG = 85;
+
+    private final int ancho;
+    private final int alto;
+
+    /**
+     * @param anchoPx Ancho de la miniatura en píxeles.
+     * @param altoPx  Alto de la miniatura en píxeles.
+     */
+    public GeneradorMiniaturas(int anchoPx, int altoPx) {
+        this.ancho = anchoPx;
+        this.alto = altoPx;
+    }
+
+    /**
+     * Calcula la mayor potencia de dos por la que puede dividirse la imagen de origen
+     * sin que ninguna de sus dimensiones quede por debajo del destino.
+     *
+     * @param anchoOrigen  Ancho de la imagen de origen.
+     * @param altoOrigen   Alto de la imagen de origen.
+     * @param anchoDestino Ancho requerido.
+     * @param altoDestino  Alto requerido.
+     * @return Valor para BitmapFactory.Options.inSampleSize (1 si no se puede reducir).
+     */
+    static int calcularInSampleSize(int anchoOrigen, int altoOrigen, int anchoDestino, int altoDestino) {
+        int muestra = 1;
+        while (anchoOrigen / (muestra * 2) >= anchoDestino && altoOrigen / (muestra * 2) >= altoDestino) {
+            muestra *= 2;
+        }
+        return muestra;
+    }
+
+    /**
+     * Decodifica la portada submuestreada y la recorta al tamaño de la tarjeta.
+     *
+     * @param origen Archivo de la portada completa.
+     * @return Miniatura en RGB_565 del tamaño configurado.
+     * @throws IOException si el archivo no es una imagen válida.
+     */
+    public Bitmap decodificar(File origen) throws IOException {
+        BitmapFactory.Options opciones = new BitmapFactory.Options();
+        opciones.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(origen.getPath(), opciones);
+        if (opciones.outWidth <= 0 || opciones.outHeight <= 0) {
+            throw new IOException("Imagen no válida: " + origen.getName());
+        }
+
+        opciones.inJustDecodeBounds = false;
+        opciones.inSampleSize = calcularInSampleSize(opciones.outWidth, opciones.outHeight, ancho, alto);
+        opciones.inPreferredConfig = Bitmap.Config.RGB_565;
+        Bitmap submuestreada = BitmapFactory.decodeFile(origen.getPath(), opciones);
+        if (submuestreada == null) {
+            throw new IOException("No se pudo decodificar " + origen.getName());
+        }
+
+        // Recorte centrado con la proporción del destino, escalado al tamaño exacto
+        float escala = Math.max((float) ancho / submuestreada.getWidth(), (float) alto / submuestreada.getHeight());
+        int anchoRecorte = Math.round(ancho / escala);
+        int altoRecorte = Math.round(alto / escala);
+        int izquierda = (submuestreada.getWidth() - anchoRecorte) / 2;
+        int arriba = (submuestreada.getHeight() - altoRecorte) / 2;
+
+        Bitmap miniatura = Bitmap.createBitmap(ancho, alto, Bitmap.Config.RGB_565);
+        new Canvas(miniatura).drawBitmap(submuestreada,
+                new Rect(izquierda, arriba, izquierda + anchoRecorte, arriba + altoRecorte),
+                new Rect(0, 0, ancho, alto),
+                new Paint(Paint.FILTER_BITMAP_FLAG));
+        submuestreada.recycle();
+        return miniatura;
+    }
+
+    /**
+     * Genera la miniatura de una portada y la guarda en el almacén de miniaturas con la misma clave.
+     * Realiza E/S y decodificación: no debe llamarse desde el hilo principal.
+     *
+     * @param origen  Archivo de la portada completa.
+     * @param destino Almacén de miniaturas.
+     * @param clave   Clave de la portada.
+     * @return Archivo de la miniatura.
+     * @throws IOException si la portada no se puede decodificar o la miniatura no se puede guardar.
+     */
+    public File generar(File origen, AlmacenPortadas destino, String clave) throws IOException {
+        Bitmap miniatura = decodificar(origen);
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        try {
+            miniatura.compress(Bitmap.CompressFormat.JPEG, CALIDAD_JPEG, jpeg);
+        } finally {
+            miniatura.recycle();
+        }
+        return destino.guardar(clave, new ByteArrayInputStream(jpeg.toByteArray()));
+    }
+}
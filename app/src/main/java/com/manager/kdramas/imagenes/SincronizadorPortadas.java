@@ -0,0 +1,178 @@
+package com.manager.kdramas.imagenes;
+
+import android.content.Context;
+import android.os.Process;
+import com.manager.kdramas.R;
+import com.manager.kdramas.executors.DataExecutor;
+import com.manager.kdramas.model.Kdrama;
+import com.manager.kdramas.repositories.CatalogoEnMemoria;
+import com.manager.kdramas.repositories.KdramaRepository;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SincronizadorPortadas - Descarga en segundo plano las portadas del catálogo para usarlas sin conexión.
+
+ * Responsabilidades:
+ * - Mantener el almacén local de portadas de la aplicación y su presupuesto de bytes.
+ * - Descargar las portadas de los K-Dramas cargados en hilos de red propios, sin ocupar
+ *   el pool de lectura de la base de datos.
+ * - Generar una sola vez, tras la descarga, la miniatura del tamaño de la tarjeta que usa la lista.
+ * - Registrar en la fila del K-Drama la clave de su portada local y actualizar el catálogo en memoria.
+ */
+public final class SincronizadorPortadas {
+
+    // Espacio máximo ocupado por las portadas descargadas
+    private static final long PRESUPUESTO_BYTES = 64L * 1024 * 1024;
+
+    // Espacio máximo ocupado por las miniaturas (unos 15 KB cada una)
+    private static final long PRESUPUESTO_MINIATURAS_BYTES = 16L * 1024 * 1024;
+
+    // Descargas simultáneas
+    private static final int HILOS_DESCARGA = 2;
+
+    private static volatile SincronizadorPortadas instancia;
+
+    private final AlmacenPortadas almacen;
+    private final AlmacenPortadas miniaturas;
+    private final DescargadorPortadas descargador;
+    private final GeneradorMiniaturas generador;
+    private final KdramaRepository repository;
+    private final DataExecutor dataExecutor = DataExecutor.getInstance();
+    private final CatalogoEnMemoria catalogo = CatalogoEnMemoria.getInstance();
+    private final ExecutorService descargas;
+
+    // Claves con una descarga encolada o en curso, para no repetir la misma portada
+    private final Set<String> pendientes = ConcurrentHashMap.newKeySet();
+
+    private SincronizadorPortadas(Context context) {
+        almacen = new AlmacenPortadas(new File(context.getFilesDir(), "portadas"), PRESUPUESTO_BYTES);
+        miniaturas = new AlmacenPortadas(new File(context.getFilesDir(), "miniaturas"), PRESUPUESTO_MINIATURAS_BYTES);
+        descargador = new DescargadorPortadas(almacen);
+        generador = new GeneradorMiniaturas(
+                context.getResources().getDimensionPixelSize(R.dimen.portada_miniatura_ancho),
+                context.getResources().getDimensionPixelSize(R.dimen.portada_miniatura_alto));
+        repository = new KdramaRepository(context);
+        AtomicInteger contador = new AtomicInteger();
+        descargas = new ThreadPoolExecutor(HILOS_DESCARGA, HILOS_DESCARGA, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread hilo = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                runnable.run();
+            }, "kdramas-portadas-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Devuelve el sincronizador compartido, creándolo la primera vez.
+     *
+     * @param context Cualquier contexto; se conserva solo el de aplicación.
+     * @return Instancia única del sincronizador.
+     */
+    public static SincronizadorPortadas getInstance(Context context) {
+        SincronizadorPortadas local = instancia;
+        if (local == null) {
+            synchronized (SincronizadorPortadas.class) {
+                local = instancia;
+                if (local == null) {
+                    local = new SincronizadorPortadas(context.getApplicationContext());
+                    instancia = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * @return Almacén de portadas completas, disponibles para vistas de detalle.
+     */
+    public AlmacenPortadas getAlmacen() {
+        return almacen;
+    }
+
+    /**
+     * @return Almacén de miniaturas del tamaño de la tarjeta, usadas por la lista.
+     */
+    public AlmacenPortadas getMiniaturas() {
+        return miniaturas;
+    }
+
+    /**
+     * Encola la descarga de las portadas de los K-Dramas que tienen URL.
+     * Si la portada ya está en el almacén no se descarga de nuevo; solo se registra su clave
+     * cuando la fila aún no la tiene.
+     *
+     * @param kdramas K-Dramas recién cargados o modificados.
+     */
+    public void programar(List<Kdrama> kdramas) {
+        for (Kdrama kdrama : kdramas) {
+            String url = kdrama.getImagenUrl();
+            if (url == null || url.trim().isEmpty() || !kdrama.tieneId()) {
+                continue;
+            }
+            String clave = AlmacenPortadas.claveDe(url);
+            if (!pendientes.add(clave)) {
+                continue;
+            }
+            long id = kdrama.getId();
+            boolean registrada = clave.equals(kdrama.getImagenLocal());
+            descargas.execute(() -> {
+                try {
+                    File portada = descargador.obtener(url);
+                    generarMiniatura(portada, clave);
+                    if (!registrada) {
+                        registrar(id, url, clave);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // Sin conexión o URL inválida: la lista sigue usando la URL remota
+                } finally {
+                    pendientes.remove(clave);
+                }
+            });
+        }
+    }
+
+    /**
+     * Genera la miniatura de una portada si aún no existe. Si la portada no se puede decodificar,
+     * la lista usará la portada completa.
+     */
+    private void generarMiniatura(File portada, String clave) {
+        if (miniaturas.obtener(clave) != null) {
+            return;
+        }
+        try {
+            generador.generar(portada, miniaturas, clave);
+        } catch (IOException | RuntimeException e) {
+            // Formato no soportado o sin espacio: no hay miniatura para esta portada
+        }
+    }
+
+    /**
+     * Guarda la clave de la portada en la fila y actualiza el catálogo en memoria.
+     * Se ejecuta en el carril de escritura.
+     */
+    private void registrar(long id, String url, String clave) {
+        dataExecutor.ejecutarEscritura(() -> {
+            try {
+                if (repository.actualizarImagenLocal(id, url, clave) > 0) {
+                    Kdrama actualizado = repository.obtenerKdramaPorId(id);
+                    if (actualizado != null) {
+                        catalogo.aplicarActualizacion(actualizado);
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Se volverá a registrar la próxima vez que se cargue la fila
+            }
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package com.manager.kdramas.io;
+
+import com.manager.kdramas.model.EstadoVisionado;
+import com.manager.kdramas.model.Kdrama;
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * CamposCatalogo - Nombres de campo y conversiones compartidas por los formatos de catálogo (CSV y JSON).
+
+ * Responsabilidades:
+ * - Reconocer los nombres de campo con o sin tildes y sin distinguir mayúsculas.
+ * - Convertir los valores de texto a los tipos del modelo sin lanzar excepciones.
+ */
+final class CamposCatalogo {
+
+    static final int TITULO = 0;
+    static final int GENERO = 1;
+    static final int ANIO = 2;
+    static final int CAPITULOS = 3;
+    static final int CALIFICACION = 4;
+    static final int ESTADO = 5;
+    static final int IMAGEN_URL = 6;
+    static final int TOTAL = 7;
+
+    // Nombres de campo normalizados, en el orden de las constantes anteriores
+    static final String[] NOMBRES = {
+            "titulo", "genero", "anio", "capitulos", "calificacion", "estado", "imagen_url"
+    };
+
+    private CamposCatalogo() {
+    }
+
+    /**
+     * Obtiene el índice de campo correspondiente a un nombre de columna o propiedad.
+     *
+     * @param nombre Nombre tal como aparece en el archivo.
+     * @return Índice del campo, o -1 si no se reconoce.
+     */
+    static int indiceDe(String nombre) {
+        String normalizado = Normalizer.normalize(nombre.replace("\uFEFF", "").trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        if (normalizado.equals("ano")) {
+            return ANIO;
+        }
+        if (normalizado.equals("finalizado")) {
+            return ESTADO;
+        }
+        for (int i = 0; i < NOMBRES.length; i++) {
+            if (NOMBRES[i].equals(normalizado)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Construye un K-Drama a partir de los valores de texto de un registro.
+     *
+     * @param valores Valores indexados por las constantes de campo; pueden ser null.
+     * @return K-Drama con los valores convertidos.
+     */
+    static Kdrama crearKdrama(String[] valores) {
+        Kdrama kdrama = new Kdrama(
+                texto(valores[TITULO]),
+                texto(valores[GENERO]),
+                entero(valores[ANIO]),
+                entero(valores[CAPITULOS]),
+                decimal(valores[CALIFICACION]));
+        kdrama.setEstado(estado(valores[ESTADO]));
+        kdrama.setImagenUrl(texto(valores[IMAGEN_URL]));
+        return kdrama;
+    }
+
+    private static String texto(String valor) {
+        return valor == null ? "" : valor.trim();
+    }
+
+    private static int entero(String valor) {
+        try {
+            return valor == null ? 0 : Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static float decimal(String valor) {
+        try {
+            return valor == null ? 0f : Float.parseFloat(valor.trim());
+        } catch (NumberFormatException e) {
+            return 0f;
+        }
+    }
+
+    /**
+     * Acepta el código numérico del estado, su etiqueta ("Completado", etc.) y los valores lógicos
+     * de la antigua columna 'finalizado' (true es COMPLETADO y false, VIENDO).
+     */
+    private static EstadoVisionado estado(String valor) {
+        if (valor == null || valor.trim().isEmpty()) {
+            return EstadoVisionado.VIENDO;
+        }
+        String limpio = valor.trim();
+        if (limpio.equalsIgnoreCase("true")) {
+            return EstadoVisionado.COMPLETADO;
+        }
+        if (limpio.equalsIgnoreCase("false")) {
+            return EstadoVisionado.VIENDO;
+        }
+        for (EstadoVisionado estado : EstadoVisionado.values()) {
+            if (estado.getEtiqueta().equalsIgnoreCase(limpio)) {
+                return estado;
+            }
+        }
+        return EstadoVisionado.desdeCodigo(entero(limpio));
+    }
+}
@@ -0,0 +1,185 @@
+package com.manager.kdramas.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * EscritorCanal - Escritor de texto UTF-8 con búfer sobre un canal NIO.
+
+ * Responsabilidades:
+ * - Acumular caracteres en un búfer fijo, codificarlos en UTF-8 sobre un búfer directo
+ *   y escribirlo en el canal solo cuando se llena, en bloques grandes.
+ * - Escapar campos CSV (RFC 4180) y cadenas JSON sin construir cadenas intermedias.
+ * - Usar memoria constante: los búferes se reservan una vez y no crecen con el volumen escrito.
+ */
+final class EscritorCanal {
+
+    private static final int TAMANIO_BUFER_BYTES = 64 * 1024;
+    private static final int TAMANIO_BUFER_CARACTERES = 16 * 1024;
+    private static final char[] HEXADECIMAL = "0123456789abcdef".toCharArray();
+
+    private final WritableByteChannel canal;
+    private final CharsetEncoder codificador = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer caracteres = CharBuffer.allocate(TAMANIO_BUFER_CARACTERES);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(TAMANIO_BUFER_BYTES);
+    private long bytesEscritos;
+
+    /**
+     * @param canal Canal de destino. No se cierra al terminar.
+     */
+    EscritorCanal(WritableByteChannel canal) {
+        this.canal = canal;
+    }
+
+    void escribir(char caracter) throws IOException {
+        if (!caracteres.hasRemaining()) {
+            codificar(false);
+        }
+        caracteres.put(caracter);
+    }
+
+    void escribir(String texto) throws IOException {
+        int desde = 0;
+        int longitud = texto.length();
+        while (desde < longitud) {
+            if (!caracteres.hasRemaining()) {
+                codificar(false);
+            }
+            int hasta = Math.min(longitud, desde + caracteres.remaining());
+            caracteres.put(texto, desde, hasta);
+            desde = hasta;
+        }
+    }
+
+    void escribir(long numero) throws IOException {
+        escribir(Long.toString(numero));
+    }
+
+    void escribir(float numero) throws IOException {
+        escribir(Float.toString(numero));
+    }
+
+    /**
+     * Escribe un campo CSV. Se encierra entre comillas solo si contiene comas, comillas o saltos de línea,
+     * y las comillas internas se duplican. Un valor null se escribe como campo vacío.
+     *
+     * @param valor Valor del campo.
+     */
+    void escribirCampoCsv(String valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        boolean requiereComillas = false;
+        for (int i = 0; i < valor.length() && !requiereComillas; i++) {
+            char c = valor.charAt(i);
+            requiereComillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!requiereComillas) {
+            escribir(valor);
+            return;
+        }
+        escribir('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"') {
+                escribir('"');
+            }
+            escribir(c);
+        }
+        escribir('"');
+    }
+
+    /**
+     * Escribe una cadena JSON entre comillas, escapando comillas, barras y caracteres de control.
+     * Un valor null se escribe como el literal null.
+     *
+     * @param valor Valor de la cadena.
+     */
+    void escribirCadenaJson(String valor) throws IOException {
+        if (valor == null) {
+            escribir("null");
+            return;
+        }
+        escribir('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"':
+                    escribir("\\\"");
+                    break;
+                case '\\':
+                    escribir("\\\\");
+                    break;
+                case '\n':
+                    escribir("\\n");
+                    break;
+                case '\r':
+                    escribir("\\r");
+                    break;
+                case '\t':
+                    escribir("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        escribir("\\u00");
+                        escribir(HEXADECIMAL[c >> 4]);
+                        escribir(HEXADECIMAL[c & 0xF]);
+                    } else {
+                        escribir(c);
+                    }
+            }
+        }
+        escribir('"');
+    }
+
+    /**
+     * Codifica y escribe en el canal todo lo pendiente. Debe llamarse una vez, al final.
+     */
+    void terminar() throws IOException {
+        codificar(true);
+        while (codificador.flush(bytes).isOverflow()) {
+            vaciarBytes();
+        }
+        vaciarBytes();
+    }
+
+    /**
+     * @return Bytes escritos en el canal hasta el momento.
+     */
+    long getBytesEscritos() {
+        return bytesEscritos;
+    }
+
+    /**
+     * Codifica los caracteres acumulados. Un sustituto alto al final del búfer se conserva
+     * hasta recibir su pareja, salvo al terminar.
+     */
+    private void codificar(boolean finDeEntrada) throws IOException {
+        caracteres.flip();
+        while (true) {
+            CoderResult resultado = codificador.encode(caracteres, bytes, finDeEntrada);
+            if (resultado.isOverflow()) {
+                vaciarBytes();
+            } else {
+                break;
+            }
+        }
+        caracteres.compact();
+    }
+
+    private void vaciarBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            bytesEscritos += canal.write(bytes);
+        }
+        bytes.clear();
+    }
+}
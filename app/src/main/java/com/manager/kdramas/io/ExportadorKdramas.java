@@ -0,0 +1,249 @@
+package com.manager.kdramas.io;
+
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
+import com.manager.kdramas.model.Kdrama;
+import com.manager.kdramas.repositories.KdramaRepository;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.Locale;
+
+/**
+ * ExportadorKdramas - Exporta el catálogo completo a CSV o JSON en memoria constante.
+
+ * Responsabilidades:
+ * - Recorrer el catálogo por bloques de ID y escribir cada fila directamente desde el cursor,
+ *   sin construir la lista completa de K-Dramas.
+ * - Escribir mediante un {@link EscritorCanal} sobre un canal NIO, en bloques grandes.
+ * - Generar archivos que {@link ImportadorKdramas} puede volver a importar.
+ * - Informar del progreso tras cada bloque y detenerse si se solicita la cancelación.
+ */
+public final class ExportadorKdramas {
+
+    // Filas leídas por consulta
+    public static final int TAMANIO_BLOQUE = 1000;
+
+    /**
+     * Recibe el avance de la exportación después de cada bloque.
+     */
+    public interface ProgresoExportacion {
+        void onProgreso(int exportadas);
+    }
+
+    private final KdramaRepository kdramaRepository;
+
+    /**
+     * Constructor del exportador.
+     *
+     * @param kdramaRepository Repositorio del que se leen las filas.
+     */
+    public ExportadorKdramas(KdramaRepository kdramaRepository) {
+        this.kdramaRepository = kdramaRepository;
+    }
+
+    /**
+     * Escribe el catálogo en el canal con el formato indicado.
+     * Si se cancela, el contenido escrito hasta ese momento queda incompleto.
+     *
+     * @param canal    Canal de destino; no se cierra.
+     * @param formato  Formato del archivo.
+     * @param senal    Señal de cancelación; puede ser null.
+     * @param progreso Receptor del avance; puede ser null.
+     * @return Resumen con filas y bytes escritos y rendimiento.
+     * @throws IOException si el canal no puede escribirse.
+     */
+    public ResultadoExportacion exportar(WritableByteChannel canal, ImportadorKdramas.Formato formato,
+                                         CancellationSignal senal, ProgresoExportacion progreso) throws IOException {
+        long inicio = System.nanoTime();
+        EscritorCanal escritor = new EscritorCanal(canal);
+        EscrituraFilas escritura = formato == ImportadorKdramas.Formato.JSON
+                ? new EscrituraJson(escritor) : new EscrituraCsv(escritor);
+        Kdrama fila = new Kdrama();
+        boolean cancelada = false;
+
+        escritura.comenzar();
+        long despuesDeId = Kdrama.ID_NUEVO;
+        try {
+            while (true) {
+                if (senal != null && senal.isCanceled()) {
+                    cancelada = true;
+                    break;
+                }
+                int leidas = kdramaRepository.recorrerBloque(despuesDeId, TAMANIO_BLOQUE, fila, escritura, senal);
+                if (leidas == 0) {
+                    break;
+                }
+                despuesDeId = fila.getId();
+                if (progreso != null) {
+                    progreso.onProgreso(escritura.filas);
+                }
+                if (leidas < TAMANIO_BLOQUE) {
+                    break;
+                }
+            }
+        } catch (OperationCanceledException e) {
+            cancelada = true;
+        }
+        if (!cancelada) {
+            escritura.terminar();
+        }
+        escritor.terminar();
+
+        return new ResultadoExportacion(escritura.filas, escritor.getBytesEscritos(), cancelada,
+                System.nanoTime() - inicio);
+    }
+
+    /**
+     * Da formato a las filas recibidas del repositorio.
+     */
+    private abstract static class EscrituraFilas implements KdramaRepository.RecorridoCatalogo {
+
+        final EscritorCanal escritor;
+        int filas;
+
+        EscrituraFilas(EscritorCanal escritor) {
+            this.escritor = escritor;
+        }
+
+        abstract void comenzar() throws IOException;
+
+        abstract void terminar() throws IOException;
+    }
+
+    /**
+     * Encabezado con los nombres de campo y una línea por K-Drama. El estado se escribe por su código.
+     */
+    private static final class EscrituraCsv extends EscrituraFilas {
+
+        EscrituraCsv(EscritorCanal escritor) {
+            super(escritor);
+        }
+
+        @Override
+        void comenzar() throws IOException {
+            escritor.escribir(String.join(",", CamposCatalogo.NOMBRES));
+            escritor.escribir('\n');
+        }
+
+        @Override
+        public void fila(Kdrama kdrama) throws IOException {
+            escritor.escribirCampoCsv(kdrama.getTitulo());
+            escritor.escribir(',');
+            escritor.escribirCampoCsv(kdrama.getGenero());
+            escritor.escribir(',');
+            escritor.escribir(kdrama.getAnio());
+            escritor.escribir(',');
+            escritor.escribir(kdrama.getCapitulos());
+            escritor.escribir(',');
+            escritor.escribir(kdrama.getCalificacion());
+            escritor.escribir(',');
+            escritor.escribir(kdrama.getEstado().getCodigo());
+            escritor.escribir(',');
+            escritor.escribirCampoCsv(kdrama.getImagenUrl());
+            escritor.escribir('\n');
+            filas++;
+        }
+
+        @Override
+        void terminar() {
+        }
+    }
+
+    /**
+     * Arreglo de objetos, uno por línea, con los mismos nombres de campo que el CSV.
+     */
+    private static final class EscrituraJson extends EscrituraFilas {
+
+        EscrituraJson(EscritorCanal escritor) {
+            super(escritor);
+        }
+
+        @Override
+        void comenzar() throws IOException {
+            escritor.escribir('[');
+        }
+
+        @Override
+        public void fila(Kdrama kdrama) throws IOException {
+            escritor.escribir(filas == 0 ? "\n{" : ",\n{");
+            propiedad(CamposCatalogo.TITULO);
+            escritor.escribirCadenaJson(kdrama.getTitulo());
+            propiedad(CamposCatalogo.GENERO);
+            escritor.escribirCadenaJson(kdrama.getGenero());
+            propiedad(CamposCatalogo.ANIO);
+            escritor.escribir(kdrama.getAnio());
+            propiedad(CamposCatalogo.CAPITULOS);
+            escritor.escribir(kdrama.getCapitulos());
+            propiedad(CamposCatalogo.CALIFICACION);
+            escritor.escribir(kdrama.getCalificacion());
+            propiedad(CamposCatalogo.ESTADO);
+            escritor.escribir(kdrama.getEstado().getCodigo());
+            propiedad(CamposCatalogo.IMAGEN_URL);
+            escritor.escribirCadenaJson(kdrama.getImagenUrl());
+            escritor.escribir('}');
+            filas++;
+        }
+
+        private void propiedad(int campo) throws IOException {
+            if (campo != CamposCatalogo.TITULO) {
+                escritor.escribir(',');
+            }
+            escritor.escribir('"');
+            escritor.escribir(CamposCatalogo.NOMBRES[campo]);
+            escritor.escribir("\":");
+        }
+
+        @Override
+        void terminar() throws IOException {
+            escritor.escribir("\n]\n");
+        }
+    }
+
+    /**
+     * Resumen inmutable de una exportación.
+     */
+    public static final class ResultadoExportacion {
+
+        private final int exportadas;
+        private final long bytes;
+        private final boolean cancelada;
+        private final long duracionNanos;
+
+        ResultadoExportacion(int exportadas, long bytes, boolean cancelada, long duracionNanos) {
+            this.exportadas = exportadas;
+            this.bytes = bytes;
+            this.cancelada = cancelada;
+            this.duracionNanos = duracionNanos;
+        }
+
+        public int getExportadas() {
+            return exportadas;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public boolean fueCancelada() {
+            return cancelada;
+        }
+
+        public long getDuracionNanos() {
+            return duracionNanos;
+        }
+
+        /**
+         * @return Filas escritas por segundo durante la exportación.
+         */
+        public double getFilasPorSegundo() {
+            return duracionNanos == 0 ? 0 : exportadas * 1_000_000_000.0 / duracionNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.getDefault(),
+                    "%d exportados, %.1f KB%s (%.0f filas/s)",
+                    exportadas, bytes / 1024.0, cancelada ? ", cancelada" : "", getFilasPorSegundo());
+        }
+    }
+}
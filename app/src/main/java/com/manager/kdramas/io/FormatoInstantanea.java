@@ -0,0 +1,175 @@
+package com.manager.kdramas.io;
+
+import com.manager.kdramas.model.EstadoVisionado;
+import com.manager.kdramas.model.Kdrama;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * FormatoInstantanea - Formato binario compacto de la instantánea de la lista de K-Dramas.
+
+ * Responsabilidades:
+ * - Codificar los campos visibles en la lista (id, título, género, año, capítulos, calificación,
+ *   estado y referencias de portada) en un único bloque de bytes.
+ * - Encabezar el bloque con firma, versión del formato, versión del esquema y CRC-32 de los datos.
+ * - Decodificar directamente desde un búfer, que puede estar mapeado en memoria, y rechazar
+ *   bloques truncados, dañados o escritos por otra versión devolviendo null en lugar de lanzar.
+ *
+ * Estructura: encabezado de {@link #TAMANIO_ENCABEZADO} bytes (firma, versión del formato,
+ * versión del esquema, filas, longitud de los datos, CRC-32) seguido de una entrada por K-Drama.
+ * Las cadenas se guardan como longitud en bytes UTF-8 (-1 para null) y sus bytes.
+ */
+public final class FormatoInstantanea {
+
+    // "KDLS" en ASCII
+    static final int FIRMA = 0x4B444C53;
+
+    // Se incrementa con cualquier cambio en la estructura de las entradas
+    static final int VERSION_FORMATO = 1;
+
+    static final int TAMANIO_ENTERO = Integer.BYTES;
+    static final int TAMANIO_ENCABEZADO = 6 * TAMANIO_ENTERO;
+
+    private static final int LONGITUD_NULA = -1;
+
+    private FormatoInstantanea() {
+    }
+
+    /**
+     * Codifica los K-Dramas en un búfer listo para escribirse (posición 0, límite al final).
+     *
+     * @param kdramas        K-Dramas en el orden de la lista.
+     * @param versionEsquema Versión del esquema de la base de datos de la que proceden.
+     * @return Búfer con el encabezado y los datos.
+     */
+    public static ByteBuffer codificar(List<Kdrama> kdramas, int versionEsquema) {
+        byte[][] cadenas = new byte[kdramas.size() * 4][];
+        int longitudDatos = 0;
+        for (int i = 0; i < kdramas.size(); i++) {
+            Kdrama kdrama = kdramas.get(i);
+            cadenas[i * 4] = utf8(kdrama.getTitulo());
+            cadenas[i * 4 + 1] = utf8(kdrama.getGenero());
+            cadenas[i * 4 + 2] = utf8(kdrama.getImagenUrl());
+            cadenas[i * 4 + 3] = utf8(kdrama.getImagenLocal());
+            // id + año + capítulos + calificación + estado + cuatro longitudes
+            longitudDatos += Long.BYTES + 3 * TAMANIO_ENTERO + 1 + 4 * TAMANIO_ENTERO;
+            for (int c = 0; c < 4; c++) {
+                byte[] cadena = cadenas[i * 4 + c];
+                longitudDatos += cadena == null ? 0 : cadena.length;
+            }
+        }
+
+        ByteBuffer bufer = ByteBuffer.allocate(TAMANIO_ENCABEZADO + longitudDatos);
+        bufer.position(TAMANIO_ENCABEZADO);
+        for (int i = 0; i < kdramas.size(); i++) {
+            Kdrama kdrama = kdramas.get(i);
+            bufer.putLong(kdrama.getId());
+            bufer.putInt(kdrama.getAnio());
+            bufer.putInt(kdrama.getCapitulos());
+            bufer.putFloat(kdrama.getCalificacion());
+            bufer.put((byte) kdrama.getEstado().getCodigo());
+            for (int c = 0; c < 4; c++) {
+                escribirCadena(bufer, cadenas[i * 4 + c]);
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bufer.array(), TAMANIO_ENCABEZADO, longitudDatos);
+        bufer.position(0);
+        bufer.putInt(FIRMA)
+                .putInt(VERSION_FORMATO)
+                .putInt(versionEsquema)
+                .putInt(kdramas.size())
+                .putInt(longitudDatos)
+                .putInt((int) crc.getValue());
+        bufer.position(0);
+        return bufer;
+    }
+
+    /**
+     * Decodifica una instantánea. El búfer se lee desde su posición actual hasta su límite.
+     *
+     * @param bufer          Contenido completo de la instantánea.
+     * @param versionEsquema Versión actual del esquema; si no coincide, la instantánea se rechaza.
+     * @return K-Dramas en el orden guardado, o null si la instantánea no es válida.
+     */
+    public static List<Kdrama> decodificar(ByteBuffer bufer, int versionEsquema) {
+        ByteBuffer datos = bufer.slice();
+        if (datos.remaining() < TAMANIO_ENCABEZADO
+                || datos.getInt() != FIRMA
+                || datos.getInt() != VERSION_FORMATO
+                || datos.getInt() != versionEsquema) {
+            return null;
+        }
+        int filas = datos.getInt();
+        int longitudDatos = datos.getInt();
+        int crcEsperado = datos.getInt();
+        if (filas < 0 || longitudDatos != datos.remaining()) {
+            return null;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(datos.duplicate());
+        if ((int) crc.getValue() != crcEsperado) {
+            return null;
+        }
+
+        try {
+            List<Kdrama> kdramas = new ArrayList<>(filas);
+            for (int i = 0; i < filas; i++) {
+                Kdrama kdrama = new Kdrama();
+                kdrama.setId(datos.getLong());
+                kdrama.setAnio(datos.getInt());
+                kdrama.setCapitulos(datos.getInt());
+                kdrama.setCalificacion(datos.getFloat());
+                kdrama.setEstado(EstadoVisionado.desdeCodigo(datos.get()));
+                kdrama.setTitulo(leerCadena(datos));
+                kdrama.setGenero(leerCadena(datos));
+                kdrama.setImagenUrl(leerCadena(datos));
+                kdrama.setImagenLocal(leerCadena(datos));
+                kdramas.add(kdrama);
+            }
+            return datos.hasRemaining() ? null : kdramas;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] utf8(String texto) {
+        return texto == null ? null : texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void escribirCadena(ByteBuffer bufer, byte[] cadena) {
+        if (cadena == null) {
+            bufer.putInt(LONGITUD_NULA);
+            return;
+        }
+        bufer.putInt(cadena.length);
+        bufer.put(cadena);
+    }
+
+    private static String leerCadena(ByteBuffer datos) {
+        int longitud = datos.getInt();
+        if (longitud == LONGITUD_NULA) {
+            return null;
+        }
+        if (longitud < 0 || longitud > datos.remaining()) {
+            throw new IllegalArgumentException("Longitud de cadena no válida: " + longitud);
+        }
+        String cadena;
+        if (datos.hasArray()) {
+            cadena = new String(datos.array(), datos.arrayOffset() + datos.position(), longitud,
+                    StandardCharsets.UTF_8);
+            datos.position(datos.position() + longitud);
+        } else {
+            byte[] bytes = new byte[longitud];
+            datos.get(bytes);
+            cadena = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return cadena;
+    }
+}
@@ -0,0 +1,212 @@
+package com.manager.kdramas.io;
+
+import android.os.CancellationSignal;
+import com.manager.kdramas.model.Kdrama;
+import com.manager.kdramas.repositories.KdramaRepository;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ImportadorKdramas - Importa catálogos completos desde archivos CSV o JSON.
+
+ * Responsabilidades:
+ * - Leer el archivo de forma incremental mediante un {@link LectorKdramas}.
+ * - Descartar las filas que no cumplen {@link Kdrama#esValido()}.
+ * - Insertar las filas válidas en lotes transaccionales con una sentencia compilada reutilizada.
+ * - Informar del progreso tras cada lote y detenerse si se solicita la cancelación.
+ */
+public final class ImportadorKdramas {
+
+    // Filas insertadas por transacción
+    public static final int TAMANIO_LOTE = 500;
+
+    /**
+     * Formatos de archivo admitidos.
+     */
+    public enum Formato {
+        CSV,
+        JSON;
+
+        /**
+         * Deduce el formato a partir del tipo MIME o del nombre del archivo.
+         * Si no puede determinarse, se asume CSV.
+         *
+         * @param tipoMime Tipo MIME informado por el proveedor, puede ser null.
+         * @param nombre   Nombre o ruta del archivo, puede ser null.
+         * @return Formato deducido.
+         */
+        public static Formato deducir(String tipoMime, String nombre) {
+            if (tipoMime != null && tipoMime.toLowerCase(Locale.ROOT).contains("json")) {
+                return JSON;
+            }
+            if (nombre != null && nombre.toLowerCase(Locale.ROOT).endsWith(".json")) {
+                return JSON;
+            }
+            return CSV;
+        }
+    }
+
+    /**
+     * Recibe el avance de la importación después de cada lote.
+     */
+    public interface ProgresoImportacion {
+        void onProgreso(int procesadas, int insertadas, int rechazadas);
+    }
+
+    /**
+     * Recibe cada lote justo después de confirmarse, con los IDs ya asignados.
+     */
+    public interface DestinoLotes {
+        void onLoteConfirmado(List<Kdrama> lote);
+    }
+
+    private final KdramaRepository kdramaRepository;
+    private final DestinoLotes destino;
+
+    /**
+     * Constructor del importador.
+     *
+     * @param kdramaRepository Repositorio donde se insertan las filas.
+     */
+    public ImportadorKdramas(KdramaRepository kdramaRepository) {
+        this(kdramaRepository, null);
+    }
+
+    /**
+     * Constructor del importador que entrega cada lote confirmado, por ejemplo para incorporarlo
+     * al catálogo en memoria sin volver a leerlo.
+     *
+     * @param kdramaRepository Repositorio donde se insertan las filas.
+     * @param destino          Receptor de los lotes confirmados; puede ser null.
+     */
+    public ImportadorKdramas(KdramaRepository kdramaRepository, DestinoLotes destino) {
+        this.kdramaRepository = kdramaRepository;
+        this.destino = destino;
+    }
+
+    /**
+     * Crea el lector adecuado para el formato indicado. El texto se interpreta como UTF-8.
+     *
+     * @param entrada Flujo del archivo; se cierra al cerrar el lector.
+     * @param formato Formato del archivo.
+     * @return Lector listo para recorrer los registros.
+     * @throws IOException si el encabezado o la estructura inicial no son válidos.
+     */
+    public static LectorKdramas crearLector(InputStream entrada, Formato formato) throws IOException {
+        InputStreamReader texto = new InputStreamReader(entrada, StandardCharsets.UTF_8);
+        return formato == Formato.JSON ? new LectorJsonKdramas(texto) : new LectorCsvKdramas(texto);
+    }
+
+    /**
+     * Recorre el lector e inserta las filas válidas.
+     * Los lotes ya confirmados se conservan si la importación se cancela o falla a mitad.
+     *
+     * @param lector   Fuente de registros.
+     * @param senal    Señal de cancelación; puede ser null.
+     * @param progreso Receptor del avance; puede ser null.
+     * @return Resumen con filas insertadas, rechazadas y rendimiento.
+     * @throws IOException si el archivo no puede leerse.
+     */
+    public ResultadoImportacion importar(LectorKdramas lector, CancellationSignal senal,
+                                         ProgresoImportacion progreso) throws IOException {
+        long inicio = System.nanoTime();
+        int procesadas = 0;
+        int insertadas = 0;
+        int rechazadas = 0;
+        boolean cancelada = false;
+        List<Kdrama> lote = new ArrayList<>(TAMANIO_LOTE);
+
+        try (KdramaRepository.InsercionMasiva insercion = kdramaRepository.abrirInsercionMasiva()) {
+            Kdrama kdrama;
+            while ((kdrama = lector.siguiente()) != null) {
+                if (senal != null && senal.isCanceled()) {
+                    cancelada = true;
+                    break;
+                }
+                procesadas++;
+                if (kdrama.esValido()) {
+                    lote.add(kdrama);
+                } else {
+                    rechazadas++;
+                }
+                if (lote.size() == TAMANIO_LOTE) {
+                    insertarLote(insercion, lote);
+                    insertadas += lote.size();
+                    lote = new ArrayList<>(TAMANIO_LOTE);
+                    if (progreso != null) {
+                        progreso.onProgreso(procesadas, insertadas, rechazadas);
+                    }
+                }
+            }
+            if (!cancelada && !lote.isEmpty()) {
+                insertarLote(insercion, lote);
+                insertadas += lote.size();
+            }
+        }
+
+        if (progreso != null) {
+            progreso.onProgreso(procesadas, insertadas, rechazadas);
+        }
+        return new ResultadoImportacion(insertadas, rechazadas, cancelada, System.nanoTime() - inicio);
+    }
+
+    private void insertarLote(KdramaRepository.InsercionMasiva insercion, List<Kdrama> lote) {
+        insercion.insertarLote(lote);
+        if (destino != null) {
+            destino.onLoteConfirmado(lote);
+        }
+    }
+
+    /**
+     * Resumen inmutable de una importación.
+     */
+    public static final class ResultadoImportacion {
+
+        private final int insertadas;
+        private final int rechazadas;
+        private final boolean cancelada;
+        private final long duracionNanos;
+
+        ResultadoImportacion(int insertadas, int rechazadas, boolean cancelada, long duracionNanos) {
+            this.insertadas = insertadas;
+            this.rechazadas = rechazadas;
+            this.cancelada = cancelada;
+            this.duracionNanos = duracionNanos;
+        }
+
+        public int getInsertadas() {
+            return insertadas;
+        }
+
+        public int getRechazadas() {
+            return rechazadas;
+        }
+
+        public boolean fueCancelada() {
+            return cancelada;
+        }
+
+        public long getDuracionNanos() {
+            return duracionNanos;
+        }
+
+        /**
+         * @return Filas insertadas por segundo durante la importación.
+         */
+        public double getFilasPorSegundo() {
+            return duracionNanos == 0 ? 0 : insertadas * 1_000_000_000.0 / duracionNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.getDefault(),
+                    "%d importados, %d rechazados%s (%.0f filas/s)",
+                    insertadas, rechazadas, cancelada ? ", cancelada" : "", getFilasPorSegundo());
+        }
+    }
+}
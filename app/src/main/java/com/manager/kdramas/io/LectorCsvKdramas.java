@@ -0,0 +1,124 @@
+package com.manager.kdramas.io;
+
+import com.manager.kdramas.model.Kdrama;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * LectorCsvKdramas - Lector incremental de catálogos en formato CSV.
+
+ * Responsabilidades:
+ * - Interpretar la primera fila como encabezado con los nombres de campo.
+ * - Admitir campos entre comillas con comas, saltos de línea y comillas duplicadas ("").
+ * - Leer un registro cada vez desde un búfer, sin cargar el archivo completo.
+ */
+public final class LectorCsvKdramas implements LectorKdramas {
+
+    private static final int TAMANIO_BUFER = 64 * 1024;
+
+    private final BufferedReader entrada;
+    private final List<String> campos = new ArrayList<>();
+    private final StringBuilder campo = new StringBuilder();
+
+    // Posición de cada campo del catálogo dentro de la fila, o -1 si la columna no existe
+    private final int[] columnas = new int[CamposCatalogo.TOTAL];
+    private final String[] valores = new String[CamposCatalogo.TOTAL];
+
+    /**
+     * Crea el lector y procesa la fila de encabezado.
+     *
+     * @param entrada Texto del archivo CSV.
+     * @throws IOException si el archivo está vacío o le faltan columnas obligatorias.
+     */
+    public LectorCsvKdramas(Reader entrada) throws IOException {
+        this.entrada = new BufferedReader(entrada, TAMANIO_BUFER);
+        if (!leerRegistro()) {
+            throw new IOException("El archivo CSV está vacío");
+        }
+        Arrays.fill(columnas, -1);
+        for (int i = 0; i < campos.size(); i++) {
+            int indice = CamposCatalogo.indiceDe(campos.get(i));
+            if (indice >= 0) {
+                columnas[indice] = i;
+            }
+        }
+        if (columnas[CamposCatalogo.TITULO] < 0 || columnas[CamposCatalogo.ANIO] < 0
+                || columnas[CamposCatalogo.CAPITULOS] < 0) {
+            throw new IOException("El encabezado CSV debe incluir titulo, anio y capitulos");
+        }
+    }
+
+    @Override
+    public Kdrama siguiente() throws IOException {
+        while (leerRegistro()) {
+            // Las líneas en blanco se omiten
+            if (campos.size() == 1 && campos.get(0).isEmpty()) {
+                continue;
+            }
+            for (int i = 0; i < CamposCatalogo.TOTAL; i++) {
+                int columna = columnas[i];
+                valores[i] = columna >= 0 && columna < campos.size() ? campos.get(columna) : null;
+            }
+            return CamposCatalogo.crearKdrama(valores);
+        }
+        return null;
+    }
+
+    /**
+     * Lee un registro completo, que puede ocupar varias líneas si contiene campos entre comillas.
+     *
+     * @return false si se alcanzó el final del archivo sin leer datos.
+     */
+    private boolean leerRegistro() throws IOException {
+        campos.clear();
+        campo.setLength(0);
+        boolean entreComillas = false;
+        boolean leyoDatos = false;
+
+        int c;
+        while ((c = entrada.read()) != -1) {
+            leyoDatos = true;
+            char caracter = (char) c;
+            if (entreComillas) {
+                if (caracter == '"') {
+                    entrada.mark(1);
+                    int siguiente = entrada.read();
+                    if (siguiente == '"') {
+                        campo.append('"');
+                    } else {
+                        entreComillas = false;
+                        if (siguiente != -1) {
+                            entrada.reset();
+                        }
+                    }
+                } else {
+                    campo.append(caracter);
+                }
+            } else if (caracter == '"') {
+                entreComillas = true;
+            } else if (caracter == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (caracter == '\n') {
+                break;
+            } else if (caracter != '\r') {
+                campo.append(caracter);
+            }
+        }
+
+        if (!leyoDatos) {
+            return false;
+        }
+        campos.add(campo.toString());
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+}
@@ -0,0 +1,88 @@
+package com.manager.kdramas.io;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+import com.manager.kdramas.model.Kdrama;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * LectorJsonKdramas - Lector incremental de catálogos en formato JSON.
+
+ * Responsabilidades:
+ * - Recorrer un arreglo de objetos con {@link JsonReader}, un objeto cada vez.
+ * - Aceptar valores numéricos tanto como números como cadenas, e ignorar propiedades desconocidas.
+ */
+public final class LectorJsonKdramas implements LectorKdramas {
+
+    private final JsonReader entrada;
+    private final String[] valores = new String[CamposCatalogo.TOTAL];
+    private boolean terminado;
+
+    /**
+     * Crea el lector y se posiciona al inicio del arreglo principal.
+     *
+     * @param entrada Texto del archivo JSON.
+     * @throws IOException si el documento no comienza con un arreglo.
+     */
+    public LectorJsonKdramas(Reader entrada) throws IOException {
+        this.entrada = new JsonReader(entrada);
+        try {
+            this.entrada.beginArray();
+        } catch (IllegalStateException e) {
+            throw new IOException("El archivo JSON debe contener un arreglo de objetos", e);
+        }
+    }
+
+    @Override
+    public Kdrama siguiente() throws IOException {
+        if (terminado) {
+            return null;
+        }
+        if (!entrada.hasNext()) {
+            entrada.endArray();
+            terminado = true;
+            return null;
+        }
+
+        Arrays.fill(valores, null);
+        try {
+            entrada.beginObject();
+            while (entrada.hasNext()) {
+                int indice = CamposCatalogo.indiceDe(entrada.nextName());
+                if (indice >= 0) {
+                    valores[indice] = leerValor();
+                } else {
+                    entrada.skipValue();
+                }
+            }
+            entrada.endObject();
+        } catch (IllegalStateException e) {
+            // JsonReader informa así de los elementos que no son objetos
+            throw new IOException("Elemento JSON inválido: " + e.getMessage(), e);
+        }
+        return CamposCatalogo.crearKdrama(valores);
+    }
+
+    private String leerValor() throws IOException {
+        JsonToken token = entrada.peek();
+        if (token == JsonToken.NULL) {
+            entrada.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return String.valueOf(entrada.nextBoolean());
+        }
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return entrada.nextString();
+        }
+        entrada.skipValue();
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+}
@@ -0,0 +1,24 @@
+package com.manager.kdramas.io;
+
+import com.manager.kdramas.model.Kdrama;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * LectorKdramas - Fuente secuencial de K-Dramas leídos desde un archivo de catálogo.
+
+ * Responsabilidades:
+ * - Entregar los registros de uno en uno, sin cargar el archivo completo en memoria.
+ * - Convertir cada registro al modelo Kdrama; los valores que no pueden interpretarse
+ *   se dejan vacíos o en cero para que {@link Kdrama#esValido()} los rechace.
+ */
+public interface LectorKdramas extends Closeable {
+
+    /**
+     * Lee el siguiente registro del archivo.
+     *
+     * @return K-Drama leído, o null si no quedan registros.
+     * @throws IOException si el archivo no puede leerse o su estructura es inválida.
+     */
+    Kdrama siguiente() throws IOException;
+}
@@ -0,0 +1,119 @@
+package com.manager.kdramas.metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * HistogramaLatencia - Histograma de latencias con cubetas de escala logarítmica en base 2.
+
+ * Responsabilidades:
+ * - Registrar latencias desde cualquier hilo sin bloqueos ni asignación de memoria.
+ * - Estimar percentiles a partir de las cubetas (con precisión de una potencia de dos).
+ * - Mantener la suma y el máximo exactos para la media y el peor caso.
+ * - No depende de Android, para poder probarse en la JVM.
+ */
+public final class HistogramaLatencia {
+
+    // La cubeta 0 recoge latencias menores a 1 µs; la cubeta i, el intervalo [2^(i-1), 2^i) µs.
+    // La última cubeta acumula todo lo que supera 2^(CUBETAS - 2) µs (unos 18 minutos).
+    static final int CUBETAS = 32;
+
+    private final AtomicLongArray cubetas = new AtomicLongArray(CUBETAS);
+    private final AtomicLong cuenta = new AtomicLong();
+    private final AtomicLong sumaNanos = new AtomicLong();
+    private final AtomicLong maximoNanos = new AtomicLong();
+
+    /**
+     * Registra una latencia.
+     *
+     * @param nanos Duración en nanosegundos.
+     */
+    public void registrar(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        cubetas.incrementAndGet(cubetaDe(nanos));
+        cuenta.incrementAndGet();
+        sumaNanos.addAndGet(nanos);
+        maximoNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Calcula la cubeta de una latencia.
+     *
+     * @param nanos Duración en nanosegundos, no negativa.
+     * @return Índice de la cubeta.
+     */
+    static int cubetaDe(long nanos) {
+        long micros = nanos / 1000;
+        if (micros == 0) {
+            return 0;
+        }
+        return Math.min(CUBETAS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * @param cubeta Índice de la cubeta.
+     * @return Límite superior (exclusivo) de la cubeta, en nanosegundos.
+     */
+    static long limiteSuperiorNanos(int cubeta) {
+        return (1L << cubeta) * 1000;
+    }
+
+    public long getCuenta() {
+        return cuenta.get();
+    }
+
+    public long getMaximoNanos() {
+        return maximoNanos.get();
+    }
+
+    /**
+     * @return Latencia media en nanosegundos, o 0 si no hay registros.
+     */
+    public long getMediaNanos() {
+        long total = cuenta.get();
+        return total == 0 ? 0 : sumaNanos.get() / total;
+    }
+
+    /**
+     * Estima un percentil como el límite superior de la cubeta que lo contiene,
+     * acotado por el máximo observado.
+     *
+     * @param percentil Percentil entre 0 y 100.
+     * @return Latencia estimada en nanosegundos, o 0 si no hay registros.
+     */
+    public long percentilNanos(double percentil) {
+        long[] copia = new long[CUBETAS];
+        long total = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            copia[i] = cubetas.get(i);
+            total += copia[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long objetivo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += copia[i];
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperiorNanos(i), maximoNanos.get());
+            }
+        }
+        return maximoNanos.get();
+    }
+
+    /**
+     * Pone a cero todos los contadores. Los registros concurrentes pueden quedar a medias.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < CUBETAS; i++) {
+            cubetas.set(i, 0);
+        }
+        cuenta.set(0);
+        sumaNanos.set(0);
+        maximoNanos.set(0);
+    }
+}
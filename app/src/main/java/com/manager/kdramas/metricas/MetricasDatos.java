@@ -0,0 +1,234 @@
+package com.manager.kdramas.metricas;
+
+import android.database.sqlite.SQLiteTransactionListener;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * MetricasDatos - Métricas de acceso a datos compartidas por toda la aplicación.
+
+ * Responsabilidades:
+ * - Registrar por operación del repositorio un histograma de latencias, filas leídas y escritas,
+ *   errores y cancelaciones.
+ * - Contar las transacciones iniciadas, confirmadas y revertidas.
+ * - Registrar sin bloqueos ni asignación de memoria: contadores atómicos indexados por el ordinal
+ *   de la operación y un único oyente de transacciones reutilizado.
+ * - Generar un informe de texto para la pantalla de diagnóstico y para volcarlo fuera de la app.
+ */
+public final class MetricasDatos {
+
+    /**
+     * Operaciones medidas del repositorio y del esquema.
+     */
+    public enum Operacion {
+        OBTENER_TODOS("obtener_todos"),
+        PAGINA("pagina"),
+        BUSQUEDA("busqueda"),
+        RECORRIDO("recorrido"),
+        POR_ID("por_id"),
+        INSERTAR("insertar"),
+        ACTUALIZAR("actualizar"),
+        ELIMINAR("eliminar"),
+        ACTUALIZAR_LOTE("actualizar_lote"),
+        ELIMINAR_LOTE("eliminar_lote"),
+        RESTAURAR("restaurar"),
+        PURGAR_ELIMINADOS("purgar_eliminados"),
+        LIBERAR_ESPACIO("liberar_espacio"),
+        IMAGEN_LOCAL("imagen_local"),
+        INSERCION_LOTE("insercion_lote"),
+        ESTADISTICAS("estadisticas"),
+        VERIFICAR_RESUMENES("verificar_resumenes"),
+        RECONSTRUIR_RESUMENES("reconstruir_resumenes"),
+        PRECOMPILAR("precompilar"),
+        MIGRACION("migracion");
+
+        private final String etiqueta;
+
+        Operacion(String etiqueta) {
+            this.etiqueta = etiqueta;
+        }
+
+        public String getEtiqueta() {
+            return etiqueta;
+        }
+    }
+
+    private static final Operacion[] OPERACIONES = Operacion.values();
+
+    private static volatile MetricasDatos instancia;
+
+    private final HistogramaLatencia[] latencias = new HistogramaLatencia[OPERACIONES.length];
+    private final AtomicLongArray filasLeidas = new AtomicLongArray(OPERACIONES.length);
+    private final AtomicLongArray filasEscritas = new AtomicLongArray(OPERACIONES.length);
+    private final AtomicLongArray errores = new AtomicLongArray(OPERACIONES.length);
+    private final AtomicLongArray canceladas = new AtomicLongArray(OPERACIONES.length);
+
+    private final AtomicLong transaccionesIniciadas = new AtomicLong();
+    private final AtomicLong transaccionesConfirmadas = new AtomicLong();
+    private final AtomicLong transaccionesRevertidas = new AtomicLong();
+
+    // Momento desde el que se acumulan las métricas
+    private volatile long inicioMedicionNs = System.nanoTime();
+
+    /**
+     * Oyente que cuenta las transacciones. Se pasa a beginTransactionWithListenerNonExclusive.
+     */
+    public final SQLiteTransactionListener oyenteTransacciones = new SQLiteTransactionListener() {
+        @Override
+        public void onBegin() {
+            transaccionesIniciadas.incrementAndGet();
+        }
+
+        @Override
+        public void onCommit() {
+            transaccionesConfirmadas.incrementAndGet();
+        }
+
+        @Override
+        public void onRollback() {
+            transaccionesRevertidas.incrementAndGet();
+        }
+    };
+
+    private MetricasDatos() {
+        for (int i = 0; i < latencias.length; i++) {
+            latencias[i] = new HistogramaLatencia();
+        }
+    }
+
+    /**
+     * Devuelve las métricas compartidas, creándolas la primera vez.
+     *
+     * @return Instancia única.
+     */
+    public static MetricasDatos getInstance() {
+        MetricasDatos local = instancia;
+        if (local == null) {
+            synchronized (MetricasDatos.class) {
+                local = instancia;
+                if (local == null) {
+                    local = new MetricasDatos();
+                    instancia = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Registra una operación de lectura completada.
+     *
+     * @param operacion Operación medida.
+     * @param inicioNs  Valor de System.nanoTime() al comenzar.
+     * @param filas     Filas devueltas.
+     */
+    public void registrarLectura(Operacion operacion, long inicioNs, int filas) {
+        int i = operacion.ordinal();
+        latencias[i].registrar(System.nanoTime() - inicioNs);
+        filasLeidas.addAndGet(i, filas);
+    }
+
+    /**
+     * Registra una operación de escritura completada.
+     *
+     * @param operacion Operación medida.
+     * @param inicioNs  Valor de System.nanoTime() al comenzar.
+     * @param filas     Filas insertadas, modificadas o eliminadas.
+     */
+    public void registrarEscritura(Operacion operacion, long inicioNs, int filas) {
+        int i = operacion.ordinal();
+        latencias[i].registrar(System.nanoTime() - inicioNs);
+        filasEscritas.addAndGet(i, filas);
+    }
+
+    /**
+     * Registra una operación fallida. Su latencia no entra en el histograma.
+     *
+     * @param operacion Operación medida.
+     */
+    public void registrarError(Operacion operacion) {
+        errores.incrementAndGet(operacion.ordinal());
+    }
+
+    /**
+     * Registra una consulta abortada mediante su señal de cancelación.
+     *
+     * @param operacion Operación medida.
+     */
+    public void registrarCancelacion(Operacion operacion) {
+        canceladas.incrementAndGet(operacion.ordinal());
+    }
+
+    /**
+     * @param operacion Operación medida.
+     * @return Histograma de latencias de la operación.
+     */
+    public HistogramaLatencia getLatencias(Operacion operacion) {
+        return latencias[operacion.ordinal()];
+    }
+
+    public long getFilasLeidas(Operacion operacion) {
+        return filasLeidas.get(operacion.ordinal());
+    }
+
+    public long getFilasEscritas(Operacion operacion) {
+        return filasEscritas.get(operacion.ordinal());
+    }
+
+    public long getErrores(Operacion operacion) {
+        return errores.get(operacion.ordinal());
+    }
+
+    public long getTransaccionesConfirmadas() {
+        return transaccionesConfirmadas.get();
+    }
+
+    /**
+     * Genera un informe de texto con una fila por operación usada y el resumen de transacciones.
+     * Las latencias se expresan en milisegundos; los percentiles son aproximados (cubetas en base 2).
+     *
+     * @return Informe legible, apto para mostrarse con fuente monoespaciada.
+     */
+    public String generarInforme() {
+        StringBuilder informe = new StringBuilder();
+        informe.append(String.format(Locale.ROOT, "Métricas de datos (%.0f s)%n",
+                (System.nanoTime() - inicioMedicionNs) / 1e9));
+        informe.append(String.format(Locale.ROOT, "%-22s %7s %5s %5s %9s %9s %8s %8s %8s %8s%n",
+                "operación", "n", "err", "canc", "leídas", "escritas", "media", "p50", "p95", "máx"));
+
+        for (Operacion operacion : OPERACIONES) {
+            int i = operacion.ordinal();
+            HistogramaLatencia histograma = latencias[i];
+            if (histograma.getCuenta() == 0 && errores.get(i) == 0 && canceladas.get(i) == 0) {
+                continue;
+            }
+            informe.append(String.format(Locale.ROOT, "%-22s %7d %5d %5d %9d %9d %8.2f %8.2f %8.2f %8.2f%n",
+                    operacion.getEtiqueta(), histograma.getCuenta(), errores.get(i), canceladas.get(i),
+                    filasLeidas.get(i), filasEscritas.get(i),
+                    histograma.getMediaNanos() / 1e6, histograma.percentilNanos(50) / 1e6,
+                    histograma.percentilNanos(95) / 1e6, histograma.getMaximoNanos() / 1e6));
+        }
+
+        informe.append(String.format(Locale.ROOT, "transacciones: iniciadas=%d, confirmadas=%d, revertidas=%d%n",
+                transaccionesIniciadas.get(), transaccionesConfirmadas.get(), transaccionesRevertidas.get()));
+        return informe.toString();
+    }
+
+    /**
+     * Pone a cero todas las métricas y reinicia el periodo de medición.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < OPERACIONES.length; i++) {
+            latencias[i].reiniciar();
+            filasLeidas.set(i, 0);
+            filasEscritas.set(i, 0);
+            errores.set(i, 0);
+            canceladas.set(i, 0);
+        }
+        transaccionesIniciadas.set(0);
+        transaccionesConfirmadas.set(0);
+        transaccionesRevertidas.set(0);
+        inicioMedicionNs = System.nanoTime();
+    }
+}
@@ -0,0 +1,173 @@
+package com.manager.kdramas.metricas;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.view.FrameMetrics;
+import android.view.Window;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MetricasFotogramas - Métricas de fluidez de la lista, compartidas por toda la aplicación.
+
+ * Responsabilidades:
+ * - Registrar la duración de cada fotograma de una ventana observada y contar los que superan
+ *   el presupuesto de la pantalla (lentos) y los que la congelan de forma perceptible.
+ * - Registrar el tiempo de enlace de cada fila en el hilo principal y el de preparación de las
+ *   filas en segundo plano, con las filas construidas y reutilizadas.
+ * - Recibir los fotogramas en un hilo propio, para no añadir trabajo al hilo principal.
+ * - Generar un informe de texto para la pantalla de diagnóstico.
+ */
+public final class MetricasFotogramas {
+
+    // Umbral a partir del cual un fotograma se percibe como congelación de la interfaz
+    private static final long CONGELADO_NS = 700_000_000L;
+
+    private static volatile MetricasFotogramas instancia;
+
+    private final HistogramaLatencia fotogramas = new HistogramaLatencia();
+    private final HistogramaLatencia enlaces = new HistogramaLatencia();
+    private final HistogramaLatencia preparaciones = new HistogramaLatencia();
+    private final AtomicLong lentos = new AtomicLong();
+    private final AtomicLong congelados = new AtomicLong();
+    private final AtomicLong filasConstruidas = new AtomicLong();
+    private final AtomicLong filasReutilizadas = new AtomicLong();
+
+    // Duración máxima de un fotograma a la frecuencia de la pantalla observada (60 Hz por defecto)
+    private volatile long presupuestoNs = 16_666_667L;
+
+    // Momento desde el que se acumulan las métricas
+    private volatile long inicioMedicionNs = System.nanoTime();
+
+    private Handler manejador;
+
+    private final Window.OnFrameMetricsAvailableListener oyenteFotogramas = (ventana, metricas, descartados) -> {
+        if (metricas.getMetric(FrameMetrics.FIRST_DRAW_FRAME) == 1) {
+            // El primer fotograma incluye la inflación de la pantalla y no refleja el desplazamiento
+            return;
+        }
+        long duracion = metricas.getMetric(FrameMetrics.TOTAL_DURATION);
+        fotogramas.registrar(duracion);
+        if (duracion > presupuestoNs) {
+            lentos.incrementAndGet();
+        }
+        if (duracion > CONGELADO_NS) {
+            congelados.incrementAndGet();
+        }
+    };
+
+    private MetricasFotogramas() {
+    }
+
+    /**
+     * Devuelve las métricas compartidas, creándolas la primera vez.
+     *
+     * @return Instancia única.
+     */
+    public static MetricasFotogramas getInstance() {
+        MetricasFotogramas local = instancia;
+        if (local == null) {
+            synchronized (MetricasFotogramas.class) {
+                local = instancia;
+                if (local == null) {
+                    local = new MetricasFotogramas();
+                    instancia = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Empieza a registrar los fotogramas de una ventana. Debe equilibrarse con
+     * {@link #dejarDeObservar(Window)}, normalmente en onResume y onPause.
+     *
+     * @param ventana Ventana de la actividad observada.
+     */
+    public void observar(Window ventana) {
+        float frecuencia = ventana.getWindowManager().getDefaultDisplay().getRefreshRate();
+        if (frecuencia > 0) {
+            presupuestoNs = (long) (1e9 / frecuencia);
+        }
+        ventana.addOnFrameMetricsAvailableListener(oyenteFotogramas, obtenerManejador());
+    }
+
+    public void dejarDeObservar(Window ventana) {
+        ventana.removeOnFrameMetricsAvailableListener(oyenteFotogramas);
+    }
+
+    private synchronized Handler obtenerManejador() {
+        if (manejador == null) {
+            HandlerThread hilo = new HandlerThread("kdramas-fotogramas");
+            hilo.start();
+            manejador = new Handler(hilo.getLooper());
+        }
+        return manejador;
+    }
+
+    /**
+     * Registra el enlace de una fila.
+     *
+     * @param inicioNs Valor de System.nanoTime() al comenzar el enlace.
+     */
+    public void registrarEnlace(long inicioNs) {
+        enlaces.registrar(System.nanoTime() - inicioNs);
+    }
+
+    /**
+     * Registra la preparación en segundo plano de una lista de filas.
+     *
+     * @param inicioNs     Valor de System.nanoTime() al comenzar la preparación.
+     * @param construidas  Filas construidas de nuevo.
+     * @param reutilizadas Filas reutilizadas de la lista anterior.
+     */
+    public void registrarPreparacion(long inicioNs, int construidas, int reutilizadas) {
+        preparaciones.registrar(System.nanoTime() - inicioNs);
+        filasConstruidas.addAndGet(construidas);
+        filasReutilizadas.addAndGet(reutilizadas);
+    }
+
+    /**
+     * Genera un informe con la duración de los fotogramas, el porcentaje de lentos y los tiempos
+     * de enlace y preparación de filas. Las latencias se expresan en milisegundos.
+     *
+     * @return Informe legible, apto para mostrarse con fuente monoespaciada.
+     */
+    public String generarInforme() {
+        StringBuilder informe = new StringBuilder();
+        long total = fotogramas.getCuenta();
+        informe.append(String.format(Locale.ROOT, "Fotogramas de la lista (%.0f s, presupuesto %.1f ms)%n",
+                (System.nanoTime() - inicioMedicionNs) / 1e9, presupuestoNs / 1e6));
+        informe.append(String.format(Locale.ROOT, "fotogramas=%d, lentos=%d (%.1f %%), congelados=%d%n",
+                total, lentos.get(), total == 0 ? 0.0 : lentos.get() * 100.0 / total, congelados.get()));
+        informe.append(String.format(Locale.ROOT, "%-22s %7s %8s %8s %8s %8s%n",
+                "medida", "n", "media", "p50", "p95", "máx"));
+        agregarFila(informe, "fotograma", fotogramas);
+        agregarFila(informe, "enlace_fila", enlaces);
+        agregarFila(informe, "preparar_filas", preparaciones);
+        informe.append(String.format(Locale.ROOT, "filas: construidas=%d, reutilizadas=%d%n",
+                filasConstruidas.get(), filasReutilizadas.get()));
+        return informe.toString();
+    }
+
+    private static void agregarFila(StringBuilder informe, String etiqueta, HistogramaLatencia histograma) {
+        informe.append(String.format(Locale.ROOT, "%-22s %7d %8.2f %8.2f %8.2f %8.2f%n",
+                etiqueta, histograma.getCuenta(), histograma.getMediaNanos() / 1e6,
+                histograma.percentilNanos(50) / 1e6, histograma.percentilNanos(95) / 1e6,
+                histograma.getMaximoNanos() / 1e6));
+    }
+
+    /**
+     * Pone a cero todas las métricas y reinicia el periodo de medición.
+     */
+    public void reiniciar() {
+        fotogramas.reiniciar();
+        enlaces.reiniciar();
+        preparaciones.reiniciar();
+        lentos.set(0);
+        congelados.set(0);
+        filasConstruidas.set(0);
+        filasReutilizadas.set(0);
+        inicioMedicionNs = System.nanoTime();
+    }
+}
@@ -0,0 +1,225 @@
+package com.manager.kdramas.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * CambioCatalogo - Descripción de los cambios confirmados en la tabla kdrama.
+
+ * Responsabilidades:
+ * - Indicar los IDs insertados, los actualizados junto con los campos que cambiaron, y los eliminados.
+ * - Fusionar varios cambios en uno solo que describa el resultado neto: una inserción seguida
+ *   de una eliminación se anula, y las actualizaciones sucesivas acumulan sus campos.
+ * - Ser inmutable para poder entregarse a varios receptores sin copias.
+ */
+public final class CambioCatalogo {
+
+    /**
+     * Campos de un K-Drama que una actualización puede modificar.
+     */
+    public enum Campo {
+        TITULO, GENERO, ANIO, CAPITULOS, CALIFICACION, ESTADO, IMAGEN_URL, IMAGEN_LOCAL
+    }
+
+    public static final CambioCatalogo VACIO = new Acumulador().construir();
+
+    private final Set<Long> insertados;
+    private final Map<Long, Set<Campo>> actualizados;
+    private final Set<Long> eliminados;
+
+    private CambioCatalogo(Set<Long> insertados, Map<Long, Set<Campo>> actualizados, Set<Long> eliminados) {
+        this.insertados = Collections.unmodifiableSet(insertados);
+        this.actualizados = Collections.unmodifiableMap(actualizados);
+        this.eliminados = Collections.unmodifiableSet(eliminados);
+    }
+
+    /**
+     * @param id ID del K-Drama insertado.
+     * @return Cambio con una sola inserción.
+     */
+    public static CambioCatalogo insercion(long id) {
+        return new Acumulador().insertado(id).construir();
+    }
+
+    /**
+     * @param id     ID del K-Drama actualizado.
+     * @param campos Campos que cambiaron.
+     * @return Cambio con una sola actualización, o {@link #VACIO} si no cambió ningún campo.
+     */
+    public static CambioCatalogo actualizacion(long id, Set<Campo> campos) {
+        return new Acumulador().actualizado(id, campos).construir();
+    }
+
+    /**
+     * @param id ID del K-Drama eliminado.
+     * @return Cambio con una sola eliminación.
+     */
+    public static CambioCatalogo eliminacion(long id) {
+        return new Acumulador().eliminado(id).construir();
+    }
+
+    /**
+     * Compara dos versiones de un mismo K-Drama.
+     *
+     * @param antes   Valores anteriores.
+     * @param despues Valores nuevos.
+     * @return Campos cuyo valor difiere; vacío si son iguales.
+     */
+    public static EnumSet<Campo> camposDistintos(Kdrama antes, Kdrama despues) {
+        EnumSet<Campo> campos = EnumSet.noneOf(Campo.class);
+        if (!Objects.equals(antes.getTitulo(), despues.getTitulo())) campos.add(Campo.TITULO);
+        if (!Objects.equals(antes.getGenero(), despues.getGenero())) campos.add(Campo.GENERO);
+        if (antes.getAnio() != despues.getAnio()) campos.add(Campo.ANIO);
+        if (antes.getCapitulos() != despues.getCapitulos()) campos.add(Campo.CAPITULOS);
+        if (Float.compare(antes.getCalificacion(), despues.getCalificacion()) != 0) campos.add(Campo.CALIFICACION);
+        if (antes.getEstado() != despues.getEstado()) campos.add(Campo.ESTADO);
+        if (!Objects.equals(antes.getImagenUrl(), despues.getImagenUrl())) campos.add(Campo.IMAGEN_URL);
+        if (!Objects.equals(antes.getImagenLocal(), despues.getImagenLocal())) campos.add(Campo.IMAGEN_LOCAL);
+        return campos;
+    }
+
+    public Set<Long> getInsertados() {
+        return insertados;
+    }
+
+    /**
+     * @return Campos modificados por ID. No incluye los IDs insertados o eliminados en el mismo cambio.
+     */
+    public Map<Long, Set<Campo>> getActualizados() {
+        return actualizados;
+    }
+
+    public Set<Long> getEliminados() {
+        return eliminados;
+    }
+
+    public boolean estaVacio() {
+        return insertados.isEmpty() && actualizados.isEmpty() && eliminados.isEmpty();
+    }
+
+    /**
+     * @return Número de IDs afectados.
+     */
+    public int getTotal() {
+        return insertados.size() + actualizados.size() + eliminados.size();
+    }
+
+    /**
+     * Indica si alguna actualización modificó alguno de los campos indicados.
+     *
+     * @param campos Campos de interés.
+     * @return true si al menos un K-Drama actualizado cambió uno de ellos.
+     */
+    public boolean actualizaAlguno(Set<Campo> campos) {
+        for (Set<Campo> modificados : actualizados.values()) {
+            for (Campo campo : modificados) {
+                if (campos.contains(campo)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "CambioCatalogo{insertados=" + insertados + ", actualizados=" + actualizados
+                + ", eliminados=" + eliminados + "}";
+    }
+
+    /**
+     * Acumulador - Reúne cambios sucesivos y los reduce a su resultado neto. No es seguro entre hilos.
+     */
+    public static final class Acumulador {
+
+        private final Set<Long> insertados = new LinkedHashSet<>();
+        private final Map<Long, EnumSet<Campo>> actualizados = new LinkedHashMap<>();
+        private final Set<Long> eliminados = new LinkedHashSet<>();
+
+        /**
+         * Una inserción de un ID eliminado en este mismo cambio (una restauración) anula la eliminación;
+         * como sus actualizaciones previas se descartaron al eliminarlo, se publica con todos los campos.
+         */
+        public Acumulador insertado(long id) {
+            if (eliminados.remove(id)) {
+                actualizados.put(id, EnumSet.allOf(Campo.class));
+            } else {
+                insertados.add(id);
+            }
+            return this;
+        }
+
+        /**
+         * Una actualización de un ID insertado en este mismo cambio queda absorbida por la inserción.
+         */
+        public Acumulador actualizado(long id, Set<Campo> campos) {
+            if (campos.isEmpty() || insertados.contains(id) || eliminados.contains(id)) {
+                return this;
+            }
+            EnumSet<Campo> previos = actualizados.get(id);
+            if (previos == null) {
+                actualizados.put(id, EnumSet.copyOf(campos));
+            } else {
+                previos.addAll(campos);
+            }
+            return this;
+        }
+
+        /**
+         * Una eliminación anula la inserción o las actualizaciones previas del mismo ID.
+         */
+        public Acumulador eliminado(long id) {
+            actualizados.remove(id);
+            if (!insertados.remove(id)) {
+                eliminados.add(id);
+            }
+            return this;
+        }
+
+        /**
+         * Aplica, en orden, un cambio posterior a los ya acumulados.
+         *
+         * @param cambio Cambio a incorporar.
+         * @return Este acumulador.
+         */
+        public Acumulador fusionar(CambioCatalogo cambio) {
+            for (long id : cambio.insertados) {
+                insertado(id);
+            }
+            for (Map.Entry<Long, Set<Campo>> actualizacion : cambio.actualizados.entrySet()) {
+                actualizado(actualizacion.getKey(), actualizacion.getValue());
+            }
+            for (long id : cambio.eliminados) {
+                eliminado(id);
+            }
+            return this;
+        }
+
+        public boolean estaVacio() {
+            return insertados.isEmpty() && actualizados.isEmpty() && eliminados.isEmpty();
+        }
+
+        /**
+         * Crea el cambio con lo acumulado y deja el acumulador vacío.
+         *
+         * @return Cambio inmutable.
+         */
+        public CambioCatalogo construir() {
+            Map<Long, Set<Campo>> copiaActualizados = new LinkedHashMap<>();
+            for (Map.Entry<Long, EnumSet<Campo>> actualizacion : actualizados.entrySet()) {
+                copiaActualizados.put(actualizacion.getKey(), Collections.unmodifiableSet(actualizacion.getValue()));
+            }
+            CambioCatalogo cambio = new CambioCatalogo(new LinkedHashSet<>(insertados), copiaActualizados,
+                    new LinkedHashSet<>(eliminados));
+            insertados.clear();
+            actualizados.clear();
+            eliminados.clear();
+            return cambio;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.manager.kdramas.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EstadisticasCatalogo - Resumen estadístico del catálogo leído de las tablas de resumen.
+
+ * Responsabilidades:
+ * - Transportar los conteos por estado de visionado, por género y por año de emisión.
+ * - Ser inmutable para poder compartirse entre hilos sin sincronización.
+ */
+public final class EstadisticasCatalogo {
+
+    private final Map<EstadoVisionado, Integer> cantidadPorEstado;
+    private final List<ResumenGenero> generos;
+    private final List<ResumenAnio> anios;
+
+    /**
+     * Constructor de las estadísticas.
+     *
+     * @param cantidadPorEstado Número de K-Dramas por estado; los estados ausentes cuentan como cero.
+     * @param generos           Resumen por género, ordenado por cantidad descendente.
+     * @param anios             Resumen por año de emisión, ordenado por año descendente.
+     */
+    public EstadisticasCatalogo(Map<EstadoVisionado, Integer> cantidadPorEstado, List<ResumenGenero> generos,
+                                List<ResumenAnio> anios) {
+        Map<EstadoVisionado, Integer> copia = new EnumMap<>(EstadoVisionado.class);
+        for (EstadoVisionado estado : EstadoVisionado.values()) {
+            Integer cantidad = cantidadPorEstado.get(estado);
+            copia.put(estado, cantidad != null ? cantidad : 0);
+        }
+        this.cantidadPorEstado = Collections.unmodifiableMap(copia);
+        this.generos = Collections.unmodifiableList(generos);
+        this.anios = Collections.unmodifiableList(anios);
+    }
+
+    /**
+     * @return Número de K-Dramas por estado, con una entrada para cada estado.
+     */
+    public Map<EstadoVisionado, Integer> getCantidadPorEstado() {
+        return cantidadPorEstado;
+    }
+
+    public List<ResumenGenero> getGeneros() {
+        return generos;
+    }
+
+    public List<ResumenAnio> getAnios() {
+        return anios;
+    }
+
+    /**
+     * @return Número total de K-Dramas del catálogo.
+     */
+    public int getTotal() {
+        int total = 0;
+        for (int cantidad : cantidadPorEstado.values()) {
+            total += cantidad;
+        }
+        return total;
+    }
+
+    /**
+     * Cantidad de K-Dramas y calificación promedio de un género.
+     */
+    public static final class ResumenGenero {
+
+        private final String genero;
+        private final int cantidad;
+        private final float calificacionPromedio;
+
+        public ResumenGenero(String genero, int cantidad, float calificacionPromedio) {
+            this.genero = genero;
+            this.cantidad = cantidad;
+            this.calificacionPromedio = calificacionPromedio;
+        }
+
+        public String getGenero() {
+            return genero;
+        }
+
+        public int getCantidad() {
+            return cantidad;
+        }
+
+        public float getCalificacionPromedio() {
+            return calificacionPromedio;
+        }
+    }
+
+    /**
+     * Cantidad de K-Dramas y capítulos vistos (de K-Dramas completados o en revisión) de un año de emisión.
+     */
+    public static final class ResumenAnio {
+
+        private final int anio;
+        private final int cantidad;
+        private final int capitulosVistos;
+
+        public ResumenAnio(int anio, int cantidad, int capitulosVistos) {
+            this.anio = anio;
+            this.cantidad = cantidad;
+            this.capitulosVistos = capitulosVistos;
+        }
+
+        public int getAnio() {
+            return anio;
+        }
+
+        public int getCantidad() {
+            return cantidad;
+        }
+
+        public int getCapitulosVistos() {
+            return capitulosVistos;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.manager.kdramas.model;
+
+/**
+ * EstadoVisionado - Estados posibles de visionado de un K-Drama.
+
+ * Responsabilidades:
+ * - Asociar cada estado con el código entero almacenado en la columna 'finalizado'.
+ * - Proporcionar la etiqueta legible definida en strings.xml (arrays.xml, 'estados_visionado').
+ * - El orden de declaración coincide con el del spinner de estados.
+ */
+public enum EstadoVisionado {
+
+    VIENDO(0, "Viendo"),
+    COMPLETADO(1, "Completado"),
+    PENDIENTE(2, "Pendiente"),
+    EN_PAUSA(3, "En pausa"),
+    ABANDONADO(4, "Abandonado"),
+    REVIENDO(5, "Reviendo");
+
+    // Copia única de values(), que crea un arreglo nuevo en cada llamada
+    private static final EstadoVisionado[] VALORES = values();
+
+    private final int codigo;
+    private final String etiqueta;
+
+    EstadoVisionado(int codigo, String etiqueta) {
+        this.codigo = codigo;
+        this.etiqueta = etiqueta;
+    }
+
+    /**
+     * @return Código entero persistido en la base de datos.
+     */
+    public int getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * @return Texto descriptivo del estado ("Viendo", "Completado", etc.).
+     */
+    public String getEtiqueta() {
+        return etiqueta;
+    }
+
+    /**
+     * Obtiene el estado correspondiente a un código almacenado.
+     * Los códigos desconocidos se interpretan como VIENDO, el valor por defecto de la columna.
+     *
+     * @param codigo Código leído de la base de datos o del spinner.
+     * @return Estado correspondiente.
+     */
+    public static EstadoVisionado desdeCodigo(int codigo) {
+        if (codigo >= 0 && codigo < VALORES.length) {
+            return VALORES[codigo];
+        }
+        return VIENDO;
+    }
+}
@@ -0,0 +1,110 @@
+package com.manager.kdramas.model;
+
+import java.util.Objects;
+
+/**
+ * FiltroKdramas - Criterios combinables para consultar el catálogo.
+
+ * Responsabilidades:
+ * - Representar filtros por género, estado, rango de años y calificación mínima.
+ * - Cada criterio es opcional: un valor null significa "sin restricción".
+ * - Evaluar en memoria si un K-Drama cumple el filtro, con la misma semántica que la consulta SQL.
+ * - Ser inmutable para poder compartirse entre hilos y usarse como clave de consulta.
+ */
+public final class FiltroKdramas {
+
+    // Filtro que no aplica ninguna restricción
+    public static final FiltroKdramas SIN_FILTRO = new FiltroKdramas(null, null, null, null, null);
+
+    private final String genero;
+    private final EstadoVisionado estado;
+    private final Integer anioDesde;
+    private final Integer anioHasta;
+    private final Float calificacionMinima;
+
+    /**
+     * Constructor del filtro.
+     *
+     * @param genero             Género exacto, o null para cualquiera.
+     * @param estado             Estado de visionado, o null para cualquiera.
+     * @param anioDesde          Año mínimo (inclusive), o null.
+     * @param anioHasta          Año máximo (inclusive), o null.
+     * @param calificacionMinima Calificación mínima (inclusive), o null.
+     */
+    public FiltroKdramas(String genero, EstadoVisionado estado, Integer anioDesde, Integer anioHasta,
+                         Float calificacionMinima) {
+        this.genero = genero;
+        this.estado = estado;
+        this.anioDesde = anioDesde;
+        this.anioHasta = anioHasta;
+        this.calificacionMinima = calificacionMinima;
+    }
+
+    public String getGenero() {
+        return genero;
+    }
+
+    public EstadoVisionado getEstado() {
+        return estado;
+    }
+
+    public Integer getAnioDesde() {
+        return anioDesde;
+    }
+
+    public Integer getAnioHasta() {
+        return anioHasta;
+    }
+
+    public Float getCalificacionMinima() {
+        return calificacionMinima;
+    }
+
+    /**
+     * @return true si ningún criterio está definido.
+     */
+    public boolean estaVacio() {
+        return genero == null && estado == null && anioDesde == null && anioHasta == null
+                && calificacionMinima == null;
+    }
+
+    /**
+     * Evalúa el filtro sobre un K-Drama en memoria.
+     *
+     * @param kdrama K-Drama a evaluar.
+     * @return true si cumple todos los criterios definidos.
+     */
+    public boolean cumple(Kdrama kdrama) {
+        return (genero == null || genero.equals(kdrama.getGenero()))
+                && (estado == null || estado == kdrama.getEstado())
+                && (anioDesde == null || kdrama.getAnio() >= anioDesde)
+                && (anioHasta == null || kdrama.getAnio() <= anioHasta)
+                && (calificacionMinima == null || kdrama.getCalificacion() >= calificacionMinima);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FiltroKdramas)) return false;
+        FiltroKdramas otro = (FiltroKdramas) o;
+        return Objects.equals(genero, otro.genero) &&
+                estado == otro.estado &&
+                Objects.equals(anioDesde, otro.anioDesde) &&
+                Objects.equals(anioHasta, otro.anioHasta) &&
+                Objects.equals(calificacionMinima, otro.calificacionMinima);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(genero, estado, anioDesde, anioHasta, calificacionMinima);
+    }
+
+    /**
+     * Representación estable del filtro, utilizable como clave de consulta.
+     */
+    @Override
+    public String toString() {
+        return "genero=" + genero + ";estado=" + estado + ";anio=" + anioDesde + ".." + anioHasta
+                + ";calificacion>=" + calificacionMinima;
+    }
+}
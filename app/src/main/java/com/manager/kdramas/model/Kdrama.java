@@ -1,5 +1,6 @@
 package com.manager.kdramas.model;
 
+import java.util.Objects;
 
 /**
  * Kdrama - Clase modelo que representa la entidad K-Drama.
@@ -9,18 +10,27 @@ package com.manager.kdramas.model;
  * - Facilitar el paso de información entre capas (ViewModel, View).
  * - Contener lógica de negocio simple asociada a la entidad.
  * - Ser inmutable cuando sea posible.
+ * - Almacenar cada campo con su tipo nativo para evitar conversiones en las rutas de carga y dibujo.
  */
 public class Kdrama {
 
+    // Valor del ID para registros que aún no se han guardado en la base de datos
+    public static final long ID_NUEVO = 0L;
+
     // Atributos encapsulados que representan las propiedades del K-Drama
-    private String id;
+    private long id = ID_NUEVO;
     private String titulo;
     private String genero;
-    private String anio;
-    private String capitulos;
-    private String calificacion;
-    private String finalizado;
+    private int anio;
+    private int capitulos;
+    private float calificacion;
+    private EstadoVisionado estado = EstadoVisionado.VIENDO;
     private String imagenUrl;
+    private String imagenLocal;
+
+    // Valores derivados que mantiene el repositorio al escribir; no forman parte del contenido editable
+    private String claveTitulo;
+    private long actualizadoEn;
 
     /**
      * Constructor vacío requerido por ciertas operaciones
@@ -30,7 +40,7 @@ public class Kdrama {
 
     /**
      * Constructor principal para crear una instancia con datos iniciales.
-     * El estado 'finalizado' se inicializa como "0".
+     * El estado se inicializa como VIENDO.
      * La URL de imagen se inicializa como cadena vacía.
      *
      * @param titulo       Título del K-Drama.
@@ -39,23 +49,43 @@ public class Kdrama {
      * @param capitulos    Número de capítulos.
      * @param calificacion Calificación del usuario.
      */
-    public Kdrama(String titulo, String genero, String anio, String capitulos, String calificacion) {
+    public Kdrama(String titulo, String genero, int anio, int capitulos, float calificacion) {
         this.titulo = titulo;
         this.genero = genero;
         this.anio = anio;
         this.capitulos = capitulos;
         this.calificacion = calificacion;
-        this.finalizado = "0";
+        this.estado = EstadoVisionado.VIENDO;
         this.imagenUrl = "";
     }
 
+    /**
+     * Constructor de copia.
+     * Permite entregar al catálogo una instancia que la interfaz ya no modificará.
+     *
+     * @param otro K-Drama a copiar.
+     */
+    public Kdrama(Kdrama otro) {
+        this.id = otro.id;
+        this.titulo = otro.titulo;
+        this.genero = otro.genero;
+        this.anio = otro.anio;
+        this.capitulos = otro.capitulos;
+        this.calificacion = otro.calificacion;
+        this.estado = otro.estado;
+        this.imagenUrl = otro.imagenUrl;
+        this.imagenLocal = otro.imagenLocal;
+        this.claveTitulo = otro.claveTitulo;
+        this.actualizadoEn = otro.actualizadoEn;
+    }
+
     // Métodos de acceso (getters y setters) para cada atributo
 
-    public String getId() {
+    public long getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(long id) {
         this.id = id;
     }
 
@@ -75,36 +105,36 @@ public class Kdrama {
         this.genero = genero;
     }
 
-    public String getAnio() {
+    public int getAnio() {
         return anio;
     }
 
-    public void setAnio(String anio) {
+    public void setAnio(int anio) {
         this.anio = anio;
     }
 
-    public String getCapitulos() {
+    public int getCapitulos() {
         return capitulos;
     }
 
-    public void setCapitulos(String capitulos) {
+    public void setCapitulos(int capitulos) {
         this.capitulos = capitulos;
     }
 
-    public String getCalificacion() {
+    public float getCalificacion() {
         return calificacion;
     }
 
-    public void setCalificacion(String calificacion) {
+    public void setCalificacion(float calificacion) {
         this.calificacion = calificacion;
     }
 
-    public String getFinalizado() {
-        return finalizado;
+    public EstadoVisionado getEstado() {
+        return estado;
     }
 
-    public void setFinalizado(String finalizado) {
-        this.finalizado = finalizado;
+    public void setEstado(EstadoVisionado estado) {
+        this.estado = estado != null ? estado : EstadoVisionado.VIENDO;
     }
 
     public String getImagenUrl() {
@@ -115,38 +145,105 @@ public class Kdrama {
         this.imagenUrl = imagenUrl;
     }
 
+    /**
+     * @return Clave de la portada descargada en el almacén local, o null si aún no se ha descargado.
+     */
+    public String getImagenLocal() {
+        return imagenLocal;
+    }
+
+    public void setImagenLocal(String imagenLocal) {
+        this.imagenLocal = imagenLocal;
+    }
+
+    /**
+     * @return Clave de ordenación del título calculada por el repositorio, o null si aún no se ha guardado.
+     */
+    public String getClaveTitulo() {
+        return claveTitulo;
+    }
+
+    public void setClaveTitulo(String claveTitulo) {
+        this.claveTitulo = claveTitulo;
+    }
+
+    /**
+     * @return Milisegundos (época Unix) de la última modificación guardada; 0 si es anterior a este dato.
+     */
+    public long getActualizadoEn() {
+        return actualizadoEn;
+    }
+
+    public void setActualizadoEn(long actualizadoEn) {
+        this.actualizadoEn = actualizadoEn;
+    }
+
+    /**
+     * Indica si el K-Drama ya fue guardado y tiene un ID asignado por la base de datos.
+     *
+     * @return true si el ID es válido.
+     */
+    public boolean tieneId() {
+        return id > ID_NUEVO;
+    }
+
     /**
      * Verifica si la instancia contiene los datos mínimos requeridos.
      * Se considera válida si tiene título, año y número de capítulos.
      *
-     * @return true si los campos esenciales están presentes y no vacíos.
+     * @return true si los campos esenciales están presentes y son positivos.
      */
     public boolean esValido() {
         return titulo != null && !titulo.trim().isEmpty() &&
-                anio != null && !anio.trim().isEmpty() &&
-                capitulos != null && !capitulos.trim().isEmpty();
+                anio > 0 &&
+                capitulos > 0;
     }
 
     /**
      * Retorna el estado del K-Drama en formato legible.
-     * Interpreta el campo 'finalizado' como texto descriptivo según los valores definidos en strings.xml.
+     * Las etiquetas coinciden con los valores definidos en strings.xml.
      *
      * @return Estado legible como texto ("Viendo", "Completado", etc.).
      */
     public String getEstadoLegible() {
-        switch (finalizado) {
-            case "1":
-                return "Completado";
-            case "2":
-                return "Pendiente";
-            case "3":
-                return "En pausa";
-            case "4":
-                return "Abandonado";
-            case "5":
-                return "Reviendo";
-            default:
-                return "Viendo"; // Valor por defecto
-        }
+        return estado.getEtiqueta();
+    }
+
+    /**
+     * Compara dos K-Dramas por el contenido de sus campos. La clave de ordenación y la fecha de
+     * modificación no se comparan: derivan de los demás campos y no se muestran.
+     * Utilizado por el adaptador para detectar qué filas cambiaron entre dos listas.
+     *
+     * @param o Objeto a comparar.
+     * @return true si todos los campos coinciden.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Kdrama)) return false;
+        Kdrama otro = (Kdrama) o;
+        return id == otro.id &&
+                anio == otro.anio &&
+                capitulos == otro.capitulos &&
+                Float.compare(calificacion, otro.calificacion) == 0 &&
+                estado == otro.estado &&
+                Objects.equals(titulo, otro.titulo) &&
+                Objects.equals(genero, otro.genero) &&
+                Objects.equals(imagenUrl, otro.imagenUrl) &&
+                Objects.equals(imagenLocal, otro.imagenLocal);
+    }
+
+    @Override
+    public int hashCode() {
+        int resultado = Long.hashCode(id);
+        resultado = 31 * resultado + Objects.hashCode(titulo);
+        resultado = 31 * resultado + Objects.hashCode(genero);
+        resultado = 31 * resultado + anio;
+        resultado = 31 * resultado + capitulos;
+        resultado = 31 * resultado + Float.floatToIntBits(calificacion);
+        resultado = 31 * resultado + estado.hashCode();
+        resultado = 31 * resultado + Objects.hashCode(imagenUrl);
+        resultado = 31 * resultado + Objects.hashCode(imagenLocal);
+        return resultado;
     }
 }
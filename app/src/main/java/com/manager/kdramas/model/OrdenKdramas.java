@@ -0,0 +1,59 @@
+package com.manager.kdramas.model;
+
+import java.util.Comparator;
+
+/**
+ * OrdenKdramas - Criterios de ordenación de la lista de K-Dramas.
+
+ * Responsabilidades:
+ * - Definir cada criterio con su desempate por ID, de modo que el orden sea total y la paginación
+ *   por clave no repita ni omita registros.
+ * - Proporcionar el comparador en memoria equivalente al ORDER BY que usa el repositorio para
+ *   cada criterio, con el que el catálogo en memoria ubica las escrituras.
+ * - El orden de declaración coincide con el de las opciones del submenú de ordenación de la lista.
+ */
+public enum OrdenKdramas {
+
+    // clave_titulo, id
+    TITULO((a, b) -> {
+        int porClave = a.getClaveTitulo().compareTo(b.getClaveTitulo());
+        return porClave != 0 ? porClave : Long.compare(a.getId(), b.getId());
+    }),
+
+    // calificacion DESC, id DESC
+    CALIFICACION((a, b) -> {
+        int porCalificacion = Float.compare(b.getCalificacion(), a.getCalificacion());
+        return porCalificacion != 0 ? porCalificacion : Long.compare(b.getId(), a.getId());
+    }),
+
+    // anio DESC, id DESC
+    ANIO((a, b) -> {
+        int porAnio = Integer.compare(b.getAnio(), a.getAnio());
+        return porAnio != 0 ? porAnio : Long.compare(b.getId(), a.getId());
+    }),
+
+    // actualizado_en DESC, id DESC
+    RECIENTES((a, b) -> {
+        int porFecha = Long.compare(b.getActualizadoEn(), a.getActualizadoEn());
+        return porFecha != 0 ? porFecha : Long.compare(b.getId(), a.getId());
+    }),
+
+    // finalizado, clave_titulo, id
+    ESTADO((a, b) -> {
+        int porEstado = Integer.compare(a.getEstado().getCodigo(), b.getEstado().getCodigo());
+        return porEstado != 0 ? porEstado : TITULO.comparador.compare(a, b);
+    });
+
+    private final Comparator<Kdrama> comparador;
+
+    OrdenKdramas(Comparator<Kdrama> comparador) {
+        this.comparador = comparador;
+    }
+
+    /**
+     * @return Comparador con el mismo orden que la consulta paginada de este criterio.
+     */
+    public Comparator<Kdrama> getComparador() {
+        return comparador;
+    }
+}
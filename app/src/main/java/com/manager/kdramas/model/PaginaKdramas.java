@@ -0,0 +1,57 @@
+package com.manager.kdramas.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * PaginaKdramas - Resultado de una consulta paginada por clave (keyset) sobre el catálogo.
+
+ * Responsabilidades:
+ * - Transportar los K-Dramas de una página junto con el último registro, cuyos valores de ordenación
+ *   sirven de clave para solicitar la siguiente.
+ * - Indicar si existen más registros después de esta página.
+ * - Ser inmutable para poder compartirse entre hilos sin sincronización.
+ */
+public final class PaginaKdramas {
+
+    // Número de registros que la aplicación solicita por página
+    public static final int TAMANIO = 50;
+
+    private final List<Kdrama> elementos;
+    private final Kdrama ultimo;
+    private final boolean hayMas;
+
+    /**
+     * Constructor de la página.
+     *
+     * @param elementos Registros de la página, ya ordenados según el criterio de la consulta.
+     * @param hayMas    true si la consulta encontró registros posteriores a esta página.
+     */
+    public PaginaKdramas(List<Kdrama> elementos, boolean hayMas) {
+        this.elementos = Collections.unmodifiableList(elementos);
+        this.hayMas = hayMas;
+        this.ultimo = elementos.isEmpty() ? null : elementos.get(elementos.size() - 1);
+    }
+
+    public List<Kdrama> getElementos() {
+        return elementos;
+    }
+
+    /**
+     * @return Último registro de la página, o null si la página está vacía.
+     */
+    public Kdrama getUltimo() {
+        return ultimo;
+    }
+
+    /**
+     * @return ID del último registro de la página, o {@link Kdrama#ID_NUEVO} si la página está vacía.
+     */
+    public long getUltimoId() {
+        return ultimo == null ? Kdrama.ID_NUEVO : ultimo.getId();
+    }
+
+    public boolean hayMas() {
+        return hayMas;
+    }
+}
@@ -0,0 +1,431 @@
+package com.manager.kdramas.repositories;
+
+import android.util.LruCache;
+import androidx.annotation.VisibleForTesting;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import com.manager.kdramas.model.FiltroKdramas;
+import com.manager.kdramas.model.Kdrama;
+import com.manager.kdramas.model.OrdenKdramas;
+import com.manager.kdramas.model.PaginaKdramas;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * CatalogoEnMemoria - Copia en memoria, compartida por toda la aplicación, de las páginas cargadas del catálogo.
+
+ * Responsabilidades:
+ * - Mantener los K-Dramas cargados en el mismo orden que la consulta paginada del criterio elegido.
+ * - Recordar el filtro activo y descartar de las escrituras los registros que no lo cumplen.
+ * - Cambiar de criterio de ordenación reordenando en memoria cuando ya está cargado todo lo que
+ *   cumple el filtro, sin volver a consultar la base de datos.
+ * - Aplicar las escrituras confirmadas en la base de datos sin volver a consultarla.
+ * - Publicar cada cambio como una instantánea inmutable mediante LiveData.
+ * - Rechazar páginas leídas antes de una escritura para que no sobrescriban cambios más recientes.
+ * - Resolver K-Dramas por ID desde una caché LRU que las mismas escrituras mantienen al día.
+ * - Mostrar la instantánea guardada de la lista hasta que llegue la primera página real, y avisar
+ *   de cada cambio confirmado para que la instantánea se vuelva a guardar.
+ */
+public final class CatalogoEnMemoria {
+
+    // K-Dramas recordados por ID, independientemente del filtro activo
+    private static final int CAPACIDAD_POR_ID = 256;
+
+    private static volatile CatalogoEnMemoria instancia;
+
+    private final List<Kdrama> cargados = new ArrayList<>();
+    private PaginaKdramas ultimaPagina;
+    private FiltroKdramas filtro = FiltroKdramas.SIN_FILTRO;
+    private OrdenKdramas orden = OrdenKdramas.TITULO;
+    private final LruCache<Long, Kdrama> porId = new LruCache<>(CAPACIDAD_POR_ID);
+
+    // Se incrementa con cada escritura aplicada; permite detectar lecturas obsoletas
+    private long version;
+
+    // Se invoca tras cada cambio del contenido leído de la base de datos (no de la instantánea)
+    private volatile Runnable oyenteCambios;
+
+    private final MutableLiveData<List<Kdrama>> _kdramas = new MutableLiveData<>();
+    public final LiveData<List<Kdrama>> kdramas = _kdramas;
+
+    private CatalogoEnMemoria() {
+    }
+
+    /**
+     * Devuelve el catálogo compartido, creándolo la primera vez.
+     *
+     * @return Instancia única del catálogo.
+     */
+    public static CatalogoEnMemoria getInstance() {
+        CatalogoEnMemoria local = instancia;
+        if (local == null) {
+            synchronized (CatalogoEnMemoria.class) {
+                local = instancia;
+                if (local == null) {
+                    local = new CatalogoEnMemoria();
+                    instancia = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Descarta la instancia compartida.
+     * Solo para pruebas en la JVM, donde cada prueba necesita un catálogo vacío.
+     */
+    @VisibleForTesting
+    public static void reiniciarInstancia() {
+        synchronized (CatalogoEnMemoria.class) {
+            instancia = null;
+        }
+    }
+
+    /**
+     * Versión actual del catálogo. Debe capturarse antes de consultar la base de datos
+     * y entregarse junto con la página resultante.
+     *
+     * @return Número de escrituras aplicadas hasta el momento.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return true si ya se cargó al menos la primera página.
+     */
+    public synchronized boolean estaCargado() {
+        return ultimaPagina != null;
+    }
+
+    /**
+     * @return Filtro con el que se cargan las páginas.
+     */
+    public synchronized FiltroKdramas getFiltro() {
+        return filtro;
+    }
+
+    /**
+     * Cambia el filtro activo. Las páginas cargadas se siguen mostrando hasta que llegue
+     * la primera página del nuevo filtro, pero cualquier lectura en curso queda obsoleta.
+     *
+     * @param nuevoFiltro Filtro a aplicar.
+     * @return true si el filtro cambió y debe cargarse de nuevo la primera página.
+     */
+    public synchronized boolean cambiarFiltro(FiltroKdramas nuevoFiltro) {
+        if (filtro.equals(nuevoFiltro)) {
+            return false;
+        }
+        filtro = nuevoFiltro;
+        ultimaPagina = null;
+        version++;
+        return true;
+    }
+
+    /**
+     * @return Criterio con el que se ordenan y cargan las páginas.
+     */
+    public synchronized OrdenKdramas getOrden() {
+        return orden;
+    }
+
+    /**
+     * Cambia el criterio de ordenación. Si ya se cargó todo lo que cumple el filtro, la lista se reordena
+     * en memoria y se publica de inmediato; si no, las páginas cargadas se siguen mostrando hasta que llegue
+     * la primera página del nuevo criterio. En ambos casos cualquier lectura en curso queda obsoleta.
+     *
+     * @param nuevoOrden Criterio a aplicar.
+     * @return true si el criterio cambió y debe cargarse de nuevo la primera página.
+     */
+    public synchronized boolean cambiarOrden(OrdenKdramas nuevoOrden) {
+        if (orden == nuevoOrden) {
+            return false;
+        }
+        orden = nuevoOrden;
+        version++;
+        if (ultimaPagina != null && !ultimaPagina.hayMas()) {
+            // Sin registros pendientes, la clave de continuación de la última página ya no se consulta
+            Collections.sort(cargados, orden.getComparador());
+            publicar();
+            avisarCambio();
+            return false;
+        }
+        ultimaPagina = null;
+        return true;
+    }
+
+    /**
+     * @return Última página incorporada, o null si el catálogo aún no se ha cargado.
+     */
+    public synchronized PaginaKdramas getUltimaPagina() {
+        return ultimaPagina;
+    }
+
+    /**
+     * Registra el receptor de avisos de cambio. Se invoca con el bloqueo del catálogo tomado
+     * y en el hilo que aplicó el cambio, por lo que solo debe programar trabajo.
+     *
+     * @param oyente Receptor, o null para dejar de avisar.
+     */
+    public void setOyenteCambios(Runnable oyente) {
+        oyenteCambios = oyente;
+    }
+
+    /**
+     * Muestra los K-Dramas de la instantánea guardada mientras se lee la primera página.
+     * Solo se aplica si no se ha cargado nada, el filtro es {@link FiltroKdramas#SIN_FILTRO},
+     * el orden es {@link OrdenKdramas#TITULO} y no hubo escrituras durante la lectura. No cuenta como página cargada ni alimenta la caché
+     * por ID, ya que la instantánea puede estar ligeramente desactualizada.
+     *
+     * @param kdramas        K-Dramas leídos de la instantánea.
+     * @param versionLectura Versión capturada antes de leer la instantánea.
+     * @return true si se publicaron.
+     */
+    public synchronized boolean mostrarInstantanea(List<Kdrama> kdramas, long versionLectura) {
+        if (versionLectura != version || ultimaPagina != null || !cargados.isEmpty() || !esListaPredeterminada()) {
+            return false;
+        }
+        cargados.addAll(kdramas);
+        publicar();
+        return true;
+    }
+
+    /**
+     * Copia los primeros K-Dramas de la lista sin filtrar y ordenada por título, para guardarlos como instantánea.
+     *
+     * @param maximo Número máximo de K-Dramas.
+     * @return Copia de los primeros K-Dramas, o null si la lista cargada no es la que se muestra al arrancar.
+     */
+    public synchronized List<Kdrama> copiarParaInstantanea(int maximo) {
+        if (ultimaPagina == null || !esListaPredeterminada()) {
+            return null;
+        }
+        return new ArrayList<>(cargados.subList(0, Math.min(maximo, cargados.size())));
+    }
+
+    /**
+     * Sustituye el contenido por la primera página del catálogo.
+     *
+     * @param pagina          Primera página leída de la base de datos.
+     * @param versionLectura  Versión capturada antes de la lectura.
+     * @return false si hubo escrituras durante la lectura y la página debe volver a leerse.
+     */
+    public synchronized boolean reemplazarConPrimeraPagina(PaginaKdramas pagina, long versionLectura) {
+        if (versionLectura != version) {
+            return false;
+        }
+        cargados.clear();
+        cargados.addAll(pagina.getElementos());
+        recordarTodos(pagina.getElementos());
+        ultimaPagina = pagina;
+        publicar();
+        avisarCambio();
+        return true;
+    }
+
+    /**
+     * Añade la página siguiente a las ya cargadas.
+     *
+     * @param anterior       Página que la nueva continúa.
+     * @param pagina         Página leída de la base de datos.
+     * @param versionLectura Versión capturada antes de la lectura.
+     * @return false si la página no continúa lo cargado o se leyó antes de una escritura.
+     */
+    public synchronized boolean agregarPagina(PaginaKdramas anterior, PaginaKdramas pagina, long versionLectura) {
+        if (versionLectura != version || anterior != ultimaPagina) {
+            return false;
+        }
+        cargados.addAll(pagina.getElementos());
+        recordarTodos(pagina.getElementos());
+        ultimaPagina = pagina;
+        publicar();
+        return true;
+    }
+
+    /**
+     * Busca un K-Drama en la caché por ID, sin acceder a la base de datos.
+     *
+     * @param id ID del K-Drama.
+     * @return Copia modificable del K-Drama, o null si no está en la caché.
+     */
+    public synchronized Kdrama buscarPorId(long id) {
+        Kdrama kdrama = porId.get(id);
+        return kdrama == null ? null : new Kdrama(kdrama);
+    }
+
+    /**
+     * Guarda en la caché por ID K-Dramas leídos fuera de la paginación (búsquedas, consultas por ID).
+     * Se ignoran si hubo escrituras durante la lectura, para no guardar datos obsoletos.
+     *
+     * @param kdramas        K-Dramas leídos de la base de datos.
+     * @param versionLectura Versión capturada antes de la lectura.
+     */
+    public synchronized void recordar(List<Kdrama> kdramas, long versionLectura) {
+        if (versionLectura == version) {
+            recordarTodos(kdramas);
+        }
+    }
+
+    /**
+     * Incorpora un K-Drama recién insertado, si su posición cae dentro de las páginas cargadas.
+     * Si queda más allá de la última página y aún quedan registros, aparecerá al cargar esa página.
+     *
+     * @param kdrama K-Drama insertado, con el ID asignado por la base de datos.
+     */
+    public synchronized void aplicarInsercion(Kdrama kdrama) {
+        version++;
+        porId.put(kdrama.getId(), kdrama);
+        insertarEnOrden(kdrama);
+        publicar();
+        avisarCambio();
+    }
+
+    /**
+     * Incorpora un lote de K-Dramas recién insertados o restaurados con una sola publicación. Todos se
+     * guardan en la caché por ID, pero en la lista solo los que caen dentro de las páginas cargadas;
+     * el resto llegará con la paginación.
+     *
+     * @param kdramas K-Dramas insertados, con sus IDs asignados. No deben modificarse después.
+     */
+    public synchronized void aplicarInserciones(List<Kdrama> kdramas) {
+        version++;
+        int antes = cargados.size();
+        for (Kdrama kdrama : kdramas) {
+            porId.put(kdrama.getId(), kdrama);
+            insertarEnOrden(kdrama);
+        }
+        if (cargados.size() != antes) {
+            publicar();
+            avisarCambio();
+        }
+    }
+
+    /**
+     * Reemplaza un K-Drama modificado, reubicándolo si cambió algún valor del orden vigente.
+     *
+     * @param kdrama K-Drama con los datos ya guardados.
+     */
+    public synchronized void aplicarActualizacion(Kdrama kdrama) {
+        version++;
+        porId.put(kdrama.getId(), kdrama);
+        quitarPorId(kdrama.getId());
+        insertarEnOrden(kdrama);
+        publicar();
+        avisarCambio();
+    }
+
+    /**
+     * Reemplaza varios K-Dramas modificados con una sola publicación, reubicando cada uno según el
+     * orden vigente. Los que no estaban cargados se incorporan si ahora caen dentro de las páginas cargadas.
+     *
+     * @param kdramas K-Dramas con los datos ya guardados. No deben modificarse después.
+     */
+    public synchronized void aplicarActualizaciones(List<Kdrama> kdramas) {
+        if (kdramas.isEmpty()) {
+            return;
+        }
+        version++;
+        Set<Long> ids = new HashSet<>();
+        for (Kdrama kdrama : kdramas) {
+            porId.put(kdrama.getId(), kdrama);
+            ids.add(kdrama.getId());
+        }
+        cargados.removeIf(kdrama -> ids.contains(kdrama.getId()));
+        for (Kdrama kdrama : kdramas) {
+            insertarEnOrden(kdrama);
+        }
+        publicar();
+        avisarCambio();
+    }
+
+    /**
+     * Quita varios K-Dramas eliminados de las páginas cargadas con una sola publicación.
+     *
+     * @param ids IDs de los K-Dramas eliminados.
+     */
+    public synchronized void aplicarEliminaciones(Set<Long> ids) {
+        version++;
+        for (long id : ids) {
+            porId.remove(id);
+        }
+        if (cargados.removeIf(kdrama -> ids.contains(kdrama.getId()))) {
+            publicar();
+            avisarCambio();
+        }
+    }
+
+    /**
+     * Quita un K-Drama eliminado de las páginas cargadas.
+     *
+     * @param id ID del K-Drama eliminado.
+     */
+    public synchronized void aplicarEliminacion(long id) {
+        version++;
+        porId.remove(id);
+        if (quitarPorId(id)) {
+            publicar();
+            avisarCambio();
+        }
+    }
+
+    /**
+     * @return true si la lista es la que se muestra al arrancar: sin filtro y ordenada por título.
+     */
+    private boolean esListaPredeterminada() {
+        return FiltroKdramas.SIN_FILTRO.equals(filtro) && orden == OrdenKdramas.TITULO;
+    }
+
+    private void recordarTodos(List<Kdrama> kdramas) {
+        for (Kdrama kdrama : kdramas) {
+            porId.put(kdrama.getId(), kdrama);
+        }
+    }
+
+    private void insertarEnOrden(Kdrama kdrama) {
+        if (ultimaPagina == null || !filtro.cumple(kdrama)) {
+            return;
+        }
+        int posicion = Collections.binarySearch(cargados, kdrama, orden.getComparador());
+        if (posicion >= 0) {
+            cargados.set(posicion, kdrama);
+            return;
+        }
+        if (ultimaPagina.hayMas() && quedaDespuesDeUltimaPagina(kdrama)) {
+            return;
+        }
+        cargados.add(-(posicion + 1), kdrama);
+    }
+
+    /**
+     * Compara con la clave de continuación de la última página (no con el último elemento en memoria,
+     * que puede haberse eliminado): lo que queda después de esa clave llegará con la página siguiente.
+     */
+    private boolean quedaDespuesDeUltimaPagina(Kdrama kdrama) {
+        Kdrama ultimo = ultimaPagina.getUltimo();
+        return ultimo != null && orden.getComparador().compare(kdrama, ultimo) > 0;
+    }
+
+    private boolean quitarPorId(long id) {
+        for (int i = 0; i < cargados.size(); i++) {
+            if (cargados.get(i).getId() == id) {
+                cargados.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void publicar() {
+        _kdramas.postValue(Collections.unmodifiableList(new ArrayList<>(cargados)));
+    }
+
+    private void avisarCambio() {
+        Runnable oyente = oyenteCambios;
+        if (oyente != null) {
+            oyente.run();
+        }
+    }
+}
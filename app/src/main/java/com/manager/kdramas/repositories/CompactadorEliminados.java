@@ -0,0 +1,121 @@
+package com.manager.kdramas.repositories;
+
+import android.content.Context;
+import android.util.Log;
+import com.manager.kdramas.executors.DataExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * CompactadorEliminados - Purga en segundo plano los K-Dramas eliminados y devuelve su espacio al sistema.
+
+ * Responsabilidades:
+ * - Borrar definitivamente los K-Dramas eliminados hace más de {@link #RETENCION_MS}, cuando ya no
+ *   pueden restaurarse desde la interfaz.
+ * - Trabajar por lotes pequeños, cada uno en su propia tarea del carril de escritura y su propia
+ *   transacción, para que las escrituras del usuario se intercalen entre lotes. Las lecturas no esperan
+ *   en ningún caso: la base de datos está en modo WAL.
+ * - Tras la purga, liberar las páginas libres del archivo por pasos con el vacío incremental.
+ * - Ejecutar una sola compactación a la vez.
+ */
+public final class CompactadorEliminados {
+
+    private static final String TAG = "CompactadorEliminados";
+
+    // Tiempo que un K-Drama eliminado se conserva antes de purgarlo, muy superior al de la opción de deshacer
+    static final long RETENCION_MS = TimeUnit.DAYS.toMillis(1);
+
+    // Filas purgadas por transacción
+    private static final int FILAS_POR_LOTE = 200;
+
+    // Páginas liberadas por paso del vacío incremental (1 MB con páginas de 4 KB)
+    private static final int PAGINAS_POR_PASO = 256;
+
+    private static volatile CompactadorEliminados instancia;
+
+    private final KdramaRepository repository;
+    private final DataExecutor dataExecutor = DataExecutor.getInstance();
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+
+    // Fecha de eliminación límite de la compactación en curso
+    private volatile long eliminadosAntesDe;
+
+    private int filasPurgadas;
+    private int paginasLiberadas;
+
+    private CompactadorEliminados(Context context) {
+        repository = new KdramaRepository(context);
+    }
+
+    /**
+     * Devuelve el compactador compartido, creándolo la primera vez.
+     *
+     * @param context Cualquier contexto; se conserva solo el de aplicación.
+     * @return Instancia única.
+     */
+    public static CompactadorEliminados getInstance(Context context) {
+        CompactadorEliminados local = instancia;
+        if (local == null) {
+            synchronized (CompactadorEliminados.class) {
+                local = instancia;
+                if (local == null) {
+                    local = new CompactadorEliminados(context.getApplicationContext());
+                    instancia = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Programa una compactación en el carril de escritura. No tiene efecto si ya hay una en curso.
+     */
+    public void programar() {
+        if (!enCurso.compareAndSet(false, true)) {
+            return;
+        }
+        eliminadosAntesDe = System.currentTimeMillis() - RETENCION_MS;
+        filasPurgadas = 0;
+        paginasLiberadas = 0;
+        dataExecutor.ejecutarEscritura(this::purgarLote);
+    }
+
+    /**
+     * Purga un lote y encola el siguiente, o el primer paso del vacío si no quedan filas caducadas.
+     */
+    private void purgarLote() {
+        int filas;
+        try {
+            filas = repository.purgarEliminados(eliminadosAntesDe, FILAS_POR_LOTE);
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Compactación interrumpida: " + e.getMessage());
+            enCurso.set(false);
+            return;
+        }
+        filasPurgadas += filas;
+        dataExecutor.ejecutarEscritura(filas == FILAS_POR_LOTE ? this::purgarLote : this::liberarPaso);
+    }
+
+    /**
+     * Libera un paso de páginas y encola el siguiente mientras queden páginas libres.
+     */
+    private void liberarPaso() {
+        int paginas;
+        try {
+            paginas = repository.liberarEspacio(PAGINAS_POR_PASO);
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Liberación de espacio interrumpida: " + e.getMessage());
+            enCurso.set(false);
+            return;
+        }
+        paginasLiberadas += paginas;
+        if (paginas == PAGINAS_POR_PASO) {
+            dataExecutor.ejecutarEscritura(this::liberarPaso);
+            return;
+        }
+        if (filasPurgadas > 0 || paginasLiberadas > 0) {
+            Log.i(TAG, filasPurgadas + " eliminados purgados, " + paginasLiberadas + " páginas liberadas");
+        }
+        enCurso.set(false);
+    }
+}
@@ -0,0 +1,160 @@
+package com.manager.kdramas.repositories;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import com.manager.kdramas.database.DBHelper;
+import com.manager.kdramas.executors.DataExecutor;
+import com.manager.kdramas.io.FormatoInstantanea;
+import com.manager.kdramas.model.Kdrama;
+import com.manager.kdramas.model.PaginaKdramas;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * InstantaneaCatalogo - Instantánea binaria de la primera página de la lista, para mostrarla al arrancar.
+
+ * Responsabilidades:
+ * - Guardar en un archivo los K-Dramas visibles al inicio de la lista sin filtrar, poco después
+ *   de cada cambio confirmado en el catálogo en memoria.
+ * - Al arrancar, mapear el archivo en memoria y publicar su contenido en el catálogo sin esperar
+ *   a SQLite; la primera página leída de la base de datos lo reemplaza en cuanto llega.
+ * - Descartar (y borrar) las instantáneas dañadas o escritas con otro formato o versión del esquema.
+ */
+public final class InstantaneaCatalogo {
+
+    private static final String TAG = "InstantaneaCatalogo";
+    private static final String NOMBRE_ARCHIVO = "instantanea_lista.bin";
+    private static final String SUFIJO_TEMPORAL = ".tmp";
+
+    // Espera tras el último cambio antes de guardar, para agrupar ráfagas de escrituras
+    private static final long RETARDO_GUARDADO_MS = 1000;
+
+    private static volatile InstantaneaCatalogo instancia;
+
+    private final File archivo;
+    private final CatalogoEnMemoria catalogo = CatalogoEnMemoria.getInstance();
+    private final DataExecutor dataExecutor = DataExecutor.getInstance();
+    private final Handler manejador = new Handler(Looper.getMainLooper());
+    private final Runnable guardadoProgramado = this::encolarGuardado;
+
+    // La instantánea solo se muestra una vez por proceso
+    private final AtomicBoolean cargaIntentada = new AtomicBoolean();
+
+    private InstantaneaCatalogo(Context context) {
+        archivo = new File(context.getFilesDir(), NOMBRE_ARCHIVO);
+        catalogo.setOyenteCambios(this::programarGuardado);
+    }
+
+    /**
+     * Devuelve la instantánea compartida, creándola la primera vez. Al crearse empieza a guardar
+     * los cambios del catálogo en memoria.
+     *
+     * @param context Cualquier contexto; se usa solo para ubicar el archivo.
+     * @return Instancia única.
+     */
+    public static InstantaneaCatalogo getInstance(Context context) {
+        InstantaneaCatalogo local = instancia;
+        if (local == null) {
+            synchronized (InstantaneaCatalogo.class) {
+                local = instancia;
+                if (local == null) {
+                    local = new InstantaneaCatalogo(context.getApplicationContext());
+                    instancia = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Lee la instantánea y la publica en el catálogo si este aún no se ha cargado.
+     * Solo tiene efecto la primera vez por proceso. Debe ejecutarse fuera del hilo principal;
+     * no accede a la base de datos.
+     *
+     * @return Número de K-Dramas publicados; 0 si no había instantánea válida o ya no hacía falta.
+     */
+    public int cargar() {
+        if (!cargaIntentada.compareAndSet(false, true) || catalogo.estaCargado() || !archivo.isFile()) {
+            return 0;
+        }
+        long inicio = System.nanoTime();
+        long versionLectura = catalogo.getVersion();
+        List<Kdrama> kdramas = leer();
+        if (kdramas == null) {
+            Log.w(TAG, "Instantánea no válida o de otra versión; se descarta");
+            archivo.delete();
+            return 0;
+        }
+        if (!catalogo.mostrarInstantanea(kdramas, versionLectura)) {
+            return 0;
+        }
+        Log.i(TAG, String.format(Locale.US, "%d K-Dramas mostrados en %.2f ms",
+                kdramas.size(), (System.nanoTime() - inicio) / 1_000_000.0));
+        return kdramas.size();
+    }
+
+    /**
+     * Mapea el archivo en memoria y lo decodifica.
+     *
+     * @return K-Dramas guardados, o null si el archivo no es una instantánea válida.
+     */
+    private List<Kdrama> leer() {
+        try (FileInputStream entrada = new FileInputStream(archivo);
+             FileChannel canal = entrada.getChannel()) {
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            return FormatoInstantanea.decodificar(mapa, DBHelper.getVersionEsquema());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Programa el guardado tras {@link #RETARDO_GUARDADO_MS}; cada cambio nuevo reinicia la espera.
+     * Se invoca desde el catálogo con su bloqueo tomado, por lo que solo publica en el hilo principal.
+     */
+    private void programarGuardado() {
+        manejador.removeCallbacks(guardadoProgramado);
+        manejador.postDelayed(guardadoProgramado, RETARDO_GUARDADO_MS);
+    }
+
+    private void encolarGuardado() {
+        dataExecutor.ejecutarLectura(DataExecutor.Prioridad.FONDO, this::guardar);
+    }
+
+    /**
+     * Escribe la instantánea en un archivo temporal y lo renombra sobre el anterior,
+     * de modo que nunca se lea un archivo a medio escribir.
+     */
+    private synchronized void guardar() {
+        List<Kdrama> kdramas = catalogo.copiarParaInstantanea(PaginaKdramas.TAMANIO);
+        if (kdramas == null) {
+            return;
+        }
+        ByteBuffer datos = FormatoInstantanea.codificar(kdramas, DBHelper.getVersionEsquema());
+        File temporal = new File(archivo.getPath() + SUFIJO_TEMPORAL);
+        try {
+            try (FileOutputStream salida = new FileOutputStream(temporal);
+                 FileChannel canal = salida.getChannel()) {
+                while (datos.hasRemaining()) {
+                    canal.write(datos);
+                }
+            }
+            if (!temporal.renameTo(archivo)) {
+                throw new IOException("No se pudo reemplazar " + archivo.getName());
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Error al guardar la instantánea: " + e.getMessage());
+            temporal.delete();
+        }
+    }
+}
@@ -5,10 +5,31 @@ package com.manager.kdramas.repositories;
 import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
+import com.manager.kdramas.database.ClaveOrden;
 import com.manager.kdramas.database.DBHelper;
+import com.manager.kdramas.metricas.MetricasDatos;
+import com.manager.kdramas.metricas.MetricasDatos.Operacion;
+import com.manager.kdramas.model.CambioCatalogo;
+import com.manager.kdramas.model.EstadisticasCatalogo;
+import com.manager.kdramas.model.EstadoVisionado;
+import com.manager.kdramas.model.FiltroKdramas;
 import com.manager.kdramas.model.Kdrama;
+import com.manager.kdramas.model.OrdenKdramas;
+import com.manager.kdramas.model.PaginaKdramas;
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * KdramaRepository - Implementación del patrón Repository para acceso a datos de K-Dramas.
@@ -17,190 +38,1223 @@ import java.util.List;
  * - Encapsular operaciones de lectura y escritura sobre la base de datos SQLite.
  * - Proporcionar una interfaz limpia para acceder a los datos desde el ViewModel.
  * - Centralizar el mapeo entre registros de base de datos y objetos del modelo.
+ * - Calcular en cada escritura la clave de ordenación del título y la fecha de modificación.
+ * - Registrar en {@link MetricasDatos} la latencia, las filas y los errores de cada operación.
+ * - Publicar en {@link NotificadorCambios} los IDs insertados, actualizados (con sus campos) y eliminados
+ *   por cada escritura confirmada.
+ * - Aplicar las operaciones sobre varios K-Dramas en una sola transacción con una sentencia compilada
+ *   una vez, publicando una única notificación por operación.
+ * - Eliminar de forma lógica: la fila se marca con la fecha de eliminación, deja de aparecer en todas
+ *   las consultas y puede restaurarse hasta que {@link CompactadorEliminados} la purga.
  */
 public class KdramaRepository {
 
+    // Condición de las filas no eliminadas, que coincide con la de los índices parciales
+    private static final String VIGENTE = DBHelper.CONDICION_VIGENTE;
+
+    // Consultas que devuelven distinto de cero si un resumen no coincide con la tabla kdrama:
+    // falta o sobra un grupo, o algún contador difiere del valor recalculado.
+    private static final String[] CONSULTAS_INCONSISTENCIA_RESUMEN = {
+            "SELECT (SELECT COUNT(*) FROM resumen_estado) != " +
+                    "(SELECT COUNT(DISTINCT IFNULL(finalizado, 0)) FROM kdrama WHERE " + VIGENTE + ") " +
+                    "OR EXISTS (SELECT 1 FROM (SELECT IFNULL(finalizado, 0) AS estado, COUNT(*) AS cantidad " +
+                    "FROM kdrama WHERE " + VIGENTE + " GROUP BY 1) a " +
+                    "LEFT JOIN resumen_estado r ON r.estado = a.estado " +
+                    "WHERE r.estado IS NULL OR r.cantidad != a.cantidad)",
+            "SELECT (SELECT COUNT(*) FROM resumen_genero) != " +
+                    "(SELECT COUNT(DISTINCT genero) FROM kdrama WHERE " + VIGENTE + ") " +
+                    "OR EXISTS (SELECT 1 FROM (SELECT genero, COUNT(*) AS cantidad, SUM(calificacion) AS suma " +
+                    "FROM kdrama WHERE " + VIGENTE + " GROUP BY genero) a " +
+                    "LEFT JOIN resumen_genero r ON r.genero = a.genero " +
+                    "WHERE r.genero IS NULL OR r.cantidad != a.cantidad OR ABS(r.suma_calificacion - a.suma) > 0.001)",
+            "SELECT (SELECT COUNT(*) FROM resumen_anio) != " +
+                    "(SELECT COUNT(DISTINCT anio) FROM kdrama WHERE " + VIGENTE + ") " +
+                    "OR EXISTS (SELECT 1 FROM (SELECT anio, COUNT(*) AS cantidad, " +
+                    "SUM(CASE WHEN finalizado IN (1, 5) THEN capitulos ELSE 0 END) AS vistos " +
+                    "FROM kdrama WHERE " + VIGENTE + " GROUP BY anio) a LEFT JOIN resumen_anio r ON r.anio = a.anio " +
+                    "WHERE r.anio IS NULL OR r.cantidad != a.cantidad OR r.capitulos_vistos != a.vistos)"
+    };
+
+    private static final String SQL_POR_ID = "SELECT * FROM kdrama WHERE id = ? AND " + VIGENTE;
+    private static final String SQL_BLOQUE_POR_ID =
+            "SELECT * FROM kdrama WHERE id > ? AND " + VIGENTE + " ORDER BY id LIMIT ?";
+    private static final String SQL_INSERTAR_KDRAMA =
+            "INSERT INTO kdrama (titulo, genero, anio, capitulos, calificacion, imagen_url, clave_titulo, actualizado_en) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    // La portada local se conserva solo si la URL no cambió (SET evalúa con los valores anteriores)
+    private static final String SQL_ACTUALIZAR_KDRAMA =
+            "UPDATE kdrama SET titulo=?, genero=?, anio=?, capitulos=?, calificacion=?, finalizado=?, " +
+                    "imagen_local = CASE WHEN imagen_url IS ? THEN imagen_local ELSE NULL END, imagen_url=?, " +
+                    "clave_titulo=?, actualizado_en=? WHERE id=? AND " + VIGENTE;
+    // El borrado es lógico: los disparadores quitan la fila del índice de búsqueda y de los resúmenes
+    private static final String SQL_ELIMINAR_KDRAMA =
+            "UPDATE kdrama SET eliminado_en=? WHERE id=? AND " + VIGENTE;
+    private static final String SQL_RESTAURAR_KDRAMA =
+            "UPDATE kdrama SET eliminado_en=NULL WHERE id=? AND eliminado_en IS NOT NULL";
+    private static final String SQL_ACTUALIZAR_IMAGEN_LOCAL =
+            "UPDATE kdrama SET imagen_local=? WHERE id=? AND imagen_url=? AND " + VIGENTE;
+    // Parámetros numerados: el valor (?1) y la fecha (?2) se enlazan una vez por lote y el ID (?3) por fila.
+    // Solo se modifican, y cambian de fecha, las filas cuyo valor es distinto.
+    private static final String SQL_CAMBIAR_ESTADO =
+            "UPDATE kdrama SET finalizado=?1, actualizado_en=?2 WHERE id=?3 AND finalizado != ?1 AND " + VIGENTE;
+    private static final String SQL_CAMBIAR_CALIFICACION =
+            "UPDATE kdrama SET calificacion=?1, actualizado_en=?2 WHERE id=?3 AND calificacion != ?1 AND " + VIGENTE;
+    // Purga un lote de filas eliminadas antes de una fecha, recorriendo solo el índice de las eliminadas
+    private static final String SQL_PURGAR_ELIMINADOS =
+            "DELETE FROM kdrama WHERE id IN (SELECT id FROM kdrama " +
+                    "WHERE eliminado_en IS NOT NULL AND eliminado_en < ? LIMIT ?)";
+
+    // Sentencias de uso frecuente que se precompilan durante el arranque
+    private static final String[] SENTENCIAS_FRECUENTES = {
+            SQL_POR_ID, SQL_INSERTAR_KDRAMA, SQL_ACTUALIZAR_KDRAMA, SQL_ELIMINAR_KDRAMA,
+            SQL_ACTUALIZAR_IMAGEN_LOCAL
+    };
+
+    // Máximo de IDs por consulta IN, por debajo del límite de 999 parámetros de SQLite
+    private static final int IDS_POR_CONSULTA = 500;
+
+    // Valor de PRAGMA auto_vacuum en modo incremental
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+    // Páginas libres a partir de las cuales compensa convertir una base de datos al autovacío incremental
+    // (unos 4 MB con páginas de 4 KB)
+    private static final int PAGINAS_LIBRES_CONVERSION = 1024;
+
+    private static final MetricasDatos metricas = MetricasDatos.getInstance();
+    private static final NotificadorCambios notificador = NotificadorCambios.getInstance();
+
     private Context context;
     private DBHelper dbHelper;
 
     /**
      * Constructor del repositorio.
-     * Inicializa el helper de base de datos con el contexto de aplicación.
+     * Obtiene el helper compartido; la conexión permanece abierta y no se cierra tras cada operación.
      *
      * @param context Contexto de la aplicación.
      */
     public KdramaRepository(Context context) {
         this.context = context.getApplicationContext(); 
-        this.dbHelper = new DBHelper(this.context);
+        this.dbHelper = DBHelper.getInstance(this.context);
     }
 
     /**
-     * Recupera todos los K-Dramas almacenados, ordenados alfabéticamente por título.
+     * Recupera todos los K-Dramas almacenados, ordenados alfabéticamente por título según el idioma del dispositivo.
      *
      * @return Lista completa de K-Dramas.
      */
     public List<Kdrama> obtenerTodosKdramas() {
+        long inicio = System.nanoTime();
         List<Kdrama> listaKdramas = new ArrayList<>();
         SQLiteDatabase db = dbHelper.getReadableDatabase();
 
-        try (Cursor cursor = db.rawQuery("SELECT * FROM kdrama ORDER BY titulo", null)) {
+        try (Cursor cursor = db.rawQuery(
+                "SELECT * FROM kdrama WHERE " + VIGENTE + " ORDER BY clave_titulo, id", null)) {
+            IndicesColumnas indices = new IndicesColumnas(cursor);
             if (cursor.moveToFirst()) {
                 do {
-                    Kdrama kdrama = mapearCursorAKdrama(cursor);
+                    Kdrama kdrama = mapearCursorAKdrama(cursor, indices);
                     listaKdramas.add(kdrama);
                 } while (cursor.moveToNext());
             }
         } catch (Exception e) {
+            metricas.registrarError(Operacion.OBTENER_TODOS);
             throw new RuntimeException("Error al obtener K-Dramas: " + e.getMessage());
-        } finally {
-            if (db != null && db.isOpen()) {
-                db.close();
+        }
+
+        metricas.registrarLectura(Operacion.OBTENER_TODOS, inicio, listaKdramas.size());
+        return listaKdramas;
+    }
+
+    /**
+     * Recupera una página de K-Dramas que cumplen el filtro, en el orden indicado,
+     * usando paginación por clave. En lugar de OFFSET, continúa a partir del último registro
+     * de la página anterior, por lo que el coste de cada página no depende de cuántas se hayan cargado.
+     * El filtrado se resuelve en SQLite apoyado en los índices de género, estado y año, y cada criterio
+     * de ordenación recorre su propio índice.
+     *
+     * @param filtro    Criterios de filtrado; {@link FiltroKdramas#SIN_FILTRO} para todo el catálogo.
+     * @param orden     Criterio de ordenación.
+     * @param despuesDe Último registro ya cargado con este orden, o null para la primera página.
+     * @param limite    Número máximo de registros de la página.
+     * @param senal     Señal para abortar la consulta si se vuelve innecesaria; puede ser null.
+     * @return Página con los registros y la clave para solicitar la siguiente.
+     * @throws OperationCanceledException si la señal se activa durante la consulta.
+     */
+    public PaginaKdramas obtenerPaginaKdramas(FiltroKdramas filtro, OrdenKdramas orden, Kdrama despuesDe,
+                                              int limite, CancellationSignal senal) {
+        long inicio = System.nanoTime();
+        List<Kdrama> listaKdramas = new ArrayList<>(limite);
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        ConsultaSql consulta = construirConsultaPagina(filtro, orden, despuesDe, limite + 1);
+
+        // Se solicita un registro adicional solo para saber si existe una página siguiente
+        boolean hayMas = false;
+        try (Cursor cursor = db.rawQuery(consulta.sql, consulta.argumentos, senal)) {
+            IndicesColumnas indices = new IndicesColumnas(cursor);
+            while (cursor.moveToNext()) {
+                if (listaKdramas.size() == limite) {
+                    hayMas = true;
+                    break;
+                }
+                listaKdramas.add(mapearCursorAKdrama(cursor, indices));
+            }
+        } catch (OperationCanceledException e) {
+            metricas.registrarCancelacion(Operacion.PAGINA);
+            throw e;
+        } catch (Exception e) {
+            metricas.registrarError(Operacion.PAGINA);
+            throw new RuntimeException("Error al obtener página de K-Dramas: " + e.getMessage());
+        }
+
+        metricas.registrarLectura(Operacion.PAGINA, inicio, listaKdramas.size());
+        return new PaginaKdramas(listaKdramas, hayMas);
+    }
+
+    /**
+     * Construye la consulta paginada y filtrada. Solo se agregan las condiciones de los criterios definidos,
+     * de modo que SQLite pueda elegir el índice más selectivo.
+     *
+     * @param filtro    Criterios de filtrado.
+     * @param orden     Criterio de ordenación.
+     * @param despuesDe Registro de la clave de continuación, o null para la primera página.
+     * @param limite    Valor de LIMIT.
+     * @return Sentencia SQL con sus argumentos.
+     */
+    static ConsultaSql construirConsultaPagina(FiltroKdramas filtro, OrdenKdramas orden, Kdrama despuesDe,
+                                               int limite) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM kdrama");
+        List<String> argumentos = new ArrayList<>();
+        List<String> condiciones = new ArrayList<>();
+
+        condiciones.add(VIGENTE);
+        agregarCondicionesFiltro(filtro, condiciones, argumentos);
+        if (despuesDe != null) {
+            agregarCondicionContinuacion(orden, despuesDe, condiciones, argumentos);
+        }
+
+        for (int i = 0; i < condiciones.size(); i++) {
+            sql.append(i == 0 ? " WHERE " : " AND ").append(condiciones.get(i));
+        }
+        sql.append(" ORDER BY ").append(ordenSql(orden)).append(" LIMIT ?");
+        argumentos.add(String.valueOf(limite));
+
+        return new ConsultaSql(sql.toString(), argumentos.toArray(new String[0]));
+    }
+
+    /**
+     * @param orden Criterio de ordenación.
+     * @return Cláusula ORDER BY equivalente a {@link OrdenKdramas#getComparador()}.
+     */
+    private static String ordenSql(OrdenKdramas orden) {
+        switch (orden) {
+            case CALIFICACION:
+                return "calificacion DESC, id DESC";
+            case ANIO:
+                return "anio DESC, id DESC";
+            case RECIENTES:
+                return "actualizado_en DESC, id DESC";
+            case ESTADO:
+                return "finalizado, clave_titulo, id";
+            case TITULO:
+            default:
+                return "clave_titulo, id";
+        }
+    }
+
+    /**
+     * Agrega la condición que continúa después del registro indicado. La primera comparación es
+     * de rango sobre la columna principal del orden, para que SQLite pueda usarla al recorrer el índice.
+     *
+     * @param orden       Criterio de ordenación.
+     * @param despuesDe   Último registro ya cargado.
+     * @param condiciones Lista donde se agrega la condición.
+     * @param argumentos  Lista donde se agregan sus argumentos, en el mismo orden.
+     */
+    private static void agregarCondicionContinuacion(OrdenKdramas orden, Kdrama despuesDe,
+                                                     List<String> condiciones, List<String> argumentos) {
+        String id = String.valueOf(despuesDe.getId());
+        String valor;
+        switch (orden) {
+            case CALIFICACION:
+                condiciones.add("calificacion <= ? AND (calificacion < ? OR id < ?)");
+                // Como double, para que el texto represente exactamente el valor guardado
+                valor = String.valueOf((double) despuesDe.getCalificacion());
+                break;
+            case ANIO:
+                condiciones.add("anio <= ? AND (anio < ? OR id < ?)");
+                valor = String.valueOf(despuesDe.getAnio());
+                break;
+            case RECIENTES:
+                condiciones.add("actualizado_en <= ? AND (actualizado_en < ? OR id < ?)");
+                valor = String.valueOf(despuesDe.getActualizadoEn());
+                break;
+            case ESTADO:
+                String estado = String.valueOf(despuesDe.getEstado().getCodigo());
+                condiciones.add("finalizado >= ? AND (finalizado > ? OR clave_titulo > ? " +
+                        "OR (clave_titulo = ? AND id > ?))");
+                argumentos.addAll(Arrays.asList(estado, estado, despuesDe.getClaveTitulo(),
+                        despuesDe.getClaveTitulo(), id));
+                return;
+            case TITULO:
+            default:
+                condiciones.add("clave_titulo >= ? AND (clave_titulo > ? OR id > ?)");
+                valor = despuesDe.getClaveTitulo();
+                break;
+        }
+        argumentos.add(valor);
+        argumentos.add(valor);
+        argumentos.add(id);
+    }
+
+    /**
+     * Busca K-Dramas cuyo título o género contenga palabras que empiecen por los términos indicados,
+     * usando el índice de texto completo. Los resultados respetan el filtro y se ordenan por relevancia:
+     * primero los títulos que empiezan por el texto buscado, después los que lo contienen en el título
+     * y al final los que solo coinciden por género.
+     *
+     * @param texto  Texto escrito por el usuario.
+     * @param filtro Criterios de filtrado vigentes.
+     * @param limite Número máximo de resultados.
+     * @param senal  Señal para abortar la consulta si se vuelve innecesaria; puede ser null.
+     * @return Resultados ordenados por relevancia; lista vacía si el texto no contiene términos.
+     * @throws OperationCanceledException si la señal se activa durante la consulta.
+     */
+    public List<Kdrama> buscarKdramas(String texto, FiltroKdramas filtro, int limite, CancellationSignal senal) {
+        long inicio = System.nanoTime();
+        List<Kdrama> listaKdramas = new ArrayList<>();
+        ConsultaSql consulta = construirConsultaBusqueda(texto, filtro, limite);
+        if (consulta == null) {
+            return listaKdramas;
+        }
+
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        try (Cursor cursor = db.rawQuery(consulta.sql, consulta.argumentos, senal)) {
+            IndicesColumnas indices = new IndicesColumnas(cursor);
+            while (cursor.moveToNext()) {
+                listaKdramas.add(mapearCursorAKdrama(cursor, indices));
             }
+        } catch (OperationCanceledException e) {
+            metricas.registrarCancelacion(Operacion.BUSQUEDA);
+            throw e;
+        } catch (Exception e) {
+            metricas.registrarError(Operacion.BUSQUEDA);
+            throw new RuntimeException("Error al buscar K-Dramas: " + e.getMessage());
         }
 
+        metricas.registrarLectura(Operacion.BUSQUEDA, inicio, listaKdramas.size());
         return listaKdramas;
     }
 
+    /**
+     * Construye la consulta de búsqueda sobre la tabla FTS. Cada palabra del texto se convierte en
+     * un término de prefijo y todos deben aparecer (en título o género) para que la fila coincida.
+     *
+     * @param texto  Texto escrito por el usuario.
+     * @param filtro Criterios de filtrado vigentes.
+     * @param limite Valor de LIMIT.
+     * @return Sentencia SQL con sus argumentos, o null si el texto no contiene términos buscables.
+     */
+    static ConsultaSql construirConsultaBusqueda(String texto, FiltroKdramas filtro, int limite) {
+        String expresion = construirExpresionFts(texto, null);
+        if (expresion == null) {
+            return null;
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM kdrama");
+        List<String> argumentos = new ArrayList<>();
+        List<String> condiciones = new ArrayList<>();
+
+        condiciones.add("id IN (SELECT docid FROM kdrama_fts WHERE kdrama_fts MATCH ?)");
+        argumentos.add(expresion);
+        condiciones.add(VIGENTE);
+        agregarCondicionesFiltro(filtro, condiciones, argumentos);
+
+        for (int i = 0; i < condiciones.size(); i++) {
+            sql.append(i == 0 ? " WHERE " : " AND ").append(condiciones.get(i));
+        }
+        sql.append(" ORDER BY CASE")
+                .append(" WHEN titulo LIKE ? ESCAPE '\\' THEN 0")
+                .append(" WHEN id IN (SELECT docid FROM kdrama_fts WHERE kdrama_fts MATCH ?) THEN 1")
+                .append(" ELSE 2 END, clave_titulo, id LIMIT ?");
+        argumentos.add(escaparLike(texto.trim()) + "%");
+        argumentos.add(construirExpresionFts(texto, "titulo"));
+        argumentos.add(String.valueOf(limite));
+
+        return new ConsultaSql(sql.toString(), argumentos.toArray(new String[0]));
+    }
+
+    /**
+     * Convierte el texto del usuario en una expresión MATCH de FTS4. Se conservan solo letras y dígitos,
+     * de modo que comillas, guiones u operadores escritos por el usuario no alteren la sintaxis.
+     *
+     * @param texto   Texto escrito por el usuario.
+     * @param columna Columna a la que se restringen los términos, o null para todas.
+     * @return Expresión con un término de prefijo por palabra, o null si no hay palabras.
+     */
+    static String construirExpresionFts(String texto, String columna) {
+        if (texto == null) {
+            return null;
+        }
+        StringBuilder expresion = new StringBuilder();
+        for (String palabra : texto.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (palabra.isEmpty()) {
+                continue;
+            }
+            if (expresion.length() > 0) {
+                expresion.append(' ');
+            }
+            if (columna != null) {
+                expresion.append(columna).append(':');
+            }
+            expresion.append(palabra).append('*');
+        }
+        return expresion.length() == 0 ? null : expresion.toString();
+    }
+
+    /**
+     * Escapa los comodines de LIKE para buscar el texto de forma literal.
+     *
+     * @param texto Texto a escapar.
+     * @return Texto con la barra invertida, '%' y '_' escapados.
+     */
+    private static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Agrega las condiciones de los criterios definidos en el filtro. Solo se incluyen los criterios
+     * presentes, de modo que SQLite pueda elegir el índice más selectivo.
+     *
+     * @param filtro      Criterios de filtrado.
+     * @param condiciones Lista donde se agregan las condiciones.
+     * @param argumentos  Lista donde se agregan sus argumentos, en el mismo orden.
+     */
+    private static void agregarCondicionesFiltro(FiltroKdramas filtro, List<String> condiciones,
+                                                 List<String> argumentos) {
+        if (filtro.getGenero() != null) {
+            condiciones.add("genero = ?");
+            argumentos.add(filtro.getGenero());
+        }
+        if (filtro.getEstado() != null) {
+            condiciones.add("finalizado = ?");
+            argumentos.add(String.valueOf(filtro.getEstado().getCodigo()));
+        }
+        if (filtro.getAnioDesde() != null) {
+            condiciones.add("anio >= ?");
+            argumentos.add(String.valueOf(filtro.getAnioDesde()));
+        }
+        if (filtro.getAnioHasta() != null) {
+            condiciones.add("anio <= ?");
+            argumentos.add(String.valueOf(filtro.getAnioHasta()));
+        }
+        if (filtro.getCalificacionMinima() != null) {
+            condiciones.add("calificacion >= ?");
+            argumentos.add(String.valueOf(filtro.getCalificacionMinima()));
+        }
+    }
+
     /**
      * Recupera un K-Drama específico según su ID.
      *
      * @param id Identificador único del K-Drama.
      * @return Instancia de Kdrama si se encuentra, o null en caso contrario.
      */
-    public Kdrama obtenerKdramaPorId(String id) {
+    public Kdrama obtenerKdramaPorId(long id) {
+        long inicio = System.nanoTime();
         SQLiteDatabase db = dbHelper.getReadableDatabase();
-        Kdrama kdrama = null;
+        Kdrama kdrama;
 
-        try (Cursor cursor = db.rawQuery("SELECT * FROM kdrama WHERE id = ?", new String[]{id})) {
-            if (cursor.moveToFirst()) {
-                kdrama = mapearCursorAKdrama(cursor);
-            }
+        try {
+            kdrama = leerPorId(db, id);
         } catch (Exception e) {
+            metricas.registrarError(Operacion.POR_ID);
             throw new RuntimeException("Error al obtener K-Drama por ID: " + e.getMessage());
-        } finally {
-            if (db != null && db.isOpen()) {
-                db.close();
-            }
         }
 
+        metricas.registrarLectura(Operacion.POR_ID, inicio, kdrama != null ? 1 : 0);
         return kdrama;
     }
 
+    /**
+     * Recupera varios K-Dramas por ID con una consulta por cada bloque de IDs.
+     * Pensado para pocos IDs (por ejemplo, los insertados por una notificación de cambios).
+     *
+     * @param ids Identificadores a buscar.
+     * @return K-Dramas encontrados, en orden de ID dentro de cada bloque. Los IDs inexistentes se omiten.
+     */
+    public List<Kdrama> obtenerKdramasPorIds(Collection<Long> ids) {
+        long inicio = System.nanoTime();
+        List<Kdrama> kdramas = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return kdramas;
+        }
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+
+        try {
+            leerPorIds(db, new ArrayList<>(ids), kdramas);
+        } catch (Exception e) {
+            metricas.registrarError(Operacion.POR_ID);
+            throw new RuntimeException("Error al obtener K-Dramas por ID: " + e.getMessage());
+        }
+
+        metricas.registrarLectura(Operacion.POR_ID, inicio, kdramas.size());
+        return kdramas;
+    }
+
+    private static Kdrama leerPorId(SQLiteDatabase db, long id) {
+        try (Cursor cursor = db.rawQuery(SQL_POR_ID, new String[]{String.valueOf(id)})) {
+            return cursor.moveToFirst() ? mapearCursorAKdrama(cursor, new IndicesColumnas(cursor)) : null;
+        }
+    }
+
+    /**
+     * Lee los K-Dramas de una lista de IDs en bloques de {@link #IDS_POR_CONSULTA}.
+     */
+    private static void leerPorIds(SQLiteDatabase db, List<Long> ids, List<Kdrama> destino) {
+        for (int desde = 0; desde < ids.size(); desde += IDS_POR_CONSULTA) {
+            List<Long> bloque = ids.subList(desde, Math.min(ids.size(), desde + IDS_POR_CONSULTA));
+            StringBuilder sql = new StringBuilder("SELECT * FROM kdrama WHERE id IN (");
+            String[] argumentos = new String[bloque.size()];
+            for (int i = 0; i < argumentos.length; i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+                argumentos[i] = String.valueOf(bloque.get(i));
+            }
+            sql.append(") AND ").append(VIGENTE).append(" ORDER BY id");
+
+            try (Cursor cursor = db.rawQuery(sql.toString(), argumentos)) {
+                IndicesColumnas indices = new IndicesColumnas(cursor);
+                while (cursor.moveToNext()) {
+                    destino.add(mapearCursorAKdrama(cursor, indices));
+                }
+            }
+        }
+    }
+
+    /**
+     * Recibe las filas de un recorrido del catálogo.
+     */
+    public interface RecorridoCatalogo {
+
+        /**
+         * @param kdrama Fila actual. La instancia se reutiliza en cada fila: no debe conservarse.
+         * @throws IOException si la fila no puede procesarse; detiene el recorrido.
+         */
+        void fila(Kdrama kdrama) throws IOException;
+    }
+
+    /**
+     * Recorre un bloque del catálogo en orden de ID, entregando cada fila directamente desde el cursor.
+     * Cada bloque es una consulta corta por clave (id &gt; despuesDeId), de modo que recorrer el catálogo
+     * completo bloque a bloque usa memoria constante y no mantiene una lectura abierta entre bloques.
+     *
+     * @param despuesDeId ID de la última fila del bloque anterior, o {@link Kdrama#ID_NUEVO} para empezar.
+     * @param limite      Número máximo de filas del bloque.
+     * @param destino     Instancia que se rellena con cada fila.
+     * @param recorrido   Receptor de las filas.
+     * @param senal       Señal para abortar la consulta; puede ser null.
+     * @return Número de filas entregadas; menor que el límite si se llegó al final del catálogo.
+     * @throws IOException si el receptor falla.
+     * @throws OperationCanceledException si la señal se activa durante la consulta.
+     */
+    public int recorrerBloque(long despuesDeId, int limite, Kdrama destino, RecorridoCatalogo recorrido,
+                              CancellationSignal senal) throws IOException {
+        long inicio = System.nanoTime();
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        int filas = 0;
+
+        try (Cursor cursor = db.rawQuery(SQL_BLOQUE_POR_ID,
+                new String[]{String.valueOf(despuesDeId), String.valueOf(limite)}, senal)) {
+            IndicesColumnas indices = new IndicesColumnas(cursor);
+            while (cursor.moveToNext()) {
+                llenarKdrama(cursor, indices, destino);
+                recorrido.fila(destino);
+                filas++;
+            }
+        } catch (OperationCanceledException e) {
+            metricas.registrarCancelacion(Operacion.RECORRIDO);
+            throw e;
+        } catch (IOException e) {
+            metricas.registrarError(Operacion.RECORRIDO);
+            throw e;
+        } catch (Exception e) {
+            metricas.registrarError(Operacion.RECORRIDO);
+            throw new RuntimeException("Error al recorrer el catálogo: " + e.getMessage());
+        }
+
+        metricas.registrarLectura(Operacion.RECORRIDO, inicio, filas);
+        return filas;
+    }
+
+    /**
+     * Prepara las sentencias de uso frecuente para que queden en la caché de sentencias de las conexiones.
+     * Así, la primera consulta de página, edición o guardado no paga el coste de compilar su SQL.
+     * Las sentencias de escritura se preparan en la conexión principal y las de lectura en una de lectura.
+     */
+    public void precompilarSentencias() {
+        long inicio = System.nanoTime();
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        List<String> sentencias = new ArrayList<>(Arrays.asList(SENTENCIAS_FRECUENTES));
+        Kdrama clave = new Kdrama();
+        clave.setClaveTitulo("");
+        sentencias.add(construirConsultaPagina(FiltroKdramas.SIN_FILTRO, OrdenKdramas.TITULO, null, 0).sql);
+        sentencias.add(construirConsultaPagina(FiltroKdramas.SIN_FILTRO, OrdenKdramas.TITULO, clave, 0).sql);
+
+        try {
+            for (String sql : sentencias) {
+                db.compileStatement(sql).close();
+            }
+        } catch (Exception e) {
+            metricas.registrarError(Operacion.PRECOMPILAR);
+            throw new RuntimeException("Error al precompilar sentencias: " + e.getMessage());
+        }
+        metricas.registrarLectura(Operacion.PRECOMPILAR, inicio, 0);
+    }
+
     /**
      * Inserta un nuevo K-Drama en la base de datos.
+     * Asigna a {@code kdrama} la clave de ordenación del título y la fecha de modificación guardadas.
      *
      * @param kdrama Instancia del modelo con los datos a insertar.
      * @return ID del nuevo registro insertado, o -1 si falla.
      */
     public long insertarKdrama(Kdrama kdrama) {
+        long inicio = System.nanoTime();
         SQLiteDatabase db = dbHelper.getWritableDatabase();
+        kdrama.setClaveTitulo(ClaveOrden.calcular(kdrama.getTitulo()));
+        kdrama.setActualizadoEn(System.currentTimeMillis());
 
-        try {
-            db.execSQL("INSERT INTO kdrama (titulo, genero, anio, capitulos, calificacion, imagen_url) VALUES (?, ?, ?, ?, ?, ?)",
-                    new Object[]{
-                            kdrama.getTitulo(),
-                            kdrama.getGenero(),
-                            Integer.parseInt(kdrama.getAnio()),
-                            Integer.parseInt(kdrama.getCapitulos()),
-                            Float.parseFloat(kdrama.getCalificacion()),
-                            kdrama.getImagenUrl()
-                    });
-
-            try (Cursor cursor = db.rawQuery("SELECT last_insert_rowid()", null)) {
-                if (cursor.moveToFirst()) {
-                    return cursor.getLong(0);
-                }
+        // El ID se obtiene de la propia sentencia: last_insert_rowid() es de cada conexión y, en modo WAL,
+        // un SELECT posterior fuera de una transacción puede ejecutarse en una conexión de lectura
+        try (SQLiteStatement sentencia = db.compileStatement(SQL_INSERTAR_KDRAMA)) {
+            enlazarTexto(sentencia, 1, kdrama.getTitulo());
+            enlazarTexto(sentencia, 2, kdrama.getGenero());
+            sentencia.bindLong(3, kdrama.getAnio());
+            sentencia.bindLong(4, kdrama.getCapitulos());
+            sentencia.bindDouble(5, kdrama.getCalificacion());
+            enlazarTexto(sentencia, 6, kdrama.getImagenUrl());
+            sentencia.bindString(7, kdrama.getClaveTitulo());
+            sentencia.bindLong(8, kdrama.getActualizadoEn());
+            long id = sentencia.executeInsert();
+
+            metricas.registrarEscritura(Operacion.INSERTAR, inicio, id > 0 ? 1 : 0);
+            if (id > 0) {
+                notificador.publicar(CambioCatalogo.insercion(id));
             }
-            return -1;
+            return id;
         } catch (Exception e) {
+            metricas.registrarError(Operacion.INSERTAR);
             throw new RuntimeException("Error al insertar K-Drama: " + e.getMessage());
-        } finally {
-            if (db != null && db.isOpen()) {
-                db.close();
-            }
         }
     }
 
     /**
      * Actualiza los datos de un K-Drama existente.
+     * Lee la fila anterior en la misma transacción para saber qué campos cambian: si no cambia ninguno
+     * no se escribe nada, y si cambia la URL de la portada se descarta también la portada local
+     * (en la fila y en {@code kdrama}). Asigna a {@code kdrama} la clave de ordenación del título y la
+     * fecha de modificación resultantes; la fecha solo avanza si algún campo cambió.
      *
      * @param kdrama Instancia con los datos actualizados.
-     * @return Número de filas modificadas.
+     * @return 1 si el K-Drama existe (aunque no cambiara ningún campo), 0 si no existe.
      */
     public int actualizarKdrama(Kdrama kdrama) {
+        long inicio = System.nanoTime();
         SQLiteDatabase db = dbHelper.getWritableDatabase();
+        EnumSet<CambioCatalogo.Campo> campos = EnumSet.noneOf(CambioCatalogo.Campo.class);
+        int filas = 0;
 
+        db.beginTransactionWithListenerNonExclusive(metricas.oyenteTransacciones);
         try {
-            db.execSQL("UPDATE kdrama SET titulo=?, genero=?, anio=?, capitulos=?, calificacion=?, finalizado=?, imagen_url=? WHERE id=?",
-                    new Object[]{
-                            kdrama.getTitulo(),
-                            kdrama.getGenero(),
-                            Integer.parseInt(kdrama.getAnio()),
-                            Integer.parseInt(kdrama.getCapitulos()),
-                            Float.parseFloat(kdrama.getCalificacion()),
-                            kdrama.getFinalizado(),
-                            kdrama.getImagenUrl(),
-                            Integer.parseInt(kdrama.getId())
-                    });
-
-            try (Cursor cursor = db.rawQuery("SELECT changes()", null)) {
-                if (cursor.moveToFirst()) {
-                    return cursor.getInt(0);
+            Kdrama anterior = leerPorId(db, kdrama.getId());
+            if (anterior != null) {
+                // La portada local no se edita: solo cambia si deja de corresponder a la URL
+                kdrama.setImagenLocal(anterior.getImagenLocal());
+                kdrama.setClaveTitulo(anterior.getClaveTitulo());
+                kdrama.setActualizadoEn(anterior.getActualizadoEn());
+                campos = CambioCatalogo.camposDistintos(anterior, kdrama);
+                if (campos.contains(CambioCatalogo.Campo.IMAGEN_URL) && anterior.getImagenLocal() != null) {
+                    kdrama.setImagenLocal(null);
+                    campos.add(CambioCatalogo.Campo.IMAGEN_LOCAL);
+                }
+                if (!campos.isEmpty()) {
+                    if (campos.contains(CambioCatalogo.Campo.TITULO)) {
+                        kdrama.setClaveTitulo(ClaveOrden.calcular(kdrama.getTitulo()));
+                    }
+                    kdrama.setActualizadoEn(System.currentTimeMillis());
+                    db.execSQL(SQL_ACTUALIZAR_KDRAMA,
+                            new Object[]{
+                                    kdrama.getTitulo(),
+                                    kdrama.getGenero(),
+                                    kdrama.getAnio(),
+                                    kdrama.getCapitulos(),
+                                    kdrama.getCalificacion(),
+                                    kdrama.getEstado().getCodigo(),
+                                    kdrama.getImagenUrl(),
+                                    kdrama.getImagenUrl(),
+                                    kdrama.getClaveTitulo(),
+                                    kdrama.getActualizadoEn(),
+                                    kdrama.getId()
+                            });
                 }
+                filas = 1;
             }
-            return 0;
+            db.setTransactionSuccessful();
         } catch (Exception e) {
+            metricas.registrarError(Operacion.ACTUALIZAR);
             throw new RuntimeException("Error al actualizar K-Drama: " + e.getMessage());
         } finally {
-            if (db != null && db.isOpen()) {
-                db.close();
-            }
+            db.endTransaction();
         }
+
+        metricas.registrarEscritura(Operacion.ACTUALIZAR, inicio, campos.isEmpty() ? 0 : filas);
+        notificador.publicar(CambioCatalogo.actualizacion(kdrama.getId(), campos));
+        return filas;
     }
 
     /**
-     * Elimina un K-Drama de la base de datos.
+     * Elimina un K-Drama. La fila queda marcada como eliminada y oculta en todas las consultas; puede
+     * restaurarse con {@link #restaurarKdramas(Collection)} hasta que el compactador la purga.
      *
      * @param id Identificador del K-Drama a eliminar.
      * @return Número de filas eliminadas.
      */
-    public int eliminarKdrama(String id) {
+    public int eliminarKdrama(long id) {
+        long inicio = System.nanoTime();
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+
+        try (SQLiteStatement sentencia = db.compileStatement(SQL_ELIMINAR_KDRAMA)) {
+            sentencia.bindLong(1, System.currentTimeMillis());
+            sentencia.bindLong(2, id);
+            int filas = sentencia.executeUpdateDelete();
+            metricas.registrarEscritura(Operacion.ELIMINAR, inicio, filas);
+            if (filas > 0) {
+                notificador.publicar(CambioCatalogo.eliminacion(id));
+            }
+            return filas;
+        } catch (Exception e) {
+            metricas.registrarError(Operacion.ELIMINAR);
+            throw new RuntimeException("Error al eliminar K-Drama: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Elimina varios K-Dramas en una sola transacción, con la sentencia de borrado compilada una vez
+     * y el número de filas afectadas devuelto por cada ejecución. Todas las filas comparten la misma
+     * fecha de eliminación. Publica una única notificación con todos los IDs eliminados.
+     *
+     * @param ids Identificadores de los K-Dramas a eliminar; los inexistentes se ignoran.
+     * @return Número de filas eliminadas.
+     */
+    public int eliminarKdramas(Collection<Long> ids) {
+        long inicio = System.nanoTime();
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        CambioCatalogo.Acumulador cambio = new CambioCatalogo.Acumulador();
+        int filas = 0;
+
+        db.beginTransactionWithListenerNonExclusive(metricas.oyenteTransacciones);
+        try (SQLiteStatement sentencia = db.compileStatement(SQL_ELIMINAR_KDRAMA)) {
+            sentencia.bindLong(1, System.currentTimeMillis());
+            for (long id : ids) {
+                sentencia.bindLong(2, id);
+                if (sentencia.executeUpdateDelete() > 0) {
+                    cambio.eliminado(id);
+                    filas++;
+                }
+            }
+            db.setTransactionSuccessful();
+        } catch (Exception e) {
+            metricas.registrarError(Operacion.ELIMINAR_LOTE);
+            throw new RuntimeException("Error al eliminar K-Dramas: " + e.getMessage());
+        } finally {
+            db.endTransaction();
+        }
+
+        metricas.registrarEscritura(Operacion.ELIMINAR_LOTE, inicio, filas);
+        notificador.publicar(cambio.construir());
+        return filas;
+    }
+
+    /**
+     * Restaura K-Dramas eliminados que aún no se han purgado, en una sola transacción.
+     * Los disparadores los devuelven al índice de búsqueda y a los resúmenes; se publican como insertados.
+     *
+     * @param ids Identificadores de los K-Dramas eliminados.
+     * @return K-Dramas restaurados, leídos tras restaurarlos; no incluye los ya purgados ni los vigentes.
+     */
+    public List<Kdrama> restaurarKdramas(Collection<Long> ids) {
+        long inicio = System.nanoTime();
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        List<Long> restaurados = new ArrayList<>();
+        List<Kdrama> kdramas = new ArrayList<>();
+
+        db.beginTransactionWithListenerNonExclusive(metricas.oyenteTransacciones);
+        try (SQLiteStatement sentencia = db.compileStatement(SQL_RESTAURAR_KDRAMA)) {
+            for (long id : ids) {
+                sentencia.bindLong(1, id);
+                if (sentencia.executeUpdateDelete() > 0) {
+                    restaurados.add(id);
+                }
+            }
+            leerPorIds(db, restaurados, kdramas);
+            db.setTransactionSuccessful();
+        } catch (Exception e) {
+            metricas.registrarError(Operacion.RESTAURAR);
+            throw new RuntimeException("Error al restaurar K-Dramas: " + e.getMessage());
+        } finally {
+            db.endTransaction();
+        }
+
+        metricas.registrarEscritura(Operacion.RESTAURAR, inicio, restaurados.size());
+        CambioCatalogo.Acumulador cambio = new CambioCatalogo.Acumulador();
+        for (long id : restaurados) {
+            cambio.insertado(id);
+        }
+        notificador.publicar(cambio.construir());
+        return kdramas;
+    }
+
+    /**
+     * Cambia el estado de visionado de varios K-Dramas en una sola transacción.
+     *
+     * @param ids    Identificadores de los K-Dramas.
+     * @param estado Estado a asignar.
+     * @return K-Dramas modificados, leídos tras el cambio; no incluye los que ya tenían ese estado.
+     */
+    public List<Kdrama> cambiarEstadoKdramas(Collection<Long> ids, EstadoVisionado estado) {
+        return actualizarCampoEnLote(ids, SQL_CAMBIAR_ESTADO, CambioCatalogo.Campo.ESTADO,
+                sentencia -> sentencia.bindLong(1, estado.getCodigo()));
+    }
+
+    /**
+     * Cambia la calificación de varios K-Dramas en una sola transacción.
+     *
+     * @param ids          Identificadores de los K-Dramas.
+     * @param calificacion Calificación a asignar.
+     * @return K-Dramas modificados, leídos tras el cambio; no incluye los que ya tenían esa calificación.
+     */
+    public List<Kdrama> calificarKdramas(Collection<Long> ids, float calificacion) {
+        return actualizarCampoEnLote(ids, SQL_CAMBIAR_CALIFICACION, CambioCatalogo.Campo.CALIFICACION,
+                sentencia -> sentencia.bindDouble(1, calificacion));
+    }
+
+    /**
+     * Asigna un mismo valor a un campo de varios K-Dramas con una sentencia compilada una vez.
+     * Las filas modificadas se leen de nuevo dentro de la misma transacción, con su fecha de modificación
+     * y su clave de ordenación, y se publica una única notificación con todas ellas.
+     *
+     * @param ids   Identificadores de los K-Dramas.
+     * @param sql   Sentencia con el valor en ?1, la fecha en ?2 y el ID en ?3.
+     * @param campo Campo modificado, para la notificación.
+     * @param valor Enlaza el valor en la sentencia.
+     * @return K-Dramas modificados.
+     */
+    private List<Kdrama> actualizarCampoEnLote(Collection<Long> ids, String sql, CambioCatalogo.Campo campo,
+                                               Consumer<SQLiteStatement> valor) {
+        long inicio = System.nanoTime();
         SQLiteDatabase db = dbHelper.getWritableDatabase();
+        List<Long> modificados = new ArrayList<>();
+        List<Kdrama> kdramas = new ArrayList<>();
+
+        db.beginTransactionWithListenerNonExclusive(metricas.oyenteTransacciones);
+        try (SQLiteStatement sentencia = db.compileStatement(sql)) {
+            valor.accept(sentencia);
+            sentencia.bindLong(2, System.currentTimeMillis());
+            for (long id : ids) {
+                sentencia.bindLong(3, id);
+                if (sentencia.executeUpdateDelete() > 0) {
+                    modificados.add(id);
+                }
+            }
+            leerPorIds(db, modificados, kdramas);
+            db.setTransactionSuccessful();
+        } catch (Exception e) {
+            metricas.registrarError(Operacion.ACTUALIZAR_LOTE);
+            throw new RuntimeException("Error al actualizar K-Dramas: " + e.getMessage());
+        } finally {
+            db.endTransaction();
+        }
+
+        metricas.registrarEscritura(Operacion.ACTUALIZAR_LOTE, inicio, modificados.size());
+        CambioCatalogo.Acumulador cambio = new CambioCatalogo.Acumulador();
+        EnumSet<CambioCatalogo.Campo> campos = EnumSet.of(campo);
+        for (long id : modificados) {
+            cambio.actualizado(id, campos);
+        }
+        notificador.publicar(cambio.construir());
+        return kdramas;
+    }
+
+    /**
+     * Registra la portada descargada de un K-Drama.
+     * Solo se aplica si la URL del registro sigue siendo la que se descargó.
+     *
+     * @param id          Identificador del K-Drama.
+     * @param imagenUrl   URL de la que se obtuvo la portada.
+     * @param imagenLocal Clave de la portada en el almacén local.
+     * @return Número de filas modificadas.
+     */
+    public int actualizarImagenLocal(long id, String imagenUrl, String imagenLocal) {
+        long inicio = System.nanoTime();
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+
+        try (SQLiteStatement sentencia = db.compileStatement(SQL_ACTUALIZAR_IMAGEN_LOCAL)) {
+            enlazarTexto(sentencia, 1, imagenLocal);
+            sentencia.bindLong(2, id);
+            enlazarTexto(sentencia, 3, imagenUrl);
+            int filas = sentencia.executeUpdateDelete();
+            metricas.registrarEscritura(Operacion.IMAGEN_LOCAL, inicio, filas);
+            if (filas > 0) {
+                notificador.publicar(CambioCatalogo.actualizacion(id, EnumSet.of(CambioCatalogo.Campo.IMAGEN_LOCAL)));
+            }
+            return filas;
+        } catch (Exception e) {
+            metricas.registrarError(Operacion.IMAGEN_LOCAL);
+            throw new RuntimeException("Error al registrar portada local: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Purga definitivamente un lote de K-Dramas eliminados antes de una fecha, en una transacción corta.
+     * Las filas ya no figuran en el índice de búsqueda ni en los resúmenes, por lo que no se notifica nada.
+     *
+     * @param eliminadosAntesDe Fecha en milisegundos; se purgan las filas eliminadas antes de ella.
+     * @param limite            Número máximo de filas del lote.
+     * @return Filas purgadas; menor que el límite si no quedan más por purgar.
+     */
+    public int purgarEliminados(long eliminadosAntesDe, int limite) {
+        long inicio = System.nanoTime();
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        int filas;
+
+        db.beginTransactionWithListenerNonExclusive(metricas.oyenteTransacciones);
+        try (SQLiteStatement sentencia = db.compileStatement(SQL_PURGAR_ELIMINADOS)) {
+            sentencia.bindLong(1, eliminadosAntesDe);
+            sentencia.bindLong(2, limite);
+            filas = sentencia.executeUpdateDelete();
+            db.setTransactionSuccessful();
+        } catch (Exception e) {
+            metricas.registrarError(Operacion.PURGAR_ELIMINADOS);
+            throw new RuntimeException("Error al purgar K-Dramas eliminados: " + e.getMessage());
+        } finally {
+            db.endTransaction();
+        }
+
+        metricas.registrarEscritura(Operacion.PURGAR_ELIMINADOS, inicio, filas);
+        return filas;
+    }
+
+    /**
+     * Devuelve al sistema parte de las páginas libres del archivo con un vacío incremental, que solo
+     * bloquea la escritura mientras trunca esas páginas. Si la base de datos se creó sin autovacío
+     * incremental y el espacio libre lo justifica, la convierte con un VACUUM completo (una sola vez).
+     * Debe invocarse en el carril de escritura, fuera de una transacción.
+     *
+     * @param maxPaginas Número máximo de páginas a liberar.
+     * @return Páginas liberadas; menor que el máximo si no quedan más.
+     */
+    public int liberarEspacio(int maxPaginas) {
+        long inicio = System.nanoTime();
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        int liberadas = 0;
 
         try {
-            db.execSQL("DELETE FROM kdrama WHERE id=?", new Object[]{Integer.parseInt(id)});
+            int libres = leerPragma(db, "freelist_count");
+            if (leerPragma(db, "auto_vacuum") == AUTO_VACUUM_INCREMENTAL) {
+                // incremental_vacuum libera una página por cada paso de la sentencia: hay que recorrer el cursor
+                try (Cursor cursor = db.rawQuery("PRAGMA incremental_vacuum(" + maxPaginas + ")", null)) {
+                    while (cursor.moveToNext()) {
+                        // Sin columnas que leer
+                    }
+                }
+                liberadas = libres - leerPragma(db, "freelist_count");
+            } else if (libres >= PAGINAS_LIBRES_CONVERSION) {
+                DBHelper.convertirAVacioIncremental(db);
+                liberadas = libres;
+            }
+        } catch (Exception e) {
+            metricas.registrarError(Operacion.LIBERAR_ESPACIO);
+            throw new RuntimeException("Error al liberar espacio: " + e.getMessage());
+        }
 
-            try (Cursor cursor = db.rawQuery("SELECT changes()", null)) {
-                if (cursor.moveToFirst()) {
-                    return cursor.getInt(0);
+        metricas.registrarEscritura(Operacion.LIBERAR_ESPACIO, inicio, liberadas);
+        return liberadas;
+    }
+
+    private static int leerPragma(SQLiteDatabase db, String pragma) {
+        try (Cursor cursor = db.rawQuery("PRAGMA " + pragma, null)) {
+            return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        }
+    }
+
+    /**
+     * Enlaza un texto que puede ser null.
+     */
+    private static void enlazarTexto(SQLiteStatement sentencia, int indice, String valor) {
+        if (valor != null) {
+            sentencia.bindString(indice, valor);
+        } else {
+            sentencia.bindNull(indice);
+        }
+    }
+
+    /**
+     * Lee las estadísticas del catálogo desde las tablas de resumen que mantienen los disparadores.
+     * El coste depende del número de estados, géneros y años distintos, no del tamaño del catálogo.
+     *
+     * @return Estadísticas del catálogo.
+     */
+    public EstadisticasCatalogo obtenerEstadisticas() {
+        long inicio = System.nanoTime();
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+        Map<EstadoVisionado, Integer> cantidadPorEstado = new EnumMap<>(EstadoVisionado.class);
+        List<EstadisticasCatalogo.ResumenGenero> generos = new ArrayList<>();
+        List<EstadisticasCatalogo.ResumenAnio> anios = new ArrayList<>();
+
+        try {
+            try (Cursor cursor = db.rawQuery("SELECT estado, cantidad FROM resumen_estado", null)) {
+                while (cursor.moveToNext()) {
+                    EstadoVisionado estado = EstadoVisionado.desdeCodigo(cursor.getInt(0));
+                    Integer previa = cantidadPorEstado.get(estado);
+                    cantidadPorEstado.put(estado, (previa != null ? previa : 0) + cursor.getInt(1));
+                }
+            }
+            try (Cursor cursor = db.rawQuery("SELECT genero, cantidad, suma_calificacion / cantidad " +
+                    "FROM resumen_genero ORDER BY cantidad DESC, genero", null)) {
+                while (cursor.moveToNext()) {
+                    generos.add(new EstadisticasCatalogo.ResumenGenero(
+                            cursor.getString(0), cursor.getInt(1), cursor.getFloat(2)));
+                }
+            }
+            try (Cursor cursor = db.rawQuery("SELECT anio, cantidad, capitulos_vistos " +
+                    "FROM resumen_anio ORDER BY anio DESC", null)) {
+                while (cursor.moveToNext()) {
+                    anios.add(new EstadisticasCatalogo.ResumenAnio(
+                            cursor.getInt(0), cursor.getInt(1), cursor.getInt(2)));
                 }
             }
-            return 0;
         } catch (Exception e) {
-            throw new RuntimeException("Error al eliminar K-Drama: " + e.getMessage());
+            metricas.registrarError(Operacion.ESTADISTICAS);
+            throw new RuntimeException("Error al obtener estadísticas: " + e.getMessage());
+        }
+
+        metricas.registrarLectura(Operacion.ESTADISTICAS, inicio,
+                cantidadPorEstado.size() + generos.size() + anios.size());
+        return new EstadisticasCatalogo(cantidadPorEstado, generos, anios);
+    }
+
+    /**
+     * Comprueba que las tablas de resumen coinciden con lo que resulta de agregar la tabla kdrama.
+     * Recorre el catálogo completo, por lo que debe ejecutarse en segundo plano. Cada consulta compara
+     * un resumen dentro de una misma instantánea de lectura, sin bloquear las escrituras.
+     *
+     * @return true si los tres resúmenes son consistentes.
+     */
+    public boolean resumenesConsistentes() {
+        long inicio = System.nanoTime();
+        SQLiteDatabase db = dbHelper.getReadableDatabase();
+
+        try {
+            boolean consistentes = true;
+            for (String consulta : CONSULTAS_INCONSISTENCIA_RESUMEN) {
+                try (Cursor cursor = db.rawQuery(consulta, null)) {
+                    if (cursor.moveToFirst() && cursor.getInt(0) != 0) {
+                        consistentes = false;
+                        break;
+                    }
+                }
+            }
+            metricas.registrarLectura(Operacion.VERIFICAR_RESUMENES, inicio, 0);
+            return consistentes;
+        } catch (Exception e) {
+            metricas.registrarError(Operacion.VERIFICAR_RESUMENES);
+            throw new RuntimeException("Error al verificar estadísticas: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Recalcula las tablas de resumen desde cero en una sola transacción.
+     */
+    public void reconstruirResumenes() {
+        long inicio = System.nanoTime();
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+
+        db.beginTransactionWithListenerNonExclusive(metricas.oyenteTransacciones);
+        try {
+            DBHelper.reconstruirResumenes(db);
+            db.setTransactionSuccessful();
+        } catch (Exception e) {
+            metricas.registrarError(Operacion.RECONSTRUIR_RESUMENES);
+            throw new RuntimeException("Error al reconstruir estadísticas: " + e.getMessage());
         } finally {
-            if (db != null && db.isOpen()) {
-                db.close();
+            db.endTransaction();
+        }
+        metricas.registrarEscritura(Operacion.RECONSTRUIR_RESUMENES, inicio, 0);
+    }
+
+    /**
+     * Prepara una inserción masiva que reutiliza una única sentencia compilada para todos los lotes.
+     * Debe cerrarse al terminar para liberar la sentencia.
+     *
+     * @return Inserción masiva lista para recibir lotes.
+     */
+    public InsercionMasiva abrirInsercionMasiva() {
+        return new InsercionMasiva(dbHelper.getWritableDatabase());
+    }
+
+    /**
+     * InsercionMasiva - Inserta lotes de K-Dramas, cada uno en su propia transacción.
+
+     * La sentencia se compila una vez y solo se vuelven a vincular los parámetros de cada fila.
+     * Si una fila falla, el lote completo se revierte y la excepción se propaga.
+     */
+    public static final class InsercionMasiva implements Closeable {
+
+        private static final String SQL_INSERTAR =
+                "INSERT INTO kdrama (titulo, genero, anio, capitulos, calificacion, finalizado, imagen_url, " +
+                        "clave_titulo, actualizado_en) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        private final SQLiteDatabase db;
+        private final SQLiteStatement sentencia;
+
+        private InsercionMasiva(SQLiteDatabase db) {
+            this.db = db;
+            this.sentencia = db.compileStatement(SQL_INSERTAR);
+        }
+
+        /**
+         * Inserta un lote en una sola transacción y asigna a cada K-Drama su nuevo ID,
+         * su clave de ordenación y su fecha de modificación.
+         *
+         * @param lote K-Dramas ya validados.
+         */
+        public void insertarLote(List<Kdrama> lote) {
+            long inicio = System.nanoTime();
+            long ahora = System.currentTimeMillis();
+            // En modo WAL, la transacción no exclusiva permite que las lecturas continúen
+            db.beginTransactionWithListenerNonExclusive(metricas.oyenteTransacciones);
+            boolean confirmado = false;
+            try {
+                for (int i = 0; i < lote.size(); i++) {
+                    Kdrama kdrama = lote.get(i);
+                    sentencia.bindString(1, kdrama.getTitulo());
+                    sentencia.bindString(2, kdrama.getGenero() != null ? kdrama.getGenero() : "");
+                    sentencia.bindLong(3, kdrama.getAnio());
+                    sentencia.bindLong(4, kdrama.getCapitulos());
+                    sentencia.bindDouble(5, kdrama.getCalificacion());
+                    sentencia.bindLong(6, kdrama.getEstado().getCodigo());
+                    if (kdrama.getImagenUrl() != null) {
+                        sentencia.bindString(7, kdrama.getImagenUrl());
+                    } else {
+                        sentencia.bindNull(7);
+                    }
+                    kdrama.setClaveTitulo(ClaveOrden.calcular(kdrama.getTitulo()));
+                    kdrama.setActualizadoEn(ahora);
+                    sentencia.bindString(8, kdrama.getClaveTitulo());
+                    sentencia.bindLong(9, ahora);
+                    kdrama.setId(sentencia.executeInsert());
+                }
+                db.setTransactionSuccessful();
+                confirmado = true;
+            } finally {
+                db.endTransaction();
+                if (confirmado) {
+                    metricas.registrarEscritura(Operacion.INSERCION_LOTE, inicio, lote.size());
+                    CambioCatalogo.Acumulador insertados = new CambioCatalogo.Acumulador();
+                    for (Kdrama kdrama : lote) {
+                        insertados.insertado(kdrama.getId());
+                    }
+                    notificador.publicar(insertados.construir());
+                } else {
+                    metricas.registrarError(Operacion.INSERCION_LOTE);
+                }
             }
         }
+
+        @Override
+        public void close() {
+            sentencia.close();
+        }
     }
 
     /**
      * Convierte un registro de base de datos (Cursor) en una instancia del modelo Kdrama.
+     * Lee cada columna con su tipo nativo usando índices ya resueltos para el cursor.
      *
-     * @param cursor Cursor posicionado en el registro deseado.
+     * @param cursor  Cursor posicionado en el registro deseado.
+     * @param indices Índices de columna resueltos una vez para este cursor.
      * @return Instancia de Kdrama con los datos del registro.
      */
-    private Kdrama mapearCursorAKdrama(Cursor cursor) {
+    static Kdrama mapearCursorAKdrama(Cursor cursor, IndicesColumnas indices) {
         Kdrama kdrama = new Kdrama();
-        kdrama.setId(cursor.getString(cursor.getColumnIndexOrThrow("id")));
-        kdrama.setTitulo(cursor.getString(cursor.getColumnIndexOrThrow("titulo")));
-        kdrama.setGenero(cursor.getString(cursor.getColumnIndexOrThrow("genero")));
-        kdrama.setAnio(cursor.getString(cursor.getColumnIndexOrThrow("anio")));
-        kdrama.setCapitulos(cursor.getString(cursor.getColumnIndexOrThrow("capitulos")));
-        kdrama.setCalificacion(cursor.getString(cursor.getColumnIndexOrThrow("calificacion")));
-        kdrama.setFinalizado(cursor.getString(cursor.getColumnIndexOrThrow("finalizado")));
-        kdrama.setImagenUrl(cursor.getString(cursor.getColumnIndexOrThrow("imagen_url")));
+        llenarKdrama(cursor, indices, kdrama);
         return kdrama;
     }
+
+    /**
+     * Copia el registro actual del cursor en una instancia existente, sin crear objetos del modelo.
+     *
+     * @param cursor  Cursor posicionado en el registro deseado.
+     * @param indices Índices de columna resueltos una vez para este cursor.
+     * @param kdrama  Instancia que recibe los valores.
+     */
+    static void llenarKdrama(Cursor cursor, IndicesColumnas indices, Kdrama kdrama) {
+        kdrama.setId(cursor.getLong(indices.id));
+        kdrama.setTitulo(cursor.getString(indices.titulo));
+        kdrama.setGenero(cursor.getString(indices.genero));
+        kdrama.setAnio(cursor.getInt(indices.anio));
+        kdrama.setCapitulos(cursor.getInt(indices.capitulos));
+        kdrama.setCalificacion(cursor.getFloat(indices.calificacion));
+        kdrama.setEstado(EstadoVisionado.desdeCodigo(cursor.getInt(indices.finalizado)));
+        kdrama.setImagenUrl(cursor.getString(indices.imagenUrl));
+        kdrama.setImagenLocal(cursor.getString(indices.imagenLocal));
+        kdrama.setClaveTitulo(cursor.getString(indices.claveTitulo));
+        kdrama.setActualizadoEn(cursor.getLong(indices.actualizadoEn));
+    }
+
+    /**
+     * Sentencia SQL de solo lectura junto con sus argumentos.
+     */
+    static final class ConsultaSql {
+
+        final String sql;
+        final String[] argumentos;
+
+        ConsultaSql(String sql, String[] argumentos) {
+            this.sql = sql;
+            this.argumentos = argumentos;
+        }
+    }
+
+    /**
+     * Índices de las columnas de la tabla kdrama dentro de un cursor concreto.
+     * Se resuelven una sola vez por cursor en lugar de una vez por fila y columna.
+     */
+    static final class IndicesColumnas {
+
+        final int id;
+        final int titulo;
+        final int genero;
+        final int anio;
+        final int capitulos;
+        final int calificacion;
+        final int finalizado;
+        final int imagenUrl;
+        final int imagenLocal;
+        final int claveTitulo;
+        final int actualizadoEn;
+
+        IndicesColumnas(Cursor cursor) {
+            id = cursor.getColumnIndexOrThrow("id");
+            titulo = cursor.getColumnIndexOrThrow("titulo");
+            genero = cursor.getColumnIndexOrThrow("genero");
+            anio = cursor.getColumnIndexOrThrow("anio");
+            capitulos = cursor.getColumnIndexOrThrow("capitulos");
+            calificacion = cursor.getColumnIndexOrThrow("calificacion");
+            finalizado = cursor.getColumnIndexOrThrow("finalizado");
+            imagenUrl = cursor.getColumnIndexOrThrow("imagen_url");
+            imagenLocal = cursor.getColumnIndexOrThrow("imagen_local");
+            claveTitulo = cursor.getColumnIndexOrThrow("clave_titulo");
+            actualizadoEn = cursor.getColumnIndexOrThrow("actualizado_en");
+        }
+    }
 }
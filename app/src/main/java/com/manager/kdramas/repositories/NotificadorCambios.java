@@ -0,0 +1,128 @@
+package com.manager.kdramas.repositories;
+
+import android.os.Handler;
+import android.os.Looper;
+import com.manager.kdramas.model.CambioCatalogo;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NotificadorCambios - Difunde los cambios confirmados en la tabla kdrama a quien necesite aplicarlos.
+
+ * Responsabilidades:
+ * - Recibir desde el repositorio, en cualquier hilo, cada cambio ya confirmado.
+ * - Agrupar los cambios que llegan dentro de una ventana breve en una sola notificación con
+ *   su resultado neto, de modo que una ráfaga de escrituras produce un único aviso.
+ * - Entregar las notificaciones en el hilo principal, en el orden en que se produjeron.
+ */
+public final class NotificadorCambios {
+
+    // Tiempo máximo que un cambio espera para agruparse con los siguientes
+    private static final long VENTANA_MS = 50;
+
+    /**
+     * Receptor de cambios. Se invoca en el hilo principal.
+     */
+    public interface OyenteCambios {
+        void onCambios(CambioCatalogo cambio);
+    }
+
+    private static volatile NotificadorCambios instancia;
+
+    private final Handler manejador = new Handler(Looper.getMainLooper());
+    private final Runnable emision = this::emitir;
+    private final CopyOnWriteArrayList<OyenteCambios> oyentes = new CopyOnWriteArrayList<>();
+
+    // Cambios recibidos que aún no se han notificado, protegidos por el monitor de esta instancia
+    private final CambioCatalogo.Acumulador pendientes = new CambioCatalogo.Acumulador();
+    private boolean emisionProgramada;
+
+    private final AtomicLong cambiosRecibidos = new AtomicLong();
+    private final AtomicLong notificacionesEmitidas = new AtomicLong();
+
+    private NotificadorCambios() {
+    }
+
+    /**
+     * Devuelve el notificador compartido, creándolo la primera vez.
+     *
+     * @return Instancia única.
+     */
+    public static NotificadorCambios getInstance() {
+        NotificadorCambios local = instancia;
+        if (local == null) {
+            synchronized (NotificadorCambios.class) {
+                local = instancia;
+                if (local == null) {
+                    local = new NotificadorCambios();
+                    instancia = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Registra un receptor. Debe quitarse con {@link #quitarOyente(OyenteCambios)} cuando ya no se use.
+     *
+     * @param oyente Receptor a registrar.
+     */
+    public void agregarOyente(OyenteCambios oyente) {
+        oyentes.addIfAbsent(oyente);
+    }
+
+    public void quitarOyente(OyenteCambios oyente) {
+        oyentes.remove(oyente);
+    }
+
+    /**
+     * Añade un cambio confirmado a la notificación en curso, programándola si aún no lo está.
+     * Debe invocarse después de confirmar la transacción, nunca dentro de ella.
+     *
+     * @param cambio Cambio a notificar.
+     */
+    public void publicar(CambioCatalogo cambio) {
+        if (cambio.estaVacio()) {
+            return;
+        }
+        cambiosRecibidos.addAndGet(cambio.getTotal());
+        synchronized (this) {
+            pendientes.fusionar(cambio);
+            if (emisionProgramada) {
+                return;
+            }
+            emisionProgramada = true;
+        }
+        manejador.postDelayed(emision, VENTANA_MS);
+    }
+
+    private void emitir() {
+        CambioCatalogo cambio;
+        synchronized (this) {
+            emisionProgramada = false;
+            if (pendientes.estaVacio()) {
+                // Una inserción y su eliminación se anularon dentro de la misma ventana
+                return;
+            }
+            cambio = pendientes.construir();
+        }
+        notificacionesEmitidas.incrementAndGet();
+        for (OyenteCambios oyente : oyentes) {
+            oyente.onCambios(cambio);
+        }
+    }
+
+    /**
+     * @return IDs afectados recibidos desde el inicio del proceso, antes de agrupar.
+     */
+    public long getCambiosRecibidos() {
+        return cambiosRecibidos.get();
+    }
+
+    /**
+     * @return Notificaciones entregadas a los receptores desde el inicio del proceso.
+     */
+    public long getNotificacionesEmitidas() {
+        return notificacionesEmitidas.get();
+    }
+}
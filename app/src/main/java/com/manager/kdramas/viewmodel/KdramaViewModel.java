@@ -1,12 +1,44 @@
 package com.manager.kdramas.viewmodel;
 
 import android.app.Application;
+import android.content.ContentResolver;
+import android.net.Uri;
+import android.os.CancellationSignal;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.OperationCanceledException;
+import android.os.ParcelFileDescriptor;
+import android.provider.DocumentsContract;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import com.manager.kdramas.executors.CoordinadorCargas;
+import com.manager.kdramas.executors.DataExecutor;
+import com.manager.kdramas.imagenes.SincronizadorPortadas;
+import com.manager.kdramas.io.ExportadorKdramas;
+import com.manager.kdramas.io.ImportadorKdramas;
+import com.manager.kdramas.io.LectorKdramas;
+import com.manager.kdramas.repositories.CatalogoEnMemoria;
+import com.manager.kdramas.repositories.InstantaneaCatalogo;
+import com.manager.kdramas.repositories.NotificadorCambios;
 import com.manager.kdramas.repositories.KdramaRepository;
+import com.manager.kdramas.model.CambioCatalogo;
+import com.manager.kdramas.model.EstadisticasCatalogo;
+import com.manager.kdramas.model.EstadoVisionado;
+import com.manager.kdramas.model.FiltroKdramas;
 import com.manager.kdramas.model.Kdrama;
+import com.manager.kdramas.model.OrdenKdramas;
+import com.manager.kdramas.model.PaginaKdramas;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * KdramaViewModel - ViewModel que gestiona la lógica de presentación y acceso a datos de K-Dramas.
@@ -16,14 +48,80 @@ import java.util.List;
  * - Exponer datos observables mediante LiveData.
  * - Ejecutar operaciones asincrónicas para mantener la UI reactiva.
  * - Manejar errores y estados de operación.
+ * - Aplicar a la búsqueda, al K-Drama en edición y a las estadísticas solo los cambios notificados
+ *   por el repositorio, sin recargarlos por completo.
  */
 public class KdramaViewModel extends AndroidViewModel {
 
+    // Clave de la consulta que reinicia la lista desde la primera página
+    private static final String CLAVE_PRIMERA_PAGINA = "primera-pagina";
+
+    // Tiempo sin escribir tras el cual se lanza la búsqueda
+    private static final long RETARDO_BUSQUEDA_MS = 250;
+
+    // Número máximo de resultados de búsqueda mostrados
+    private static final int LIMITE_BUSQUEDA = 100;
+
+    // Campos que deciden si un K-Drama coincide con la búsqueda y el filtro
+    private static final Set<CambioCatalogo.Campo> CAMPOS_BUSQUEDA = EnumSet.of(
+            CambioCatalogo.Campo.TITULO, CambioCatalogo.Campo.GENERO, CambioCatalogo.Campo.ANIO,
+            CambioCatalogo.Campo.CALIFICACION, CambioCatalogo.Campo.ESTADO);
+
+    // Campos que intervienen en las estadísticas
+    private static final Set<CambioCatalogo.Campo> CAMPOS_ESTADISTICAS = EnumSet.of(
+            CambioCatalogo.Campo.GENERO, CambioCatalogo.Campo.ANIO, CambioCatalogo.Campo.CAPITULOS,
+            CambioCatalogo.Campo.CALIFICACION, CambioCatalogo.Campo.ESTADO);
+
+    // Los resúmenes de estadísticas se verifican contra la tabla kdrama una vez por proceso
+    private static final AtomicBoolean resumenesVerificados = new AtomicBoolean();
+
     private KdramaRepository kdramaRepository;
 
-    // LiveData observables para la lista de K-Dramas
-    private final MutableLiveData<List<Kdrama>> _kdramas = new MutableLiveData<>();
-    public final LiveData<List<Kdrama>> kdramas = _kdramas;
+    // Descarga en segundo plano las portadas de los K-Dramas cargados
+    private final SincronizadorPortadas sincronizadorPortadas;
+
+    // Ejecutor compartido: carril único de escritura y pool acotado de lectura
+    private final DataExecutor dataExecutor = DataExecutor.getInstance();
+
+    // Versiona las cargas de páginas: una solicitud nueva cancela y descarta las anteriores
+    private final CoordinadorCargas coordinadorCargas =
+            new CoordinadorCargas(dataExecutor, DataExecutor.Prioridad.VISIBLE);
+
+    // Versiona las búsquedas: cada texto nuevo cancela la consulta anterior aunque ya esté en SQLite
+    private final CoordinadorCargas coordinadorBusqueda =
+            new CoordinadorCargas(dataExecutor, DataExecutor.Prioridad.VISIBLE);
+
+    // Retrasa la búsqueda mientras el usuario sigue escribiendo
+    private final Handler manejadorBusqueda = new Handler(Looper.getMainLooper());
+    private Runnable busquedaPendiente;
+
+    // Texto buscado actualmente (null si no hay búsqueda)
+    private String textoBusqueda;
+
+    // Cambios confirmados por el repositorio, agrupados y entregados en el hilo principal
+    private final NotificadorCambios notificador = NotificadorCambios.getInstance();
+    private final NotificadorCambios.OyenteCambios oyenteCambios = this::aplicarCambios;
+
+    // Páginas cargadas, compartidas por toda la aplicación y actualizadas por las escrituras
+    private final CatalogoEnMemoria catalogo = CatalogoEnMemoria.getInstance();
+
+    // Instantánea de la lista guardada en disco, mostrada mientras se lee la primera página
+    private final InstantaneaCatalogo instantanea;
+
+    // LiveData observable para la lista de K-Dramas (instantáneas inmutables del catálogo)
+    public final LiveData<List<Kdrama>> kdramas = catalogo.kdramas;
+
+    // LiveData con los resultados de la búsqueda en curso (null cuando no hay búsqueda activa)
+    private final MutableLiveData<List<Kdrama>> _resultadosBusqueda = new MutableLiveData<>();
+    public final LiveData<List<Kdrama>> resultadosBusqueda = _resultadosBusqueda;
+
+    // LiveData con el K-Drama abierto para edición (null si ya no existe)
+    private final MutableLiveData<Kdrama> _kdramaSeleccionado = new MutableLiveData<>();
+    public final LiveData<Kdrama> kdramaSeleccionado = _kdramaSeleccionado;
+
+    // LiveData con las estadísticas del catálogo
+    private final MutableLiveData<EstadisticasCatalogo> _estadisticas = new MutableLiveData<>();
+    public final LiveData<EstadisticasCatalogo> estadisticas = _estadisticas;
 
     // LiveData para indicar éxito o fallo en operaciones
     private final MutableLiveData<Boolean> _operationSuccess = new MutableLiveData<>();
@@ -33,6 +131,28 @@ public class KdramaViewModel extends AndroidViewModel {
     private final MutableLiveData<String> _errorMessage = new MutableLiveData<>();
     public final LiveData<String> errorMessage = _errorMessage;
 
+    // LiveData con las filas procesadas por la importación en curso (null cuando no hay ninguna)
+    private final MutableLiveData<Integer> _progresoImportacion = new MutableLiveData<>();
+    public final LiveData<Integer> progresoImportacion = _progresoImportacion;
+
+    // LiveData con el resumen de la última importación finalizada
+    private final MutableLiveData<ImportadorKdramas.ResultadoImportacion> _resultadoImportacion = new MutableLiveData<>();
+    public final LiveData<ImportadorKdramas.ResultadoImportacion> resultadoImportacion = _resultadoImportacion;
+
+    // Señal de cancelación de la importación en curso
+    private volatile CancellationSignal senalImportacion;
+
+    // LiveData con las filas escritas por la exportación en curso (null cuando no hay ninguna)
+    private final MutableLiveData<Integer> _progresoExportacion = new MutableLiveData<>();
+    public final LiveData<Integer> progresoExportacion = _progresoExportacion;
+
+    // LiveData con el resumen de la última exportación finalizada
+    private final MutableLiveData<ExportadorKdramas.ResultadoExportacion> _resultadoExportacion = new MutableLiveData<>();
+    public final LiveData<ExportadorKdramas.ResultadoExportacion> resultadoExportacion = _resultadoExportacion;
+
+    // Señal de cancelación de la exportación en curso
+    private volatile CancellationSignal senalExportacion;
+
     /**
      * Constructor del ViewModel.
      * Inicializa el repositorio con el contexto de aplicación.
@@ -42,31 +162,297 @@ public class KdramaViewModel extends AndroidViewModel {
     public KdramaViewModel(Application application) {
         super(application);
         kdramaRepository = new KdramaRepository(application);
+        sincronizadorPortadas = SincronizadorPortadas.getInstance(application);
+        instantanea = InstantaneaCatalogo.getInstance(application);
+        notificador.agregarOyente(oyenteCambios);
     }
 
     /**
-     * Carga todos los K-Dramas desde el repositorio y actualiza el LiveData.
-     * Ejecutado en un hilo secundario para evitar bloquear la UI.
+     * Carga la primera página de K-Dramas si el catálogo en memoria aún no se ha cargado.
+     * Mientras tanto se muestra la instantánea guardada, si el arranque no la mostró ya
+     * (por ejemplo, cuando el proceso se recrea directamente en la lista). Una vez cargado, el catálogo
+     * se mantiene al día con cada escritura sin volver a consultarse.
      */
     public void cargarKdramas() {
-        new Thread(() -> {
-            try {
-                List<Kdrama> lista = kdramaRepository.obtenerTodosKdramas();
-                _kdramas.postValue(lista);
-            } catch (Exception e) {
+        if (!catalogo.estaCargado()) {
+            dataExecutor.ejecutarLectura(DataExecutor.Prioridad.VISIBLE, instantanea::cargar);
+            recargarKdramas();
+        }
+    }
+
+    /**
+     * Busca K-Dramas por título o género mientras el usuario escribe.
+     * La consulta se lanza cuando pasa {@link #RETARDO_BUSQUEDA_MS} sin cambios en el texto,
+     * y cada búsqueda nueva cancela la anterior. Un texto vacío termina la búsqueda.
+     * Debe invocarse desde el hilo principal.
+     *
+     * @param texto Texto escrito en el cuadro de búsqueda.
+     */
+    public void buscar(String texto) {
+        String normalizado = texto == null ? "" : texto.trim();
+        if (normalizado.equals(textoBusqueda)) {
+            return;
+        }
+        if (busquedaPendiente != null) {
+            manejadorBusqueda.removeCallbacks(busquedaPendiente);
+            busquedaPendiente = null;
+        }
+        if (normalizado.isEmpty()) {
+            textoBusqueda = null;
+            coordinadorBusqueda.cancelar();
+            _resultadosBusqueda.setValue(null);
+            return;
+        }
+
+        textoBusqueda = normalizado;
+        busquedaPendiente = () -> {
+            busquedaPendiente = null;
+            solicitarBusqueda(normalizado);
+        };
+        manejadorBusqueda.postDelayed(busquedaPendiente, RETARDO_BUSQUEDA_MS);
+    }
+
+    /**
+     * Encola la búsqueda del texto con el filtro vigente.
+     *
+     * @param texto Texto a buscar, ya normalizado.
+     */
+    private void solicitarBusqueda(String texto) {
+        FiltroKdramas filtro = catalogo.getFiltro();
+        coordinadorBusqueda.solicitar("busqueda:" + texto + ":" + filtro + ":" + catalogo.getVersion(),
+                (generacion, senal) -> {
+                    try {
+                        long versionLectura = catalogo.getVersion();
+                        List<Kdrama> resultados =
+                                kdramaRepository.buscarKdramas(texto, filtro, LIMITE_BUSQUEDA, senal);
+                        catalogo.recordar(resultados, versionLectura);
+                        if (coordinadorBusqueda.esVigente(generacion)) {
+                            _resultadosBusqueda.postValue(resultados);
+                        }
+                    } catch (OperationCanceledException e) {
+                        // El usuario siguió escribiendo y la búsqueda fue reemplazada
+                    } catch (Exception e) {
+                        if (coordinadorBusqueda.esVigente(generacion)) {
+                            _errorMessage.postValue("Error al buscar K-Dramas: " + e.getMessage());
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Vuelve a leer la primera página desde la base de datos y reinicia la paginación.
+     * Cancela cualquier carga anterior y se fusiona con otra solicitud igual que aún no haya comenzado,
+     * de modo que varias llamadas seguidas producen una sola consulta.
+     */
+    public void recargarKdramas() {
+        FiltroKdramas filtro = catalogo.getFiltro();
+        OrdenKdramas orden = catalogo.getOrden();
+        coordinadorCargas.solicitar(CLAVE_PRIMERA_PAGINA + ":" + filtro + ":" + orden,
+                (generacion, senal) -> cargarPagina(filtro, orden, null, generacion, senal));
+    }
+
+    /**
+     * Aplica un filtro a la lista y carga su primera página si el filtro cambió.
+     * El filtrado se resuelve en la base de datos, no sobre la lista en memoria.
+     *
+     * @param filtro Criterios a aplicar; {@link FiltroKdramas#SIN_FILTRO} para quitar el filtro.
+     */
+    public void aplicarFiltro(FiltroKdramas filtro) {
+        if (catalogo.cambiarFiltro(filtro)) {
+            recargarKdramas();
+            if (textoBusqueda != null) {
+                solicitarBusqueda(textoBusqueda);
+            }
+        }
+    }
+
+    /**
+     * @return Filtro actualmente aplicado a la lista.
+     */
+    public FiltroKdramas getFiltro() {
+        return catalogo.getFiltro();
+    }
+
+    /**
+     * Cambia el criterio de ordenación de la lista. Si todo lo que cumple el filtro ya está cargado,
+     * el catálogo se reordena en memoria; si no, se carga la primera página del nuevo orden,
+     * que SQLite obtiene recorriendo el índice del criterio.
+     *
+     * @param orden Criterio a aplicar.
+     */
+    public void aplicarOrden(OrdenKdramas orden) {
+        if (catalogo.cambiarOrden(orden)) {
+            recargarKdramas();
+        }
+    }
+
+    /**
+     * @return Criterio de ordenación actual de la lista.
+     */
+    public OrdenKdramas getOrden() {
+        return catalogo.getOrden();
+    }
+
+    /**
+     * Solicita la página siguiente a la última cargada, si existe.
+     * Se ignora mientras otra carga está en curso o cuando ya no quedan registros.
+     */
+    public void cargarSiguientePagina() {
+        PaginaKdramas anterior = catalogo.getUltimaPagina();
+        if (anterior == null || !anterior.hayMas() || coordinadorCargas.hayCargaActiva()) {
+            return;
+        }
+        solicitarPagina(anterior);
+    }
+
+    /**
+     * Solicita la página que continúa a otra con el filtro y el orden vigentes.
+     *
+     * @param anterior Página a continuar.
+     */
+    private void solicitarPagina(PaginaKdramas anterior) {
+        FiltroKdramas filtro = catalogo.getFiltro();
+        OrdenKdramas orden = catalogo.getOrden();
+        String clave = "pagina:" + anterior.getUltimoId() + ":" + filtro + ":" + orden;
+        coordinadorCargas.solicitar(clave,
+                (generacion, senal) -> cargarPagina(filtro, orden, anterior, generacion, senal));
+    }
+
+    /**
+     * Consulta una página al repositorio y la incorpora al catálogo en memoria.
+     * El resultado se descarta si la carga fue reemplazada por otra más reciente. Si una escritura se
+     * confirmó mientras se leía, la página se vuelve a pedir: la lista no pide más páginas por sí sola
+     * mientras el usuario no vuelva a desplazarse.
+     *
+     * @param filtro     Filtro vigente cuando se solicitó la carga.
+     * @param orden      Criterio de ordenación vigente cuando se solicitó la carga.
+     * @param anterior   Página a continuar, o null para empezar desde la primera.
+     * @param generacion Generación asignada por el coordinador.
+     * @param senal      Señal de cancelación de la consulta.
+     */
+    private void cargarPagina(FiltroKdramas filtro, OrdenKdramas orden, PaginaKdramas anterior,
+                              long generacion, CancellationSignal senal) {
+        Kdrama despuesDe = anterior == null ? null : anterior.getUltimo();
+
+        try {
+            long versionLectura = catalogo.getVersion();
+            if (!filtro.equals(catalogo.getFiltro()) || orden != catalogo.getOrden()) {
+                // El filtro o el orden cambiaron después de la solicitud; la carga nueva ya fue pedida
+                return;
+            }
+            PaginaKdramas pagina = kdramaRepository.obtenerPaginaKdramas(
+                    filtro, orden, despuesDe, PaginaKdramas.TAMANIO, senal);
+            if (!coordinadorCargas.esVigente(generacion)) {
+                return;
+            }
+            if (anterior == null) {
+                if (!catalogo.reemplazarConPrimeraPagina(pagina, versionLectura)) {
+                    recargarKdramas();
+                }
+            } else if (!catalogo.agregarPagina(anterior, pagina, versionLectura)) {
+                if (anterior == catalogo.getUltimaPagina()) {
+                    // Sigue siendo la página a continuar: se repite desde la misma clave
+                    solicitarPagina(anterior);
+                }
+                // Si no, otra carga (filtro, orden o primera página nuevos) ya reemplazó lo cargado
+                return;
+            }
+            sincronizadorPortadas.programar(pagina.getElementos());
+        } catch (OperationCanceledException e) {
+            // La carga fue reemplazada por una solicitud más reciente
+        } catch (Exception e) {
+            if (coordinadorCargas.esVigente(generacion)) {
                 _errorMessage.postValue("Error al cargar K-Dramas: " + e.getMessage());
             }
-        }).start();
+        }
+    }
+
+    /**
+     * Aplica un cambio notificado por el repositorio. Se invoca en el hilo principal.
+     * La lista no necesita tratarse aquí: el catálogo en memoria ya recibió cada escritura.
+     *
+     * @param cambio Cambios confirmados, agrupados.
+     */
+    private void aplicarCambios(CambioCatalogo cambio) {
+        aplicarCambiosBusqueda(cambio);
+        aplicarCambiosSeleccion(cambio);
+        if (_estadisticas.getValue() != null && (!cambio.getInsertados().isEmpty()
+                || !cambio.getEliminados().isEmpty() || cambio.actualizaAlguno(CAMPOS_ESTADISTICAS))) {
+            cargarEstadisticas();
+        }
+    }
+
+    /**
+     * Corrige los resultados de búsqueda visibles. Las eliminaciones y las actualizaciones que no afectan
+     * a la coincidencia se aplican sobre la lista actual; las inserciones, o los cambios en campos
+     * buscados o filtrados, repiten la consulta porque pueden añadir o quitar resultados.
+     */
+    private void aplicarCambiosBusqueda(CambioCatalogo cambio) {
+        List<Kdrama> resultados = _resultadosBusqueda.getValue();
+        if (textoBusqueda == null || resultados == null) {
+            return;
+        }
+        if (!cambio.getInsertados().isEmpty() || cambio.actualizaAlguno(CAMPOS_BUSQUEDA)) {
+            solicitarBusqueda(textoBusqueda);
+            return;
+        }
+        List<Kdrama> corregidos = new ArrayList<>(resultados.size());
+        boolean corregido = false;
+        for (Kdrama kdrama : resultados) {
+            long id = kdrama.getId();
+            if (cambio.getEliminados().contains(id)) {
+                corregido = true;
+                continue;
+            }
+            Kdrama actualizado = cambio.getActualizados().containsKey(id) ? catalogo.buscarPorId(id) : null;
+            corregido |= actualizado != null;
+            corregidos.add(actualizado != null ? actualizado : kdrama);
+        }
+        if (corregido) {
+            _resultadosBusqueda.setValue(corregidos);
+        }
+    }
+
+    /**
+     * Mantiene al día el K-Drama en edición: si se eliminó se publica null, y si se actualizó
+     * se publica la versión de la caché (o se vuelve a leer si no está).
+     */
+    private void aplicarCambiosSeleccion(CambioCatalogo cambio) {
+        Kdrama seleccionado = _kdramaSeleccionado.getValue();
+        if (seleccionado == null) {
+            return;
+        }
+        long id = seleccionado.getId();
+        if (cambio.getEliminados().contains(id)) {
+            _kdramaSeleccionado.setValue(null);
+        } else if (cambio.getActualizados().containsKey(id)) {
+            cargarKdrama(id);
+        }
+    }
+
+    /**
+     * Cancela las cargas pendientes al destruirse el ViewModel.
+     */
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        notificador.quitarOyente(oyenteCambios);
+        if (busquedaPendiente != null) {
+            manejadorBusqueda.removeCallbacks(busquedaPendiente);
+        }
+        coordinadorCargas.cancelar();
+        coordinadorBusqueda.cancelar();
     }
 
     /**
      * Guarda un nuevo K-Drama en la base de datos.
-     * Valida los datos antes de insertar y actualiza los estados observables.
+     * Valida los datos antes de insertar, incorpora el registro con su nuevo ID al catálogo
+     * en memoria y actualiza los estados observables.
      *
      * @param kdrama Instancia del modelo a guardar.
      */
     public void guardarKdrama(Kdrama kdrama) {
-        new Thread(() -> {
+        dataExecutor.ejecutarEscritura(() -> {
             try {
                 if (!kdrama.esValido()) {
                     _errorMessage.postValue("Datos del K-Drama no válidos");
@@ -76,8 +462,11 @@ public class KdramaViewModel extends AndroidViewModel {
 
                 long resultado = kdramaRepository.insertarKdrama(kdrama);
                 if (resultado > 0) {
+                    Kdrama insertado = new Kdrama(kdrama);
+                    insertado.setId(resultado);
+                    catalogo.aplicarInsercion(insertado);
+                    sincronizadorPortadas.programar(Collections.singletonList(insertado));
                     _operationSuccess.postValue(true);
-                    cargarKdramas();
                 } else {
                     _operationSuccess.postValue(false);
                     _errorMessage.postValue("No se pudo guardar el K-Drama");
@@ -86,19 +475,19 @@ public class KdramaViewModel extends AndroidViewModel {
                 _operationSuccess.postValue(false);
                 _errorMessage.postValue("Error al guardar: " + e.getMessage());
             }
-        }).start();
+        });
     }
 
     /**
      * Actualiza los datos de un K-Drama existente.
-     * Valida la existencia del ID antes de ejecutar la operación.
+     * Valida la existencia del ID antes de ejecutar la operación y reemplaza la fila en el catálogo en memoria.
      *
      * @param kdrama Instancia con los datos actualizados.
      */
     public void actualizarKdrama(Kdrama kdrama) {
-        new Thread(() -> {
+        dataExecutor.ejecutarEscritura(() -> {
             try {
-                if (kdrama.getId() == null || kdrama.getId().isEmpty()) {
+                if (!kdrama.tieneId()) {
                     _errorMessage.postValue("ID del K-Drama no válido");
                     _operationSuccess.postValue(false);
                     return;
@@ -106,8 +495,9 @@ public class KdramaViewModel extends AndroidViewModel {
 
                 int filasAfectadas = kdramaRepository.actualizarKdrama(kdrama);
                 if (filasAfectadas > 0) {
+                    catalogo.aplicarActualizacion(new Kdrama(kdrama));
+                    sincronizadorPortadas.programar(Collections.singletonList(kdrama));
                     _operationSuccess.postValue(true);
-                    cargarKdramas();
                 } else {
                     _operationSuccess.postValue(false);
                     _errorMessage.postValue("No se pudo actualizar el K-Drama");
@@ -116,22 +506,22 @@ public class KdramaViewModel extends AndroidViewModel {
                 _operationSuccess.postValue(false);
                 _errorMessage.postValue("Error al actualizar: " + e.getMessage());
             }
-        }).start();
+        });
     }
 
     /**
      * Elimina un K-Drama según su ID.
-     * Actualiza los estados observables según el resultado.
+     * Lo quita del catálogo en memoria y actualiza los estados observables según el resultado.
      *
      * @param id Identificador del K-Drama a eliminar.
      */
-    public void eliminarKdrama(String id) {
-        new Thread(() -> {
+    public void eliminarKdrama(long id) {
+        dataExecutor.ejecutarEscritura(() -> {
             try {
                 int filasAfectadas = kdramaRepository.eliminarKdrama(id);
                 if (filasAfectadas > 0) {
+                    catalogo.aplicarEliminacion(id);
                     _operationSuccess.postValue(true);
-                    cargarKdramas();
                 } else {
                     _operationSuccess.postValue(false);
                     _errorMessage.postValue("No se pudo eliminar el K-Drama");
@@ -140,22 +530,256 @@ public class KdramaViewModel extends AndroidViewModel {
                 _operationSuccess.postValue(false);
                 _errorMessage.postValue("Error al eliminar: " + e.getMessage());
             }
-        }).start();
+        });
     }
 
     /**
-     * Obtiene un K-Drama específico desde el repositorio según su ID.
-     * Utilizado para operaciones puntuales como edición.
+     * Elimina varios K-Dramas con una sola llamada al repositorio, en una transacción,
+     * y los quita del catálogo en memoria con una única actualización de la lista.
      *
-     * @param id Identificador del K-Drama.
-     * @return Instancia encontrada o null si ocurre un error.
+     * @param ids IDs de los K-Dramas seleccionados. No debe modificarse después.
      */
-    public Kdrama obtenerKdramaPorId(String id) {
+    public void eliminarKdramas(Set<Long> ids) {
+        dataExecutor.ejecutarEscritura(() -> {
+            try {
+                kdramaRepository.eliminarKdramas(ids);
+                catalogo.aplicarEliminaciones(ids);
+            } catch (Exception e) {
+                _errorMessage.postValue("Error al eliminar: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Restaura K-Dramas eliminados que aún no se han purgado y los devuelve al catálogo en memoria
+     * con una única actualización de la lista.
+     *
+     * @param ids IDs de los K-Dramas eliminados. No debe modificarse después.
+     */
+    public void restaurarKdramas(Set<Long> ids) {
+        dataExecutor.ejecutarEscritura(() -> {
+            try {
+                catalogo.aplicarInserciones(kdramaRepository.restaurarKdramas(ids));
+            } catch (Exception e) {
+                _errorMessage.postValue("Error al restaurar: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Cambia el estado de visionado de varios K-Dramas en una transacción y aplica las filas
+     * modificadas al catálogo en memoria con una única actualización de la lista.
+     *
+     * @param ids    IDs de los K-Dramas seleccionados. No debe modificarse después.
+     * @param estado Estado a asignar.
+     */
+    public void cambiarEstadoKdramas(Set<Long> ids, EstadoVisionado estado) {
+        dataExecutor.ejecutarEscritura(() -> {
+            try {
+                catalogo.aplicarActualizaciones(kdramaRepository.cambiarEstadoKdramas(ids, estado));
+            } catch (Exception e) {
+                _errorMessage.postValue("Error al cambiar el estado: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Cambia la calificación de varios K-Dramas en una transacción y aplica las filas
+     * modificadas al catálogo en memoria con una única actualización de la lista.
+     *
+     * @param ids          IDs de los K-Dramas seleccionados. No debe modificarse después.
+     * @param calificacion Calificación a asignar.
+     */
+    public void calificarKdramas(Set<Long> ids, float calificacion) {
+        dataExecutor.ejecutarEscritura(() -> {
+            try {
+                catalogo.aplicarActualizaciones(kdramaRepository.calificarKdramas(ids, calificacion));
+            } catch (Exception e) {
+                _errorMessage.postValue("Error al calificar: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Importa un catálogo completo desde un archivo CSV o JSON seleccionado por el usuario.
+     * Se ejecuta en el carril de escritura; el archivo se lee de forma incremental y las filas
+     * se insertan en lotes transaccionales. Cada lote confirmado se incorpora al catálogo en memoria.
+     *
+     * @param uri Documento a importar.
+     */
+    public void importarCatalogo(Uri uri) {
+        CancellationSignal senal = new CancellationSignal();
+        senalImportacion = senal;
+        _progresoImportacion.setValue(0);
+
+        dataExecutor.ejecutarEscritura(() -> {
+            ContentResolver resolver = getApplication().getContentResolver();
+            ImportadorKdramas.Formato formato =
+                    ImportadorKdramas.Formato.deducir(resolver.getType(uri), uri.getLastPathSegment());
+            try (InputStream entrada = resolver.openInputStream(uri)) {
+                if (entrada == null) {
+                    throw new FileNotFoundException(uri.toString());
+                }
+                try (LectorKdramas lector = ImportadorKdramas.crearLector(entrada, formato)) {
+                    ImportadorKdramas.ResultadoImportacion resultado =
+                            new ImportadorKdramas(kdramaRepository, catalogo::aplicarInserciones)
+                                    .importar(lector, senal, (procesadas, insertadas, rechazadas) ->
+                                            _progresoImportacion.postValue(procesadas));
+                    _resultadoImportacion.postValue(resultado);
+                }
+            } catch (Exception e) {
+                _errorMessage.postValue("Error al importar: " + e.getMessage());
+            } finally {
+                _progresoImportacion.postValue(null);
+                if (senalImportacion == senal) {
+                    senalImportacion = null;
+                }
+            }
+        });
+    }
+
+    /**
+     * Cancela la importación en curso. Los lotes ya confirmados se conservan.
+     */
+    public void cancelarImportacion() {
+        CancellationSignal senal = senalImportacion;
+        if (senal != null) {
+            senal.cancel();
+        }
+    }
+
+    /**
+     * Exporta el catálogo completo al documento elegido por el usuario.
+     * Se ejecuta en el pool de lectura con prioridad de fondo: las filas se leen por bloques y se escriben
+     * en el archivo a medida que llegan, por lo que la memoria usada no depende del tamaño del catálogo.
+     * Si la exportación falla o se cancela, el documento incompleto se elimina.
+     *
+     * @param uri     Documento de destino, creado por el selector del sistema.
+     * @param formato Formato del archivo.
+     */
+    public void exportarCatalogo(Uri uri, ImportadorKdramas.Formato formato) {
+        CancellationSignal senal = new CancellationSignal();
+        senalExportacion = senal;
+        _progresoExportacion.setValue(0);
+
+        dataExecutor.ejecutarLectura(DataExecutor.Prioridad.FONDO, () -> {
+            ContentResolver resolver = getApplication().getContentResolver();
+            boolean completa = false;
+            try (ParcelFileDescriptor descriptor = resolver.openFileDescriptor(uri, "wt")) {
+                if (descriptor == null) {
+                    throw new FileNotFoundException(uri.toString());
+                }
+                try (FileOutputStream salida = new FileOutputStream(descriptor.getFileDescriptor());
+                     FileChannel canal = salida.getChannel()) {
+                    ExportadorKdramas.ResultadoExportacion resultado = new ExportadorKdramas(kdramaRepository)
+                            .exportar(canal, formato, senal, _progresoExportacion::postValue);
+                    completa = !resultado.fueCancelada();
+                    _resultadoExportacion.postValue(resultado);
+                }
+            } catch (Exception e) {
+                _errorMessage.postValue("Error al exportar: " + e.getMessage());
+            } finally {
+                _progresoExportacion.postValue(null);
+                if (senalExportacion == senal) {
+                    senalExportacion = null;
+                }
+                if (!completa) {
+                    eliminarDocumento(resolver, uri);
+                }
+            }
+        });
+    }
+
+    /**
+     * Cancela la exportación en curso. El archivo parcial se elimina.
+     */
+    public void cancelarExportacion() {
+        CancellationSignal senal = senalExportacion;
+        if (senal != null) {
+            senal.cancel();
+        }
+    }
+
+    private static void eliminarDocumento(ContentResolver resolver, Uri uri) {
+        try {
+            DocumentsContract.deleteDocument(resolver, uri);
+        } catch (Exception e) {
+            // El proveedor no permite eliminar: el archivo incompleto queda en su lugar
+        }
+    }
+
+    /**
+     * Carga las estadísticas del catálogo desde las tablas de resumen.
+     * La primera vez en el proceso, además, comprueba en segundo plano que los resúmenes coinciden
+     * con la tabla kdrama; si no coinciden, los reconstruye en el carril de escritura y publica
+     * las estadísticas corregidas.
+     */
+    public void cargarEstadisticas() {
+        dataExecutor.ejecutarLectura(DataExecutor.Prioridad.VISIBLE, () -> {
+            try {
+                _estadisticas.postValue(kdramaRepository.obtenerEstadisticas());
+            } catch (Exception e) {
+                _errorMessage.postValue("Error al cargar estadísticas: " + e.getMessage());
+            }
+        });
+
+        if (resumenesVerificados.compareAndSet(false, true)) {
+            dataExecutor.ejecutarLectura(DataExecutor.Prioridad.FONDO, () -> {
+                try {
+                    if (!kdramaRepository.resumenesConsistentes()) {
+                        dataExecutor.ejecutarEscritura(this::reconstruirEstadisticas);
+                    }
+                } catch (Exception e) {
+                    resumenesVerificados.set(false);
+                    _errorMessage.postValue("Error al verificar estadísticas: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Reconstruye los resúmenes desde cero y publica las estadísticas resultantes.
+     * Se ejecuta en el carril de escritura.
+     */
+    private void reconstruirEstadisticas() {
         try {
-            return kdramaRepository.obtenerKdramaPorId(id);
+            kdramaRepository.reconstruirResumenes();
+            _estadisticas.postValue(kdramaRepository.obtenerEstadisticas());
         } catch (Exception e) {
-            _errorMessage.postValue("Error al obtener K-Drama: " + e.getMessage());
-            return null;
+            _errorMessage.postValue("Error al reconstruir estadísticas: " + e.getMessage());
         }
     }
+
+    /**
+     * Resuelve el K-Drama a editar y lo publica en {@link #kdramaSeleccionado}.
+     * Primero se consulta la caché por ID del catálogo, que las escrituras mantienen al día;
+     * si no está, se lee en el pool de lectura y se guarda en la caché. En ambos casos se publica una copia,
+     * de modo que lo que se edite en pantalla no llega a la caché hasta que se guarda. Nunca accede a disco
+     * desde el hilo principal. Debe invocarse desde el hilo principal.
+     *
+     * @param id Identificador del K-Drama.
+     */
+    public void cargarKdrama(long id) {
+        Kdrama enCache = catalogo.buscarPorId(id);
+        if (enCache != null) {
+            _kdramaSeleccionado.setValue(enCache);
+            return;
+        }
+
+        dataExecutor.ejecutarLectura(DataExecutor.Prioridad.VISIBLE, () -> {
+            try {
+                long versionLectura = catalogo.getVersion();
+                Kdrama kdrama = kdramaRepository.obtenerKdramaPorId(id);
+                if (kdrama == null) {
+                    _kdramaSeleccionado.postValue(null);
+                    return;
+                }
+                catalogo.recordar(Collections.singletonList(kdrama), versionLectura);
+                // La caché conserva la instancia leída; la pantalla de edición recibe su propia copia
+                _kdramaSeleccionado.postValue(new Kdrama(kdrama));
+            } catch (Exception e) {
+                _errorMessage.postValue("Error al obtener K-Drama: " + e.getMessage());
+            }
+        });
+    }
 }
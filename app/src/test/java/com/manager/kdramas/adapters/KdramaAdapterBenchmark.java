@@ -0,0 +1,137 @@
+package com.manager.kdramas.adapters;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.widget.FrameLayout;
+import android.widget.RatingBar;
+import android.widget.TextView;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.bumptech.glide.Glide;
+import com.manager.kdramas.R;
+import com.manager.kdramas.benchmark.DatosBenchmark;
+import com.manager.kdramas.benchmark.RegistroBenchmark;
+import com.manager.kdramas.imagenes.AlmacenPortadas;
+import com.manager.kdramas.model.Kdrama;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Benchmark en JVM del coste de preparación, creación y enlace de filas de {@link KdramaAdapter} con Robolectric.
+ * La preparación corre en segundo plano en la app; el enlace es lo único que queda en el hilo principal.
+ * Para comparar antes y después, mide también el enlace anterior, que formateaba los textos de cada fila al enlazarla.
+ * Se ejecuta con: ./gradlew :app:testDebugUnitTest -Pbenchmark
+ */
+@RunWith(RobolectricTestRunner.class)
+public class KdramaAdapterBenchmark {
+
+    private static final int FILAS = 1_000;
+    private static final int VIEW_HOLDERS = 12;
+
+    @Test
+    public void creacionYEnlaceDeFilas() throws Exception {
+        RegistroBenchmark registro = new RegistroBenchmark("adaptador-kdramas");
+        Context context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(), R.style.AppTheme);
+        FrameLayout padre = new FrameLayout(context);
+
+        List<Kdrama> kdramas = new ArrayList<>(FILAS);
+        for (int i = 0; i < FILAS; i++) {
+            Kdrama kdrama = DatosBenchmark.crearKdrama(i);
+            kdrama.setId(i + 1);
+            kdramas.add(kdrama);
+        }
+        KdramaAdapter adapter = new KdramaAdapter(context, Glide.with(context),
+                new AlmacenPortadas(new File(context.getCacheDir(), "miniaturas"), 1024 * 1024),
+                new AlmacenPortadas(new File(context.getCacheDir(), "portadas"), 1024 * 1024), kdrama -> { });
+
+        registro.medir("onCreateViewHolder", FILAS, 20, 200, () -> adapter.onCreateViewHolder(padre, 0));
+
+        // Con una vista ya creada se conocen los parámetros del título y la preparación lo precalcula
+        registro.medir("prepararFilas", FILAS, 3, 20, () -> adapter.prepararFilas(kdramas));
+        adapter.mostrarFilas(adapter.prepararFilas(kdramas));
+        assertEquals(FILAS, adapter.getItemCount());
+
+        // Como en el RecyclerView, unas pocas filas se reciclan para todas las posiciones
+        List<KdramaAdapter.ViewHolder> holders = new ArrayList<>(VIEW_HOLDERS);
+        for (int i = 0; i < VIEW_HOLDERS; i++) {
+            holders.add(adapter.onCreateViewHolder(padre, 0));
+        }
+        int[] posicion = {0};
+        registro.medir("onBindViewHolder", FILAS, FILAS, FILAS * 5, () -> {
+            int actual = posicion[0]++ % FILAS;
+            adapter.onBindViewHolder(holders.get(actual % VIEW_HOLDERS), actual);
+        });
+
+        // Antes y después sobre las mismas vistas, sin la portada ni las métricas de enlace
+        List<FilaKdrama> filas = adapter.prepararFilas(kdramas);
+        List<VistasFila> vistas = new ArrayList<>(VIEW_HOLDERS);
+        for (KdramaAdapter.ViewHolder holder : holders) {
+            vistas.add(new VistasFila(holder.itemView));
+        }
+        KdramaAdapter.OnItemClickListener listener = kdrama -> { };
+        int[] posicionAnterior = {0};
+        registro.medir("enlazarDatosAnterior", FILAS, FILAS, FILAS * 5, () -> {
+            int actual = posicionAnterior[0]++ % FILAS;
+            vistas.get(actual % VIEW_HOLDERS).enlazarComoAntes(kdramas.get(actual), listener);
+        });
+        int[] posicionPreparada = {0};
+        registro.medir("enlazarDatos", FILAS, FILAS, FILAS * 5, () -> {
+            int actual = posicionPreparada[0]++ % FILAS;
+            holders.get(actual % VIEW_HOLDERS).enlazarDatos(filas.get(actual));
+        });
+
+        registro.escribir();
+    }
+
+    /**
+     * Vistas de una fila, buscadas una sola vez como en el ViewHolder, para reproducir el enlace anterior
+     * a la preparación en segundo plano.
+     */
+    private static final class VistasFila {
+
+        private final View itemView;
+        private final TextView txtTitulo, txtGenero, txtAnio, txtCapitulos, txtEstado;
+        private final RatingBar ratingCalificacion;
+
+        VistasFila(View itemView) {
+            this.itemView = itemView;
+            txtTitulo = itemView.findViewById(R.id.txtTitulo);
+            txtGenero = itemView.findViewById(R.id.txtGenero);
+            txtAnio = itemView.findViewById(R.id.txtAnio);
+            txtCapitulos = itemView.findViewById(R.id.txtCapitulos);
+            txtEstado = itemView.findViewById(R.id.txtEstado);
+            ratingCalificacion = itemView.findViewById(R.id.ratingCalificacion);
+        }
+
+        /**
+         * Enlace anterior: formatea los textos, resuelve la etiqueta del estado y crea el listener
+         * de clic en cada enlace, en el hilo principal.
+         */
+        void enlazarComoAntes(Kdrama kdrama, KdramaAdapter.OnItemClickListener listener) {
+            txtTitulo.setText(kdrama.getTitulo());
+            txtGenero.setText(kdrama.getGenero());
+            txtAnio.setText(String.format("Año: %d", kdrama.getAnio()));
+            txtCapitulos.setText(String.format("%d capítulos", kdrama.getCapitulos()));
+            txtEstado.setText(kdrama.getEstadoLegible());
+            ratingCalificacion.setRating(kdrama.getCalificacion());
+            itemView.setOnClickListener(new View.OnClickListener() {
+                @Override
+                public void onClick(View v) {
+                    if (listener != null) {
+                        listener.onItemClick(kdrama);
+                    }
+                }
+            });
+        }
+    }
+}
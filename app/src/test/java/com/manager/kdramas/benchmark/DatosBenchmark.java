@@ -0,0 +1,62 @@
+package com.manager.kdramas.benchmark;
+
+import com.manager.kdramas.model.EstadoVisionado;
+import com.manager.kdramas.model.Kdrama;
+import com.manager.kdramas.repositories.KdramaRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Genera catálogos sintéticos y deterministas para los benchmarks.
+ */
+public final class DatosBenchmark {
+
+    private static final String[] PALABRAS = {
+            "Amor", "Ciudad", "Secreto", "Reina", "Doctor", "Luna", "Sol", "Destino", "Palacio", "Verano"
+    };
+    private static final String[] GENEROS = {"Romance", "Drama", "Comedia", "Thriller", "Fantasía", "Histórico"};
+    private static final int TAMANIO_LOTE = 1000;
+
+    private DatosBenchmark() {
+    }
+
+    /**
+     * Crea un K-Drama sintético a partir de un número de secuencia.
+     *
+     * @param n Número de secuencia.
+     * @return K-Drama sin ID.
+     */
+    public static Kdrama crearKdrama(int n) {
+        Kdrama kdrama = new Kdrama(
+                PALABRAS[n % PALABRAS.length] + " " + PALABRAS[(n / 10) % PALABRAS.length] + " " + n,
+                GENEROS[n % GENEROS.length],
+                1990 + n % 35,
+                12 + n % 10,
+                n % 6);
+        kdrama.setEstado(EstadoVisionado.desdeCodigo(n % EstadoVisionado.values().length));
+        kdrama.setImagenUrl(n % 2 == 0 ? "https://example.com/poster/" + n + ".jpg" : null);
+        return kdrama;
+    }
+
+    /**
+     * Inserta registros sintéticos en lotes transaccionales.
+     *
+     * @param repository Repositorio destino.
+     * @param desde      Primer número de secuencia.
+     * @param cantidad   Número de registros a insertar.
+     */
+    public static void poblar(KdramaRepository repository, int desde, int cantidad) {
+        List<Kdrama> lote = new ArrayList<>(TAMANIO_LOTE);
+        try (KdramaRepository.InsercionMasiva insercion = repository.abrirInsercionMasiva()) {
+            for (int n = desde; n < desde + cantidad; n++) {
+                lote.add(crearKdrama(n));
+                if (lote.size() == TAMANIO_LOTE) {
+                    insercion.insertarLote(lote);
+                    lote.clear();
+                }
+            }
+            insercion.insertarLote(lote);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.manager.kdramas.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Mide operaciones repetidas y guarda sus latencias en un archivo JSON por suite,
+ * para comparar resultados entre commits.
+
+ * El archivo se escribe en el directorio indicado por la propiedad del sistema
+ * "benchmark.directorio" (por defecto build/benchmark) con el nombre de la suite.
+ */
+public final class RegistroBenchmark {
+
+    private final String suite;
+    private final List<String> resultados = new ArrayList<>();
+
+    /**
+     * @param suite Nombre de la suite; también es el nombre del archivo de resultados.
+     */
+    public RegistroBenchmark(String suite) {
+        this.suite = suite;
+    }
+
+    /**
+     * Ejecuta la operación varias veces sin medir (calentamiento del JIT) y luego mide cada ejecución.
+     *
+     * @param nombre        Nombre de la operación.
+     * @param filas         Tamaño del catálogo o de la entrada sobre el que se mide.
+     * @param calentamiento Ejecuciones previas no medidas.
+     * @param iteraciones   Ejecuciones medidas.
+     * @param operacion     Operación a medir.
+     */
+    public void medir(String nombre, int filas, int calentamiento, int iteraciones, Runnable operacion) {
+        for (int i = 0; i < calentamiento; i++) {
+            operacion.run();
+        }
+        long[] muestras = new long[iteraciones];
+        for (int i = 0; i < iteraciones; i++) {
+            long inicio = System.nanoTime();
+            operacion.run();
+            muestras[i] = System.nanoTime() - inicio;
+        }
+        registrar(nombre, filas, muestras);
+    }
+
+    /**
+     * Registra muestras tomadas por el llamador, en nanosegundos.
+     *
+     * @param nombre   Nombre de la operación.
+     * @param filas    Tamaño del catálogo o de la entrada sobre el que se midió.
+     * @param muestras Duración de cada ejecución en nanosegundos.
+     */
+    public void registrar(String nombre, int filas, long[] muestras) {
+        long[] ordenadas = muestras.clone();
+        Arrays.sort(ordenadas);
+        long total = 0;
+        for (long muestra : ordenadas) {
+            total += muestra;
+        }
+        String resultado = String.format(Locale.ROOT,
+                "{\"nombre\":\"%s\",\"filas\":%d,\"iteraciones\":%d,"
+                        + "\"min_us\":%.1f,\"p50_us\":%.1f,\"p95_us\":%.1f,\"media_us\":%.1f}",
+                nombre, filas, ordenadas.length,
+                ordenadas[0] / 1000.0,
+                percentil(ordenadas, 50) / 1000.0,
+                percentil(ordenadas, 95) / 1000.0,
+                total / 1000.0 / ordenadas.length);
+        resultados.add(resultado);
+        System.out.println(suite + " " + resultado);
+    }
+
+    /**
+     * Escribe los resultados registrados en &lt;directorio&gt;/&lt;suite&gt;.json.
+     *
+     * @return Archivo escrito.
+     * @throws IOException si no se puede escribir el archivo.
+     */
+    public File escribir() throws IOException {
+        File directorio = new File(System.getProperty("benchmark.directorio", "build/benchmark"));
+        if (!directorio.isDirectory() && !directorio.mkdirs()) {
+            throw new IOException("No se pudo crear " + directorio);
+        }
+        File archivo = new File(directorio, suite + ".json");
+        try (Writer salida = new OutputStreamWriter(Files.newOutputStream(archivo.toPath()), StandardCharsets.UTF_8)) {
+            salida.write("{\"suite\":\"" + suite + "\",");
+            salida.write("\"marca_tiempo\":" + System.currentTimeMillis() + ",");
+            salida.write("\"java\":\"" + System.getProperty("java.version") + "\",");
+            salida.write("\"resultados\":[\n  ");
+            salida.write(String.join(",\n  ", resultados));
+            salida.write("\n]}\n");
+        }
+        return archivo;
+    }
+
+    private static long percentil(long[] ordenadas, int p) {
+        int indice = Math.min(ordenadas.length - 1, (ordenadas.length * p) / 100);
+        return ordenadas[indice];
+    }
+}
@@ -0,0 +1,54 @@
+package com.manager.kdramas.database;
+
+import org.junit.Test;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de que las claves de ordenación, comparadas como texto binario, siguen el orden del idioma.
+ */
+public class ClaveOrdenTest {
+
+    private static final List<String> TITULOS = Arrays.asList(
+            "Zorro", "Ángel", "angel", "Beso", "ábaco", "Nube", "Ñandú", "Oso", "Éxito", "exito",
+            "도깨비", "사랑의 불시착", "Crash Landing on You", "crash", "");
+
+    @Test
+    public void mayusculasYAcentosNoSeparanTitulosIguales() {
+        List<String> ordenados = ordenarPorClave(Arrays.asList("Zorro", "Beso", "Ángel", "angel", "ábaco"));
+
+        assertEquals(Arrays.asList("ábaco", "angel", "Ángel", "Beso", "Zorro"), ordenados);
+    }
+
+    @Test
+    public void compararClavesEquivaleACompararConElCollator() {
+        Collator collator = Collator.getInstance(Locale.forLanguageTag(ClaveOrden.getEtiquetaIdioma()));
+        collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+        for (String a : TITULOS) {
+            for (String b : TITULOS) {
+                int porClave = Integer.signum(ClaveOrden.calcular(a).compareTo(ClaveOrden.calcular(b)));
+                assertEquals(a + " / " + b, Integer.signum(collator.compare(a, b)), porClave);
+            }
+        }
+    }
+
+    @Test
+    public void formasCompuestaYDescompuestaTienenLaMismaClave() {
+        assertEquals(ClaveOrden.calcular("\u00c1ngel"), ClaveOrden.calcular("A\u0301ngel"));
+        assertEquals(ClaveOrden.calcular(""), ClaveOrden.calcular(null));
+        assertTrue(ClaveOrden.calcular("Beso").matches("[0-9a-f]+"));
+    }
+
+    private static List<String> ordenarPorClave(List<String> titulos) {
+        List<String> ordenados = new ArrayList<>(titulos);
+        ordenados.sort((a, b) -> ClaveOrden.calcular(a).compareTo(ClaveOrden.calcular(b)));
+        return ordenados;
+    }
+}
@@ -0,0 +1,119 @@
+package com.manager.kdramas.executors;
+
+import android.os.CancellationSignal;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de las generaciones, la fusión de solicitudes y la cancelación de las cargas.
+ * Las cargas se encolan en una cola manual y solo comienzan al llamar a {@link #ejecutarPendientes()}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CoordinadorCargasTest {
+
+    private final List<DataExecutor.TareaDatos> cola = new ArrayList<>();
+    private final List<String> ejecutadas = new ArrayList<>();
+    private CoordinadorCargas coordinador;
+
+    @Before
+    public void crearCoordinador() {
+        coordinador = new CoordinadorCargas(accion -> {
+            DataExecutor.TareaDatos tarea = new DataExecutor.TareaDatos(accion, DataExecutor.Prioridad.VISIBLE,
+                    cola.size(), new DataExecutor.EstadisticasCarril());
+            cola.add(tarea);
+            return tarea;
+        });
+    }
+
+    @Test
+    public void unaSolicitudNuevaInvalidaYCancelaLaAnterior() {
+        long primera = coordinador.solicitar("a", registrar("a"));
+        long segunda = coordinador.solicitar("b", registrar("b"));
+
+        assertNotEquals(primera, segunda);
+        assertFalse(coordinador.esVigente(primera));
+        assertTrue(coordinador.esVigente(segunda));
+        ejecutarPendientes();
+        assertEquals(Collections.singletonList("b"), ejecutadas);
+        assertFalse(coordinador.hayCargaActiva());
+    }
+
+    @Test
+    public void lasSolicitudesRepetidasSinComenzarSeFusionan() {
+        long primera = coordinador.solicitar("pagina", registrar("primera"));
+        long repetida = coordinador.solicitar("pagina", registrar("repetida"));
+
+        assertEquals(primera, repetida);
+        assertEquals(1, cola.size());
+        ejecutarPendientes();
+        assertEquals(Collections.singletonList("primera"), ejecutadas);
+    }
+
+    @Test
+    public void unaSolicitudRepetidaDuranteLaCargaCreaOtraGeneracion() {
+        CancellationSignal[] senalPrimera = new CancellationSignal[1];
+        long[] generacionRepetida = new long[1];
+        long primera = coordinador.solicitar("pagina", (generacion, senal) -> {
+            senalPrimera[0] = senal;
+            // Por ejemplo, la página se rechazó y se vuelve a pedir desde la propia carga
+            generacionRepetida[0] = coordinador.solicitar("pagina", registrar("repetida"));
+        });
+
+        ejecutarPendientes();
+
+        assertNotEquals(primera, generacionRepetida[0]);
+        assertTrue(senalPrimera[0].isCanceled());
+        assertTrue(coordinador.hayCargaActiva());
+        ejecutarPendientes();
+        assertEquals(Collections.singletonList("repetida"), ejecutadas);
+        assertFalse(coordinador.hayCargaActiva());
+    }
+
+    @Test
+    public void cancelarInvalidaLaCargaEncolada() {
+        CancellationSignal[] senalCarga = new CancellationSignal[1];
+        long generacion = coordinador.solicitar("a", (g, senal) -> {
+            senalCarga[0] = senal;
+            ejecutadas.add("a");
+        });
+
+        DataExecutor.TareaDatos tarea = cola.get(0);
+
+        coordinador.cancelar();
+
+        assertFalse(coordinador.esVigente(generacion));
+        assertFalse(coordinador.hayCargaActiva());
+        assertTrue(tarea.estaCancelada());
+        ejecutarPendientes();
+        assertTrue(ejecutadas.isEmpty());
+        assertNull(senalCarga[0]);
+    }
+
+    private CoordinadorCargas.Carga registrar(String nombre) {
+        return (generacion, senal) -> ejecutadas.add(nombre);
+    }
+
+    /**
+     * Ejecuta las cargas encoladas hasta ahora; las que encolen ellas quedan para la siguiente llamada.
+     */
+    private void ejecutarPendientes() {
+        List<DataExecutor.TareaDatos> pendientes = new ArrayList<>(cola);
+        cola.clear();
+        for (DataExecutor.TareaDatos tarea : pendientes) {
+            tarea.run();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.manager.kdramas.imagenes;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas del almacén de portadas y su descargador contra un servidor HTTP local.
+ */
+public class DescargadorPortadasTest {
+
+    private static final int TAMANIO_PORTADA = 1000;
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private HttpServer servidor;
+    private final AtomicInteger solicitudes = new AtomicInteger();
+    private String base;
+
+    @Before
+    public void iniciarServidor() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        servidor.createContext("/portadas/", intercambio -> {
+            solicitudes.incrementAndGet();
+            byte[] cuerpo = contenidoDe(intercambio.getRequestURI().getPath());
+            intercambio.sendResponseHeaders(200, cuerpo.length);
+            try (OutputStream salida = intercambio.getResponseBody()) {
+                salida.write(cuerpo);
+            }
+        });
+        servidor.createContext("/faltante", intercambio -> {
+            intercambio.sendResponseHeaders(404, -1);
+            intercambio.close();
+        });
+        servidor.start();
+        base = "http://127.0.0.1:" + servidor.getAddress().getPort();
+    }
+
+    @After
+    public void detenerServidor() {
+        servidor.stop(0);
+    }
+
+    @Test
+    public void descargaUnaVezYLuegoLeeDelAlmacen() throws IOException {
+        AlmacenPortadas almacen = new AlmacenPortadas(carpeta.newFolder("portadas"), 10 * TAMANIO_PORTADA);
+        DescargadorPortadas descargador = new DescargadorPortadas(almacen);
+        String url = base + "/portadas/goblin.jpg";
+
+        File primera = descargador.obtener(url);
+        File segunda = descargador.obtener(url);
+
+        assertEquals(1, solicitudes.get());
+        assertEquals(primera, segunda);
+        assertEquals(AlmacenPortadas.claveDe(url), primera.getName());
+        assertArrayEquals(contenidoDe("/portadas/goblin.jpg"), Files.readAllBytes(primera.toPath()));
+    }
+
+    @Test
+    public void desalojaLaMenosUsadaAlSuperarElPresupuesto() throws IOException {
+        AlmacenPortadas almacen = new AlmacenPortadas(carpeta.newFolder("portadas"), 3 * TAMANIO_PORTADA);
+        DescargadorPortadas descargador = new DescargadorPortadas(almacen);
+
+        descargador.obtener(base + "/portadas/a.jpg");
+        descargador.obtener(base + "/portadas/b.jpg");
+        descargador.obtener(base + "/portadas/c.jpg");
+        // Usar "a" la convierte en la más reciente; "b" pasa a ser la menos usada
+        assertNotNull(almacen.obtener(AlmacenPortadas.claveDe(base + "/portadas/a.jpg")));
+        descargador.obtener(base + "/portadas/d.jpg");
+
+        assertEquals(3, almacen.getCantidad());
+        assertTrue(almacen.getTamanioTotal() <= 3 * TAMANIO_PORTADA);
+        assertNull(almacen.obtener(AlmacenPortadas.claveDe(base + "/portadas/b.jpg")));
+        assertNotNull(almacen.obtener(AlmacenPortadas.claveDe(base + "/portadas/a.jpg")));
+        assertNotNull(almacen.obtener(AlmacenPortadas.claveDe(base + "/portadas/d.jpg")));
+    }
+
+    @Test
+    public void reconstruyeElIndiceDesdeElDirectorio() throws IOException {
+        File directorio = carpeta.newFolder("portadas");
+        new DescargadorPortadas(new AlmacenPortadas(directorio, 10 * TAMANIO_PORTADA))
+                .obtener(base + "/portadas/a.jpg");
+        assertTrue(new File(directorio, "interrumpida.tmp").createNewFile());
+
+        AlmacenPortadas reabierto = new AlmacenPortadas(directorio, 10 * TAMANIO_PORTADA);
+
+        assertEquals(1, reabierto.getCantidad());
+        assertEquals(TAMANIO_PORTADA, reabierto.getTamanioTotal());
+        assertFalse(new File(directorio, "interrumpida.tmp").exists());
+    }
+
+    @Test(expected = IOException.class)
+    public void respuestaDistintaDe200EsError() throws IOException {
+        AlmacenPortadas almacen = new AlmacenPortadas(carpeta.newFolder("portadas"), 10 * TAMANIO_PORTADA);
+        new DescargadorPortadas(almacen).obtener(base + "/faltante");
+    }
+
+    private static byte[] contenidoDe(String ruta) {
+        byte[] contenido = new byte[TAMANIO_PORTADA];
+        Arrays.fill(contenido, (byte) ruta.hashCode());
+        return contenido;
+    }
+}
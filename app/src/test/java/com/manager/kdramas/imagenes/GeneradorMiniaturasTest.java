@@ -0,0 +1,29 @@
+package com.manager.kdramas.imagenes;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Pruebas del cálculo del factor de submuestreo de las miniaturas.
+ */
+public class GeneradorMiniaturasTest {
+
+    @Test
+    public void reduceEnPotenciasDeDosSinQuedarPorDebajoDelDestino() {
+        assertEquals(4, GeneradorMiniaturas.calcularInSampleSize(1000, 1500, 210, 263));
+        assertEquals(8, GeneradorMiniaturas.calcularInSampleSize(2000, 3000, 210, 263));
+    }
+
+    @Test
+    public void laDimensionMasAjustadaLimitaElFactor() {
+        // El alto solo admite dividir entre 2 aunque el ancho admitiría 8
+        assertEquals(2, GeneradorMiniaturas.calcularInSampleSize(2000, 600, 210, 263));
+    }
+
+    @Test
+    public void noAmpliaImagenesMenoresQueElDestino() {
+        assertEquals(1, GeneradorMiniaturas.calcularInSampleSize(200, 250, 210, 263));
+        assertEquals(1, GeneradorMiniaturas.calcularInSampleSize(210, 263, 210, 263));
+    }
+}
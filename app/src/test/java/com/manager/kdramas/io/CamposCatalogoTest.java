@@ -0,0 +1,90 @@
+package com.manager.kdramas.io;
+
+import com.manager.kdramas.model.EstadoVisionado;
+import com.manager.kdramas.model.Kdrama;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Pruebas del reconocimiento de nombres de campo y de la conversión tolerante de valores.
+ */
+public class CamposCatalogoTest {
+
+    @Test
+    public void reconoceLosNombresConTildesMayusculasYMarcaDeOrden() {
+        assertEquals(CamposCatalogo.TITULO, CamposCatalogo.indiceDe("Título"));
+        assertEquals(CamposCatalogo.TITULO, CamposCatalogo.indiceDe("\uFEFFtitulo"));
+        assertEquals(CamposCatalogo.CAPITULOS, CamposCatalogo.indiceDe("  CAPÍTULOS "));
+        assertEquals(CamposCatalogo.CALIFICACION, CamposCatalogo.indiceDe("Calificación"));
+        assertEquals(CamposCatalogo.IMAGEN_URL, CamposCatalogo.indiceDe("imagen_url"));
+    }
+
+    @Test
+    public void aceptaLosAliasDeAnioYEstado() {
+        assertEquals(CamposCatalogo.ANIO, CamposCatalogo.indiceDe("Año"));
+        assertEquals(CamposCatalogo.ANIO, CamposCatalogo.indiceDe("anio"));
+        assertEquals(CamposCatalogo.ESTADO, CamposCatalogo.indiceDe("finalizado"));
+        assertEquals(CamposCatalogo.ESTADO, CamposCatalogo.indiceDe("Estado"));
+        assertEquals(-1, CamposCatalogo.indiceDe("sinopsis"));
+    }
+
+    @Test
+    public void convierteLosValoresRecortandoEspacios() {
+        Kdrama kdrama = CamposCatalogo.crearKdrama(valores(" Goblin ", "Fantasía", " 2016", "16 ", " 9.5 ",
+                "Completado", " https://ejemplo.com/goblin.jpg "));
+
+        assertEquals("Goblin", kdrama.getTitulo());
+        assertEquals("Fantasía", kdrama.getGenero());
+        assertEquals(2016, kdrama.getAnio());
+        assertEquals(16, kdrama.getCapitulos());
+        assertEquals(9.5f, kdrama.getCalificacion(), 0f);
+        assertEquals(EstadoVisionado.COMPLETADO, kdrama.getEstado());
+        assertEquals("https://ejemplo.com/goblin.jpg", kdrama.getImagenUrl());
+    }
+
+    @Test
+    public void losNumerosInvalidosOAusentesQuedanEnCero() {
+        Kdrama kdrama = CamposCatalogo.crearKdrama(valores(null, null, "dos mil", "16.5", "alta", null, null));
+
+        assertEquals("", kdrama.getTitulo());
+        assertEquals("", kdrama.getGenero());
+        assertEquals(0, kdrama.getAnio());
+        assertEquals(0, kdrama.getCapitulos());
+        assertEquals(0f, kdrama.getCalificacion(), 0f);
+        assertEquals("", kdrama.getImagenUrl());
+        assertFalse(kdrama.esValido());
+    }
+
+    @Test
+    public void elEstadoAceptaEtiquetaOCodigo() {
+        assertEquals(EstadoVisionado.EN_PAUSA, estado("en pausa"));
+        assertEquals(EstadoVisionado.PENDIENTE, estado("PENDIENTE"));
+        assertEquals(EstadoVisionado.ABANDONADO, estado(" 4 "));
+        assertEquals(EstadoVisionado.COMPLETADO, estado("TRUE"));
+        assertEquals(EstadoVisionado.VIENDO, estado("false"));
+        assertEquals(EstadoVisionado.VIENDO, estado("99"));
+        assertEquals(EstadoVisionado.VIENDO, estado("desconocido"));
+        assertEquals(EstadoVisionado.VIENDO, estado(" "));
+        assertEquals(EstadoVisionado.VIENDO, estado(null));
+    }
+
+    private static EstadoVisionado estado(String valor) {
+        return CamposCatalogo.crearKdrama(valores("Goblin", "", "2016", "16", "", valor, "")).getEstado();
+    }
+
+    private static String[] valores(String titulo, String genero, String anio, String capitulos,
+                                    String calificacion, String estado, String imagenUrl) {
+        String[] valores = new String[CamposCatalogo.TOTAL];
+        valores[CamposCatalogo.TITULO] = titulo;
+        valores[CamposCatalogo.GENERO] = genero;
+        valores[CamposCatalogo.ANIO] = anio;
+        valores[CamposCatalogo.CAPITULOS] = capitulos;
+        valores[CamposCatalogo.CALIFICACION] = calificacion;
+        valores[CamposCatalogo.ESTADO] = estado;
+        valores[CamposCatalogo.IMAGEN_URL] = imagenUrl;
+        return valores;
+    }
+}
@@ -0,0 +1,60 @@
+package com.manager.kdramas.io;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Pruebas del escapado CSV/JSON y de la codificación UTF-8 del escritor sobre canal.
+ */
+public class EscritorCanalTest {
+
+    private final ByteArrayOutputStream salida = new ByteArrayOutputStream();
+    private final EscritorCanal escritor = new EscritorCanal(Channels.newChannel(salida));
+
+    @Test
+    public void escapaCamposCsvSoloCuandoEsNecesario() throws IOException {
+        escritor.escribirCampoCsv("Goblin");
+        escritor.escribir(',');
+        escritor.escribirCampoCsv("Sí, \"jefe\"\nfinal");
+        escritor.escribir(',');
+        escritor.escribirCampoCsv(null);
+        escritor.terminar();
+
+        assertEquals("Goblin,\"Sí, \"\"jefe\"\"\nfinal\",", texto());
+    }
+
+    @Test
+    public void escapaCadenasJson() throws IOException {
+        escritor.escribirCadenaJson("a\"b\\c\n\t\u0001");
+        escritor.escribir(',');
+        escritor.escribirCadenaJson(null);
+        escritor.terminar();
+
+        assertEquals("\"a\\\"b\\\\c\\n\\t\\u0001\",null", texto());
+    }
+
+    @Test
+    public void conservaParesSustitutosEntreVaciadosDelBufer() throws IOException {
+        // El emoji ocupa dos char; el relleno impar obliga a partirlo entre dos llenados del búfer
+        StringBuilder esperado = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            String fragmento = i % 2 == 0 ? "한" : "x🎬";
+            escritor.escribir(fragmento);
+            esperado.append(fragmento);
+        }
+        escritor.terminar();
+
+        assertEquals(esperado.toString(), texto());
+        assertEquals(salida.size(), escritor.getBytesEscritos());
+    }
+
+    private String texto() {
+        return new String(salida.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
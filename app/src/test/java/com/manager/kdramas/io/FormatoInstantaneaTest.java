@@ -0,0 +1,78 @@
+package com.manager.kdramas.io;
+
+import com.manager.kdramas.model.EstadoVisionado;
+import com.manager.kdramas.model.Kdrama;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Pruebas de codificación y validación de la instantánea binaria de la lista.
+ */
+public class FormatoInstantaneaTest {
+
+    private static final int ESQUEMA = 7;
+
+    @Test
+    public void decodificaLoCodificado() {
+        Kdrama goblin = new Kdrama("Goblin 도깨비", "Fantasía", 2016, 16, 4.5f);
+        goblin.setId(3);
+        goblin.setEstado(EstadoVisionado.desdeCodigo(2));
+        goblin.setImagenUrl("https://ejemplo.com/goblin.jpg");
+        goblin.setImagenLocal("abc123");
+        Kdrama sinPortada = new Kdrama("Signal", "Suspenso", 2016, 16, 5f);
+        sinPortada.setId(8);
+        sinPortada.setImagenUrl(null);
+
+        List<Kdrama> leidos = FormatoInstantanea.decodificar(
+                FormatoInstantanea.codificar(Arrays.asList(goblin, sinPortada), ESQUEMA), ESQUEMA);
+
+        assertEquals(2, leidos.size());
+        Kdrama primero = leidos.get(0);
+        assertEquals(3, primero.getId());
+        assertEquals("Goblin 도깨비", primero.getTitulo());
+        assertEquals("Fantasía", primero.getGenero());
+        assertEquals(2016, primero.getAnio());
+        assertEquals(16, primero.getCapitulos());
+        assertEquals(4.5f, primero.getCalificacion(), 0f);
+        assertEquals(goblin.getEstado(), primero.getEstado());
+        assertEquals("https://ejemplo.com/goblin.jpg", primero.getImagenUrl());
+        assertEquals("abc123", primero.getImagenLocal());
+        assertNull(leidos.get(1).getImagenUrl());
+        assertNull(leidos.get(1).getImagenLocal());
+    }
+
+    @Test
+    public void rechazaDatosDaniados() {
+        ByteBuffer bufer = FormatoInstantanea.codificar(Arrays.asList(new Kdrama("Mr. Sunshine", "Drama", 2018, 24, 5f)),
+                ESQUEMA);
+        int ultimo = bufer.limit() - 1;
+        bufer.put(ultimo, (byte) (bufer.get(ultimo) ^ 0x01));
+
+        assertNull(FormatoInstantanea.decodificar(bufer, ESQUEMA));
+    }
+
+    @Test
+    public void rechazaArchivosTruncadosODeOtraVersion() {
+        ByteBuffer bufer = FormatoInstantanea.codificar(Arrays.asList(new Kdrama("Vincenzo", "Comedia", 2021, 20, 4f)),
+                ESQUEMA);
+
+        assertNull(FormatoInstantanea.decodificar(bufer.duplicate(), ESQUEMA + 1));
+
+        ByteBuffer truncado = bufer.duplicate();
+        truncado.limit(bufer.limit() - 3);
+        assertNull(FormatoInstantanea.decodificar(truncado, ESQUEMA));
+
+        ByteBuffer otroFormato = ByteBuffer.allocate(bufer.limit()).put(bufer.duplicate());
+        otroFormato.putInt(Integer.BYTES, FormatoInstantanea.VERSION_FORMATO + 1).flip();
+        assertNull(FormatoInstantanea.decodificar(otroFormato, ESQUEMA));
+
+        assertNull(FormatoInstantanea.decodificar(ByteBuffer.allocate(2), ESQUEMA));
+    }
+}
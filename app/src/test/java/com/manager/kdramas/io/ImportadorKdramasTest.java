@@ -0,0 +1,128 @@
+package com.manager.kdramas.io;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.os.CancellationSignal;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.manager.kdramas.database.DBHelper;
+import com.manager.kdramas.model.Kdrama;
+import com.manager.kdramas.repositories.KdramaRepository;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas del importador sobre el SQLite de Robolectric: rechazo de filas inválidas,
+ * lotes de {@link ImportadorKdramas#TAMANIO_LOTE} filas y cancelación a mitad del archivo.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ImportadorKdramasTest {
+
+    private Context context;
+    private final List<Integer> lotes = new ArrayList<>();
+    private final List<Integer> avances = new ArrayList<>();
+    private ImportadorKdramas importador;
+
+    @Before
+    public void prepararImportador() {
+        DBHelper.reiniciarInstancia();
+        context = ApplicationProvider.getApplicationContext();
+        importador = new ImportadorKdramas(new KdramaRepository(context), lote -> {
+            lotes.add(lote.size());
+            for (Kdrama kdrama : lote) {
+                assertTrue(kdrama.getId() > 0);
+            }
+        });
+    }
+
+    @After
+    public void cerrarBaseDeDatos() {
+        DBHelper.reiniciarInstancia();
+    }
+
+    @Test
+    public void insertaPorLotesYRechazaLasFilasInvalidas() throws IOException {
+        // Una de cada diez filas no tiene capítulos
+        ImportadorKdramas.ResultadoImportacion resultado = importador.importar(
+                lectorCsv(1_200, 10), null, (procesadas, insertadas, rechazadas) -> avances.add(insertadas));
+
+        assertEquals(1_080, resultado.getInsertadas());
+        assertEquals(120, resultado.getRechazadas());
+        assertFalse(resultado.fueCancelada());
+        assertEquals(Arrays.asList(500, 500, 80), lotes);
+        assertEquals(Arrays.asList(500, 1_000, 1_080), avances);
+        assertEquals(1_080, contarFilas());
+    }
+
+    @Test
+    public void laCancelacionConservaLosLotesConfirmados() throws IOException {
+        CancellationSignal senal = new CancellationSignal();
+        ImportadorKdramas cancelable = new ImportadorKdramas(new KdramaRepository(context), lote -> {
+            lotes.add(lote.size());
+            senal.cancel();
+        });
+
+        ImportadorKdramas.ResultadoImportacion resultado = cancelable.importar(lectorCsv(1_200, 0), senal, null);
+
+        assertTrue(resultado.fueCancelada());
+        assertEquals(500, resultado.getInsertadas());
+        assertEquals(Arrays.asList(500), lotes);
+        assertEquals(500, contarFilas());
+    }
+
+    @Test
+    public void unArchivoSinFilasValidasNoInserta() throws IOException {
+        ImportadorKdramas.ResultadoImportacion resultado = importador.importar(
+                new LectorCsvKdramas(new StringReader("titulo,anio,capitulos\n,2016,16\nGoblin,0,16\n")),
+                null, null);
+
+        assertEquals(0, resultado.getInsertadas());
+        assertEquals(2, resultado.getRechazadas());
+        assertTrue(lotes.isEmpty());
+        assertEquals(0, contarFilas());
+    }
+
+    @Test
+    public void deduceElFormatoPorTipoONombre() {
+        assertEquals(ImportadorKdramas.Formato.JSON, ImportadorKdramas.Formato.deducir("application/json", null));
+        assertEquals(ImportadorKdramas.Formato.JSON, ImportadorKdramas.Formato.deducir(null, "catalogo.JSON"));
+        assertEquals(ImportadorKdramas.Formato.CSV, ImportadorKdramas.Formato.deducir("text/csv", "catalogo.csv"));
+        assertEquals(ImportadorKdramas.Formato.CSV, ImportadorKdramas.Formato.deducir(null, null));
+    }
+
+    /**
+     * Genera un CSV en memoria; si {@code cadaInvalida} es mayor que cero, una de cada tantas filas
+     * queda sin capítulos.
+     */
+    private static LectorCsvKdramas lectorCsv(int filas, int cadaInvalida) throws IOException {
+        StringBuilder csv = new StringBuilder("titulo,genero,anio,capitulos\n");
+        for (int i = 0; i < filas; i++) {
+            boolean invalida = cadaInvalida > 0 && i % cadaInvalida == 0;
+            csv.append("Importado ").append(i).append(",Drama,2020,").append(invalida ? "" : "16").append('\n');
+        }
+        return new LectorCsvKdramas(new StringReader(csv.toString()));
+    }
+
+    private int contarFilas() {
+        try (Cursor cursor = DBHelper.getInstance(context).getReadableDatabase()
+                .rawQuery("SELECT COUNT(*) FROM kdrama", null)) {
+            cursor.moveToFirst();
+            return cursor.getInt(0);
+        }
+    }
+}
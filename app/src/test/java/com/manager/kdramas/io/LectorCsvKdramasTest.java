@@ -0,0 +1,101 @@
+package com.manager.kdramas.io;
+
+import com.manager.kdramas.model.EstadoVisionado;
+import com.manager.kdramas.model.Kdrama;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Pruebas del autómata de comillas, los finales de línea y el encabezado del lector CSV.
+ */
+public class LectorCsvKdramasTest {
+
+    @Test
+    public void leeLasColumnasPorNombreEnCualquierOrden() throws IOException {
+        List<Kdrama> kdramas = leer("capitulos,sinopsis,Título,Año,estado,calificacion\n"
+                + "16,ignorada,Goblin,2016,Completado,9.5\n");
+
+        assertEquals(1, kdramas.size());
+        Kdrama kdrama = kdramas.get(0);
+        assertEquals("Goblin", kdrama.getTitulo());
+        assertEquals(2016, kdrama.getAnio());
+        assertEquals(16, kdrama.getCapitulos());
+        assertEquals(9.5f, kdrama.getCalificacion(), 0f);
+        assertEquals(EstadoVisionado.COMPLETADO, kdrama.getEstado());
+        assertEquals("", kdrama.getGenero());
+    }
+
+    @Test
+    public void losCamposEntreComillasAdmitenComasComillasYSaltosDeLinea() throws IOException {
+        List<Kdrama> kdramas = leer("titulo,genero,anio,capitulos\n"
+                + "\"Sí, \"\"jefe\"\"\",\"Comedia\nRomance\",2017,12\n"
+                + "Goblin,Fantasía,2016,16\n");
+
+        assertEquals(2, kdramas.size());
+        assertEquals("Sí, \"jefe\"", kdramas.get(0).getTitulo());
+        assertEquals("Comedia\nRomance", kdramas.get(0).getGenero());
+        assertEquals(12, kdramas.get(0).getCapitulos());
+        assertEquals("Goblin", kdramas.get(1).getTitulo());
+    }
+
+    @Test
+    public void aceptaFinalesCrlfMarcaDeOrdenYLineasEnBlanco() throws IOException {
+        List<Kdrama> kdramas = leer("\uFEFFtitulo,anio,capitulos\r\n"
+                + "\r\n"
+                + "Goblin,2016,16\r\n"
+                + "\n"
+                + "\"Signal\",2016,16");
+
+        assertEquals(2, kdramas.size());
+        assertEquals("Goblin", kdramas.get(0).getTitulo());
+        assertEquals(16, kdramas.get(0).getCapitulos());
+        assertEquals("Signal", kdramas.get(1).getTitulo());
+    }
+
+    @Test
+    public void lasFilasIncompletasDejanLosCamposVacios() throws IOException {
+        List<Kdrama> kdramas = leer("titulo,anio,capitulos,genero\nGoblin,2016\n");
+
+        assertEquals(1, kdramas.size());
+        assertEquals(2016, kdramas.get(0).getAnio());
+        assertEquals(0, kdramas.get(0).getCapitulos());
+        assertEquals("", kdramas.get(0).getGenero());
+    }
+
+    @Test(expected = IOException.class)
+    public void rechazaElEncabezadoSinColumnasObligatorias() throws IOException {
+        new LectorCsvKdramas(new StringReader("titulo,genero,anio\nGoblin,Fantasía,2016\n"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rechazaElArchivoVacio() throws IOException {
+        new LectorCsvKdramas(new StringReader(""));
+    }
+
+    @Test
+    public void devuelveNullAlTerminar() throws IOException {
+        try (LectorCsvKdramas lector = new LectorCsvKdramas(new StringReader("titulo,anio,capitulos\n"))) {
+            assertNull(lector.siguiente());
+            assertNull(lector.siguiente());
+        }
+    }
+
+    private static List<Kdrama> leer(String csv) throws IOException {
+        List<Kdrama> kdramas = new ArrayList<>();
+        try (LectorCsvKdramas lector = new LectorCsvKdramas(new StringReader(csv))) {
+            Kdrama kdrama;
+            while ((kdrama = lector.siguiente()) != null) {
+                kdramas.add(kdrama);
+            }
+        }
+        return kdramas;
+    }
+}
@@ -0,0 +1,95 @@
+package com.manager.kdramas.io;
+
+import com.manager.kdramas.model.EstadoVisionado;
+import com.manager.kdramas.model.Kdrama;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas del lector JSON. Usa Robolectric porque {@link android.util.JsonReader} pertenece al framework.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class LectorJsonKdramasTest {
+
+    @Test
+    public void aceptaNumerosComoNumerosOComoCadenas() throws IOException {
+        List<Kdrama> kdramas = leer("[{\"titulo\":\"Goblin\",\"anio\":2016,\"capitulos\":\"16\","
+                + "\"calificacion\":9.5,\"finalizado\":1},"
+                + "{\"Título\":\"Signal\",\"Año\":\"2016\",\"capítulos\":16,\"estado\":\"En pausa\"}]");
+
+        assertEquals(2, kdramas.size());
+        assertEquals(2016, kdramas.get(0).getAnio());
+        assertEquals(16, kdramas.get(0).getCapitulos());
+        assertEquals(9.5f, kdramas.get(0).getCalificacion(), 0f);
+        assertEquals(EstadoVisionado.COMPLETADO, kdramas.get(0).getEstado());
+        assertEquals("Signal", kdramas.get(1).getTitulo());
+        assertEquals(EstadoVisionado.EN_PAUSA, kdramas.get(1).getEstado());
+    }
+
+    @Test
+    public void elFinalizadoLogicoSeInterpretaComoEstado() throws IOException {
+        List<Kdrama> kdramas = leer("[{\"titulo\":\"Goblin\",\"anio\":2016,\"capitulos\":16,\"finalizado\":true},"
+                + "{\"titulo\":\"Signal\",\"anio\":2016,\"capitulos\":16,\"finalizado\":false}]");
+
+        assertEquals(EstadoVisionado.COMPLETADO, kdramas.get(0).getEstado());
+        assertEquals(EstadoVisionado.VIENDO, kdramas.get(1).getEstado());
+    }
+
+    @Test
+    public void ignoraLasPropiedadesDesconocidasYLosValoresNoEscalares() throws IOException {
+        List<Kdrama> kdramas = leer("[{\"reparto\":[\"Gong Yoo\",{\"papel\":\"Goblin\"}],"
+                + "\"titulo\":\"Goblin\",\"genero\":{\"principal\":\"Fantasía\"},"
+                + "\"imagen_url\":null,\"anio\":2016,\"capitulos\":16}]");
+
+        assertEquals(1, kdramas.size());
+        assertEquals("Goblin", kdramas.get(0).getTitulo());
+        assertEquals("", kdramas.get(0).getGenero());
+        assertEquals("", kdramas.get(0).getImagenUrl());
+        assertTrue(kdramas.get(0).esValido());
+    }
+
+    @Test
+    public void elArregloVacioNoTieneRegistros() throws IOException {
+        try (LectorJsonKdramas lector = new LectorJsonKdramas(new StringReader("[]"))) {
+            assertNull(lector.siguiente());
+            assertNull(lector.siguiente());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rechazaElDocumentoQueNoEsUnArreglo() throws IOException {
+        new LectorJsonKdramas(new StringReader("{\"titulo\":\"Goblin\"}"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rechazaLosElementosQueNoSonObjetos() throws IOException {
+        leer("[{\"titulo\":\"Goblin\",\"anio\":2016,\"capitulos\":16},\"Signal\"]");
+    }
+
+    @Test(expected = IOException.class)
+    public void rechazaElArregloSinCerrar() throws IOException {
+        leer("[{\"titulo\":\"Goblin\",\"anio\":2016,\"capitulos\":16},");
+    }
+
+    private static List<Kdrama> leer(String json) throws IOException {
+        List<Kdrama> kdramas = new ArrayList<>();
+        try (LectorJsonKdramas lector = new LectorJsonKdramas(new StringReader(json))) {
+            Kdrama kdrama;
+            while ((kdrama = lector.siguiente()) != null) {
+                kdramas.add(kdrama);
+            }
+        }
+        return kdramas;
+    }
+}
@@ -0,0 +1,53 @@
+package com.manager.kdramas.metricas;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de las cubetas y percentiles del histograma de latencias.
+ */
+public class HistogramaLatenciaTest {
+
+    @Test
+    public void asignaCubetasEnPotenciasDeDosDeMicrosegundos() {
+        assertEquals(0, HistogramaLatencia.cubetaDe(999));
+        assertEquals(1, HistogramaLatencia.cubetaDe(1_000));
+        assertEquals(2, HistogramaLatencia.cubetaDe(2_000));
+        assertEquals(2, HistogramaLatencia.cubetaDe(3_999));
+        assertEquals(11, HistogramaLatencia.cubetaDe(1_024_000));
+        assertEquals(HistogramaLatencia.CUBETAS - 1, HistogramaLatencia.cubetaDe(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void estimaPercentilesAcotadosPorElMaximo() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (int i = 0; i < 90; i++) {
+            histograma.registrar(1_500);        // cubeta [1, 2) µs
+        }
+        for (int i = 0; i < 10; i++) {
+            histograma.registrar(3_000_000);    // cubeta [2048, 4096) µs
+        }
+
+        assertEquals(100, histograma.getCuenta());
+        assertEquals(2_000, histograma.percentilNanos(50));
+        assertEquals(2_000, histograma.percentilNanos(90));
+        assertEquals(3_000_000, histograma.percentilNanos(95));
+        assertEquals(3_000_000, histograma.getMaximoNanos());
+        assertEquals((90 * 1_500L + 10 * 3_000_000L) / 100, histograma.getMediaNanos());
+    }
+
+    @Test
+    public void vacioYReiniciadoDevuelvenCero() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        assertEquals(0, histograma.percentilNanos(99));
+        histograma.registrar(5_000);
+        assertTrue(histograma.percentilNanos(99) > 0);
+
+        histograma.reiniciar();
+        assertEquals(0, histograma.getCuenta());
+        assertEquals(0, histograma.percentilNanos(99));
+        assertEquals(0, histograma.getMediaNanos());
+    }
+}
@@ -0,0 +1,84 @@
+package com.manager.kdramas.model;
+
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas de la fusión de cambios en su resultado neto.
+ */
+public class CambioCatalogoTest {
+
+    @Test
+    public void unLoteDeInsercionesProduceUnSoloCambio() {
+        CambioCatalogo.Acumulador acumulador = new CambioCatalogo.Acumulador();
+        for (long id = 1; id <= 500; id++) {
+            acumulador.fusionar(CambioCatalogo.insercion(id));
+        }
+        CambioCatalogo cambio = acumulador.construir();
+
+        assertEquals(500, cambio.getInsertados().size());
+        assertTrue(cambio.getActualizados().isEmpty());
+        assertTrue(acumulador.estaVacio());
+    }
+
+    @Test
+    public void acumulaCamposYAbsorbeActualizacionesDeInsertados() {
+        CambioCatalogo cambio = new CambioCatalogo.Acumulador()
+                .actualizado(1, EnumSet.of(CambioCatalogo.Campo.TITULO))
+                .actualizado(1, EnumSet.of(CambioCatalogo.Campo.IMAGEN_LOCAL))
+                .insertado(2)
+                .actualizado(2, EnumSet.of(CambioCatalogo.Campo.ANIO))
+                .construir();
+
+        assertEquals(EnumSet.of(CambioCatalogo.Campo.TITULO, CambioCatalogo.Campo.IMAGEN_LOCAL),
+                cambio.getActualizados().get(1L));
+        assertEquals(1, cambio.getActualizados().size());
+        assertTrue(cambio.getInsertados().contains(2L));
+        assertTrue(cambio.actualizaAlguno(EnumSet.of(CambioCatalogo.Campo.TITULO)));
+    }
+
+    @Test
+    public void laEliminacionAnulaInsercionYActualizacion() {
+        CambioCatalogo cambio = new CambioCatalogo.Acumulador()
+                .insertado(1)
+                .actualizado(2, EnumSet.of(CambioCatalogo.Campo.ESTADO))
+                .eliminado(1)
+                .eliminado(2)
+                .construir();
+
+        assertTrue(cambio.getInsertados().isEmpty());
+        assertTrue(cambio.getActualizados().isEmpty());
+        assertEquals(1, cambio.getEliminados().size());
+        assertTrue(cambio.getEliminados().contains(2L));
+    }
+
+    @Test
+    public void laRestauracionAnulaLaEliminacion() {
+        CambioCatalogo cambio = new CambioCatalogo.Acumulador()
+                .actualizado(1, EnumSet.of(CambioCatalogo.Campo.TITULO))
+                .eliminado(1)
+                .insertado(1)
+                .construir();
+
+        assertTrue(cambio.getInsertados().isEmpty());
+        assertTrue(cambio.getEliminados().isEmpty());
+        // La actualización descartada al eliminar se publica con todos los campos
+        assertEquals(EnumSet.allOf(CambioCatalogo.Campo.class), cambio.getActualizados().get(1L));
+    }
+
+    @Test
+    public void detectaLosCamposDistintos() {
+        Kdrama antes = new Kdrama("Signal", "Suspenso", 2016, 16, 4.5f);
+        Kdrama despues = new Kdrama(antes);
+        despues.setCalificacion(5f);
+        despues.setEstado(EstadoVisionado.COMPLETADO);
+
+        assertEquals(EnumSet.of(CambioCatalogo.Campo.CALIFICACION, CambioCatalogo.Campo.ESTADO),
+                CambioCatalogo.camposDistintos(antes, despues));
+        assertTrue(CambioCatalogo.camposDistintos(antes, new Kdrama(antes)).isEmpty());
+    }
+}
@@ -0,0 +1,231 @@
+package com.manager.kdramas.repositories;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+
+import com.manager.kdramas.model.FiltroKdramas;
+import com.manager.kdramas.model.Kdrama;
+import com.manager.kdramas.model.PaginaKdramas;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Pruebas del rechazo de lecturas obsoletas, la inserción en orden, la caché por ID
+ * y la instantánea del catálogo en memoria.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CatalogoEnMemoriaTest {
+
+    @Rule
+    public final InstantTaskExecutorRule ejecucionInmediata = new InstantTaskExecutorRule();
+
+    private CatalogoEnMemoria catalogo;
+
+    @Before
+    public void crearCatalogo() {
+        CatalogoEnMemoria.reiniciarInstancia();
+        catalogo = CatalogoEnMemoria.getInstance();
+    }
+
+    @After
+    public void descartarCatalogo() {
+        CatalogoEnMemoria.reiniciarInstancia();
+    }
+
+    @Test
+    public void laPaginaLeidaAntesDeUnaEscrituraSeRechaza() {
+        PaginaKdramas primera = cargarPrimeraPagina(true, kdrama(1, "a"), kdrama(2, "b"));
+        long versionLectura = catalogo.getVersion();
+
+        catalogo.aplicarEliminacion(1);
+
+        assertFalse(catalogo.agregarPagina(primera, pagina(false, kdrama(3, "c")), versionLectura));
+        assertSame(primera, catalogo.getUltimaPagina());
+        assertEquals(Collections.singletonList(2L), idsPublicados());
+        assertTrue(catalogo.agregarPagina(primera, pagina(false, kdrama(3, "c")), catalogo.getVersion()));
+        assertEquals(Arrays.asList(2L, 3L), idsPublicados());
+    }
+
+    @Test
+    public void laPaginaQueNoContinuaLaUltimaSeRechaza() {
+        PaginaKdramas primera = cargarPrimeraPagina(true, kdrama(1, "a"));
+        PaginaKdramas segunda = pagina(true, kdrama(2, "b"));
+        assertTrue(catalogo.agregarPagina(primera, segunda, catalogo.getVersion()));
+
+        // Respuesta tardía de una solicitud repetida desde la misma página
+        assertFalse(catalogo.agregarPagina(primera, pagina(true, kdrama(2, "b")), catalogo.getVersion()));
+        assertSame(segunda, catalogo.getUltimaPagina());
+        assertEquals(Arrays.asList(1L, 2L), idsPublicados());
+    }
+
+    @Test
+    public void laPrimeraPaginaLeidaAntesDeCambiarElFiltroSeRechaza() {
+        long versionLectura = catalogo.getVersion();
+
+        assertTrue(catalogo.cambiarFiltro(new FiltroKdramas("Drama", null, null, null, null)));
+
+        assertFalse(catalogo.reemplazarConPrimeraPagina(pagina(false, kdrama(1, "a")), versionLectura));
+        assertFalse(catalogo.estaCargado());
+    }
+
+    @Test
+    public void laInsercionDespuesDeLaClaveDeLaUltimaPaginaEsperaALaPaginacion() {
+        cargarPrimeraPagina(true, kdrama(1, "b"), kdrama(2, "d"));
+
+        catalogo.aplicarInsercion(kdrama(3, "c"));
+        catalogo.aplicarInsercion(kdrama(4, "e"));
+        assertEquals(Arrays.asList(1L, 3L, 2L), idsPublicados());
+
+        // La comparación es con la clave de la página, no con el último elemento que queda en memoria
+        catalogo.aplicarEliminacion(2);
+        catalogo.aplicarInsercion(kdrama(5, "da"));
+        assertEquals(Arrays.asList(1L, 3L), idsPublicados());
+    }
+
+    @Test
+    public void sinMasPaginasLaInsercionAlFinalSeIncorpora() {
+        cargarPrimeraPagina(false, kdrama(1, "b"), kdrama(2, "d"));
+
+        catalogo.aplicarInsercion(kdrama(3, "z"));
+        catalogo.aplicarInsercion(kdrama(4, "a"));
+
+        assertEquals(Arrays.asList(4L, 1L, 2L, 3L), idsPublicados());
+    }
+
+    @Test
+    public void laInsercionQueNoCumpleElFiltroNoSeIncorpora() {
+        catalogo.cambiarFiltro(new FiltroKdramas("Drama", null, null, null, null));
+        cargarPrimeraPagina(false, kdrama(1, "a"));
+
+        Kdrama comedia = kdrama(2, "b");
+        comedia.setGenero("Comedia");
+        catalogo.aplicarInsercion(comedia);
+
+        assertEquals(Collections.singletonList(1L), idsPublicados());
+        assertEquals("Comedia", catalogo.buscarPorId(2).getGenero());
+    }
+
+    @Test
+    public void buscarPorIdDevuelveUnaCopiaQueLasEscriturasMantienenAlDia() {
+        cargarPrimeraPagina(false, kdrama(1, "a"), kdrama(2, "b"));
+
+        Kdrama copia = catalogo.buscarPorId(1);
+        copia.setTitulo("Modificado sin guardar");
+        assertEquals("a", catalogo.buscarPorId(1).getTitulo());
+        assertNotSame(copia, catalogo.buscarPorId(1));
+
+        Kdrama actualizado = kdrama(1, "a");
+        actualizado.setCalificacion(9f);
+        catalogo.aplicarActualizacion(actualizado);
+        assertEquals(9f, catalogo.buscarPorId(1).getCalificacion(), 0f);
+
+        catalogo.aplicarEliminaciones(Collections.singleton(2L));
+        assertNull(catalogo.buscarPorId(2));
+    }
+
+    @Test
+    public void lasInsercionesEnLoteAlimentanLaCachePorId() {
+        cargarPrimeraPagina(true, kdrama(1, "b"), kdrama(2, "d"));
+
+        // La segunda queda más allá de la última página: no se muestra, pero se resuelve por ID
+        catalogo.aplicarInserciones(Arrays.asList(kdrama(3, "c"), kdrama(4, "e")));
+
+        assertEquals(Arrays.asList(1L, 3L, 2L), idsPublicados());
+        assertEquals("c", catalogo.buscarPorId(3).getTitulo());
+        assertEquals("e", catalogo.buscarPorId(4).getTitulo());
+    }
+
+    @Test
+    public void recordarIgnoraLasLecturasObsoletas() {
+        long versionLectura = catalogo.getVersion();
+        catalogo.aplicarEliminacion(99);
+
+        catalogo.recordar(Collections.singletonList(kdrama(1, "a")), versionLectura);
+        assertNull(catalogo.buscarPorId(1));
+
+        catalogo.recordar(Collections.singletonList(kdrama(1, "a")), catalogo.getVersion());
+        assertEquals("a", catalogo.buscarPorId(1).getTitulo());
+    }
+
+    @Test
+    public void laInstantaneaSeMuestraHastaQueLlegaLaPrimeraPagina() {
+        assertTrue(catalogo.mostrarInstantanea(Arrays.asList(kdrama(1, "a"), kdrama(2, "b")), catalogo.getVersion()));
+
+        assertEquals(Arrays.asList(1L, 2L), idsPublicados());
+        assertFalse(catalogo.estaCargado());
+        assertNull(catalogo.buscarPorId(1));
+        assertNull(catalogo.copiarParaInstantanea(10));
+
+        cargarPrimeraPagina(false, kdrama(3, "c"));
+        assertEquals(Collections.singletonList(3L), idsPublicados());
+        assertFalse(catalogo.mostrarInstantanea(Collections.singletonList(kdrama(1, "a")), catalogo.getVersion()));
+        assertEquals(Collections.singletonList(3L), idsPublicados());
+    }
+
+    @Test
+    public void laInstantaneaSoloSeAplicaALaListaPredeterminada() {
+        long versionLectura = catalogo.getVersion();
+        catalogo.aplicarEliminacion(99);
+        assertFalse(catalogo.mostrarInstantanea(Collections.singletonList(kdrama(1, "a")), versionLectura));
+
+        catalogo.cambiarFiltro(new FiltroKdramas("Drama", null, null, null, null));
+        assertFalse(catalogo.mostrarInstantanea(Collections.singletonList(kdrama(1, "a")), catalogo.getVersion()));
+
+        cargarPrimeraPagina(false, kdrama(2, "b"));
+        assertNull(catalogo.copiarParaInstantanea(10));
+    }
+
+    @Test
+    public void copiarParaInstantaneaLimitaLosElementos() {
+        cargarPrimeraPagina(true, kdrama(1, "a"), kdrama(2, "b"), kdrama(3, "c"));
+
+        List<Kdrama> copia = catalogo.copiarParaInstantanea(2);
+
+        assertEquals(2, copia.size());
+        assertEquals(2L, copia.get(1).getId());
+    }
+
+    private PaginaKdramas cargarPrimeraPagina(boolean hayMas, Kdrama... kdramas) {
+        PaginaKdramas primera = pagina(hayMas, kdramas);
+        assertTrue(catalogo.reemplazarConPrimeraPagina(primera, catalogo.getVersion()));
+        return primera;
+    }
+
+    private List<Long> idsPublicados() {
+        List<Long> ids = new ArrayList<>();
+        for (Kdrama kdrama : catalogo.kdramas.getValue()) {
+            ids.add(kdrama.getId());
+        }
+        return ids;
+    }
+
+    private static PaginaKdramas pagina(boolean hayMas, Kdrama... kdramas) {
+        return new PaginaKdramas(Arrays.asList(kdramas), hayMas);
+    }
+
+    /**
+     * Crea un K-Drama del género "Drama" cuyo título coincide con su clave de ordenación.
+     */
+    private static Kdrama kdrama(long id, String titulo) {
+        Kdrama kdrama = new Kdrama(titulo, "Drama", 2020, 16, 8f);
+        kdrama.setId(id);
+        kdrama.setClaveTitulo(titulo);
+        return kdrama;
+    }
+}
@@ -0,0 +1,110 @@
+package com.manager.kdramas.repositories;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.manager.kdramas.benchmark.DatosBenchmark;
+import com.manager.kdramas.benchmark.RegistroBenchmark;
+import com.manager.kdramas.database.DBHelper;
+import com.manager.kdramas.model.Kdrama;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Benchmark en JVM del repositorio sobre el SQLite de Robolectric.
+ * Mide las operaciones CRUD, la lectura completa del catálogo a 1k/10k/100k filas y el mapeo de cursor.
+ * Se ejecuta con: ./gradlew :app:testDebugUnitTest -Pbenchmark
+ */
+@RunWith(RobolectricTestRunner.class)
+public class RepositorioBenchmark {
+
+    private static final int[] TAMANIOS_CATALOGO = {1_000, 10_000, 100_000};
+    private static final int ITERACIONES_CRUD = 500;
+
+    private KdramaRepository repository;
+    private RegistroBenchmark registro;
+
+    @Before
+    public void prepararRepositorio() {
+        DBHelper.reiniciarInstancia();
+        Context context = ApplicationProvider.getApplicationContext();
+        repository = new KdramaRepository(context);
+    }
+
+    @After
+    public void cerrarRepositorio() throws Exception {
+        registro.escribir();
+        DBHelper.reiniciarInstancia();
+    }
+
+    @Test
+    public void operacionesCrud() {
+        registro = new RegistroBenchmark("repositorio-crud");
+        DatosBenchmark.poblar(repository, 0, 1_000);
+
+        List<Long> ids = new ArrayList<>(ITERACIONES_CRUD);
+        int[] secuencia = {1_000};
+        registro.medir("insertarKdrama", 1_000, 50, ITERACIONES_CRUD,
+                () -> ids.add(repository.insertarKdrama(DatosBenchmark.crearKdrama(secuencia[0]++))));
+
+        int[] posicion = {0};
+        registro.medir("obtenerKdramaPorId", 1_000, 50, ITERACIONES_CRUD,
+                () -> repository.obtenerKdramaPorId(ids.get(posicion[0]++ % ids.size())));
+
+        Kdrama kdrama = repository.obtenerKdramaPorId(ids.get(0));
+        registro.medir("actualizarKdrama", 1_000, 50, ITERACIONES_CRUD, () -> {
+            kdrama.setCalificacion((kdrama.getCalificacion() + 1) % 6);
+            repository.actualizarKdrama(kdrama);
+        });
+
+        int[] eliminados = {0};
+        registro.medir("eliminarKdrama", 1_000, 0, ITERACIONES_CRUD,
+                () -> repository.eliminarKdrama(ids.get(eliminados[0]++)));
+    }
+
+    @Test
+    public void obtenerTodosPorTamanio() {
+        registro = new RegistroBenchmark("repositorio-obtener-todos");
+        int cargadas = 0;
+        for (int tamanio : TAMANIOS_CATALOGO) {
+            DatosBenchmark.poblar(repository, cargadas, tamanio - cargadas);
+            cargadas = tamanio;
+
+            int iteraciones = Math.max(3, 200_000 / tamanio);
+            registro.medir("obtenerTodosKdramas", tamanio, Math.max(1, iteraciones / 5), iteraciones,
+                    () -> repository.obtenerTodosKdramas());
+            assertEquals(tamanio, repository.obtenerTodosKdramas().size());
+        }
+    }
+
+    @Test
+    public void mapeoCursor() {
+        registro = new RegistroBenchmark("repositorio-mapeo-cursor");
+        int filas = 10_000;
+        DatosBenchmark.poblar(repository, 0, filas);
+
+        try (Cursor cursor = DBHelper.getInstance(ApplicationProvider.getApplicationContext())
+                .getReadableDatabase().rawQuery("SELECT * FROM kdrama ORDER BY clave_titulo, id", null)) {
+            KdramaRepository.IndicesColumnas indices = new KdramaRepository.IndicesColumnas(cursor);
+            registro.medir("mapearCursorAKdrama", filas, 3, 20, () -> {
+                cursor.moveToPosition(-1);
+                while (cursor.moveToNext()) {
+                    KdramaRepository.mapearCursorAKdrama(cursor, indices);
+                }
+            });
+            registro.medir("IndicesColumnas", filas, 100, 1_000,
+                    () -> new KdramaRepository.IndicesColumnas(cursor));
+        }
+    }
+}